@@ -0,0 +1,131 @@
+package com.shortify.simulator;
+
+import com.shortify.simulator.policy.AdaptiveTtlPolicy;
+import com.shortify.simulator.policy.CachePolicies;
+import com.shortify.simulator.policy.CachePolicy;
+import com.shortify.simulator.policy.DecayedTtlPolicy;
+import com.shortify.trace.LookupTraceReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a lookup trace against every (policy, memory budget) pair in a single pass
+ * 
+ * Traces are sampled per key, so a sampled trace behaves like the full workload on a cache
+ * scaled down by the sample rate; each budget is scaled accordingly before building the policies.
+ */
+public class CacheSimulator {
+    
+    private final List<String> policyNames;
+    private final List<Long> budgetsBytes;
+    private final long entryBytes;
+    private final AdaptiveTtlPolicy.Settings ttlSettings;
+    private final DecayedTtlPolicy.Settings decayedSettings;
+    
+    public CacheSimulator(List<String> policyNames, List<Long> budgetsBytes, long entryBytes, 
+                          AdaptiveTtlPolicy.Settings ttlSettings, DecayedTtlPolicy.Settings decayedSettings) {
+        this.policyNames = policyNames;
+        this.budgetsBytes = budgetsBytes;
+        this.entryBytes = entryBytes;
+        this.ttlSettings = ttlSettings;
+        this.decayedSettings = decayedSettings;
+    }
+    
+    public Report run(InputStream trace) throws IOException {
+        try (LookupTraceReader reader = new LookupTraceReader(trace)) {
+            double sampleRate = reader.getSampleRate();
+            
+            List<Run> runs = new ArrayList<>();
+            for (long budget : budgetsBytes) {
+                long scaledBudget = Math.max(entryBytes, (long) (budget * sampleRate));
+                for (String name : policyNames) {
+                    runs.add(new Run(budget, CachePolicies.create(name, scaledBudget, entryBytes, 
+                            ttlSettings, decayedSettings)));
+                }
+            }
+            
+            long requests = 0;
+            long recordedHits = 0;
+            while (reader.next()) {
+                requests++;
+                if (reader.isHit()) {
+                    recordedHits++;
+                }
+                long key = reader.getKeyHash();
+                long time = reader.getTimestampMillis();
+                for (Run run : runs) {
+                    if (run.policy.access(key, time)) {
+                        run.hits++;
+                    }
+                }
+            }
+            return new Report(sampleRate, requests, recordedHits, runs);
+        }
+    }
+    
+    static final class Run {
+        private final long budgetBytes;
+        private final CachePolicy policy;
+        private long hits;
+        
+        private Run(long budgetBytes, CachePolicy policy) {
+            this.budgetBytes = budgetBytes;
+            this.policy = policy;
+        }
+    }
+    
+    /**
+     * Hit ratio per policy and memory budget
+     */
+    public static final class Report {
+        private final double sampleRate;
+        private final long requests;
+        private final long recordedHits;
+        private final List<Run> runs;
+        
+        private Report(double sampleRate, long requests, long recordedHits, List<Run> runs) {
+            this.sampleRate = sampleRate;
+            this.requests = requests;
+            this.recordedHits = recordedHits;
+            this.runs = runs;
+        }
+        
+        public long getRequests() {
+            return requests;
+        }
+        
+        public double hitRatio(String policyName, long budgetBytes) {
+            for (Run run : runs) {
+                if (run.budgetBytes == budgetBytes && run.policy.getName().equals(policyName)) {
+                    return requests == 0 ? 0.0 : (double) run.hits / requests;
+                }
+            }
+            throw new IllegalArgumentException("No run for " + policyName + " at " + budgetBytes + " bytes");
+        }
+        
+        public void print(PrintStream out, List<String> policyNames, List<Long> budgetsBytes) {
+            out.printf("Requests: %d (sample rate %.4f), recorded hit ratio: %.4f%n", 
+                    requests, sampleRate, requests == 0 ? 0.0 : (double) recordedHits / requests);
+            out.printf("%-12s", "budget");
+            for (String name : policyNames) {
+                out.printf("%16s", name);
+            }
+            out.println();
+            for (long budget : budgetsBytes) {
+                out.printf("%-12s", formatBytes(budget));
+                for (String name : policyNames) {
+                    out.printf("%16.4f", hitRatio(name, budget));
+                }
+                out.println();
+            }
+        }
+        
+        private static String formatBytes(long bytes) {
+            return bytes >= 1024 * 1024 ? (bytes / (1024 * 1024)) + " MB" : (bytes / 1024) + " KB";
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.shortify.simulator;
+
+import com.shortify.simulator.policy.AdaptiveTtlPolicy;
+import com.shortify.simulator.policy.CachePolicies;
+import com.shortify.simulator.policy.DecayedTtlPolicy;
+import com.shortify.simulator.trace.ZipfTraceGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point of the offline cache simulator
+ * 
+ * Usage:
+ *   generate --corpus scripts/short-urls.txt --out zipf.shtr [--requests 10000000] [--zipf 0.9]
+ *            [--rate 1000] [--seed 42]
+ *   simulate --trace lookup.shtr [--budgets-mb 1,4,16,64] [--entry-bytes 160] [--policies lru,w-tinylfu,...]
+ *            [--hot-threshold 10] [--warm-threshold 5] [--default-ttl 10] [--warm-ttl 15] [--hot-ttl 30]
+ *            [--counter-bytes 64] [--decay-time-constant 30] [--gap-multiplier 4.0] [--min-ttl-seconds 120]
+ *            [--max-ttl 60] [--state-bytes 96]
+ */
+public class CacheSimulatorApplication {
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            printUsage();
+            System.exit(1);
+        }
+        Map<String, String> options = parseOptions(args);
+        switch (args[0]) {
+            case "generate" -> generate(options);
+            case "simulate" -> simulate(options);
+            default -> {
+                printUsage();
+                System.exit(1);
+            }
+        }
+    }
+    
+    private static void generate(Map<String, String> options) throws IOException {
+        Path corpus = Paths.get(required(options, "corpus"));
+        Path out = Paths.get(required(options, "out"));
+        long requests = Long.parseLong(options.getOrDefault("requests", "10000000"));
+        double exponent = Double.parseDouble(options.getOrDefault("zipf", "0.9"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        
+        ZipfTraceGenerator generator = new ZipfTraceGenerator(ZipfTraceGenerator.readCorpus(corpus), exponent, seed);
+        try (OutputStream stream = Files.newOutputStream(out)) {
+            generator.generate(stream, requests, rate);
+        }
+        System.out.printf("Wrote %d lookups to %s%n", requests, out);
+    }
+    
+    private static void simulate(Map<String, String> options) throws IOException {
+        Path trace = Paths.get(required(options, "trace"));
+        List<Long> budgets = Arrays.stream(options.getOrDefault("budgets-mb", "1,4,16,64").split(","))
+                .map(String::trim)
+                .map(mb -> (long) (Double.parseDouble(mb) * 1024 * 1024))
+                .toList();
+        List<String> policies = options.containsKey("policies") 
+                ? Arrays.stream(options.get("policies").split(",")).map(String::trim).toList()
+                : CachePolicies.ALL;
+        long entryBytes = Long.parseLong(options.getOrDefault("entry-bytes", "160"));
+        
+        AdaptiveTtlPolicy.Settings ttlSettings = new AdaptiveTtlPolicy.Settings();
+        ttlSettings.hotThreshold = intOption(options, "hot-threshold", ttlSettings.hotThreshold);
+        ttlSettings.warmThreshold = intOption(options, "warm-threshold", ttlSettings.warmThreshold);
+        ttlSettings.defaultTtlMinutes = intOption(options, "default-ttl", ttlSettings.defaultTtlMinutes);
+        ttlSettings.warmTtlMinutes = intOption(options, "warm-ttl", ttlSettings.warmTtlMinutes);
+        ttlSettings.hotTtlMinutes = intOption(options, "hot-ttl", ttlSettings.hotTtlMinutes);
+        ttlSettings.counterBytes = intOption(options, "counter-bytes", ttlSettings.counterBytes);
+        
+        DecayedTtlPolicy.Settings decayedSettings = new DecayedTtlPolicy.Settings();
+        decayedSettings.timeConstantMinutes = intOption(options, "decay-time-constant", 
+                decayedSettings.timeConstantMinutes);
+        decayedSettings.gapMultiplier = Double.parseDouble(
+                options.getOrDefault("gap-multiplier", String.valueOf(decayedSettings.gapMultiplier)));
+        decayedSettings.minTtlSeconds = intOption(options, "min-ttl-seconds", decayedSettings.minTtlSeconds);
+        decayedSettings.maxTtlMinutes = intOption(options, "max-ttl", decayedSettings.maxTtlMinutes);
+        decayedSettings.defaultTtlMinutes = ttlSettings.defaultTtlMinutes;
+        decayedSettings.stateBytes = intOption(options, "state-bytes", decayedSettings.stateBytes);
+        
+        CacheSimulator simulator = new CacheSimulator(policies, budgets, entryBytes, ttlSettings, decayedSettings);
+        try (InputStream stream = Files.newInputStream(trace)) {
+            simulator.run(stream).print(System.out, policies, budgets);
+        }
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+    
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+    
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+    
+    private static void printUsage() {
+        System.err.println("Usage:");
+        System.err.println("  generate --corpus <short-urls.txt> --out <trace.shtr> [--requests N] [--zipf S] "
+                + "[--rate RPS] [--seed N]");
+        System.err.println("  simulate --trace <trace.shtr> [--budgets-mb 1,4,16,64] [--entry-bytes 160] "
+                + "[--policies " + String.join(",", CachePolicies.ALL) + "]");
+        System.err.println("           [--hot-threshold 10] [--warm-threshold 5] [--default-ttl 10] "
+                + "[--warm-ttl 15] [--hot-ttl 30] [--counter-bytes 64]");
+        System.err.println("           [--decay-time-constant 30] [--gap-multiplier 4.0] [--min-ttl-seconds 120] "
+                + "[--max-ttl 60] [--state-bytes 96]");
+    }
+}
@@ -0,0 +1,74 @@
+package com.shortify.simulator.policy;
+
+/**
+ * Replica of the lookup service's tiered TTL strategy (TieredTtlPolicy) on top of Redis LRU eviction
+ * 
+ * - a miss caches the URL with the default TTL
+ * - a hit increments the per-key access counter (which expires a fixed time after its first increment)
+ *   and refreshes the URL's TTL according to the hot / warm / default tiers
+ * - both the URL and its counter are Redis keys that consume memory; when the budget is exceeded
+ *   the least recently used key is evicted, and expired keys are removed as they are found
+ */
+public class AdaptiveTtlPolicy implements CachePolicy {
+    
+    /**
+     * Tier settings; defaults mirror LookupUrlConstants
+     */
+    public static class Settings {
+        public int hotThreshold = 10;
+        public int warmThreshold = 5;
+        public int defaultTtlMinutes = 10;
+        public int warmTtlMinutes = 15;
+        public int hotTtlMinutes = 30;
+        public int counterBytes = 64;
+    }
+    
+    private static final long COUNTER_KEY_SALT = 0x5bd1e9955bd1e995L;
+    
+    private final Settings settings;
+    private final long entryBytes;
+    private final RedisKeyspace keyspace;
+    
+    public AdaptiveTtlPolicy(long budgetBytes, long entryBytes, Settings settings) {
+        this.keyspace = new RedisKeyspace(budgetBytes);
+        this.entryBytes = entryBytes;
+        this.settings = settings;
+    }
+    
+    @Override
+    public String getName() {
+        return "adaptive-ttl";
+    }
+    
+    @Override
+    public boolean access(long key, long timeMillis) {
+        RedisKeyspace.RedisKey entry = keyspace.get(key, timeMillis);
+        if (entry == null) {
+            keyspace.put(key, timeMillis + minutes(settings.defaultTtlMinutes), entryBytes);
+            return false;
+        }
+        
+        long counterKey = key ^ COUNTER_KEY_SALT;
+        RedisKeyspace.RedisKey counter = keyspace.get(counterKey, timeMillis);
+        if (counter == null) {
+            counter = keyspace.put(counterKey, timeMillis + minutes(settings.defaultTtlMinutes), settings.counterBytes);
+        }
+        counter.value++;
+        
+        entry.expireAt = timeMillis + minutes(determineTtl((long) counter.value));
+        return true;
+    }
+    
+    private int determineTtl(long accessCount) {
+        if (accessCount >= settings.hotThreshold) {
+            return settings.hotTtlMinutes;
+        } else if (accessCount >= settings.warmThreshold) {
+            return settings.warmTtlMinutes;
+        }
+        return settings.defaultTtlMinutes;
+    }
+    
+    private static long minutes(int minutes) {
+        return minutes * 60_000L;
+    }
+}
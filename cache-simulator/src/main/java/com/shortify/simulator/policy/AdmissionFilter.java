@@ -0,0 +1,22 @@
+package com.shortify.simulator.policy;
+
+/**
+ * Decides whether a missed key may replace the eviction victim once the cache is full
+ */
+public interface AdmissionFilter {
+    
+    /**
+     * @return display name used as the policy name prefix
+     */
+    String getName();
+    
+    /**
+     * Records an access to the key (called for every lookup, hit or miss)
+     */
+    void record(long key);
+    
+    /**
+     * @return true if the candidate should be cached in place of the victim
+     */
+    boolean admit(long candidate, long victim);
+}
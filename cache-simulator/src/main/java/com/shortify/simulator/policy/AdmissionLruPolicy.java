@@ -0,0 +1,46 @@
+package com.shortify.simulator.policy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache guarded by an admission filter: when full, a missed key is only cached
+ * if the filter prefers it over the LRU victim
+ */
+public class AdmissionLruPolicy implements CachePolicy {
+    
+    private final AdmissionFilter admission;
+    private final long capacity;
+    private final LinkedHashMap<Long, Boolean> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    public AdmissionLruPolicy(long capacity, AdmissionFilter admission) {
+        this.capacity = Math.max(1, capacity);
+        this.admission = admission;
+    }
+    
+    @Override
+    public String getName() {
+        return admission.getName() + "-lru";
+    }
+    
+    @Override
+    public boolean access(long key, long timeMillis) {
+        admission.record(key);
+        if (entries.get(key) != null) {
+            return true;
+        }
+        if (entries.size() < capacity) {
+            entries.put(key, Boolean.TRUE);
+            return false;
+        }
+        
+        Iterator<Map.Entry<Long, Boolean>> eldest = entries.entrySet().iterator();
+        long victim = eldest.next().getKey();
+        if (admission.admit(key, victim)) {
+            eldest.remove();
+            entries.put(key, Boolean.TRUE);
+        }
+        return false;
+    }
+}
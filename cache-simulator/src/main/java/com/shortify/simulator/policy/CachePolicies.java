@@ -0,0 +1,39 @@
+package com.shortify.simulator.policy;
+
+import java.util.List;
+
+/**
+ * Factory for the policies supported by the simulator
+ * Capacities are derived from the memory budget and the configured bytes per cached entry
+ */
+public final class CachePolicies {
+    
+    public static final List<String> ALL = List.of(
+            "adaptive-ttl", "decayed-ttl", "lru", "w-tinylfu", "tinylfu-lru", "second-hit-lru");
+    
+    private CachePolicies() {
+        // Utility class - prevent instantiation
+    }
+    
+    /**
+     * @param name policy name (see {@link #ALL})
+     * @param budgetBytes memory budget of the (possibly sampled) cache
+     * @param entryBytes bytes per cached URL entry
+     * @param ttlSettings tier settings for the adaptive TTL policy
+     * @param decayedSettings settings for the decayed-rate TTL policy
+     */
+    public static CachePolicy create(String name, long budgetBytes, long entryBytes, 
+                                     AdaptiveTtlPolicy.Settings ttlSettings, 
+                                     DecayedTtlPolicy.Settings decayedSettings) {
+        long capacity = Math.max(1, budgetBytes / entryBytes);
+        return switch (name) {
+            case "adaptive-ttl" -> new AdaptiveTtlPolicy(budgetBytes, entryBytes, ttlSettings);
+            case "decayed-ttl" -> new DecayedTtlPolicy(budgetBytes, entryBytes, decayedSettings);
+            case "lru" -> new LruPolicy(capacity);
+            case "w-tinylfu" -> new WTinyLfuPolicy(capacity);
+            case "tinylfu-lru" -> new AdmissionLruPolicy(capacity, new TinyLfuAdmission(capacity));
+            case "second-hit-lru" -> new AdmissionLruPolicy(capacity, new SecondHitAdmission(capacity));
+            default -> throw new IllegalArgumentException("Unknown cache policy: " + name + " (supported: " + ALL + ")");
+        };
+    }
+}
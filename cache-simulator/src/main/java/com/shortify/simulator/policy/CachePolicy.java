@@ -0,0 +1,22 @@
+package com.shortify.simulator.policy;
+
+/**
+ * A cache eviction/admission policy replayed by the simulator
+ * Keys are the 64-bit short-code hashes stored in lookup traces
+ */
+public interface CachePolicy {
+    
+    /**
+     * @return display name of the policy
+     */
+    String getName();
+    
+    /**
+     * Records a lookup and updates the cache state (inserting the key on a miss, subject to admission)
+     * 
+     * @param key short-code hash
+     * @param timeMillis lookup time (used by TTL-based policies)
+     * @return true if the key was cached (hit), false on a miss
+     */
+    boolean access(long key, long timeMillis);
+}
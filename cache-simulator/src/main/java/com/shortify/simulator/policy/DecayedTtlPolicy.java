@@ -0,0 +1,73 @@
+package com.shortify.simulator.policy;
+
+/**
+ * Replica of the lookup service's learned TTL strategy (DecayedRateTtlPolicy) on top of Redis LRU eviction
+ * 
+ * On each hit the per-key decayed request count is decayed, the request rate over the effective window
+ * gives the expected gap until the next request, and the TTL is gap x multiplier clamped to [min, max].
+ * The rate state is a Redis key of its own.
+ */
+public class DecayedTtlPolicy implements CachePolicy {
+    
+    /**
+     * Settings; defaults mirror the lookup.cache.decayed.* properties
+     */
+    public static class Settings {
+        public int timeConstantMinutes = 30;
+        public double gapMultiplier = 4.0;
+        public int minTtlSeconds = 120;
+        public int maxTtlMinutes = 60;
+        public int defaultTtlMinutes = 10;
+        public int stateBytes = 96;
+    }
+    
+    private static final long STATE_KEY_SALT = 0x27d4eb2f165667c5L;
+    
+    private final Settings settings;
+    private final long entryBytes;
+    private final RedisKeyspace keyspace;
+    private final double tau;
+    
+    public DecayedTtlPolicy(long budgetBytes, long entryBytes, Settings settings) {
+        this.keyspace = new RedisKeyspace(budgetBytes);
+        this.entryBytes = entryBytes;
+        this.settings = settings;
+        this.tau = settings.timeConstantMinutes * 60_000.0;
+    }
+    
+    @Override
+    public String getName() {
+        return "decayed-ttl";
+    }
+    
+    @Override
+    public boolean access(long key, long timeMillis) {
+        RedisKeyspace.RedisKey entry = keyspace.get(key, timeMillis);
+        if (entry == null) {
+            keyspace.put(key, timeMillis + settings.defaultTtlMinutes * 60_000L, entryBytes);
+            return false;
+        }
+        
+        long stateKey = key ^ STATE_KEY_SALT;
+        RedisKeyspace.RedisKey state = keyspace.get(stateKey, timeMillis);
+        if (state == null) {
+            state = keyspace.put(stateKey, 0, settings.stateBytes);
+            state.lastAccess = timeMillis;
+            state.firstAccess = timeMillis;
+        }
+        
+        double count = state.value * Math.exp(-Math.max(0, timeMillis - state.lastAccess) / tau);
+        double window = tau * (1 - Math.exp(-Math.max(0, timeMillis - state.firstAccess) / tau));
+        long ttl = settings.defaultTtlMinutes * 60_000L;
+        if (count > 0 && window > 0) {
+            double candidate = window / count * settings.gapMultiplier;
+            ttl = (long) Math.min(settings.maxTtlMinutes * 60_000L, Math.max(settings.minTtlSeconds * 1_000L, candidate));
+        }
+        
+        state.value = count + 1;
+        state.lastAccess = timeMillis;
+        state.expireAt = timeMillis + Math.max(4 * (long) tau, ttl);
+        entry.expireAt = timeMillis + ttl;
+        return true;
+    }
+}
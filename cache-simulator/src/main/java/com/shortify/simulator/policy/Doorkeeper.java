@@ -0,0 +1,58 @@
+package com.shortify.simulator.policy;
+
+import com.shortify.trace.LookupTraceFormat;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter that remembers keys seen since the last clear
+ * Used in front of the frequency sketch so one-hit wonders never occupy sketch counters
+ */
+public class Doorkeeper {
+    
+    private static final int HASHES = 3;
+    
+    private final long[] bits;
+    private final long bitMask;
+    
+    public Doorkeeper(long expectedEntries) {
+        long size = Long.highestOneBit(Math.max(64, Math.min(expectedEntries * 8, 1L << 34)) - 1) << 1;
+        this.bits = new long[(int) (size >>> 6)];
+        this.bitMask = size - 1;
+    }
+    
+    /**
+     * Adds the key
+     * 
+     * @return true if the key was (probably) already present
+     */
+    public boolean put(long key) {
+        long hash = LookupTraceFormat.mix64(key);
+        boolean present = true;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (hash + i * (hash >>> 32)) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                present = false;
+                bits[word] |= mask;
+            }
+        }
+        return present;
+    }
+    
+    public boolean contains(long key) {
+        long hash = LookupTraceFormat.mix64(key);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (hash + i * (hash >>> 32)) & bitMask;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public void clear() {
+        Arrays.fill(bits, 0L);
+    }
+}
@@ -0,0 +1,77 @@
+package com.shortify.simulator.policy;
+
+import com.shortify.trace.LookupTraceFormat;
+
+/**
+ * Count-min sketch of 4-bit counters with periodic aging (the TinyLFU frequency histogram)
+ * 
+ * Each key maps to one counter in each of four rows; its estimate is the minimum of the four.
+ * After a sample of 10 x width increments all counters are halved, so the sketch
+ * tracks recent popularity rather than all-time popularity.
+ */
+public class FrequencySketch {
+    
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+    
+    public FrequencySketch(long expectedEntries) {
+        int width = Integer.highestOneBit((int) Math.max(16, Math.min(expectedEntries, 1 << 28)) - 1) << 1;
+        this.table = new long[width];
+        this.tableMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+    
+    /**
+     * @return estimated recent frequency of the key (0-15)
+     */
+    public int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long hash = LookupTraceFormat.mix64(key + SEEDS[row]);
+            int shift = (int) (hash & 15) << 2;
+            int count = (int) ((table[index(hash)] >>> shift) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+    
+    /**
+     * Increments the key's counters
+     * 
+     * @return true if the increment triggered an aging reset
+     */
+    public boolean increment(long key) {
+        for (int row = 0; row < SEEDS.length; row++) {
+            long hash = LookupTraceFormat.mix64(key + SEEDS[row]);
+            int shift = (int) (hash & 15) << 2;
+            int index = index(hash);
+            if (((table[index] >>> shift) & 0xF) < MAX_COUNT) {
+                table[index] += 1L << shift;
+            }
+        }
+        if (++additions >= sampleSize) {
+            reset();
+            return true;
+        }
+        return false;
+    }
+    
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+    
+    private int index(long hash) {
+        return (int) (hash >>> 32) & tableMask;
+    }
+}
@@ -0,0 +1,36 @@
+package com.shortify.simulator.policy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Plain least-recently-used cache (what Redis approximates with maxmemory-policy allkeys-lru)
+ */
+public class LruPolicy implements CachePolicy {
+    
+    private final LinkedHashMap<Long, Boolean> entries;
+    
+    public LruPolicy(long capacity) {
+        int maxEntries = (int) Math.max(1, Math.min(capacity, Integer.MAX_VALUE));
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    @Override
+    public String getName() {
+        return "lru";
+    }
+    
+    @Override
+    public boolean access(long key, long timeMillis) {
+        if (entries.get(key) != null) {
+            return true;
+        }
+        entries.put(key, Boolean.TRUE);
+        return false;
+    }
+}
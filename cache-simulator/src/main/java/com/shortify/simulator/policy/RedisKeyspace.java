@@ -0,0 +1,61 @@
+package com.shortify.simulator.policy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Model of a Redis keyspace under maxmemory-policy allkeys-lru with per-key TTLs
+ * Used by the TTL-based policies, whose bookkeeping keys consume memory just like cached URLs
+ */
+class RedisKeyspace {
+    
+    private final long budgetBytes;
+    private final LinkedHashMap<Long, RedisKey> keys = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    
+    RedisKeyspace(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+    
+    /**
+     * @return the key if present and not expired (expired keys are removed)
+     */
+    RedisKey get(long key, long timeMillis) {
+        RedisKey entry = keys.get(key);
+        if (entry != null && entry.expireAt <= timeMillis) {
+            keys.remove(key);
+            usedBytes -= entry.bytes;
+            return null;
+        }
+        return entry;
+    }
+    
+    /**
+     * Stores a key, evicting least recently used keys while the memory budget is exceeded
+     */
+    RedisKey put(long key, long expireAt, long bytes) {
+        RedisKey value = new RedisKey(expireAt, bytes);
+        RedisKey previous = keys.put(key, value);
+        usedBytes += bytes - (previous == null ? 0 : previous.bytes);
+        Iterator<RedisKey> eldest = keys.values().iterator();
+        while (usedBytes > budgetBytes && eldest.hasNext()) {
+            RedisKey evicted = eldest.next();
+            eldest.remove();
+            usedBytes -= evicted.bytes;
+        }
+        return value;
+    }
+    
+    static final class RedisKey {
+        long expireAt;
+        double value;
+        long lastAccess;
+        long firstAccess;
+        private final long bytes;
+        
+        private RedisKey(long expireAt, long bytes) {
+            this.expireAt = expireAt;
+            this.bytes = bytes;
+        }
+    }
+}
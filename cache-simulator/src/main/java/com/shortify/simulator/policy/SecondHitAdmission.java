@@ -0,0 +1,39 @@
+package com.shortify.simulator.policy;
+
+/**
+ * Second-hit admission: a candidate replaces the victim only if it was already requested
+ * recently, which keeps one-hit wonders (links clicked once and never again) out of a full cache
+ */
+public class SecondHitAdmission implements AdmissionFilter {
+    
+    private final Doorkeeper doorkeeper;
+    private final long resetInterval;
+    private long recorded;
+    private long lastKey;
+    private boolean lastKeySeenBefore;
+    
+    public SecondHitAdmission(long capacity) {
+        this.doorkeeper = new Doorkeeper(capacity);
+        this.resetInterval = Math.max(1, capacity) * 10;
+    }
+    
+    @Override
+    public String getName() {
+        return "second-hit";
+    }
+    
+    @Override
+    public void record(long key) {
+        lastKey = key;
+        lastKeySeenBefore = doorkeeper.put(key);
+        if (++recorded >= resetInterval) {
+            doorkeeper.clear();
+            recorded = 0;
+        }
+    }
+    
+    @Override
+    public boolean admit(long candidate, long victim) {
+        return candidate == lastKey && lastKeySeenBefore;
+    }
+}
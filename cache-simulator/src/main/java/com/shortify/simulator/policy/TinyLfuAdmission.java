@@ -0,0 +1,38 @@
+package com.shortify.simulator.policy;
+
+/**
+ * TinyLFU admission: a candidate replaces the victim only if it is estimated to be more popular
+ * Frequencies come from a doorkeeper Bloom filter plus an aging count-min sketch
+ */
+public class TinyLfuAdmission implements AdmissionFilter {
+    
+    private final FrequencySketch sketch;
+    private final Doorkeeper doorkeeper;
+    
+    public TinyLfuAdmission(long capacity) {
+        this.sketch = new FrequencySketch(capacity);
+        this.doorkeeper = new Doorkeeper(capacity);
+    }
+    
+    @Override
+    public String getName() {
+        return "tinylfu";
+    }
+    
+    @Override
+    public void record(long key) {
+        // First access only sets the doorkeeper bit; repeated accesses are counted in the sketch
+        if (doorkeeper.put(key) && sketch.increment(key)) {
+            doorkeeper.clear();
+        }
+    }
+    
+    @Override
+    public boolean admit(long candidate, long victim) {
+        return frequency(candidate) > frequency(victim);
+    }
+    
+    int frequency(long key) {
+        return sketch.frequency(key) + (doorkeeper.contains(key) ? 1 : 0);
+    }
+}
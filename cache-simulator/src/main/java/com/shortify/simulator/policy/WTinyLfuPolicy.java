@@ -0,0 +1,86 @@
+package com.shortify.simulator.policy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Window TinyLFU (the policy used by Caffeine)
+ * 
+ * New keys enter a small LRU window (1% of capacity). Keys leaving the window compete with the
+ * main cache's victim through TinyLFU admission. The main cache is a segmented LRU: keys hit in
+ * the probation segment are promoted to the protected segment (80% of the main cache).
+ */
+public class WTinyLfuPolicy implements CachePolicy {
+    
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.80;
+    
+    private final TinyLfuAdmission admission;
+    private final long windowCapacity;
+    private final long mainCapacity;
+    private final long protectedCapacity;
+    private final LinkedHashMap<Long, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Boolean> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    
+    public WTinyLfuPolicy(long capacity) {
+        long total = Math.max(2, capacity);
+        this.windowCapacity = Math.max(1, (long) (total * WINDOW_RATIO));
+        this.mainCapacity = total - windowCapacity;
+        this.protectedCapacity = (long) (mainCapacity * PROTECTED_RATIO);
+        this.admission = new TinyLfuAdmission(total);
+    }
+    
+    @Override
+    public String getName() {
+        return "w-tinylfu";
+    }
+    
+    @Override
+    public boolean access(long key, long timeMillis) {
+        admission.record(key);
+        
+        if (window.get(key) != null || protectedSegment.get(key) != null) {
+            return true;
+        }
+        if (probation.remove(key) != null) {
+            promoteToProtected(key);
+            return true;
+        }
+        
+        window.put(key, Boolean.TRUE);
+        if (window.size() > windowCapacity) {
+            long candidate = removeEldest(window);
+            admitToMain(candidate);
+        }
+        return false;
+    }
+    
+    private void promoteToProtected(long key) {
+        protectedSegment.put(key, Boolean.TRUE);
+        if (protectedSegment.size() > protectedCapacity) {
+            probation.put(removeEldest(protectedSegment), Boolean.TRUE);
+        }
+    }
+    
+    private void admitToMain(long candidate) {
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate, Boolean.TRUE);
+            return;
+        }
+        LinkedHashMap<Long, Boolean> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        long victim = victimSegment.keySet().iterator().next();
+        if (admission.admit(candidate, victim)) {
+            victimSegment.remove(victim);
+            probation.put(candidate, Boolean.TRUE);
+        }
+    }
+    
+    private static long removeEldest(LinkedHashMap<Long, Boolean> segment) {
+        Iterator<Map.Entry<Long, Boolean>> eldest = segment.entrySet().iterator();
+        long key = eldest.next().getKey();
+        eldest.remove();
+        return key;
+    }
+}
@@ -0,0 +1,93 @@
+package com.shortify.simulator.trace;
+
+import com.shortify.trace.LookupTraceFormat;
+import com.shortify.trace.LookupTraceWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a synthetic lookup trace with Zipfian popularity over a corpus of short codes
+ * (e.g. scripts/short-urls.txt) and Poisson arrivals at a fixed request rate
+ */
+public class ZipfTraceGenerator {
+    
+    private final List<String> shortCodes;
+    private final double[] cumulative;
+    private final Random random;
+    private final long salt;
+    
+    /**
+     * @param shortCodes corpus of short codes; popularity rank is assigned by a seeded shuffle
+     * @param exponent Zipf exponent (around 0.8-1.0 for typical web traffic)
+     * @param seed random seed (also used as hash salt, so runs are reproducible)
+     */
+    public ZipfTraceGenerator(List<String> shortCodes, double exponent, long seed) {
+        if (shortCodes.isEmpty()) {
+            throw new IllegalArgumentException("Short code corpus is empty");
+        }
+        this.random = new Random(seed);
+        this.salt = seed;
+        this.shortCodes = new ArrayList<>(shortCodes);
+        Collections.shuffle(this.shortCodes, random);
+        
+        this.cumulative = new double[this.shortCodes.size()];
+        double sum = 0;
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+    
+    /**
+     * Reads a corpus file with one short code per line (a UTF-8 byte order mark is ignored)
+     */
+    public static List<String> readCorpus(Path corpus) throws IOException {
+        List<String> codes = new ArrayList<>();
+        for (String line : Files.readAllLines(corpus, StandardCharsets.UTF_8)) {
+            String code = line.replace("\uFEFF", "").trim();
+            if (!code.isEmpty()) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+    
+    /**
+     * Writes the synthetic trace (hit flags are unknown and recorded as misses)
+     * 
+     * @param out destination stream
+     * @param requests number of lookups to generate
+     * @param requestsPerSecond mean arrival rate
+     */
+    public void generate(OutputStream out, long requests, double requestsPerSecond) throws IOException {
+        long startTimeMillis = System.currentTimeMillis();
+        double meanGapMillis = 1000.0 / requestsPerSecond;
+        double time = startTimeMillis;
+        
+        try (LookupTraceWriter writer = new LookupTraceWriter(out, 1.0, startTimeMillis)) {
+            for (long i = 0; i < requests; i++) {
+                time += -Math.log(1.0 - random.nextDouble()) * meanGapMillis;
+                String shortCode = shortCodes.get(sampleRank());
+                writer.write((long) time, LookupTraceFormat.hashKey(shortCode, salt), false);
+            }
+        }
+    }
+    
+    private int sampleRank() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.shortify.simulator.policy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Cache Policy Tests")
+class CachePolicyTest {
+
+    @Test
+    @DisplayName("LRU should evict the least recently used key")
+    void lru_EvictsLeastRecentlyUsed() {
+        // Given
+        LruPolicy policy = new LruPolicy(2);
+        policy.access(1, 0);
+        policy.access(2, 0);
+        policy.access(1, 0);
+
+        // When
+        policy.access(3, 0);
+
+        // Then
+        assertThat(policy.access(1, 0)).isTrue();
+        assertThat(policy.access(2, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Adaptive TTL should expire entries after the default TTL")
+    void adaptiveTtl_ExpiresAfterDefaultTtl() {
+        // Given
+        AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(1_000_000, 100, new AdaptiveTtlPolicy.Settings());
+        policy.access(1, 0);
+
+        // When / Then
+        assertThat(policy.access(1, 9 * 60_000L)).isTrue();
+        assertThat(policy.access(1, 9 * 60_000L + 11 * 60_000L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Adaptive TTL should keep hot entries for the hot TTL")
+    void adaptiveTtl_HotEntriesGetHotTtl() {
+        // Given
+        AdaptiveTtlPolicy policy = new AdaptiveTtlPolicy(1_000_000, 100, new AdaptiveTtlPolicy.Settings());
+        policy.access(1, 0);
+        for (int i = 0; i < 10; i++) {
+            policy.access(1, 1_000);
+        }
+
+        // When / Then - 25 minutes later the entry is still cached (hot TTL is 30 minutes)
+        assertThat(policy.access(1, 1_000 + 25 * 60_000L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Decayed TTL should keep frequently requested keys and cap sparse ones at the max TTL")
+    void decayedTtl_KeepsFrequentKeysAndCapsSparseOnesAtMaxTtl() {
+        // Given
+        DecayedTtlPolicy policy = new DecayedTtlPolicy(1_000_000, 100, new DecayedTtlPolicy.Settings());
+        long time = 0;
+        policy.access(1, time);   // miss - cached with default TTL
+        policy.access(2, time);
+        policy.access(2, time);   // first hit - no history yet, default TTL
+
+        // When - key 1 is requested every 30 seconds for an hour, key 2 comes back after 9 and 49 minutes
+        for (int i = 0; i < 120; i++) {
+            time += 30_000;
+            policy.access(1, time);
+        }
+        boolean secondKeyHit = policy.access(2, 9 * 60_000L) && policy.access(2, 49 * 60_000L);
+
+        // Then - key 1 survives a 90 second gap; key 2 (expected back in well over an hour) is capped at
+        // the 60 minute max TTL rather than dropped to the min TTL
+        assertThat(policy.access(1, time + 90_000)).isTrue();
+        assertThat(secondKeyHit).isTrue();
+        assertThat(policy.access(2, 52 * 60_000L)).isTrue();
+        assertThat(policy.access(2, 52 * 60_000L + 61 * 60_000L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("W-TinyLFU should keep popular keys cached during a scan")
+    void wTinyLfu_ResistsScans() {
+        // Given - warm up with a small popular working set
+        WTinyLfuPolicy policy = new WTinyLfuPolicy(100);
+        for (int round = 0; round < 20; round++) {
+            for (long key = 0; key < 50; key++) {
+                policy.access(key, 0);
+            }
+        }
+
+        // When - a scan of one-hit wonders passes through
+        for (long key = 1_000; key < 11_000; key++) {
+            policy.access(key, 0);
+        }
+
+        // Then
+        int hits = 0;
+        for (long key = 0; key < 50; key++) {
+            if (policy.access(key, 0)) {
+                hits++;
+            }
+        }
+        assertThat(hits).isGreaterThanOrEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Admission filters should beat plain LRU on a skewed workload with a scan")
+    void admissionFilters_BeatLruOnSkewedWorkload() {
+        // Given
+        CachePolicy lru = new LruPolicy(100);
+        CachePolicy tinyLfu = new AdmissionLruPolicy(100, new TinyLfuAdmission(100));
+        CachePolicy secondHit = new AdmissionLruPolicy(100, new SecondHitAdmission(100));
+        Random random = new Random(1);
+        long[] hits = new long[3];
+
+        // When - 80% of lookups hit 80 popular keys, 20% are unique keys
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(5) == 0 ? 1_000_000L + i : random.nextInt(80);
+            hits[0] += lru.access(key, 0) ? 1 : 0;
+            hits[1] += tinyLfu.access(key, 0) ? 1 : 0;
+            hits[2] += secondHit.access(key, 0) ? 1 : 0;
+        }
+
+        // Then
+        assertThat(hits[1]).isGreaterThan(hits[0]);
+        assertThat(hits[2]).isGreaterThan(hits[0]);
+    }
+}
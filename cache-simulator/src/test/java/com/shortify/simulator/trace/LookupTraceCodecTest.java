@@ -0,0 +1,117 @@
+package com.shortify.simulator.trace;
+
+import com.shortify.trace.LookupTraceFormat;
+import com.shortify.trace.LookupTraceReader;
+import com.shortify.trace.LookupTraceWriter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Lookup Trace Codec Tests")
+class LookupTraceCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip records with header and delta-encoded timestamps")
+    void roundTrip_PreservesRecords() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long start = 1_733_011_200_000L;
+        try (LookupTraceWriter writer = new LookupTraceWriter(out, 0.25, start)) {
+            writer.write(start + 5, 11L, true);
+            writer.write(start + 5, -7L, false);
+            writer.write(start + 100_000, Long.MAX_VALUE, true);
+        }
+
+        // When
+        LookupTraceReader reader = new LookupTraceReader(new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        assertThat(reader.getSampleRate()).isEqualTo(0.25);
+        assertThat(reader.getStartTimeMillis()).isEqualTo(start);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getTimestampMillis()).isEqualTo(start + 5);
+        assertThat(reader.getKeyHash()).isEqualTo(11L);
+        assertThat(reader.isHit()).isTrue();
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getKeyHash()).isEqualTo(-7L);
+        assertThat(reader.isHit()).isFalse();
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.getTimestampMillis()).isEqualTo(start + 100_000);
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore a truncated trailing record")
+    void truncatedRecord_IsIgnored() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LookupTraceWriter writer = new LookupTraceWriter(out, 1.0, 0L)) {
+            writer.write(1, 1L, false);
+            writer.write(2, 2L, false);
+        }
+        byte[] bytes = out.toByteArray();
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        // When
+        LookupTraceReader reader = new LookupTraceReader(new ByteArrayInputStream(truncated));
+
+        // Then
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not lookup traces")
+    void badMagic_Throws() {
+        byte[] bytes = new byte[LookupTraceFormat.HEADER_BYTES];
+
+        assertThatThrownBy(() -> new LookupTraceReader(new ByteArrayInputStream(bytes)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Sampling should keep roughly the configured fraction of keys")
+    void isSampled_KeepsConfiguredFraction() {
+        // Given
+        int keys = 100_000;
+        int sampled = 0;
+
+        // When
+        for (int i = 0; i < keys; i++) {
+            if (LookupTraceFormat.isSampled(LookupTraceFormat.hashKey("code" + i, 42L), 0.1)) {
+                sampled++;
+            }
+        }
+
+        // Then
+        assertThat(sampled).isBetween(9_000, 11_000);
+    }
+
+    @Test
+    @DisplayName("Zipf generator should write the requested number of lookups")
+    void zipfGenerator_WritesRequestedLookups() throws IOException {
+        // Given
+        ZipfTraceGenerator generator = new ZipfTraceGenerator(List.of("a", "b", "c", "d"), 1.0, 7L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        generator.generate(out, 1_000, 100);
+
+        // Then
+        LookupTraceReader reader = new LookupTraceReader(new ByteArrayInputStream(out.toByteArray()));
+        int count = 0;
+        while (reader.next()) {
+            count++;
+        }
+        assertThat(count).isEqualTo(1_000);
+    }
+}
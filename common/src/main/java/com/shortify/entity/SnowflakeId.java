@@ -0,0 +1,22 @@
+package com.shortify.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity identifier assigned from a Snowflake ID before the INSERT
+ *
+ * Unlike GenerationType.IDENTITY, the ID is known before the row is written, so Hibernate keeps
+ * hibernate.jdbc.batch_size batching for inserts, and the ID encodes the creation time.
+ *
+ * @see SnowflakeIdentifierGenerator
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
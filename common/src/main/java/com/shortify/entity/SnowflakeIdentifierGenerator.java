@@ -0,0 +1,55 @@
+package com.shortify.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.function.LongSupplier;
+
+/**
+ * Hibernate identifier generator for {@link SnowflakeId} identifiers
+ *
+ * Hibernate instantiates generators itself, so the ID source is registered once at startup by the
+ * service that owns the Snowflake generator (create-service). Services that only read and update
+ * mappings never register one; persisting a new entity there fails fast.
+ *
+ * Follows Single Responsibility Principle - only bridges Hibernate to the Snowflake ID source
+ * Follows Dependency Inversion Principle - depends on a LongSupplier, not on the generator implementation
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+    
+    private static volatile LongSupplier idSource;
+    
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        // No per-attribute configuration
+    }
+    
+    /**
+     * Registers the source of new identifiers
+     *
+     * @param source supplier of unique Snowflake IDs, or null to unregister
+     */
+    public static void setIdSource(LongSupplier source) {
+        idSource = source;
+    }
+    
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return nextId();
+    }
+    
+    /**
+     * Returns the next identifier from the registered source
+     *
+     * @return a new Snowflake ID
+     * @throws IllegalStateException if no ID source has been registered
+     */
+    static long nextId() {
+        LongSupplier source = idSource;
+        if (source == null) {
+            throw new IllegalStateException("No Snowflake ID source registered; entities cannot be inserted by this service");
+        }
+        return source.getAsLong();
+    }
+}
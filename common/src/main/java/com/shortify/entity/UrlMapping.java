@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "url_mappings", indexes = {
     @Index(columnList = "shortUrl"),
-    @Index(columnList = "originalUrl"),
+    @Index(columnList = "originalUrlHash"),
     @Index(columnList = "createdDate"),
     @Index(columnList = "expiresAt")
 })
@@ -27,13 +27,24 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class UrlMapping {
     
+    /**
+     * Snowflake ID assigned before the INSERT (no per-row identity round trip, so inserts are batched);
+     * rows created before the switch keep their sequence IDs
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     
     @Column(nullable = false, length = 5000)
     private String originalUrl;
     
+    /**
+     * Fixed-width hash of originalUrl, indexed for deduplication lookups
+     * (the URL itself can be too long for a B-tree entry); compare originalUrl on a hash match
+     */
+    @Column
+    private Long originalUrlHash;
+    
     @Column(nullable = false, length = 10)
     private String shortUrl;
     
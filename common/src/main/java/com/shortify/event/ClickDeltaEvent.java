@@ -0,0 +1,23 @@
+package com.shortify.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Pre-aggregated click count for one (short code, minute) bucket
+ * Published by lookup-service's click combiner, consumed by stats-service
+ * Clicks counted here are not also sent as individual ClickEvents
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClickDeltaEvent implements Serializable {
+    private String shortCode;
+    private Long bucketStart; // Start of the minute, Unix timestamp in milliseconds
+    private Long clicks; // Clicks in this bucket since the previous delta
+}
@@ -24,5 +24,6 @@ public class ClickEvent implements Serializable {
     private String city;
     private String deviceType;
     private Long timestamp; // Unix timestamp in milliseconds
+    private Double weight; // Sampling weight (1 / keep probability) when captured under sampling; null means 1
 }
 
@@ -0,0 +1,24 @@
+package com.shortify.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Event published when a short URL's click rate is accelerating sharply.
+ * Produced by Stats Service, consumed by Lookup Service to pre-warm / pin the cache entry.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotLinkEvent implements Serializable {
+    private String shortCode;
+    private Long clicksInWindow; // Clicks observed in the most recent window
+    private Long previousWindowClicks; // Clicks observed in the window before it
+    private Integer windowSeconds; // Length of the detection window
+    private Long timestamp; // Unix timestamp in milliseconds
+}
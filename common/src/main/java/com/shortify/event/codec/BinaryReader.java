@@ -0,0 +1,90 @@
+package com.shortify.event.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reader for the primitives written by {@link BinaryWriter}
+ * Malformed input is reported as {@link EventCodecException}
+ */
+public class BinaryReader {
+    
+    private final byte[] buffer;
+    private int position;
+    
+    public BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+    
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new EventCodecException("Unexpected end of event data");
+        }
+        return buffer[position++] & 0xFF;
+    }
+    
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EventCodecException("Malformed varint in event data");
+    }
+    
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new EventCodecException("Varint out of int range in event data");
+        }
+        return (int) value;
+    }
+    
+    public long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    public double readDouble() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) readByte() << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+    
+    public String readString() {
+        int length = readVarInt();
+        if (length > buffer.length - position) {
+            throw new EventCodecException("String length exceeds event data");
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+    
+    public byte[] readBytes() {
+        int length = readVarInt();
+        if (length > buffer.length - position) {
+            throw new EventCodecException("Byte array length exceeds event data");
+        }
+        byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return value;
+    }
+    
+    public String readDictionaryString(EventDictionary dictionary) {
+        int code = readVarInt();
+        if (code == 0) {
+            return readString();
+        }
+        String value = dictionary.valueOf(code);
+        if (value == null) {
+            throw new EventCodecException("Unknown dictionary code " + code + " in event data");
+        }
+        return value;
+    }
+}
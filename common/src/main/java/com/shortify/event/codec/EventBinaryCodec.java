@@ -0,0 +1,206 @@
+package com.shortify.event.codec;
+
+import com.shortify.event.ClickDeltaEvent;
+import com.shortify.event.ClickEvent;
+import com.shortify.event.HotLinkEvent;
+import com.shortify.event.UrlDeletedEvent;
+
+/**
+ * Compact, schema-versioned binary encoding of the events in com.shortify.event
+ * 
+ * Layout of every message:
+ * - type id (1 byte) and schema version (1 byte)
+ * - presence bitmap (varint): bit i set when field i is non-null
+ * - the present fields in schema order: strings as varint length + UTF-8, integers as varints, doubles as 8 bytes,
+ *   low-cardinality strings as {@link EventDictionary} codes
+ * 
+ * Schema evolution: new fields are only ever appended (with a new version number), so an older
+ * decoder reads the fields it knows and ignores the rest, and a newer decoder leaves fields that
+ * an older producer did not send as null.
+ */
+public final class EventBinaryCodec {
+    
+    public static final byte CLICK_EVENT = 1;
+    public static final byte URL_DELETED_EVENT = 2;
+    public static final byte HOT_LINK_EVENT = 3;
+    public static final byte CLICK_DELTA_EVENT = 4;
+    
+    static final byte CLICK_EVENT_VERSION = 2; // v2 appends the sampling weight
+    static final byte URL_DELETED_EVENT_VERSION = 1;
+    static final byte HOT_LINK_EVENT_VERSION = 1;
+    static final byte CLICK_DELTA_EVENT_VERSION = 1;
+    
+    private EventBinaryCodec() {
+        // Utility class - prevent instantiation
+    }
+    
+    /**
+     * @return true if the object has a binary encoding
+     */
+    public static boolean supports(Object event) {
+        return event instanceof ClickEvent || event instanceof UrlDeletedEvent || event instanceof HotLinkEvent
+                || event instanceof ClickDeltaEvent;
+    }
+    
+    public static byte[] encode(Object event) {
+        BinaryWriter writer = new BinaryWriter(128);
+        if (event instanceof ClickEvent click) {
+            encodeClickEvent(click, writer);
+        } else if (event instanceof UrlDeletedEvent deleted) {
+            encodeUrlDeletedEvent(deleted, writer);
+        } else if (event instanceof HotLinkEvent hotLink) {
+            encodeHotLinkEvent(hotLink, writer);
+        } else if (event instanceof ClickDeltaEvent delta) {
+            encodeClickDeltaEvent(delta, writer);
+        } else {
+            throw new EventCodecException("No binary encoding for " + (event == null ? "null" : event.getClass()));
+        }
+        return writer.toByteArray();
+    }
+    
+    public static Object decode(byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        int type = reader.readByte();
+        reader.readByte(); // schema version; the presence bitmap already says which fields follow
+        return switch (type) {
+            case CLICK_EVENT -> decodeClickEvent(reader);
+            case URL_DELETED_EVENT -> decodeUrlDeletedEvent(reader);
+            case HOT_LINK_EVENT -> decodeHotLinkEvent(reader);
+            case CLICK_DELTA_EVENT -> decodeClickDeltaEvent(reader);
+            default -> throw new EventCodecException("Unknown event type id: " + type);
+        };
+    }
+    
+    private static void encodeClickEvent(ClickEvent event, BinaryWriter writer) {
+        writer.writeByte(CLICK_EVENT);
+        writer.writeByte(CLICK_EVENT_VERSION);
+        writer.writeVarInt(presence(event.getShortCode(), event.getIpAddress(), event.getUserAgent(),
+                event.getReferrer(), event.getCountry(), event.getCity(), event.getDeviceType(), event.getTimestamp(),
+                event.getWeight()));
+        writeIfPresent(writer, event.getShortCode());
+        writeIfPresent(writer, event.getIpAddress());
+        writeIfPresent(writer, event.getUserAgent());
+        writeIfPresent(writer, event.getReferrer());
+        writeIfPresent(writer, event.getCountry());
+        writeIfPresent(writer, event.getCity());
+        if (event.getDeviceType() != null) {
+            writer.writeDictionaryString(event.getDeviceType(), EventDictionary.DEVICE_TYPES);
+        }
+        writeIfPresent(writer, event.getTimestamp());
+        if (event.getWeight() != null) {
+            writer.writeDouble(event.getWeight());
+        }
+    }
+    
+    private static ClickEvent decodeClickEvent(BinaryReader reader) {
+        int presence = reader.readVarInt();
+        ClickEvent event = new ClickEvent();
+        event.setShortCode(readString(reader, presence, 0));
+        event.setIpAddress(readString(reader, presence, 1));
+        event.setUserAgent(readString(reader, presence, 2));
+        event.setReferrer(readString(reader, presence, 3));
+        event.setCountry(readString(reader, presence, 4));
+        event.setCity(readString(reader, presence, 5));
+        event.setDeviceType(isPresent(presence, 6) ? reader.readDictionaryString(EventDictionary.DEVICE_TYPES) : null);
+        event.setTimestamp(readLong(reader, presence, 7));
+        event.setWeight(isPresent(presence, 8) ? reader.readDouble() : null);
+        return event;
+    }
+    
+    private static void encodeUrlDeletedEvent(UrlDeletedEvent event, BinaryWriter writer) {
+        writer.writeByte(URL_DELETED_EVENT);
+        writer.writeByte(URL_DELETED_EVENT_VERSION);
+        writer.writeVarInt(presence(event.getShortCode(), event.getReason(), event.getTimestamp()));
+        writeIfPresent(writer, event.getShortCode());
+        if (event.getReason() != null) {
+            writer.writeDictionaryString(event.getReason(), EventDictionary.DELETION_REASONS);
+        }
+        writeIfPresent(writer, event.getTimestamp());
+    }
+    
+    private static UrlDeletedEvent decodeUrlDeletedEvent(BinaryReader reader) {
+        int presence = reader.readVarInt();
+        UrlDeletedEvent event = new UrlDeletedEvent();
+        event.setShortCode(readString(reader, presence, 0));
+        event.setReason(isPresent(presence, 1) ? reader.readDictionaryString(EventDictionary.DELETION_REASONS) : null);
+        event.setTimestamp(readLong(reader, presence, 2));
+        return event;
+    }
+    
+    private static void encodeHotLinkEvent(HotLinkEvent event, BinaryWriter writer) {
+        writer.writeByte(HOT_LINK_EVENT);
+        writer.writeByte(HOT_LINK_EVENT_VERSION);
+        writer.writeVarInt(presence(event.getShortCode(), event.getClicksInWindow(), event.getPreviousWindowClicks(),
+                event.getWindowSeconds(), event.getTimestamp()));
+        writeIfPresent(writer, event.getShortCode());
+        writeIfPresent(writer, event.getClicksInWindow());
+        writeIfPresent(writer, event.getPreviousWindowClicks());
+        if (event.getWindowSeconds() != null) {
+            writer.writeVarInt(event.getWindowSeconds());
+        }
+        writeIfPresent(writer, event.getTimestamp());
+    }
+    
+    private static HotLinkEvent decodeHotLinkEvent(BinaryReader reader) {
+        int presence = reader.readVarInt();
+        HotLinkEvent event = new HotLinkEvent();
+        event.setShortCode(readString(reader, presence, 0));
+        event.setClicksInWindow(readLong(reader, presence, 1));
+        event.setPreviousWindowClicks(readLong(reader, presence, 2));
+        event.setWindowSeconds(isPresent(presence, 3) ? reader.readVarInt() : null);
+        event.setTimestamp(readLong(reader, presence, 4));
+        return event;
+    }
+    
+    private static void encodeClickDeltaEvent(ClickDeltaEvent event, BinaryWriter writer) {
+        writer.writeByte(CLICK_DELTA_EVENT);
+        writer.writeByte(CLICK_DELTA_EVENT_VERSION);
+        writer.writeVarInt(presence(event.getShortCode(), event.getBucketStart(), event.getClicks()));
+        writeIfPresent(writer, event.getShortCode());
+        writeIfPresent(writer, event.getBucketStart());
+        writeIfPresent(writer, event.getClicks());
+    }
+    
+    private static ClickDeltaEvent decodeClickDeltaEvent(BinaryReader reader) {
+        int presence = reader.readVarInt();
+        ClickDeltaEvent event = new ClickDeltaEvent();
+        event.setShortCode(readString(reader, presence, 0));
+        event.setBucketStart(readLong(reader, presence, 1));
+        event.setClicks(readLong(reader, presence, 2));
+        return event;
+    }
+    
+    private static int presence(Object... fields) {
+        int bitmap = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                bitmap |= 1 << i;
+            }
+        }
+        return bitmap;
+    }
+    
+    private static boolean isPresent(int presence, int field) {
+        return (presence & (1 << field)) != 0;
+    }
+    
+    private static void writeIfPresent(BinaryWriter writer, String value) {
+        if (value != null) {
+            writer.writeString(value);
+        }
+    }
+    
+    private static void writeIfPresent(BinaryWriter writer, Long value) {
+        if (value != null) {
+            writer.writeVarLong(value);
+        }
+    }
+    
+    private static String readString(BinaryReader reader, int presence, int field) {
+        return isPresent(presence, field) ? reader.readString() : null;
+    }
+    
+    private static Long readLong(BinaryReader reader, int presence, int field) {
+        return isPresent(presence, field) ? reader.readVarLong() : null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.shortify.event.codec;
+
+import java.io.Serial;
+
+/**
+ * Thrown when event data cannot be encoded or decoded with the binary event format
+ */
+public class EventCodecException extends RuntimeException {
+    
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    public EventCodecException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.shortify.event.codec;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Content-type header used to negotiate the event wire format on Kafka records
+ * Records without the header are treated as JSON (the format of producers that predate the binary codec)
+ */
+public final class EventContentType {
+    
+    public static final String HEADER = "content-type";
+    public static final String BINARY = "application/vnd.shortify.event+binary";
+    public static final String JSON = "application/json";
+    
+    private static final byte[] BINARY_BYTES = BINARY.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_BYTES = JSON.getBytes(StandardCharsets.UTF_8);
+    
+    private EventContentType() {
+        // Utility class - prevent instantiation
+    }
+    
+    static void set(Headers headers, boolean binary) {
+        headers.remove(HEADER);
+        headers.add(HEADER, binary ? BINARY_BYTES : JSON_BYTES);
+    }
+    
+    static boolean isBinary(Headers headers) {
+        if (headers == null) {
+            return false;
+        }
+        Header header = headers.lastHeader(HEADER);
+        return header != null && BINARY.equals(new String(header.value(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+package com.shortify.event.codec;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Kafka deserializer for com.shortify.event types
+ * 
+ * Records stamped with the binary content type are decoded with {@link EventBinaryCodec};
+ * everything else (including records from producers without the header) goes to Spring's
+ * JsonDeserializer, configured through the usual spring.json.* properties.
+ */
+public class EventDeserializer implements Deserializer<Object> {
+    
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+    
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+    
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+    
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (EventContentType.isBinary(headers)) {
+            return EventBinaryCodec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+    
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,43 @@
+package com.shortify.event.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed dictionary of low-cardinality string values (codes start at 1; 0 means "literal follows")
+ * 
+ * Dictionaries are part of the wire format: entries may only be appended, never reordered or removed.
+ */
+public final class EventDictionary {
+    
+    public static final EventDictionary DEVICE_TYPES = new EventDictionary(
+            List.of("MOBILE", "TABLET", "DESKTOP", "UNKNOWN"));
+    
+    public static final EventDictionary DELETION_REASONS = new EventDictionary(
+            List.of("EXPIRED", "UNUSED", "MANUAL_DELETE"));
+    
+    private final List<String> values;
+    private final Map<String, Integer> codes = new HashMap<>();
+    
+    private EventDictionary(List<String> values) {
+        this.values = values;
+        for (int i = 0; i < values.size(); i++) {
+            codes.put(values.get(i), i + 1);
+        }
+    }
+    
+    /**
+     * @return the code of the value, or 0 if it is not in the dictionary
+     */
+    public int codeOf(String value) {
+        return codes.getOrDefault(value, 0);
+    }
+    
+    /**
+     * @return the value for the code, or null if the code is unknown
+     */
+    public String valueOf(int code) {
+        return code >= 1 && code <= values.size() ? values.get(code - 1) : null;
+    }
+}
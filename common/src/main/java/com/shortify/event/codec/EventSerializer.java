@@ -0,0 +1,53 @@
+package com.shortify.event.codec;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Kafka serializer for com.shortify.event types
+ * 
+ * With shortify.event.format=binary supported events are written with {@link EventBinaryCodec};
+ * with json (default, so consumers that predate the codec keep working), or for any other payload,
+ * the record is written by Spring's JsonSerializer.
+ * The chosen format is stamped in the content-type header so consumers can decode both,
+ * which lets old and new producers run side by side during a rollout.
+ */
+public class EventSerializer implements Serializer<Object> {
+    
+    public static final String FORMAT_CONFIG = "shortify.event.format";
+    
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private boolean binary;
+    
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        binary = format != null && "binary".equalsIgnoreCase(format.toString());
+        jsonSerializer.configure(configs, isKey);
+    }
+    
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return data != null && binary && EventBinaryCodec.supports(data) 
+                ? EventBinaryCodec.encode(data) 
+                : jsonSerializer.serialize(topic, data);
+    }
+    
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data != null && binary && EventBinaryCodec.supports(data)) {
+            EventContentType.set(headers, true);
+            return EventBinaryCodec.encode(data);
+        }
+        EventContentType.set(headers, false);
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+    
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
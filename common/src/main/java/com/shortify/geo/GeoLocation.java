@@ -0,0 +1,12 @@
+package com.shortify.geo;
+
+import lombok.Value;
+
+/**
+ * Location an IP range resolves to; city is null when the dataset only knows the country
+ */
+@Value
+public class GeoLocation {
+    String country;
+    String city;
+}
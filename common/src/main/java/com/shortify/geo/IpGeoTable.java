@@ -0,0 +1,292 @@
+package com.shortify.geo;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped IP range table resolving IPv4 and IPv6 addresses to a location (country, city)
+ *
+ * File layout (little-endian, written by {@link IpGeoTableWriter}):
+ * - header: int magic, int version, int IPv4 range count, int IPv6 range count, int location count
+ * - IPv4 ranges sorted by start: [int start][int end][int location], addresses as unsigned ints
+ * - IPv6 ranges sorted by start: [long start hi][long start lo][long end hi][long end lo][int location]
+ * - locations: [short length][UTF-8 country][short length][UTF-8 city] (empty city = unknown)
+ *
+ * Ranges stay in the mapping and are binary searched in place; the small location list is decoded once on open,
+ * so {@link #lookup(CharSequence)} and {@link #location(int)} parse and resolve an address without allocating.
+ * IPv4-mapped IPv6 addresses (::ffff:a.b.c.d) are looked up in the IPv4 ranges.
+ *
+ * Thread-safe: the mapping is only read with absolute gets.
+ */
+public final class IpGeoTable {
+    
+    public static final int NOT_FOUND = -1;
+    
+    static final int MAGIC = 0x4F454753; // "SGEO"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 20;
+    static final int V4_RECORD_BYTES = 12;
+    static final int V6_RECORD_BYTES = 36;
+    
+    private final MappedByteBuffer buffer;
+    private final int v4Count;
+    private final int v6Count;
+    private final int v6Offset;
+    private final GeoLocation[] locations;
+    
+    private IpGeoTable(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an IP geo table");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported IP geo table version: " + buffer.getInt(4));
+        }
+        this.v4Count = buffer.getInt(8);
+        this.v6Count = buffer.getInt(12);
+        int locationCount = buffer.getInt(16);
+        this.v6Offset = HEADER_BYTES + v4Count * V4_RECORD_BYTES;
+        
+        this.locations = new GeoLocation[locationCount];
+        int position = v6Offset + v6Count * V6_RECORD_BYTES;
+        for (int i = 0; i < locationCount; i++) {
+            int countryLength = Short.toUnsignedInt(buffer.getShort(position));
+            String country = readUtf8(position + 2, countryLength);
+            position += 2 + countryLength;
+            int cityLength = Short.toUnsignedInt(buffer.getShort(position));
+            String city = cityLength == 0 ? null : readUtf8(position + 2, cityLength);
+            position += 2 + cityLength;
+            locations[i] = new GeoLocation(country, city);
+        }
+    }
+    
+    /**
+     * Maps a table file; the file may be replaced afterwards (the mapping keeps the old contents)
+     */
+    public static IpGeoTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new IpGeoTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    /**
+     * @return the location index of the range containing the address, or {@link #NOT_FOUND}
+     *         (also for malformed addresses)
+     */
+    public int lookup(CharSequence address) {
+        if (address == null || address.length() == 0) {
+            return NOT_FOUND;
+        }
+        for (int i = 0; i < address.length(); i++) {
+            if (address.charAt(i) == ':') {
+                return lookupV6(address);
+            }
+        }
+        long v4 = parseV4(address, 0, address.length());
+        return v4 < 0 ? NOT_FOUND : lookupV4((int) v4);
+    }
+    
+    public GeoLocation location(int location) {
+        return locations[location];
+    }
+    
+    public int getRangeCount() {
+        return v4Count + v6Count;
+    }
+    
+    private int lookupV4(int address) {
+        int low = 0;
+        int high = v4Count - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Integer.compareUnsigned(buffer.getInt(HEADER_BYTES + mid * V4_RECORD_BYTES), address) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0) {
+            return NOT_FOUND;
+        }
+        int record = HEADER_BYTES + candidate * V4_RECORD_BYTES;
+        return Integer.compareUnsigned(address, buffer.getInt(record + 4)) <= 0 ? buffer.getInt(record + 8) : NOT_FOUND;
+    }
+    
+    private int lookupV6(CharSequence address) {
+        // Parse into two 64-bit halves: groups before "::" fill from the top, groups after it from the bottom
+        long headHi = 0;
+        long headLo = 0;
+        long tailHi = 0;
+        long tailLo = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+        int length = address.length();
+        int i = 0;
+        if (length >= 2 && address.charAt(0) == ':' && address.charAt(1) == ':') {
+            compressed = true;
+            i = 2;
+        }
+        while (i < length) {
+            int end = i;
+            boolean dotted = false;
+            while (end < length && address.charAt(end) != ':') {
+                dotted |= address.charAt(end) == '.';
+                end++;
+            }
+            int groups;
+            long value;
+            if (dotted) {
+                // Embedded IPv4 in the last 32 bits
+                value = parseV4(address, i, end);
+                if (value < 0 || end != length) {
+                    return NOT_FOUND;
+                }
+                groups = 2;
+            } else {
+                value = parseHexGroup(address, i, end);
+                if (value < 0) {
+                    return NOT_FOUND;
+                }
+                groups = 1;
+            }
+            if (compressed) {
+                tailHi = (tailHi << (16 * groups)) | (tailLo >>> (64 - 16 * groups));
+                tailLo = (tailLo << (16 * groups)) | value;
+                tailGroups += groups;
+            } else {
+                headHi = (headHi << (16 * groups)) | (headLo >>> (64 - 16 * groups));
+                headLo = (headLo << (16 * groups)) | value;
+                headGroups += groups;
+            }
+            if (end == length) {
+                break;
+            }
+            if (end + 1 < length && address.charAt(end + 1) == ':') {
+                if (compressed) {
+                    return NOT_FOUND; // Only one "::" allowed
+                }
+                compressed = true;
+                i = end + 2;
+            } else {
+                i = end + 1;
+                if (i == length) {
+                    return NOT_FOUND; // Trailing single ':'
+                }
+            }
+        }
+        if (compressed ? headGroups + tailGroups > 7 : headGroups != 8) {
+            return NOT_FOUND;
+        }
+        
+        // Shift the head groups to the top of the 128 bits and combine with the tail
+        int shift = 16 * (8 - headGroups);
+        long hi;
+        long lo;
+        if (shift == 0) {
+            hi = headHi;
+            lo = headLo;
+        } else if (shift < 64) {
+            hi = (headHi << shift) | (headLo >>> (64 - shift));
+            lo = headLo << shift;
+        } else if (shift < 128) {
+            hi = headLo << (shift - 64);
+            lo = 0;
+        } else {
+            hi = 0;
+            lo = 0;
+        }
+        hi |= tailHi;
+        lo |= tailLo;
+        
+        if (hi == 0 && (lo >>> 32) == 0xFFFFL) {
+            return lookupV4((int) lo);
+        }
+        return lookupV6(hi, lo);
+    }
+    
+    private int lookupV6(long hi, long lo) {
+        int low = 0;
+        int high = v6Count - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = v6Offset + mid * V6_RECORD_BYTES;
+            if (compare128(buffer.getLong(record), buffer.getLong(record + 8), hi, lo) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0) {
+            return NOT_FOUND;
+        }
+        int record = v6Offset + candidate * V6_RECORD_BYTES;
+        return compare128(hi, lo, buffer.getLong(record + 16), buffer.getLong(record + 24)) <= 0
+                ? buffer.getInt(record + 32)
+                : NOT_FOUND;
+    }
+    
+    static int compare128(long hi1, long lo1, long hi2, long lo2) {
+        int result = Long.compareUnsigned(hi1, hi2);
+        return result != 0 ? result : Long.compareUnsigned(lo1, lo2);
+    }
+    
+    /**
+     * @return the address as an unsigned 32-bit value, or -1 if malformed
+     */
+    private static long parseV4(CharSequence address, int from, int to) {
+        long result = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? address.charAt(i) : '.';
+            if (c == '.') {
+                if (octet < 0 || octets == 4) {
+                    return -1;
+                }
+                result = (result << 8) | octet;
+                octets++;
+                octet = -1;
+            } else if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+        return octets == 4 ? result : -1;
+    }
+    
+    private static long parseHexGroup(CharSequence address, int from, int to) {
+        if (to <= from || to - from > 4) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(address.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+    
+    private String readUtf8(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
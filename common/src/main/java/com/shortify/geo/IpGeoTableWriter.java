@@ -0,0 +1,150 @@
+package com.shortify.geo;
+
+import lombok.AllArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts an IP range CSV into the binary format read by {@link IpGeoTable}
+ *
+ * CSV columns: start_ip,end_ip,country[,city]; lines starting with '#' and blank lines are ignored.
+ * Both ends of a range must be of the same family. The output is written to a temporary file and moved
+ * into place atomically, so a running resolver watching the file never maps a half-written table.
+ *
+ * Usage: java -cp common.jar com.shortify.geo.IpGeoTableWriter ranges.csv ip-geo.bin
+ */
+public final class IpGeoTableWriter {
+    
+    private IpGeoTableWriter() {
+        // Utility class - prevent instantiation
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: IpGeoTableWriter <ranges.csv> <output.bin>");
+            System.exit(1);
+        }
+        int ranges = convert(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Wrote " + ranges + " ranges to " + args[1]);
+    }
+    
+    /**
+     * @return the number of ranges written
+     */
+    public static int convert(Path csv, Path output) throws IOException {
+        List<Range> v4 = new ArrayList<>();
+        List<Range> v6 = new ArrayList<>();
+        Map<String, Integer> locations = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                if (columns.length < 3) {
+                    throw new IOException("Line " + lineNumber + ": expected start_ip,end_ip,country[,city]");
+                }
+                InetAddress start = parse(columns[0].strip(), lineNumber);
+                InetAddress end = parse(columns[1].strip(), lineNumber);
+                if ((start instanceof Inet4Address) != (end instanceof Inet4Address)) {
+                    throw new IOException("Line " + lineNumber + ": range mixes IPv4 and IPv6");
+                }
+                String country = columns[2].strip();
+                String city = columns.length > 3 ? columns[3].strip() : "";
+                int location = locations.computeIfAbsent(country + "\n" + city, ignored -> locations.size());
+                Range range = new Range(new BigInteger(1, start.getAddress()), new BigInteger(1, end.getAddress()), location);
+                if (range.start.compareTo(range.end) > 0) {
+                    throw new IOException("Line " + lineNumber + ": range start is after its end");
+                }
+                (start instanceof Inet4Address ? v4 : v6).add(range);
+            }
+        }
+        v4.sort(Comparator.comparing(range -> range.start));
+        v6.sort(Comparator.comparing(range -> range.start));
+        
+        List<byte[]> locationBytes = new ArrayList<>();
+        int locationsSize = 0;
+        for (String key : locations.keySet()) {
+            int separator = key.indexOf('\n');
+            byte[] country = key.substring(0, separator).getBytes(StandardCharsets.UTF_8);
+            byte[] city = key.substring(separator + 1).getBytes(StandardCharsets.UTF_8);
+            locationBytes.add(country);
+            locationBytes.add(city);
+            locationsSize += 4 + country.length + city.length;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(IpGeoTable.HEADER_BYTES
+                + v4.size() * IpGeoTable.V4_RECORD_BYTES
+                + v6.size() * IpGeoTable.V6_RECORD_BYTES
+                + locationsSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(IpGeoTable.MAGIC)
+                .putInt(IpGeoTable.VERSION)
+                .putInt(v4.size())
+                .putInt(v6.size())
+                .putInt(locations.size());
+        for (Range range : v4) {
+            buffer.putInt(range.start.intValue()).putInt(range.end.intValue()).putInt(range.location);
+        }
+        for (Range range : v6) {
+            buffer.putLong(range.start.shiftRight(64).longValue()).putLong(range.start.longValue())
+                    .putLong(range.end.shiftRight(64).longValue()).putLong(range.end.longValue())
+                    .putInt(range.location);
+        }
+        for (byte[] value : locationBytes) {
+            buffer.putShort((short) value.length).put(value);
+        }
+        buffer.flip();
+        
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return v4.size() + v6.size();
+    }
+    
+    private static InetAddress parse(String address, int lineNumber) throws IOException {
+        // Only literals are accepted, so this never resolves a host name
+        if (address.isEmpty() || !(address.indexOf(':') >= 0 || address.chars().allMatch(c -> c == '.' || Character.isDigit(c)))) {
+            throw new IOException("Line " + lineNumber + ": not an IP address: " + address);
+        }
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            throw new IOException("Line " + lineNumber + ": not an IP address: " + address, e);
+        }
+    }
+    
+    @AllArgsConstructor
+    private static final class Range {
+        private final BigInteger start;
+        private final BigInteger end;
+        private final int location;
+    }
+}
@@ -0,0 +1,376 @@
+package com.shortify.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped, segmented on-disk journal of opaque records
+ *
+ * Layout:
+ * - the directory holds fixed-size segment files (segment-&lt;id&gt;.journal), each mapped into memory
+ * - a record is [int length][int CRC32C of payload][payload]; a zero length marks the end of written data
+ * - the checkpoint file holds the read position (segment id, offset) of the consumer, replaced atomically
+ *
+ * Crash safety: the length is written after the payload and CRC, so a record is only visible once complete.
+ * On open the tail segment is scanned and everything after the last record with a valid CRC is zeroed,
+ * so a torn write is discarded instead of being replayed. Records are readable after a process crash
+ * as soon as they are appended (they live in the page cache); {@link #flush()} bounds what an OS crash can lose.
+ * Appends never msync: segments sealed by a roll-over are queued and forced by the next flush.
+ *
+ * Delivery is at-least-once: records read but not yet {@link #commit(Position) committed} are read again
+ * after a restart. Disk usage is bounded by maxBytes; appends are rejected once every segment is in use.
+ *
+ * Thread-safe: all operations synchronize on the journal; {@link #flush()} forces outside the lock
+ * so appends from Kafka callback threads never wait on the storage device.
+ */
+public class SpillJournal implements Closeable {
+    
+    static final int RECORD_HEADER_BYTES = 8;
+    static final String CHECKPOINT_FILE = "checkpoint";
+    
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.journal");
+    private static final int CHECKPOINT_BYTES = 16;
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final List<MappedByteBuffer> sealedUnflushed = new ArrayList<>();
+    
+    private long writeSegmentId;
+    private MappedByteBuffer writeBuffer;
+    private int writeOffset;
+    
+    private long readSegmentId;
+    private int readOffset;
+    private long cachedReadSegmentId = -1;
+    private MappedByteBuffer cachedReadBuffer;
+    
+    private long corruptRecords;
+    
+    /**
+     * Opens (or creates) a journal, recovering the write position and the last committed read position
+     *
+     * @param directory directory holding the segments and the checkpoint
+     * @param segmentBytes size of each segment file
+     * @param maxBytes upper bound on the disk space used by segments (at least two segments are kept)
+     */
+    public SpillJournal(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        if (segmentBytes <= RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.max(2, Math.min(Integer.MAX_VALUE, maxBytes / segmentBytes));
+        Files.createDirectories(directory);
+        recover();
+    }
+    
+    /**
+     * Appends a record
+     *
+     * @return false if the journal is full (the record was not written)
+     */
+    public synchronized boolean append(byte[] payload) throws IOException {
+        if (payload.length == 0 || payload.length > segmentBytes - RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("Record size out of range: " + payload.length);
+        }
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        if (writeOffset + recordBytes > segmentBytes) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            sealedUnflushed.add(writeBuffer);
+            openWriteSegment(writeSegmentId + 1);
+        }
+        writeBuffer.put(writeOffset + RECORD_HEADER_BYTES, payload);
+        writeBuffer.putInt(writeOffset + 4, crc(payload, 0, payload.length));
+        writeBuffer.putInt(writeOffset, payload.length); // Written last: a non-zero length marks a complete record
+        writeOffset += recordBytes;
+        return true;
+    }
+    
+    /**
+     * Reads up to maxRecords records after the committed position without consuming them
+     *
+     * @return the records in append order and the position to commit once they are processed
+     */
+    public synchronized Batch read(int maxRecords) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        long segmentId = readSegmentId;
+        int offset = readOffset;
+        while (records.size() < maxRecords) {
+            byte[] record = readRecord(segmentId, offset);
+            if (record != null) {
+                records.add(record);
+                offset += RECORD_HEADER_BYTES + record.length;
+            } else if (segmentId < writeSegmentId) {
+                segmentId = segments.higherKey(segmentId);
+                offset = 0;
+            } else {
+                break;
+            }
+        }
+        return new Batch(records, new Position(segmentId, offset));
+    }
+    
+    /**
+     * Marks everything before the position as consumed and deletes fully consumed segments
+     */
+    public synchronized void commit(Position position) throws IOException {
+        writeCheckpoint(position);
+        readSegmentId = position.getSegmentId();
+        readOffset = position.getOffset();
+        Iterator<Map.Entry<Long, Path>> consumed = segments.headMap(readSegmentId).entrySet().iterator();
+        while (consumed.hasNext()) {
+            Map.Entry<Long, Path> segment = consumed.next();
+            if (segment.getKey() == cachedReadSegmentId) {
+                cachedReadSegmentId = -1;
+                cachedReadBuffer = null;
+            }
+            Files.deleteIfExists(segment.getValue());
+            consumed.remove();
+        }
+    }
+    
+    /**
+     * @return true if every appended record has been committed
+     */
+    public synchronized boolean isEmpty() {
+        return readSegmentId == writeSegmentId && readOffset >= writeOffset;
+    }
+    
+    /**
+     * @return disk space allocated to segment files
+     */
+    public synchronized long getDiskBytes() {
+        return (long) segments.size() * segmentBytes;
+    }
+    
+    /**
+     * @return records skipped because their CRC did not match
+     */
+    public synchronized long getCorruptRecords() {
+        return corruptRecords;
+    }
+    
+    /**
+     * Forces appended records to the storage device
+     *
+     * The buffers and the written range are captured under the lock and forced after releasing it,
+     * so concurrent appends keep going while the msync runs.
+     */
+    public void flush() {
+        List<MappedByteBuffer> sealed;
+        MappedByteBuffer tail;
+        int tailBytes;
+        synchronized (this) {
+            sealed = new ArrayList<>(sealedUnflushed);
+            sealedUnflushed.clear();
+            tail = writeBuffer;
+            tailBytes = writeOffset;
+        }
+        for (MappedByteBuffer buffer : sealed) {
+            buffer.force();
+        }
+        if (tailBytes > 0) {
+            tail.force(0, tailBytes);
+        }
+    }
+    
+    @Override
+    public void close() {
+        flush();
+    }
+    
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.put(Long.parseLong(matcher.group(1)), file);
+                }
+            });
+        }
+        
+        Position checkpoint = readCheckpoint();
+        if (checkpoint != null) {
+            // Segments consumed before a crash but not yet deleted
+            for (Path consumed : segments.headMap(checkpoint.getSegmentId()).values()) {
+                Files.deleteIfExists(consumed);
+            }
+            segments.headMap(checkpoint.getSegmentId()).clear();
+        }
+        
+        if (segments.isEmpty()) {
+            openWriteSegment(checkpoint != null ? checkpoint.getSegmentId() : 0);
+        } else {
+            openWriteSegment(segments.lastKey());
+            writeOffset = recoverWriteOffset();
+        }
+        
+        if (checkpoint != null && segments.containsKey(checkpoint.getSegmentId())) {
+            readSegmentId = checkpoint.getSegmentId();
+            readOffset = readSegmentId == writeSegmentId
+                    ? Math.min(checkpoint.getOffset(), writeOffset)
+                    : checkpoint.getOffset();
+        } else {
+            readSegmentId = segments.firstKey();
+            readOffset = 0;
+        }
+    }
+    
+    /**
+     * Scans the tail segment for the end of the last valid record and zeroes anything after it
+     */
+    private int recoverWriteOffset() {
+        int offset = 0;
+        while (offset + RECORD_HEADER_BYTES <= segmentBytes) {
+            int length = writeBuffer.getInt(offset);
+            if (length == 0) {
+                return offset;
+            }
+            if (!isValidRecord(writeBuffer, offset, length, segmentBytes)) {
+                break;
+            }
+            offset += RECORD_HEADER_BYTES + length;
+        }
+        for (int i = offset; i < segmentBytes; i++) {
+            writeBuffer.put(i, (byte) 0);
+        }
+        writeBuffer.force();
+        return offset;
+    }
+    
+    private void openWriteSegment(long segmentId) throws IOException {
+        Path file = directory.resolve(String.format("segment-%020d.journal", segmentId));
+        writeBuffer = map(file, FileChannel.MapMode.READ_WRITE);
+        writeSegmentId = segmentId;
+        writeOffset = 0;
+        segments.put(segmentId, file);
+    }
+    
+    private byte[] readRecord(long segmentId, int offset) throws IOException {
+        int limit = segmentId == writeSegmentId ? writeOffset : segmentBytes;
+        if (offset + RECORD_HEADER_BYTES > limit) {
+            return null;
+        }
+        ByteBuffer buffer = bufferFor(segmentId);
+        int length = buffer.getInt(offset);
+        if (length == 0) {
+            return null;
+        }
+        if (!isValidRecord(buffer, offset, length, limit)) {
+            // The rest of a sealed segment cannot be framed after a corrupt record; skip to the next segment
+            corruptRecords++;
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + RECORD_HEADER_BYTES, payload);
+        return payload;
+    }
+    
+    private ByteBuffer bufferFor(long segmentId) throws IOException {
+        if (segmentId == writeSegmentId) {
+            return writeBuffer;
+        }
+        if (segmentId != cachedReadSegmentId) {
+            cachedReadBuffer = map(segments.get(segmentId), FileChannel.MapMode.READ_ONLY);
+            cachedReadSegmentId = segmentId;
+        }
+        return cachedReadBuffer;
+    }
+    
+    private boolean isValidRecord(ByteBuffer buffer, int offset, int length, int limit) {
+        if (length < 0 || length > limit - offset - RECORD_HEADER_BYTES) {
+            return false;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + RECORD_HEADER_BYTES, payload);
+        return buffer.getInt(offset + 4) == crc(payload, 0, length);
+    }
+    
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, segmentBytes);
+        }
+    }
+    
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != CHECKPOINT_BYTES
+                || buffer.getInt(12) != crc(buffer.array(), 0, 12)) {
+            return null; // Replay from the oldest segment rather than trust a damaged checkpoint
+        }
+        return new Position(buffer.getLong(0), buffer.getInt(8));
+    }
+    
+    private void writeCheckpoint(Position position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_BYTES);
+        buffer.putLong(position.getSegmentId()).putInt(position.getOffset());
+        buffer.putInt(crc(buffer.array(), 0, 12));
+        buffer.flip();
+        
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    private static int crc(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+    
+    /**
+     * Position in the journal: segment id and byte offset within the segment
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Position {
+        private final long segmentId;
+        private final int offset;
+    }
+    
+    /**
+     * Records returned by {@link #read(int)} and the position just after them
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Batch {
+        private final List<byte[]> records;
+        private final Position end;
+    }
+}
@@ -0,0 +1,83 @@
+package com.shortify.replication;
+
+/**
+ * Read-your-writes token handling, shared by the services that route reads to replicas
+ * 
+ * The token is a PostgreSQL WAL position (pg_lsn, e.g. "16/B374D848") taken on the primary after a
+ * write commits. A client that sends it back in the {@link #LSN_HEADER} header only gets its reads
+ * served by a replica whose pg_last_wal_replay_lsn() has reached it; otherwise the read goes to the primary.
+ * 
+ * The required LSN is held per thread for the duration of a request (set by each service's request filter,
+ * raised after writes, cleared when the request completes).
+ * 
+ * Follows Single Responsibility Principle - only handles LSN tokens and the per-request requirement
+ * Follows Encapsulation - static utility methods over a thread-local
+ */
+public final class ReadConsistency {
+    
+    public static final String LSN_HEADER = "X-Shortify-LSN";
+    
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+    
+    private ReadConsistency() {
+        // Utility class - prevent instantiation
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+    
+    /**
+     * Raises the LSN that reads on this thread must observe (lower values are ignored)
+     * 
+     * @param lsn the WAL position
+     */
+    public static void requireAtLeast(long lsn) {
+        Long current = REQUIRED_LSN.get();
+        if (current == null || Long.compareUnsigned(lsn, current) > 0) {
+            REQUIRED_LSN.set(lsn);
+        }
+    }
+    
+    /**
+     * @return the LSN reads on this thread must observe, or null when any replica will do
+     */
+    public static Long requiredLsn() {
+        return REQUIRED_LSN.get();
+    }
+    
+    /**
+     * Clears the requirement (end of request)
+     */
+    public static void clear() {
+        REQUIRED_LSN.remove();
+    }
+    
+    /**
+     * Parses a pg_lsn text value ("X/Y", two hexadecimal 32-bit halves)
+     * 
+     * @param text the LSN text
+     * @return the LSN as a 64-bit position
+     * @throws IllegalArgumentException if the text is not a valid pg_lsn
+     */
+    public static long parseLsn(String text) {
+        int slash = text == null ? -1 : text.indexOf('/');
+        if (slash <= 0 || slash == text.length() - 1 || slash > 8 || text.length() - slash - 1 > 8) {
+            throw new IllegalArgumentException("Invalid LSN: " + text);
+        }
+        try {
+            long high = Long.parseLong(text.substring(0, slash), 16);
+            long low = Long.parseLong(text.substring(slash + 1), 16);
+            return (high << 32) | low;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid LSN: " + text);
+        }
+    }
+    
+    /**
+     * Formats a 64-bit position as pg_lsn text
+     * 
+     * @param lsn the LSN
+     * @return the LSN text, e.g. "16/B374D848"
+     */
+    public static String formatLsn(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
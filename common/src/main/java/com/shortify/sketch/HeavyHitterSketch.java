@@ -0,0 +1,101 @@
+package com.shortify.sketch;
+
+/**
+ * Count-min sketch with conservative update and periodic halving, used to spot heavy-hitter keys in a stream
+ * 
+ * Memory is fixed (depth x width int counters) regardless of key cardinality. Estimates never undercount;
+ * collisions can only overcount, and conservative update keeps that error small for the skewed streams
+ * this is used for. Every decayInterval additions all counters (and the total) are halved, so the sketch
+ * tracks recent traffic and a key that stops being hot falls below the threshold again.
+ * 
+ * Thread-safe: methods synchronize on the sketch (callers add from a handful of producer threads).
+ */
+public class HeavyHitterSketch {
+    
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+    
+    private final int[][] counters;
+    private final int[] indexes = new int[DEPTH]; // Scratch for add(), guarded by the sketch lock
+    private final int mask;
+    private final long decayInterval;
+    private long additionsSinceDecay;
+    private long total;
+    
+    /**
+     * @param width counters per row (rounded up to a power of two)
+     * @param decayInterval additions between halvings
+     */
+    public HeavyHitterSketch(int width, long decayInterval) {
+        if (width <= 0 || decayInterval <= 0) {
+            throw new IllegalArgumentException("Width and decay interval must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(2, width) - 1) << 1;
+        this.counters = new int[DEPTH][size];
+        this.mask = size - 1;
+        this.decayInterval = decayInterval;
+    }
+    
+    /**
+     * Counts one occurrence of the key
+     * 
+     * @param keyHash hash of the key
+     * @return estimated count of the key in the current (decayed) window, including this occurrence
+     */
+    public synchronized long add(long keyHash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            indexes[row] = index(keyHash, row);
+            estimate = Math.min(estimate, counters[row][indexes[row]]);
+        }
+        // Conservative update: only raise counters that are below the new estimate
+        int updated = estimate + 1;
+        for (int row = 0; row < DEPTH; row++) {
+            if (counters[row][indexes[row]] < updated) {
+                counters[row][indexes[row]] = updated;
+            }
+        }
+        total++;
+        if (++additionsSinceDecay >= decayInterval) {
+            halve();
+        }
+        return updated;
+    }
+    
+    /**
+     * @return estimated count of the key without adding it
+     */
+    public synchronized long estimate(long keyHash) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[row][index(keyHash, row)]);
+        }
+        return estimate;
+    }
+    
+    /**
+     * @return number of additions in the current (decayed) window
+     */
+    public synchronized long total() {
+        return total;
+    }
+    
+    private void halve() {
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        total >>>= 1;
+        additionsSinceDecay = 0;
+    }
+    
+    private int index(long keyHash, int row) {
+        long h = keyHash + SEEDS[row];
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (h ^ (h >>> 33)) & mask;
+    }
+}
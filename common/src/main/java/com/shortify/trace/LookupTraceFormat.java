@@ -0,0 +1,63 @@
+package com.shortify.trace;
+
+/**
+ * Binary format of recorded lookup traces (shared by Lookup Service and the cache simulator)
+ * 
+ * Layout:
+ * - header: magic (4 bytes), version (1 byte), sample rate (8-byte double), start time (8-byte epoch millis)
+ * - records: varint((timeDeltaMillis << 1) | hitFlag) followed by the 8-byte salted short-code hash
+ * 
+ * Time deltas are relative to the previous record, so a typical record takes 9-10 bytes.
+ * Short codes are never stored; only a salted 64-bit hash is, which keeps traces anonymized.
+ */
+public final class LookupTraceFormat {
+    
+    private LookupTraceFormat() {
+        // Utility class - prevent instantiation
+    }
+    
+    public static final int MAGIC = 0x53485452; // "SHTR"
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 4 + 1 + 8 + 8;
+    public static final String FILE_EXTENSION = ".shtr";
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    /**
+     * Hashes a short code with a salt (FNV-1a over the characters, finalized with the MurmurHash3 mixer)
+     * The salt is never written to the trace, so hashes cannot be mapped back to short codes
+     */
+    public static long hashKey(CharSequence shortCode, long salt) {
+        long hash = FNV_OFFSET_BASIS ^ salt;
+        for (int i = 0; i < shortCode.length(); i++) {
+            hash ^= shortCode.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+    
+    /**
+     * Spatial (per-key) sampling: a key is either always or never recorded, so reuse distances
+     * of sampled keys are preserved and cache sizes can be scaled by the sample rate
+     */
+    public static boolean isSampled(long keyHash, double sampleRate) {
+        if (sampleRate >= 1.0) {
+            return true;
+        }
+        long bucket = (mix64(keyHash) >>> 40) & 0xFFFFFF; // 24 bits
+        return bucket < (long) (sampleRate * 0x1000000);
+    }
+    
+    /**
+     * MurmurHash3 64-bit finalizer
+     */
+    public static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
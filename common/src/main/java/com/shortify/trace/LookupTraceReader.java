@@ -0,0 +1,118 @@
+package com.shortify.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Cursor-style reader for traces in the {@link LookupTraceFormat} binary format
+ * Records are exposed through getters after each successful {@link #next()} to avoid per-record allocation
+ */
+public class LookupTraceReader implements Closeable {
+    
+    private final InputStream in;
+    private final double sampleRate;
+    private final long startTimeMillis;
+    
+    private long timestampMillis;
+    private long keyHash;
+    private boolean hit;
+    
+    public LookupTraceReader(InputStream in) throws IOException {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 64 * 1024);
+        if (readInt() != LookupTraceFormat.MAGIC) {
+            throw new IOException("Not a lookup trace file (bad magic)");
+        }
+        int version = this.in.read();
+        if (version != LookupTraceFormat.VERSION) {
+            throw new IOException("Unsupported lookup trace version: " + version);
+        }
+        this.sampleRate = Double.longBitsToDouble(readLong());
+        this.startTimeMillis = readLong();
+        this.timestampMillis = startTimeMillis;
+    }
+    
+    /**
+     * Advances to the next record
+     * 
+     * @return false when the end of the trace is reached (a truncated trailing record is ignored)
+     */
+    public boolean next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return false;
+        }
+        try {
+            long header = readVarLong(first);
+            keyHash = readLong();
+            timestampMillis += header >>> 1;
+            hit = (header & 1) != 0;
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+    
+    public double getSampleRate() {
+        return sampleRate;
+    }
+    
+    public long getStartTimeMillis() {
+        return startTimeMillis;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public long getKeyHash() {
+        return keyHash;
+    }
+    
+    public boolean isHit() {
+        return hit;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    private long readVarLong(int first) throws IOException {
+        long value = first & 0x7F;
+        int shift = 7;
+        int current = first;
+        while ((current & 0x80) != 0) {
+            current = readByte();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+    
+    private int readInt() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+    
+    private long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+    
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+}
@@ -0,0 +1,79 @@
+package com.shortify.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes lookup trace records in the {@link LookupTraceFormat} binary format
+ * Not thread-safe: a single writer thread is expected
+ */
+public class LookupTraceWriter implements Closeable {
+    
+    private final OutputStream out;
+    private long lastTimestampMillis;
+    private long bytesWritten;
+    private long recordsWritten;
+    
+    public LookupTraceWriter(OutputStream out, double sampleRate, long startTimeMillis) throws IOException {
+        this.out = out instanceof BufferedOutputStream ? out : new BufferedOutputStream(out, 64 * 1024);
+        this.lastTimestampMillis = startTimeMillis;
+        writeInt(LookupTraceFormat.MAGIC);
+        this.out.write(LookupTraceFormat.VERSION);
+        writeLong(Double.doubleToLongBits(sampleRate));
+        writeLong(startTimeMillis);
+        this.bytesWritten = LookupTraceFormat.HEADER_BYTES;
+    }
+    
+    /**
+     * Appends a record; out-of-order timestamps are clamped to the previous record's time
+     */
+    public void write(long timestampMillis, long keyHash, boolean hit) throws IOException {
+        long delta = Math.max(0, timestampMillis - lastTimestampMillis);
+        lastTimestampMillis += delta;
+        writeVarLong((delta << 1) | (hit ? 1 : 0));
+        writeLong(keyHash);
+        recordsWritten++;
+    }
+    
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+    
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+    
+    public void flush() throws IOException {
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+    
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+            bytesWritten++;
+        }
+        out.write((int) value);
+        bytesWritten++;
+    }
+    
+    private void writeInt(int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(value >>> shift);
+        }
+    }
+    
+    private void writeLong(long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+        bytesWritten += 8;
+    }
+}
@@ -0,0 +1,277 @@
+package com.shortify.useragent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classifies User-Agent headers into device type, OS family and browser family
+ *
+ * All tokens are matched in a single pass by an Aho-Corasick automaton compiled into a dense DFA over
+ * case-folded ASCII, so a header is scanned once regardless of the number of tokens and is never copied
+ * or lowercased. The set of matched tokens is then mapped to the result with ordered rules
+ * (e.g. "iPad ... Mobile" is a TABLET, Chrome's UA also contains "Safari/").
+ *
+ * Real traffic has few distinct User-Agents, so results are memoized in a bounded direct-mapped cache
+ * indexed by the header's hash; the stored header is compared on a hit, so hash collisions only cost a miss.
+ * Cache entries are immutable and replaced without locking.
+ *
+ * Thread-safe.
+ */
+public class UserAgentClassifier {
+    
+    public static final UserAgentInfo UNKNOWN = new UserAgentInfo("UNKNOWN", "Other", "Other");
+    
+    private static final int ALPHABET = 128;
+    
+    private enum Token {
+        IPAD("ipad"),
+        TABLET("tablet"),
+        KINDLE("kindle"),
+        SILK("silk/"),
+        MOBILE("mobile"),
+        IPHONE("iphone"),
+        IPOD("ipod"),
+        ANDROID("android"),
+        WINDOWS_PHONE("windows phone"),
+        WINDOWS("windows"),
+        MAC_OS("mac os x"),
+        MACINTOSH("macintosh"),
+        CHROME_OS("cros "),
+        LINUX("linux"),
+        EDGE("edg/"),
+        EDGE_LEGACY("edge/"),
+        EDGE_IOS("edgios/"),
+        EDGE_ANDROID("edga/"),
+        OPERA("opr/"),
+        OPERA_LEGACY("opera"),
+        SAMSUNG("samsungbrowser/"),
+        FIREFOX("firefox/"),
+        FIREFOX_IOS("fxios/"),
+        CHROME("chrome/"),
+        CHROME_IOS("crios/"),
+        CHROMIUM("chromium/"),
+        SAFARI("safari/"),
+        MSIE("msie "),
+        TRIDENT("trident/"),
+        BOT("bot"),
+        SPIDER("spider"),
+        CRAWLER("crawler"),
+        CURL("curl/"),
+        WGET("wget/"),
+        PYTHON("python-requests");
+        
+        private final String text;
+        
+        Token(String text) {
+            this.text = text;
+        }
+        
+        private long bit() {
+            return 1L << ordinal();
+        }
+    }
+    
+    private static final long BOTS = Token.BOT.bit() | Token.SPIDER.bit() | Token.CRAWLER.bit()
+            | Token.CURL.bit() | Token.WGET.bit() | Token.PYTHON.bit();
+    private static final long TABLETS = Token.IPAD.bit() | Token.TABLET.bit() | Token.KINDLE.bit() | Token.SILK.bit();
+    private static final long PHONES = Token.MOBILE.bit() | Token.IPHONE.bit() | Token.IPOD.bit() | Token.WINDOWS_PHONE.bit();
+    private static final long APPLE_MOBILE = Token.IPHONE.bit() | Token.IPAD.bit() | Token.IPOD.bit();
+    private static final long EDGES = Token.EDGE.bit() | Token.EDGE_LEGACY.bit() | Token.EDGE_IOS.bit() | Token.EDGE_ANDROID.bit();
+    private static final long CHROMES = Token.CHROME.bit() | Token.CHROME_IOS.bit() | Token.CHROMIUM.bit();
+    
+    // Dense DFA: next state = transitions[state * ALPHABET + char]; outputs[state] = tokens ending in the state
+    private static final int[] TRANSITIONS;
+    private static final long[] OUTPUTS;
+    
+    static {
+        List<int[]> trie = new ArrayList<>();
+        List<Long> outputs = new ArrayList<>();
+        trie.add(newNode());
+        outputs.add(0L);
+        for (Token token : Token.values()) {
+            int state = 0;
+            for (char c : token.text.toCharArray()) {
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newNode());
+                    outputs.add(0L);
+                }
+                state = trie.get(state)[c];
+            }
+            outputs.set(state, outputs.get(state) | token.bit());
+        }
+        
+        // Breadth-first: complete missing transitions via failure links and inherit their outputs
+        int states = trie.size();
+        int[] transitions = new int[states * ALPHABET];
+        long[] stateOutputs = new long[states];
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = trie.get(0)[c];
+            transitions[c] = Math.max(next, 0);
+            if (next > 0) {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            stateOutputs[state] = outputs.get(state) | stateOutputs[failure[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = trie.get(state)[c];
+                if (next >= 0) {
+                    failure[next] = transitions[failure[state] * ALPHABET + c];
+                    transitions[state * ALPHABET + c] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * ALPHABET + c] = transitions[failure[state] * ALPHABET + c];
+                }
+            }
+        }
+        TRANSITIONS = transitions;
+        OUTPUTS = stateOutputs;
+    }
+    
+    private final CacheEntry[] cache;
+    private final int cacheMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * @param cacheSize number of memoized User-Agents (rounded up to a power of two; 0 disables the cache)
+     */
+    public UserAgentClassifier(int cacheSize) {
+        int size = cacheSize <= 0 ? 0 : Integer.highestOneBit(Math.max(1, cacheSize - 1)) << 1;
+        this.cache = new CacheEntry[size];
+        this.cacheMask = size - 1;
+    }
+    
+    public UserAgentInfo classify(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return UNKNOWN;
+        }
+        if (cache.length == 0) {
+            return classifyUncached(userAgent);
+        }
+        int hash = userAgent.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & cacheMask;
+        CacheEntry entry = cache[slot];
+        if (entry != null && entry.userAgent.equals(userAgent)) {
+            hits.increment();
+            return entry.info;
+        }
+        misses.increment();
+        UserAgentInfo info = classifyUncached(userAgent);
+        cache[slot] = new CacheEntry(userAgent, info);
+        return info;
+    }
+    
+    public long getCacheHits() {
+        return hits.sum();
+    }
+    
+    public long getCacheMisses() {
+        return misses.sum();
+    }
+    
+    static UserAgentInfo classifyUncached(String userAgent) {
+        long tokens = scan(userAgent);
+        return new UserAgentInfo(deviceType(tokens), osFamily(tokens), browserFamily(tokens));
+    }
+    
+    private static long scan(String userAgent) {
+        int state = 0;
+        long tokens = 0;
+        for (int i = 0, length = userAgent.length(); i < length; i++) {
+            char c = userAgent.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            } else if (c >= ALPHABET) {
+                c = 0; // Not part of any token
+            }
+            state = TRANSITIONS[state * ALPHABET + c];
+            tokens |= OUTPUTS[state];
+        }
+        return tokens;
+    }
+    
+    private static String deviceType(long tokens) {
+        if ((tokens & BOTS) != 0) {
+            return "BOT";
+        }
+        // Tablets first: iPad and Kindle headers often also say "Mobile"; Android tablets omit "Mobile"
+        if ((tokens & TABLETS) != 0 || (has(tokens, Token.ANDROID) && !has(tokens, Token.MOBILE))) {
+            return "TABLET";
+        }
+        if ((tokens & PHONES) != 0) {
+            return "MOBILE";
+        }
+        return "DESKTOP";
+    }
+    
+    private static String osFamily(long tokens) {
+        if (has(tokens, Token.WINDOWS_PHONE)) {
+            return "Windows Phone";
+        } else if ((tokens & APPLE_MOBILE) != 0) {
+            return "iOS";
+        } else if (has(tokens, Token.ANDROID)) {
+            return "Android";
+        } else if (has(tokens, Token.CHROME_OS)) {
+            return "Chrome OS";
+        } else if (has(tokens, Token.WINDOWS)) {
+            return "Windows";
+        } else if (has(tokens, Token.MAC_OS) || has(tokens, Token.MACINTOSH)) {
+            return "macOS";
+        } else if (has(tokens, Token.LINUX)) {
+            return "Linux";
+        }
+        return "Other";
+    }
+    
+    private static String browserFamily(long tokens) {
+        // Order matters: most browsers also carry the tokens of the engine they are based on
+        if ((tokens & BOTS) != 0) {
+            return "Bot";
+        } else if ((tokens & EDGES) != 0) {
+            return "Edge";
+        } else if (has(tokens, Token.OPERA) || has(tokens, Token.OPERA_LEGACY)) {
+            return "Opera";
+        } else if (has(tokens, Token.SAMSUNG)) {
+            return "Samsung Internet";
+        } else if (has(tokens, Token.FIREFOX) || has(tokens, Token.FIREFOX_IOS)) {
+            return "Firefox";
+        } else if ((tokens & CHROMES) != 0) {
+            return "Chrome";
+        } else if (has(tokens, Token.MSIE) || has(tokens, Token.TRIDENT)) {
+            return "Internet Explorer";
+        } else if (has(tokens, Token.SAFARI)) {
+            return "Safari";
+        }
+        return "Other";
+    }
+    
+    private static boolean has(long tokens, Token token) {
+        return (tokens & token.bit()) != 0;
+    }
+    
+    private static int[] newNode() {
+        int[] node = new int[ALPHABET];
+        Arrays.fill(node, -1);
+        return node;
+    }
+    
+    private static final class CacheEntry {
+        private final String userAgent;
+        private final UserAgentInfo info;
+        
+        private CacheEntry(String userAgent, UserAgentInfo info) {
+            this.userAgent = userAgent;
+            this.info = info;
+        }
+    }
+}
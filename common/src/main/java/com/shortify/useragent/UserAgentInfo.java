@@ -0,0 +1,14 @@
+package com.shortify.useragent;
+
+import lombok.Value;
+
+/**
+ * Result of classifying a User-Agent header
+ * deviceType is one of MOBILE, TABLET, DESKTOP, BOT or UNKNOWN (no header)
+ */
+@Value
+public class UserAgentInfo {
+    String deviceType;
+    String osFamily;
+    String browserFamily;
+}
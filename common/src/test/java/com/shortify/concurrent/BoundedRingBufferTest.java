@@ -0,0 +1,106 @@
+package com.shortify.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BoundedRingBuffer Tests")
+class BoundedRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void capacity_IsRoundedUpToPowerOfTwo() {
+        assertThat(new BoundedRingBuffer<Integer>(1000).capacity()).isEqualTo(1024);
+        assertThat(new BoundedRingBuffer<Integer>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("Should reject offers when full and accept again after a poll")
+    void offer_FailsWhenFull() {
+        // Given
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // When / Then
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should preserve FIFO order across laps")
+    void poll_PreservesFifoOrder() {
+        // Given
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(i);
+            if (i % 2 == 1) {
+                buffer.drain(drained::add, 2);
+            }
+        }
+
+        // Then
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should deliver every element exactly once with concurrent producers and consumers")
+    void concurrentProducersAndConsumers_DeliverEachElementOnce() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int perProducer = 50_000;
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1024);
+        Set<Integer> received = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        CountDownLatch producersDone = new CountDownLatch(producers);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                producersDone.countDown();
+            });
+        }
+        for (int c = 0; c < 2; c++) {
+            executor.submit(() -> {
+                while (producersDone.getCount() > 0 || !buffer.isEmpty()) {
+                    Integer element = buffer.poll();
+                    if (element != null && !received.add(element)) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(duplicates.get()).isZero();
+        assertThat(received).hasSize(producers * perProducer);
+    }
+}
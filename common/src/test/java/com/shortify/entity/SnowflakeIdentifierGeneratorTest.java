@@ -0,0 +1,47 @@
+package com.shortify.entity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SnowflakeIdentifierGenerator Tests")
+class SnowflakeIdentifierGeneratorTest {
+
+    @AfterEach
+    void tearDown() {
+        SnowflakeIdentifierGenerator.setIdSource(null);
+    }
+
+    @Test
+    @DisplayName("generate - Assigns IDs from the registered source")
+    void generate_SourceRegistered_ReturnsSourceIds() {
+        // Given
+        AtomicLong source = new AtomicLong(1000L);
+        SnowflakeIdentifierGenerator.setIdSource(source::incrementAndGet);
+        SnowflakeIdentifierGenerator generator = new SnowflakeIdentifierGenerator(null, null, null);
+
+        // When
+        Object first = generator.generate(null, new UrlMapping());
+        Object second = generator.generate(null, new UrlMapping());
+
+        // Then
+        assertThat(first).isEqualTo(1001L);
+        assertThat(second).isEqualTo(1002L);
+    }
+
+    @Test
+    @DisplayName("generate - Fails fast when no source is registered")
+    void generate_NoSource_ThrowsException() {
+        // Given
+        SnowflakeIdentifierGenerator generator = new SnowflakeIdentifierGenerator(null, null, null);
+
+        // When / Then
+        assertThatThrownBy(() -> generator.generate(null, new UrlMapping()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
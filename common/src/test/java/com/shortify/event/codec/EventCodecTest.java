@@ -0,0 +1,196 @@
+package com.shortify.event.codec;
+
+import com.shortify.event.ClickDeltaEvent;
+import com.shortify.event.ClickEvent;
+import com.shortify.event.HotLinkEvent;
+import com.shortify.event.UrlDeletedEvent;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Event Codec Tests")
+class EventCodecTest {
+
+    private static final String TOPIC = "url-click-events";
+
+    private static ClickEvent sampleClick() {
+        return ClickEvent.builder()
+                .shortCode("aB3xY9")
+                .ipAddress("203.0.113.42")
+                .userAgent("Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X)")
+                .referrer("https://news.example.com/story")
+                .country("United States")
+                .city("New York")
+                .deviceType("MOBILE")
+                .timestamp(1_735_689_600_000L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should round-trip a fully populated click event")
+    void clickEvent_RoundTrips() {
+        // Given
+        ClickEvent event = sampleClick();
+
+        // When
+        byte[] encoded = EventBinaryCodec.encode(event);
+
+        // Then
+        assertThat(EventBinaryCodec.decode(encoded)).isEqualTo(event);
+        assertThat(encoded.length).isLessThan(new JsonSerializer<>().serialize(TOPIC, event).length * 2 / 3);
+    }
+
+    @Test
+    @DisplayName("Should keep null fields null, carry unknown dictionary values as literals and keep the sampling weight")
+    void clickEvent_NullsAndUnknownDeviceType() {
+        // Given
+        ClickEvent event = ClickEvent.builder()
+                .shortCode("abc123")
+                .deviceType("SMART_TV")
+                .timestamp(42L)
+                .weight(12.5)
+                .build();
+
+        // When
+        Object decoded = EventBinaryCodec.decode(EventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should round-trip url-deleted, hot-link and click-delta events")
+    void otherEvents_RoundTrip() {
+        // Given
+        UrlDeletedEvent deleted = UrlDeletedEvent.builder()
+                .shortCode("abc123").reason("EXPIRED").timestamp(1_700_000_000_000L).build();
+        HotLinkEvent hotLink = HotLinkEvent.builder()
+                .shortCode("abc123").clicksInWindow(5000L).previousWindowClicks(12L)
+                .windowSeconds(60).timestamp(1_700_000_000_000L).build();
+        ClickDeltaEvent delta = ClickDeltaEvent.builder()
+                .shortCode("abc123").bucketStart(1_700_000_040_000L).clicks(1234L).build();
+
+        // When / Then
+        assertThat(EventBinaryCodec.decode(EventBinaryCodec.encode(deleted))).isEqualTo(deleted);
+        assertThat(EventBinaryCodec.decode(EventBinaryCodec.encode(hotLink))).isEqualTo(hotLink);
+        assertThat(EventBinaryCodec.decode(EventBinaryCodec.encode(delta))).isEqualTo(delta);
+    }
+
+    @Test
+    @DisplayName("Should ignore fields appended by a newer schema version")
+    void decode_IgnoresTrailingFieldsFromNewerVersion() {
+        // Given - a v2 url-deleted event with an extra string field (bit 3) after the v1 fields
+        BinaryWriter writer = new BinaryWriter(32);
+        writer.writeByte(EventBinaryCodec.URL_DELETED_EVENT);
+        writer.writeByte(2);
+        writer.writeVarInt(0b1111);
+        writer.writeString("abc123");
+        writer.writeDictionaryString("UNUSED", EventDictionary.DELETION_REASONS);
+        writer.writeVarLong(99L);
+        writer.writeString("field-from-the-future");
+
+        // When
+        Object decoded = EventBinaryCodec.decode(writer.toByteArray());
+
+        // Then
+        assertThat(decoded).isEqualTo(new UrlDeletedEvent("abc123", "UNUSED", 99L));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated and unknown payloads")
+    void decode_RejectsMalformedInput() {
+        byte[] encoded = EventBinaryCodec.encode(sampleClick());
+
+        assertThatThrownBy(() -> EventBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 3)))
+                .isInstanceOf(EventCodecException.class);
+        assertThatThrownBy(() -> EventBinaryCodec.decode(new byte[]{99, 1, 0}))
+                .isInstanceOf(EventCodecException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a corrupt string length that decodes to a negative varint")
+    void decode_RejectsNegativeLength() {
+        // Given - a url-deleted event whose short code length is a 10-byte varint with the sign bit set
+        BinaryWriter writer = new BinaryWriter(32);
+        writer.writeByte(EventBinaryCodec.URL_DELETED_EVENT);
+        writer.writeByte(1);
+        writer.writeVarInt(0b0001);
+        writer.writeVarLong(-2L);
+        byte[] corrupt = writer.toByteArray();
+
+        // When / Then
+        assertThatThrownBy(() -> EventBinaryCodec.decode(corrupt))
+                .isInstanceOf(EventCodecException.class);
+        BinaryWriter bytes = new BinaryWriter(16);
+        bytes.writeVarLong(-1L);
+        assertThatThrownBy(() -> new BinaryReader(bytes.toByteArray()).readBytes())
+                .isInstanceOf(EventCodecException.class);
+    }
+
+    @Test
+    @DisplayName("Should negotiate binary or JSON through the content-type header")
+    void serde_NegotiatesFormatByHeader() {
+        // Given
+        EventSerializer binarySerializer = new EventSerializer();
+        binarySerializer.configure(Map.of(EventSerializer.FORMAT_CONFIG, "binary"), false);
+        EventSerializer jsonSerializer = new EventSerializer();
+        jsonSerializer.configure(Map.of(EventSerializer.FORMAT_CONFIG, "json"), false);
+        EventDeserializer deserializer = new EventDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.shortify.event"), false);
+        ClickEvent event = sampleClick();
+
+        // When
+        RecordHeaders binaryHeaders = new RecordHeaders();
+        byte[] binary = binarySerializer.serialize(TOPIC, binaryHeaders, event);
+        RecordHeaders jsonHeaders = new RecordHeaders();
+        byte[] json = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+
+        // Then
+        assertThat(new String(binaryHeaders.lastHeader(EventContentType.HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(EventContentType.BINARY);
+        assertThat(new String(jsonHeaders.lastHeader(EventContentType.HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(EventContentType.JSON);
+        assertThat(deserializer.deserialize(TOPIC, binaryHeaders, binary)).isEqualTo(event);
+        assertThat(deserializer.deserialize(TOPIC, jsonHeaders, json)).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should write JSON when no format is configured")
+    void serializer_NoFormat_DefaultsToJson() {
+        // Given
+        EventSerializer serializer = new EventSerializer();
+        serializer.configure(Map.of(), false);
+        RecordHeaders headers = new RecordHeaders();
+
+        // When
+        serializer.serialize(TOPIC, headers, sampleClick());
+
+        // Then
+        assertThat(new String(headers.lastHeader(EventContentType.HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(EventContentType.JSON);
+    }
+
+    @Test
+    @DisplayName("Should read records from legacy JSON producers that send no content-type header")
+    void deserializer_FallsBackToJsonWithoutHeader() {
+        // Given - a record as written by the plain JsonSerializer
+        RecordHeaders headers = new RecordHeaders();
+        ClickEvent event = sampleClick();
+        byte[] legacy = new JsonSerializer<>().serialize(TOPIC, headers, event);
+        EventDeserializer deserializer = new EventDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.shortify.event"), false);
+
+        // When / Then
+        assertThat(deserializer.deserialize(TOPIC, headers, legacy)).isEqualTo(event);
+    }
+}
@@ -0,0 +1,95 @@
+package com.shortify.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IpGeoTable Tests")
+class IpGeoTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path tableFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tableFile = tempDir.resolve("ip-geo.bin");
+        IpGeoTableWriter.convert(fixture(), tableFile);
+    }
+
+    @Test
+    @DisplayName("Should resolve IPv4 addresses inside, at the bounds of and outside the ranges")
+    void lookup_ResolvesIpv4() throws Exception {
+        // Given
+        IpGeoTable table = IpGeoTable.open(tableFile);
+
+        // When & Then
+        assertThat(table.getRangeCount()).isEqualTo(7);
+        assertThat(table.location(table.lookup("8.8.8.8")).getCountry()).isEqualTo("USA");
+        assertThat(table.location(table.lookup("8.8.8.8")).getCity()).isEqualTo("Mountain View");
+        assertThat(table.location(table.lookup("1.0.0.0")).getCountry()).isEqualTo("Australia");
+        assertThat(table.location(table.lookup("81.2.69.255")).getCountry()).isEqualTo("UK");
+        assertThat(table.location(table.lookup("217.160.0.1")).getCountry()).isEqualTo("Germany");
+        assertThat(table.location(table.lookup("217.160.0.1")).getCity()).isNull();
+        assertThat(table.location(table.lookup("255.255.255.255")).getCountry()).isEqualTo("Reserved"); // unsigned compare
+        assertThat(table.lookup("8.8.9.0")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("0.0.0.1")).isEqualTo(IpGeoTable.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should resolve full, compressed and IPv4-mapped IPv6 addresses")
+    void lookup_ResolvesIpv6() throws Exception {
+        // Given
+        IpGeoTable table = IpGeoTable.open(tableFile);
+
+        // When & Then
+        assertThat(table.location(table.lookup("2001:db8::1")).getCountry()).isEqualTo("Documentation");
+        assertThat(table.location(table.lookup("2001:0db8:0000:ffff:ffff:ffff:ffff:ffff")).getCountry()).isEqualTo("Documentation");
+        assertThat(table.lookup("2001:db8:1::")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.location(table.lookup("2A00:1450:4001:81C::200E")).getCity()).isEqualTo("Dublin");
+        assertThat(table.location(table.lookup("::ffff:81.2.69.142")).getCountry()).isEqualTo("UK");
+        assertThat(table.lookup("::1")).isEqualTo(IpGeoTable.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should treat malformed addresses as not found")
+    void lookup_RejectsMalformedAddresses() throws Exception {
+        // Given
+        IpGeoTable table = IpGeoTable.open(tableFile);
+
+        // When & Then
+        assertThat(table.lookup(null)).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("8.8.8")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("8.8.8.256")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("8.8.8.8.8")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("example.com")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("2001:db8::1::2")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("2001:db8:1")).isEqualTo(IpGeoTable.NOT_FOUND);
+        assertThat(table.lookup("2001:db8::12345")).isEqualTo(IpGeoTable.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not IP geo tables")
+    void open_RejectsForeignFile() throws Exception {
+        // Given
+        Path foreign = tempDir.resolve("foreign.bin");
+        Files.write(foreign, new byte[64]);
+
+        // When & Then
+        assertThatThrownBy(() -> IpGeoTable.open(foreign)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Path fixture() throws URISyntaxException {
+        return Path.of(IpGeoTableTest.class.getResource("/geo/ip-ranges.csv").toURI());
+    }
+}
@@ -0,0 +1,151 @@
+package com.shortify.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SpillJournal Tests")
+class SpillJournalTest {
+
+    private static final int SEGMENT_BYTES = 256;
+
+    @TempDir
+    Path directory;
+
+    private static byte[] record(int i) {
+        return ("event-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> asStrings(SpillJournal.Batch batch) {
+        return batch.getRecords().stream().map(r -> new String(r, StandardCharsets.UTF_8)).toList();
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".journal")).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read appended records in order and only consume them on commit")
+    void appendReadCommit() throws IOException {
+        // Given
+        SpillJournal journal = new SpillJournal(directory, SEGMENT_BYTES, 4096);
+        for (int i = 0; i < 3; i++) {
+            assertThat(journal.append(record(i))).isTrue();
+        }
+
+        // When
+        SpillJournal.Batch first = journal.read(2);
+        SpillJournal.Batch again = journal.read(10);
+        journal.commit(first.getEnd());
+        SpillJournal.Batch rest = journal.read(10);
+
+        // Then
+        assertThat(asStrings(first)).containsExactly("event-0", "event-1");
+        assertThat(asStrings(again)).containsExactly("event-0", "event-1", "event-2");
+        assertThat(asStrings(rest)).containsExactly("event-2");
+        journal.commit(rest.getEnd());
+        assertThat(journal.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should resume from the committed position after reopening")
+    void reopen_ResumesFromCheckpoint() throws IOException {
+        // Given
+        SpillJournal journal = new SpillJournal(directory, SEGMENT_BYTES, 4096);
+        for (int i = 0; i < 30; i++) {
+            journal.append(record(i));
+        }
+        journal.commit(journal.read(10).getEnd());
+        journal.close();
+
+        // When
+        SpillJournal reopened = new SpillJournal(directory, SEGMENT_BYTES, 4096);
+        reopened.append(record(30));
+        List<String> remaining = asStrings(reopened.read(100));
+
+        // Then
+        assertThat(remaining).hasSize(21);
+        assertThat(remaining.get(0)).isEqualTo("event-10");
+        assertThat(remaining.get(20)).isEqualTo("event-30");
+    }
+
+    @Test
+    @DisplayName("Should roll segments, reject appends when full and delete consumed segments")
+    void boundedDiskUsage() throws IOException {
+        // Given - 3 segments of 256 bytes, each record takes 15 bytes
+        SpillJournal journal = new SpillJournal(directory, SEGMENT_BYTES, 3 * SEGMENT_BYTES);
+        int appended = 0;
+        while (journal.append(record(appended % 10))) {
+            appended++;
+        }
+
+        // Then
+        assertThat(appended).isEqualTo(3 * (SEGMENT_BYTES / 15));
+        assertThat(journal.getDiskBytes()).isEqualTo(3L * SEGMENT_BYTES);
+
+        // When - consuming everything frees the sealed segments
+        journal.commit(journal.read(appended).getEnd());
+
+        // Then
+        assertThat(journal.isEmpty()).isTrue();
+        assertThat(segmentFiles()).isEqualTo(1);
+        assertThat(journal.append(record(0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should discard a torn record at the tail when reopening")
+    void reopen_DiscardsTornTail() throws IOException {
+        // Given - two records, then a partially written third (length set, payload CRC wrong)
+        SpillJournal journal = new SpillJournal(directory, SEGMENT_BYTES, 4096);
+        journal.append(record(0));
+        journal.append(record(1));
+        journal.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(f -> f.getFileName().toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(2 * 15);
+            file.writeInt(7);
+            file.writeInt(12345);
+            file.write("event-2".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // When
+        SpillJournal reopened = new SpillJournal(directory, SEGMENT_BYTES, 4096);
+        reopened.append(record(3));
+
+        // Then
+        assertThat(asStrings(reopened.read(10))).containsExactly("event-0", "event-1", "event-3");
+    }
+
+    @Test
+    @DisplayName("Should replay from the oldest segment when the checkpoint is damaged")
+    void reopen_IgnoresDamagedCheckpoint() throws IOException {
+        // Given
+        SpillJournal journal = new SpillJournal(directory, SEGMENT_BYTES, 4096);
+        journal.append(record(0));
+        journal.append(record(1));
+        journal.commit(journal.read(1).getEnd());
+        journal.close();
+        Files.write(directory.resolve(SpillJournal.CHECKPOINT_FILE), new byte[]{1, 2, 3});
+
+        // When
+        SpillJournal reopened = new SpillJournal(directory, SEGMENT_BYTES, 4096);
+
+        // Then - at-least-once: the committed record is delivered again
+        assertThat(asStrings(reopened.read(10))).containsExactly("event-0", "event-1");
+    }
+}
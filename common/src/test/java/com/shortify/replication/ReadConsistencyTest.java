@@ -0,0 +1,56 @@
+package com.shortify.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ReadConsistency Tests")
+class ReadConsistencyTest {
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    @DisplayName("parseLsn/formatLsn - Round trips pg_lsn text")
+    void parseLsn_ValidText_RoundTrips() {
+        // When
+        long lsn = ReadConsistency.parseLsn("16/B374D848");
+
+        // Then
+        assertThat(lsn).isEqualTo(0x16B374D848L);
+        assertThat(ReadConsistency.formatLsn(lsn)).isEqualTo("16/B374D848");
+        assertThat(ReadConsistency.formatLsn(ReadConsistency.parseLsn("0/0"))).isEqualTo("0/0");
+    }
+
+    @Test
+    @DisplayName("parseLsn - Rejects malformed tokens")
+    void parseLsn_MalformedText_ThrowsException() {
+        assertThatThrownBy(() -> ReadConsistency.parseLsn("16B374D848"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReadConsistency.parseLsn("16/"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReadConsistency.parseLsn("zz/10"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReadConsistency.parseLsn(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("requireAtLeast - Lower LSNs never relax the requirement")
+    void requireAtLeast_LowerLsn_KeepsHighest() {
+        // Given: no requirement
+        assertThat(ReadConsistency.requiredLsn()).isNull();
+
+        // When
+        ReadConsistency.requireAtLeast(200L);
+        ReadConsistency.requireAtLeast(100L);
+
+        // Then
+        assertThat(ReadConsistency.requiredLsn()).isEqualTo(200L);
+    }
+}
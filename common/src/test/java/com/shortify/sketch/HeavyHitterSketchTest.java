@@ -0,0 +1,50 @@
+package com.shortify.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HeavyHitterSketch Tests")
+class HeavyHitterSketchTest {
+
+    @Test
+    @DisplayName("Should single out a heavy hitter among many light keys")
+    void add_EstimatesHeavyHitter() {
+        // Given - one key with 20% of the traffic, the rest spread over 50k keys
+        HeavyHitterSketch sketch = new HeavyHitterSketch(4096, Long.MAX_VALUE);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(i % 5 == 0 ? -1L : random.nextInt(50_000));
+        }
+
+        // When
+        long heavy = sketch.estimate(-1L);
+        long light = sketch.estimate(12_345L);
+
+        // Then - never undercounts, and light keys stay far below the heavy one
+        assertThat(heavy).isGreaterThanOrEqualTo(20_000);
+        assertThat(light).isLessThan(heavy / 20);
+        assertThat(sketch.total()).isEqualTo(100_000);
+    }
+
+    @Test
+    @DisplayName("Should halve counts every decay interval so cooled-down keys fade")
+    void add_DecaysPeriodically() {
+        // Given
+        HeavyHitterSketch sketch = new HeavyHitterSketch(1024, 1000);
+        for (int i = 0; i < 999; i++) {
+            sketch.add(7L);
+        }
+        assertThat(sketch.estimate(7L)).isEqualTo(999);
+
+        // When - the 1000th addition triggers a halving
+        sketch.add(8L);
+
+        // Then
+        assertThat(sketch.estimate(7L)).isEqualTo(499);
+        assertThat(sketch.total()).isEqualTo(500);
+    }
+}
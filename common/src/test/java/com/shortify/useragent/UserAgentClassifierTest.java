@@ -0,0 +1,83 @@
+package com.shortify.useragent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserAgentClassifier Tests")
+class UserAgentClassifierTest {
+
+    private static final String CHROME_WINDOWS =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final String SAFARI_IPHONE =
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1";
+    private static final String SAFARI_IPAD =
+            "Mozilla/5.0 (iPad; CPU OS 16_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/16.6 Mobile/15E148 Safari/604.1";
+    private static final String CHROME_ANDROID_TABLET =
+            "Mozilla/5.0 (Linux; Android 13; SM-X700) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Safari/537.36";
+    private static final String SAMSUNG_ANDROID_PHONE =
+            "Mozilla/5.0 (Linux; Android 14; SM-S918B) AppleWebKit/537.36 (KHTML, like Gecko) SamsungBrowser/23.0 Chrome/115.0.0.0 Mobile Safari/537.36";
+    private static final String EDGE_MAC =
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 Edg/120.0.2210.61";
+    private static final String FIREFOX_LINUX =
+            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:121.0) Gecko/20100101 Firefox/121.0";
+    private static final String GOOGLEBOT =
+            "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)";
+
+    @Test
+    @DisplayName("Should extract device type, OS family and browser family from common User-Agents")
+    void classify_CommonUserAgents() {
+        // Given
+        UserAgentClassifier classifier = new UserAgentClassifier(16);
+
+        // When & Then
+        assertThat(classifier.classify(CHROME_WINDOWS)).isEqualTo(new UserAgentInfo("DESKTOP", "Windows", "Chrome"));
+        assertThat(classifier.classify(SAFARI_IPHONE)).isEqualTo(new UserAgentInfo("MOBILE", "iOS", "Safari"));
+        assertThat(classifier.classify(CHROME_ANDROID_TABLET)).isEqualTo(new UserAgentInfo("TABLET", "Android", "Chrome"));
+        assertThat(classifier.classify(SAMSUNG_ANDROID_PHONE)).isEqualTo(new UserAgentInfo("MOBILE", "Android", "Samsung Internet"));
+        assertThat(classifier.classify(EDGE_MAC)).isEqualTo(new UserAgentInfo("DESKTOP", "macOS", "Edge"));
+        assertThat(classifier.classify(FIREFOX_LINUX)).isEqualTo(new UserAgentInfo("DESKTOP", "Linux", "Firefox"));
+        assertThat(classifier.classify(GOOGLEBOT)).isEqualTo(new UserAgentInfo("BOT", "Other", "Bot"));
+        assertThat(classifier.classify(null)).isEqualTo(UserAgentClassifier.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Should classify an iPad as TABLET even though its User-Agent says Mobile")
+    void classify_IpadWithMobileTokenIsTablet() {
+        // Given
+        UserAgentClassifier classifier = new UserAgentClassifier(16);
+
+        // When
+        UserAgentInfo info = classifier.classify(SAFARI_IPAD);
+
+        // Then
+        assertThat(info.getDeviceType()).isEqualTo("TABLET");
+        assertThat(info.getOsFamily()).isEqualTo("iOS");
+    }
+
+    @Test
+    @DisplayName("Should match tokens case-insensitively and ignore non-ASCII characters")
+    void classify_CaseInsensitive() {
+        // When & Then
+        assertThat(UserAgentClassifier.classifyUncached("SOMEAPP/1.0 (IPHONE; ÜBER) FIREFOX/3"))
+                .isEqualTo(new UserAgentInfo("MOBILE", "iOS", "Firefox"));
+        assertThat(UserAgentClassifier.classifyUncached("ÄÖÜ")).isEqualTo(new UserAgentInfo("DESKTOP", "Other", "Other"));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated User-Agents from the memo cache")
+    void classify_MemoizesResults() {
+        // Given
+        UserAgentClassifier classifier = new UserAgentClassifier(16);
+
+        // When
+        UserAgentInfo first = classifier.classify(CHROME_WINDOWS);
+        UserAgentInfo second = classifier.classify(new String(CHROME_WINDOWS.toCharArray()));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(classifier.getCacheHits()).isEqualTo(1);
+        assertThat(classifier.getCacheMisses()).isEqualTo(1);
+    }
+}
@@ -130,10 +130,12 @@ public class DatabasePartitionInitializer {
             // Create partitioned table
             // Note: Cannot use UNIQUE (short_url) constraint on partitioned table without partition key
             // Uniqueness is guaranteed by Snowflake ID generation, and we use index for fast lookups
+            // id is a Snowflake ID assigned by the application (no sequence), so inserts can be batched
             String createTableSql = """
                 CREATE TABLE url_mappings (
-                    id BIGSERIAL NOT NULL,
+                    id BIGINT NOT NULL,
                     original_url VARCHAR(5000) NOT NULL,
+                    original_url_hash BIGINT,
                     short_url VARCHAR(10) NOT NULL,
                     created_at TIMESTAMP NOT NULL,
                     created_date DATE NOT NULL,
@@ -151,7 +153,7 @@ public class DatabasePartitionInitializer {
             // Create indexes
             String createIndexesSql = """
                 CREATE INDEX idx_url_mappings_short_url ON url_mappings(short_url);
-                CREATE INDEX idx_url_mappings_original_url ON url_mappings(original_url);
+                CREATE INDEX idx_url_mappings_original_url_hash ON url_mappings(original_url_hash);
                 CREATE INDEX idx_url_mappings_created_date ON url_mappings(created_date);
                 CREATE INDEX idx_url_mappings_expires_at ON url_mappings(expires_at);
                 """;
@@ -0,0 +1,61 @@
+package com.shortify.create.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.shortify.replication.ReadConsistency;
+
+import javax.sql.DataSource;
+
+/**
+ * Captures the primary's WAL position after a write commits (read-your-writes token)
+ * 
+ * The position raises the request's required LSN, so later reads in the same request avoid replicas that
+ * have not replayed the write, and is returned to the client in the X-Shortify-LSN response header to send
+ * back on follow-up requests. It is read after the commit: a position taken inside the transaction would
+ * precede the commit record.
+ * 
+ * Follows Single Responsibility Principle - only captures write positions
+ */
+@Slf4j
+@Component
+public class PrimaryLsnTracker {
+    
+    private static final String CURRENT_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+    
+    private final JdbcTemplate primaryJdbcTemplate;
+    
+    public PrimaryLsnTracker(@Qualifier("writeDataSource") DataSource writeDataSource) {
+        this.primaryJdbcTemplate = new JdbcTemplate(writeDataSource);
+    }
+    
+    /**
+     * Captures the primary's WAL position once the current transaction commits (immediately when there is none)
+     */
+    public void captureAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    capture();
+                }
+            });
+        } else {
+            capture();
+        }
+    }
+    
+    private void capture() {
+        try {
+            String lsn = primaryJdbcTemplate.queryForObject(CURRENT_LSN_SQL, String.class);
+            ReadConsistency.requireAtLeast(ReadConsistency.parseLsn(lsn));
+        } catch (RuntimeException e) {
+            // No token: the client's next reads may hit a lagging replica, as before
+            log.warn("Could not read the primary WAL position: {}", e.getMessage());
+        }
+    }
+}
@@ -25,6 +25,9 @@ public class ReplicaHealth {
     @Builder.Default
     private long replicationLagBytes = 0L;
     
+    @Builder.Default
+    private double replicationLagSeconds = 0.0;
+    
     @Builder.Default
     private long lastChecked = 0L;
 }
@@ -0,0 +1,44 @@
+package com.shortify.create.config;
+
+import com.shortify.create.service.SnowflakeIdGenerator;
+import com.shortify.create.service.WorkerIdLeaseManager;
+import com.shortify.entity.SnowflakeIdentifierGenerator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Snowflake ID generator configuration
+ *
+ * With snowflake.worker-id-lease.enabled the worker ID is leased from the database at startup
+ * (autoscaled pods need no hand-assigned IDs); otherwise snowflake.worker-id is used as configured.
+ * The generator is also registered as the source of url_mappings primary keys (@SnowflakeId).
+ *
+ * Follows Single Responsibility Principle - only wires the ID generator
+ */
+@Configuration
+public class SnowflakeConfig {
+    
+    @Value("${snowflake.worker-id:1}")
+    private long workerId;
+    
+    @Value("${snowflake.datacenter-id:1}")
+    private long datacenterId;
+    
+    @Value("${snowflake.max-clock-borrow-ms:1000}")
+    private long maxClockBorrowMillis;
+    
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(WorkerIdLeaseManager leaseManager) {
+        SnowflakeIdGenerator generator;
+        if (!leaseManager.isEnabled()) {
+            generator = new SnowflakeIdGenerator(workerId, datacenterId, maxClockBorrowMillis, () -> true);
+        } else {
+            long leasedWorkerId = leaseManager.acquire(datacenterId, maxClockBorrowMillis);
+            generator = new SnowflakeIdGenerator(leasedWorkerId, datacenterId, maxClockBorrowMillis, leaseManager::isLeaseValid);
+        }
+        SnowflakeIdentifierGenerator.setIdSource(generator::generateId);
+        return generator;
+    }
+}
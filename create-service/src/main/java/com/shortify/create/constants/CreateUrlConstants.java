@@ -20,8 +20,13 @@ public final class CreateUrlConstants {
     // Validation
     public static final int MAX_ORIGINAL_URL_LENGTH = 5000;
     public static final int MAX_SHORT_CODE_LENGTH = 10;
+    public static final int MAX_BATCH_SIZE = 5000;
     
     // URL Code Generation
     public static final int MAX_CODE_GENERATION_ATTEMPTS = 100;
+    
+    // Lookup cache (write-through); must match LookupUrlConstants in lookup-service
+    public static final String LOOKUP_CACHE_KEY_PREFIX = "url:";
+    public static final int LOOKUP_CACHE_DEFAULT_TTL_MINUTES = 10;
 }
 
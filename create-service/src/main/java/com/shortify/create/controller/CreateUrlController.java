@@ -10,12 +10,16 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.shortify.create.dto.BatchCreateUrlRequest;
+import com.shortify.create.dto.BatchCreateUrlResult;
 import com.shortify.create.dto.CreateUrlRequest;
 import com.shortify.create.dto.CreateUrlResult;
+import com.shortify.create.service.BatchCreateUrlService;
 import com.shortify.create.service.CreateUrlService;
 import com.shortify.create.service.PartitionManagementService;
 import com.shortify.create.service.QrCodeService;
 import com.shortify.create.service.RequestContextExtractor;
+import com.shortify.replication.ReadConsistency;
 
 /**
  * REST controller for URL creation operations
@@ -24,7 +28,10 @@ import com.shortify.create.service.RequestContextExtractor;
  * Follows Single Responsibility Principle - only handles URL creation HTTP concerns
  * Follows Dependency Inversion Principle - depends on UrlCreationService abstraction
  * 
- * Endpoint: POST /api/v1/create/shorten
+ * Endpoints: POST /api/v1/create/shorten, POST /api/v1/create/shorten/batch
+ * 
+ * Creation responses carry the read-your-writes token (X-Shortify-LSN header) when a mapping was written;
+ * clients send it back so their reads are not served by a replica that has not replayed the write yet.
  * 
  * Uses CreateUrlService which is dedicated to creation operations only
  */
@@ -35,6 +42,7 @@ import com.shortify.create.service.RequestContextExtractor;
 public class CreateUrlController {
     
     private final CreateUrlService createUrlService;
+    private final BatchCreateUrlService batchCreateUrlService;
     private final RequestContextExtractor requestContextExtractor;
     private final QrCodeService qrCodeService;
     private final PartitionManagementService partitionManagementService;
@@ -65,16 +73,38 @@ public class CreateUrlController {
                 ? HttpStatus.CREATED 
                 : HttpStatus.INTERNAL_SERVER_ERROR;
         
-        return ResponseEntity.status(status).body(result);
+        return withLsnToken(ResponseEntity.status(status)).body(result);
     }
     
     /**
-     * Extracts base URL from request or uses provided one
+     * Creates short URLs for up to MAX_BATCH_SIZE original URLs in one request
      * 
-     * @param request the create URL request
-     * @param httpRequest the HTTP servlet request
-     * @return the base URL to use for constructing the short URL
+     * Each URL gets its own result (in request order); invalid or failed URLs
+     * do not fail the rest of the batch
+     * 
+     * @param request the batch request containing originalUrls and optional baseUrl
+     * @param httpRequest the HTTP servlet request for extracting base URL
+     * @return ResponseEntity containing the BatchCreateUrlResult
      */
+    @PostMapping("/shorten/batch")
+    public ResponseEntity<BatchCreateUrlResult> createShortUrls(
+            @Valid @RequestBody BatchCreateUrlRequest request,
+            HttpServletRequest httpRequest) {
+        
+        String baseUrl = request.getBaseUrl();
+        if (baseUrl == null || baseUrl.isEmpty()) {
+            baseUrl = requestContextExtractor.extractBaseUrl(httpRequest);
+        }
+        
+        BatchCreateUrlResult result = batchCreateUrlService.createShortUrls(request.getOriginalUrls(), baseUrl);
+        
+        HttpStatus status = result.getFailedCount() == 0 
+                ? HttpStatus.CREATED 
+                : HttpStatus.OK;
+        
+        return withLsnToken(ResponseEntity.status(status)).body(result);
+    }
+    
     /**
      * Generates a QR code image for a short URL
      * 
@@ -154,6 +184,20 @@ public class CreateUrlController {
         }
     }
     
+    /**
+     * Adds the read-your-writes token of this request, if any, as a response header
+     * 
+     * @param response the response builder
+     * @return the same builder
+     */
+    private ResponseEntity.BodyBuilder withLsnToken(ResponseEntity.BodyBuilder response) {
+        Long lsn = ReadConsistency.requiredLsn();
+        if (lsn != null) {
+            response.header(ReadConsistency.LSN_HEADER, ReadConsistency.formatLsn(lsn));
+        }
+        return response;
+    }
+    
     /**
      * Extracts base URL from request or uses provided one
      * 
@@ -0,0 +1,102 @@
+package com.shortify.create.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.shortify.create.dto.ImportJobStatus;
+import com.shortify.create.service.UrlImportService;
+import com.shortify.create.util.ImportRecordParser.Format;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * REST controller for bulk import jobs (legacy link migrations)
+ * Part of the Create Service microservice architecture
+ *
+ * Follows Single Responsibility Principle - only handles import job HTTP concerns
+ *
+ * Endpoints:
+ * - POST /api/v1/create/import?format=csv|ndjson - request body is the file, streamed; returns 202 with the job
+ * - GET /api/v1/create/import/{jobId} - job progress
+ * - GET /api/v1/create/import/{jobId}/mapping - mapping file (original URL to short code) of a completed job
+ */
+@RestController
+@RequestMapping("/api/v1/create/import")
+@RequiredArgsConstructor
+@Slf4j
+public class UrlImportController {
+    
+    private final UrlImportService urlImportService;
+    
+    /**
+     * Starts an asynchronous import of the uploaded file
+     *
+     * @param format file format (csv or ndjson)
+     * @param httpRequest the HTTP servlet request whose body is the import file
+     * @return ResponseEntity containing the queued job's status
+     */
+    @PostMapping
+    public ResponseEntity<ImportJobStatus> startImport(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest httpRequest) {
+        Format importFormat;
+        try {
+            importFormat = Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            ImportJobStatus status = urlImportService.startImport(httpRequest.getInputStream(), importFormat);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (Exception e) {
+            log.error("Error starting import", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Gets the progress of an import job
+     *
+     * @param jobId the job ID
+     * @return ResponseEntity containing the job status, or 404 if unknown
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobStatus> getImportStatus(@PathVariable String jobId) {
+        return urlImportService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Downloads the mapping file of a completed import job
+     *
+     * @param jobId the job ID
+     * @return ResponseEntity containing the CSV mapping file, 404 if unknown, 409 if not completed yet
+     */
+    @GetMapping("/{jobId}/mapping")
+    public ResponseEntity<Resource> downloadMapping(@PathVariable String jobId) {
+        if (urlImportService.getStatus(jobId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> mappingFile = urlImportService.getMappingFile(jobId);
+        if (mappingFile.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + "-mapping.csv\"")
+                .body(new FileSystemResource(mappingFile.get()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.shortify.create.dto;
+
+import static com.shortify.create.constants.CreateUrlConstants.MAX_BATCH_SIZE;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating short URLs in bulk
+ * Part of the Create Service microservice
+ * 
+ * Follows Single Responsibility Principle - only holds request data
+ * Follows Encapsulation - data is properly encapsulated with validation
+ * 
+ * Individual URLs are validated per item (invalid ones fail without failing the batch)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateUrlRequest {
+    
+    @NotEmpty(message = "At least one original URL is required")
+    @Size(max = MAX_BATCH_SIZE, message = "Batch exceeds maximum size")
+    private List<String> originalUrls;
+    
+    private String baseUrl;
+}
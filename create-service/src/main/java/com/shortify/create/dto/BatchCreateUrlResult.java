@@ -0,0 +1,29 @@
+package com.shortify.create.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result DTO for bulk URL creation
+ * Part of the Create Service microservice
+ * 
+ * Follows Single Responsibility Principle - only holds creation result data
+ * Follows Immutability - uses builder pattern for construction
+ * 
+ * results holds one entry per requested URL, in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateUrlResult {
+    
+    private List<CreateUrlResult> results;
+    private int createdCount;
+    private int existingCount;
+    private int failedCount;
+}
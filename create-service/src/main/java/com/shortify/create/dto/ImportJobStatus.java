@@ -0,0 +1,34 @@
+package com.shortify.create.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status DTO for a bulk import job
+ * Part of the Create Service microservice
+ *
+ * Follows Single Responsibility Principle - only holds job progress data
+ * Follows Immutability - uses builder pattern for construction
+ *
+ * status: QUEUED, RUNNING, COMPLETED or FAILED; the mapping file can be downloaded once COMPLETED
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatus {
+    
+    private String jobId;
+    private String status;
+    private String format;
+    private long linesProcessed;
+    private long importedCount;
+    private long failedCount;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
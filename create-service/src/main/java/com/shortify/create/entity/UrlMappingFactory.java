@@ -1,5 +1,6 @@
 package com.shortify.create.entity;
 
+import com.shortify.create.util.UrlHasher;
 import com.shortify.entity.UrlMapping;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -44,6 +45,7 @@ public final class UrlMappingFactory {
         
         UrlMapping mapping = new UrlMapping();
         mapping.setOriginalUrl(originalUrl);
+        mapping.setOriginalUrlHash(UrlHasher.hash64(originalUrl));
         mapping.setShortUrl(shortCode);
         mapping.setCreatedAt(now);
         mapping.setCreatedDate(today);  // Set partition key explicitly
@@ -4,6 +4,8 @@ import com.shortify.entity.UrlMapping;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,12 +30,23 @@ public interface CreateUrlRepository extends JpaRepository<UrlMapping, Long> {
     boolean existsByShortUrl(String shortUrl);
     
     /**
-     * Finds a URL mapping by original URL
+     * Finds a URL mapping by original URL hash, confirmed by the full original URL
      * Used to check for duplicate URLs before creating new mappings
+     * Uses the fixed-width hash index instead of an index on the (long) URL itself
      * 
-     * @param originalUrl the original URL
-     * @return Optional containing the mapping if found
+     * @param originalUrlHash the original URL hash (see UrlHasher)
+     * @param originalUrl the original URL, compared to rule out hash collisions
+     * @return Optional containing the first matching mapping if found
      */
-    Optional<UrlMapping> findByOriginalUrl(String originalUrl);
+    Optional<UrlMapping> findFirstByOriginalUrlHashAndOriginalUrl(Long originalUrlHash, String originalUrl);
+    
+    /**
+     * Finds all URL mappings with one of the given original URL hashes (set-based deduplication)
+     * Callers compare the full original URL to rule out hash collisions
+     * 
+     * @param originalUrlHashes the original URL hashes
+     * @return matching mappings
+     */
+    List<UrlMapping> findByOriginalUrlHashIn(Collection<Long> originalUrlHashes);
 }
 
@@ -0,0 +1,257 @@
+package com.shortify.create.service;
+
+import com.shortify.constants.ErrorCode;
+import com.shortify.create.config.PrimaryLsnTracker;
+import com.shortify.create.dto.BatchCreateUrlResult;
+import com.shortify.create.dto.CreateUrlResult;
+import com.shortify.create.entity.UrlMappingFactory;
+import com.shortify.create.repository.CreateUrlRepository;
+import com.shortify.create.util.UrlBuilder;
+import com.shortify.create.util.UrlHasher;
+import com.shortify.entity.UrlMapping;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Service for creating short URLs in bulk (campaign tooling)
+ * Part of the Create Service microservice architecture
+ *
+ * Follows Single Responsibility Principle - only handles bulk URL creation
+ *
+ * Instead of one request and one transaction per URL:
+ * 1. URLs are validated in parallel; invalid ones fail individually
+ * 2. Duplicates within the batch are collapsed, then existing mappings are found with one set-based
+ *    hash query (URLs unknown to the Bloom filter are not queried at all)
+ * 3. Codes for the new URLs are drawn from the short code pool in one block, primary keys from the
+ *    Snowflake generator in one block
+ * 4. New mappings are inserted with JDBC batches (rewritten into multi-row INSERTs by the driver);
+ *    each chunk is its own transaction on the primary, so a failed chunk only fails its own URLs
+ * 5. Committed mappings are written through to the lookup cache (asynchronously), and the primary's
+ *    WAL position after the last chunk becomes the read-your-writes token
+ *
+ * Results come back in request order, one per requested URL.
+ */
+@Slf4j
+@Service
+public class BatchCreateUrlService {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO url_mappings (id, original_url, original_url_hash, short_url, created_at, created_date, " +
+            "expires_at, access_count, last_accessed_at, shard_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final CreateUrlRepository urlMappingRepository;
+    private final UrlValidationService urlValidationService;
+    private final OriginalUrlBloomFilter originalUrlBloomFilter;
+    private final ShortCodePool shortCodePool;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final LookupCacheWriter lookupCacheWriter;
+    private final PrimaryLsnTracker primaryLsnTracker;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int insertChunkSize;
+    
+    public BatchCreateUrlService(CreateUrlRepository urlMappingRepository,
+                                 UrlValidationService urlValidationService,
+                                 OriginalUrlBloomFilter originalUrlBloomFilter,
+                                 ShortCodePool shortCodePool,
+                                 SnowflakeIdGenerator snowflakeIdGenerator,
+                                 LookupCacheWriter lookupCacheWriter,
+                                 PrimaryLsnTracker primaryLsnTracker,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${create.batch.insert-chunk-size:500}") int insertChunkSize) {
+        this.urlMappingRepository = urlMappingRepository;
+        this.urlValidationService = urlValidationService;
+        this.originalUrlBloomFilter = originalUrlBloomFilter;
+        this.shortCodePool = shortCodePool;
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.lookupCacheWriter = lookupCacheWriter;
+        this.primaryLsnTracker = primaryLsnTracker;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.insertChunkSize = insertChunkSize;
+    }
+    
+    /**
+     * Creates short URLs for all given original URLs
+     *
+     * @param originalUrls the original URLs to shorten
+     * @param baseUrl the base URL for the short links
+     * @return per-URL results in request order, with counts
+     * @throws IllegalArgumentException if the base URL is invalid
+     */
+    public BatchCreateUrlResult createShortUrls(List<String> originalUrls, String baseUrl) {
+        urlValidationService.validateBaseUrl(baseUrl);
+        
+        int size = originalUrls.size();
+        CreateUrlResult[] results = new CreateUrlResult[size];
+        
+        // Step 1: Validate in parallel (CPU only: URL parsing and regex)
+        IntStream.range(0, size).parallel().forEach(i -> {
+            String originalUrl = originalUrls.get(i);
+            try {
+                urlValidationService.validateOriginalUrl(originalUrl);
+            } catch (IllegalArgumentException e) {
+                results[i] = failure(originalUrl, ErrorCode.INVALID_INPUT, e.getMessage());
+            }
+        });
+        
+        // Step 2: Collapse duplicates within the batch and hash each distinct URL once
+        Map<String, Long> urlHashes = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (results[i] == null) {
+                urlHashes.computeIfAbsent(originalUrls.get(i), UrlHasher::hash64);
+            }
+        }
+        
+        // Step 3: One set-based query for URLs that may already exist
+        Map<String, String> shortCodes = findExistingShortCodes(urlHashes);
+        Set<String> existingUrls = new HashSet<>(shortCodes.keySet());
+        
+        // Step 4: Draw codes in one block and insert the new mappings
+        List<String> newUrls = new ArrayList<>();
+        for (String originalUrl : urlHashes.keySet()) {
+            if (!existingUrls.contains(originalUrl)) {
+                newUrls.add(originalUrl);
+            }
+        }
+        String[] codes = shortCodePool.take(newUrls.size());
+        Set<String> createdUrls = insertNewMappings(newUrls, codes, urlHashes);
+        if (!createdUrls.isEmpty()) {
+            primaryLsnTracker.captureAfterCommit();
+        }
+        for (int i = 0; i < codes.length; i++) {
+            if (createdUrls.contains(newUrls.get(i))) {
+                shortCodes.put(newUrls.get(i), codes[i]);
+            }
+        }
+        
+        // Step 5: Results in request order (repeated URLs share the first occurrence's code)
+        int created = 0;
+        int existing = 0;
+        int failed = 0;
+        Set<String> reported = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            String originalUrl = originalUrls.get(i);
+            if (results[i] == null) {
+                String shortCode = shortCodes.get(originalUrl);
+                if (shortCode == null) {
+                    results[i] = failure(originalUrl, ErrorCode.INTERNAL_SERVER_ERROR, "Could not store the short URL");
+                } else {
+                    results[i] = CreateUrlResult.builder()
+                        .originalUrl(originalUrl)
+                        .shortUrl(UrlBuilder.buildShortUrl(baseUrl, shortCode))
+                        .shortCode(shortCode)
+                        .success(true)
+                        .build();
+                    if (createdUrls.contains(originalUrl) && reported.add(originalUrl)) {
+                        created++;
+                    } else {
+                        existing++;
+                    }
+                    continue;
+                }
+            }
+            failed++;
+        }
+        
+        log.debug("Batch create of {} URLs: {} created, {} existing, {} failed", size, created, existing, failed);
+        return BatchCreateUrlResult.builder()
+            .results(Arrays.asList(results))
+            .createdCount(created)
+            .existingCount(existing)
+            .failedCount(failed)
+            .build();
+    }
+    
+    /**
+     * Finds existing short codes with one hash query (read replica: repository queries are read-only)
+     *
+     * @param urlHashes distinct original URLs and their hashes
+     * @return short codes of the URLs that already exist
+     */
+    private Map<String, String> findExistingShortCodes(Map<String, Long> urlHashes) {
+        Set<Long> candidates = new HashSet<>();
+        for (Long urlHash : urlHashes.values()) {
+            if (originalUrlBloomFilter.mightContain(urlHash)) {
+                candidates.add(urlHash);
+            }
+        }
+        Map<String, String> shortCodes = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return shortCodes;
+        }
+        for (UrlMapping mapping : urlMappingRepository.findByOriginalUrlHashIn(candidates)) {
+            // Compare the full URL: equal hashes do not imply equal URLs
+            if (urlHashes.containsKey(mapping.getOriginalUrl())) {
+                shortCodes.putIfAbsent(mapping.getOriginalUrl(), mapping.getShortUrl());
+            }
+        }
+        return shortCodes;
+    }
+    
+    /**
+     * Inserts new mappings on the primary in JDBC batches of insertChunkSize rows, one transaction per chunk
+     *
+     * @return URLs whose mapping was stored
+     */
+    private Set<String> insertNewMappings(List<String> newUrls, String[] codes, Map<String, Long> urlHashes) {
+        Set<String> createdUrls = new HashSet<>();
+        for (int from = 0; from < newUrls.size(); from += insertChunkSize) {
+            int to = Math.min(newUrls.size(), from + insertChunkSize);
+            List<Object[]> rows = new ArrayList<>(to - from);
+            long[] ids = snowflakeIdGenerator.generateIds(to - from);
+            for (int i = from; i < to; i++) {
+                UrlMapping mapping = UrlMappingFactory.create(newUrls.get(i), codes[i]);
+                rows.add(new Object[] {
+                    ids[i - from],
+                    mapping.getOriginalUrl(),
+                    mapping.getOriginalUrlHash(),
+                    mapping.getShortUrl(),
+                    Timestamp.valueOf(mapping.getCreatedAt()),
+                    java.sql.Date.valueOf(mapping.getCreatedDate()),
+                    Timestamp.valueOf(mapping.getExpiresAt()),
+                    mapping.getAccessCount(),
+                    null,
+                    mapping.getShardId()
+                });
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+                for (int i = from; i < to; i++) {
+                    createdUrls.add(newUrls.get(i));
+                    originalUrlBloomFilter.put(urlHashes.get(newUrls.get(i)));
+                    lookupCacheWriter.cacheAfterCommit(codes[i], newUrls.get(i));
+                }
+            } catch (Exception e) {
+                log.error("Failed to insert {} URL mappings of a batch", to - from, e);
+            }
+        }
+        return createdUrls;
+    }
+    
+    private static CreateUrlResult failure(String originalUrl, ErrorCode errorCode, String message) {
+        return CreateUrlResult.builder()
+            .originalUrl(originalUrl)
+            .success(false)
+            .errorCode(errorCode)
+            .message(message)
+            .build();
+    }
+}
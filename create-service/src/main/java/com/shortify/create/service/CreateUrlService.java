@@ -1,9 +1,11 @@
 package com.shortify.create.service;
 
+import com.shortify.create.config.PrimaryLsnTracker;
 import com.shortify.create.dto.CreateUrlResult;
 import com.shortify.create.entity.UrlMappingFactory;
 import com.shortify.create.repository.CreateUrlRepository;
 import com.shortify.create.util.UrlBuilder;
+import com.shortify.create.util.UrlHasher;
 import com.shortify.entity.UrlMapping;
 
 import lombok.RequiredArgsConstructor;
@@ -27,8 +29,11 @@ import java.util.Optional;
 public class CreateUrlService implements UrlCreationService {
     
     private final CreateUrlRepository urlMappingRepository;
-    private final UrlCodeGenerator urlCodeGenerator;
+    private final ShortCodePool shortCodePool;
     private final UrlValidationService urlValidationService;
+    private final OriginalUrlBloomFilter originalUrlBloomFilter;
+    private final LookupCacheWriter lookupCacheWriter;
+    private final PrimaryLsnTracker primaryLsnTracker;
     
     /**
      * {@inheritDoc}
@@ -61,7 +66,8 @@ public class CreateUrlService implements UrlCreationService {
     
     /**
      * Gets existing short code or creates a new one
-     * Optimized: First checks read replica, then writes to primary if needed
+     * Optimized: URLs unknown to the Bloom filter skip the lookup; others are looked up
+     * by URL hash on a read replica, then written to primary if needed
      * 
      * This method implements the deduplication logic - if the same URL
      * is shortened multiple times, it returns the existing short code
@@ -70,16 +76,20 @@ public class CreateUrlService implements UrlCreationService {
      * @return the short code for the URL (existing or newly created)
      */
     private String getOrCreateShortCode(String originalUrl) {
-        // First, try to find existing mapping using read replica (read-only)
-        Optional<UrlMapping> existingMapping = findExistingMapping(originalUrl);
+        long urlHash = UrlHasher.hash64(originalUrl);
         
-        if (existingMapping.isPresent()) {
-            String shortCode = existingMapping.get().getShortUrl();
-            return shortCode;
+        // Only query when the URL may have been shortened before (most new URLs skip this)
+        if (originalUrlBloomFilter.mightContain(urlHash)) {
+            Optional<UrlMapping> existingMapping = findExistingMapping(urlHash, originalUrl);
+            if (existingMapping.isPresent()) {
+                return existingMapping.get().getShortUrl();
+            }
         }
         
-        // Not found in read replica, create new one (write to primary)
-        return createNewMapping(originalUrl);
+        // Not found, create new one (write to primary)
+        String shortCode = createNewMapping(originalUrl);
+        originalUrlBloomFilter.put(urlHash);
+        return shortCode;
     }
     
     /**
@@ -89,33 +99,38 @@ public class CreateUrlService implements UrlCreationService {
      * This optimization allows us to check for duplicates on read replicas
      * before committing to a write operation on the primary database
      * 
-     * @param originalUrl the original URL to search for
+     * @param urlHash the original URL hash (indexed)
+     * @param originalUrl the original URL to search for (rules out hash collisions)
      * @return Optional containing the mapping if found
      */
     @Transactional(readOnly = true, propagation = Propagation.NOT_SUPPORTED)
-    private Optional<UrlMapping> findExistingMapping(String originalUrl) {
-        return urlMappingRepository.findByOriginalUrl(originalUrl);
+    private Optional<UrlMapping> findExistingMapping(long urlHash, String originalUrl) {
+        return urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(urlHash, originalUrl);
     }
     
     /**
      * Creates a new URL mapping (write transaction to primary)
      * 
      * This method handles the actual creation of a new URL mapping:
-     * 1. Generates a unique short code
+     * 1. Takes a unique short code from the pre-generated pool
      * 2. Creates the UrlMapping entity using the factory
      * 3. Saves it to the database (primary)
+     * 4. Writes it into the lookup cache once the transaction commits (first click hits the cache)
+     * 5. Captures the primary's WAL position after the commit (read-your-writes token)
      * 
      * @param originalUrl the original URL
      * @return the generated short code
      */
     @Transactional
     private String createNewMapping(String originalUrl) {
-        // Generate new unique short code
-        String shortCode = urlCodeGenerator.generateUniqueCode();
+        // Take a pre-generated unique short code
+        String shortCode = shortCodePool.take();
         
         // Create and save new mapping using factory pattern
         UrlMapping urlMapping = UrlMappingFactory.create(originalUrl, shortCode);
         urlMappingRepository.save(urlMapping);
+        lookupCacheWriter.cacheAfterCommit(shortCode, originalUrl);
+        primaryLsnTracker.captureAfterCommit();
         
         return shortCode;
     }
@@ -0,0 +1,152 @@
+package com.shortify.create.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static com.shortify.create.constants.CreateUrlConstants.LOOKUP_CACHE_KEY_PREFIX;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes newly created mappings into the lookup-service Redis cache (write-through)
+ * Part of the Create Service microservice architecture
+ *
+ * Follows Single Responsibility Principle - only handles populating the lookup cache
+ *
+ * A new link's first click would otherwise miss the cache and read a replica that may not have
+ * replayed the insert yet (404 for a link just handed out). Entries use the lookup cache's key format
+ * (url:<code>, plain original URL value) and are written:
+ * - after the creating transaction commits, never for a rolled-back mapping
+ * - asynchronously, so creation latency does not depend on Redis
+ * - with bounded retries (exponential backoff); an entry that still fails is left to the lookup's
+ *   database fallback, and entries beyond max-pending are dropped rather than queued without bound
+ *
+ * Metrics: shortify.cache.write_through{result=written|failed|dropped}, shortify.cache.write_through.pending
+ */
+@Slf4j
+@Service
+public class LookupCacheWriter {
+    
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ScheduledExecutorService executor;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    
+    public LookupCacheWriter(StringRedisTemplate redisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${cache.write-through.enabled:true}") boolean enabled,
+                             @Value("${cache.write-through.ttl-minutes:10}") long ttlMinutes,
+                             @Value("${cache.write-through.max-attempts:3}") int maxAttempts,
+                             @Value("${cache.write-through.initial-backoff-ms:50}") long initialBackoffMillis,
+                             @Value("${cache.write-through.max-pending:10000}") int maxPending) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxPending = maxPending;
+        this.executor = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "cache-write-through");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writtenCounter = meterRegistry.counter("shortify.cache.write_through", "result", "written");
+        this.failedCounter = meterRegistry.counter("shortify.cache.write_through", "result", "failed");
+        this.droppedCounter = meterRegistry.counter("shortify.cache.write_through", "result", "dropped");
+        Gauge.builder("shortify.cache.write_through.pending", pending, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Caches a new mapping once the current transaction commits (immediately when there is none)
+     *
+     * @param shortCode the short code
+     * @param originalUrl the original URL it resolves to
+     */
+    public void cacheAfterCommit(String shortCode, String originalUrl) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(shortCode, originalUrl);
+                }
+            });
+        } else {
+            submit(shortCode, originalUrl);
+        }
+    }
+    
+    int getPending() {
+        return pending.get();
+    }
+    
+    private void submit(String shortCode, String originalUrl) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            droppedCounter.increment();
+            return;
+        }
+        String key = LOOKUP_CACHE_KEY_PREFIX + shortCode;
+        try {
+            executor.execute(() -> write(key, originalUrl, 1));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            droppedCounter.increment();
+        }
+    }
+    
+    private void write(String key, String originalUrl, int attempt) {
+        try {
+            redisTemplate.opsForValue().set(key, originalUrl, ttl);
+            pending.decrementAndGet();
+            writtenCounter.increment();
+        } catch (RuntimeException e) {
+            if (attempt >= maxAttempts) {
+                pending.decrementAndGet();
+                failedCounter.increment();
+                log.warn("Giving up caching {} after {} attempts: {}", key, attempt, e.getMessage());
+                return;
+            }
+            long backoffMillis = initialBackoffMillis << (attempt - 1);
+            try {
+                executor.schedule(() -> write(key, originalUrl, attempt + 1), backoffMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                pending.decrementAndGet();
+                droppedCounter.increment();
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
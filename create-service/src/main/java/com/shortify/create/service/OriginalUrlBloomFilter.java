@@ -0,0 +1,193 @@
+package com.shortify.create.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-pod Bloom filter of known original URL hashes, placed in front of the deduplication query
+ *
+ * A URL whose hash is not in the filter was never shortened (as far as this pod knows), so the create path
+ * skips the database lookup entirely; a hit (or a false positive) still runs the indexed hash query.
+ *
+ * Lifecycle:
+ * - until the first build completes, every hash "might be known", so deduplication behaves as before
+ * - the filter is built from all stored hashes once the application is ready, and rebuilt periodically
+ *   into a fresh bit set that replaces the old one (picks up URLs created by other pods, drops expired ones)
+ * - hashes created by this pod are added immediately, including while a rebuild is running
+ * - the full scan reads from a replica (read-only routing) on a dedicated thread, so it neither loads the
+ *   primary nor delays the shared scheduler's other jobs
+ *
+ * URLs created by another pod since the last rebuild may be missed, which only creates a second
+ * short code for the same URL (both work); deduplication is best effort either way.
+ *
+ * Follows Single Responsibility Principle - only tracks which URL hashes exist
+ */
+@Slf4j
+@Service
+public class OriginalUrlBloomFilter {
+    
+    private static final String HASHES_SQL = "SELECT original_url_hash FROM url_mappings WHERE original_url_hash IS NOT NULL";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final long rebuildIntervalMillis;
+    private final Counter skippedCounter;
+    private final Counter queriedCounter;
+    
+    private final int bitCount;
+    private final int hashFunctions;
+    
+    private volatile AtomicLongArray bits;
+    private volatile AtomicLongArray rebuilding;
+    private volatile boolean ready;
+    
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bloom-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public OriginalUrlBloomFilter(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${url-dedup.bloom-filter.expected-urls:10000000}") long expectedUrls,
+                                  @Value("${url-dedup.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${url-dedup.bloom-filter.rebuild-interval-ms:3600000}") long rebuildIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Read-only without a transaction: the routing DataSource sends the scan to a replica
+        // and no transaction stays open for the duration of the scan
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.readOnlyTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+        // Optimal sizing: m = -n ln(p) / (ln 2)^2 bits, k = (m / n) ln 2 hash functions
+        long optimalBits = (long) Math.ceil(-expectedUrls * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(Long.SIZE, optimalBits), (long) Integer.MAX_VALUE - Long.SIZE);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedUrls * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+        
+        this.skippedCounter = Counter.builder("shortify.dedup.bloom.skipped")
+                .description("Creates that skipped the deduplication query (URL hash not in the Bloom filter)")
+                .register(meterRegistry);
+        this.queriedCounter = Counter.builder("shortify.dedup.bloom.queried")
+                .description("Creates that ran the deduplication query (Bloom filter hit or not built yet)")
+                .register(meterRegistry);
+        Gauge.builder("shortify.dedup.bloom.ready", this, filter -> filter.ready ? 1 : 0)
+                .description("1 once the Bloom filter has been built from the database")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * @param urlHash the original URL hash
+     * @return false only if the URL was certainly never shortened
+     */
+    public boolean mightContain(long urlHash) {
+        boolean result = !ready || contains(bits, urlHash);
+        (result ? queriedCounter : skippedCounter).increment();
+        return result;
+    }
+    
+    /**
+     * Records a newly stored URL hash
+     */
+    public void put(long urlHash) {
+        AtomicLongArray current = bits;
+        set(current, urlHash);
+        AtomicLongArray next = rebuilding;
+        if (next != null) {
+            set(next, urlHash);
+        }
+        if (bits != current) {
+            set(bits, urlHash); // A rebuild swapped the filter in between
+        }
+    }
+    
+    /**
+     * Builds the filter once the database is reachable and schedules the periodic rebuild
+     * Runs after partition initialization
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void initialize() {
+        rebuild();
+        rebuilder.scheduleWithFixedDelay(this::rebuild, rebuildIntervalMillis, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+    
+    /**
+     * Rebuilds the filter from all stored URL hashes into a fresh bit set and swaps it in
+     */
+    public synchronized void rebuild() {
+        AtomicLongArray next = new AtomicLongArray(bits.length());
+        rebuilding = next;
+        try {
+            long start = System.currentTimeMillis();
+            long[] count = new long[1];
+            readOnlyTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(HASHES_SQL);
+                statement.setFetchSize(10_000);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                set(next, rs.getLong(1));
+                count[0]++;
+            }));
+            bits = next;
+            ready = true;
+            log.info("Built original URL Bloom filter from {} hashes in {} ms ({} bits, {} hash functions)",
+                    count[0], System.currentTimeMillis() - start, bitCount, hashFunctions);
+        } catch (Exception e) {
+            log.error("Could not build original URL Bloom filter; keeping the current filter", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+    
+    private boolean contains(AtomicLongArray array, long urlHash) {
+        // Double hashing: bit_i = h1 + i * h2 derived from the 64-bit URL hash
+        int h1 = (int) urlHash;
+        int h2 = (int) (urlHash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((array.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void set(AtomicLongArray array, long urlHash) {
+        int h1 = (int) urlHash;
+        int h2 = (int) (urlHash >>> 32);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current = array.get(word);
+            while ((current & mask) == 0 && !array.compareAndSet(word, current, current | mask)) {
+                current = array.get(word);
+            }
+        }
+    }
+}
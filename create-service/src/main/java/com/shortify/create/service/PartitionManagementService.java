@@ -104,6 +104,28 @@ public class PartitionManagementService {
         }
     }
     
+    /**
+     * Creates the partition containing the given date if it doesn't exist
+     * Used by bulk imports, whose rows may belong to past months
+     * 
+     * @param date any date in the target month
+     */
+    public void ensurePartitionForMonth(LocalDate date) {
+        LocalDate startDate = date.withDayOfMonth(1);
+        LocalDate endDate = startDate.plusMonths(1);
+        String partitionName = "url_mappings_" + startDate.format(PARTITION_DATE_FORMAT);
+        
+        String sql = String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF url_mappings " +
+            "FOR VALUES FROM ('%s') TO ('%s')",
+            partitionName,
+            startDate,
+            endDate
+        );
+        
+        jdbcTemplate.execute(sql);
+    }
+    
     /**
      * Manually create next month's partition
      * Can be called via REST endpoint or scheduled task
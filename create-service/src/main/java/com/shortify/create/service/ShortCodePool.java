@@ -0,0 +1,195 @@
+package com.shortify.create.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pool of pre-generated short codes, so a create request takes a ready code in constant time
+ * instead of generating a Snowflake ID and encoding it inline
+ *
+ * Codes are held in a lock-free ring buffer with one producer and many consumers:
+ * - the refill thread (only producer) writes codes behind the tail and publishes them by advancing the tail
+ * - a consumer reads the slot at the head and claims it with a CAS on the head; the producer never
+ *   overwrites a slot before the head has moved past it, so a successful CAS means the read code was valid
+ *
+ * The refill thread tops the buffer up from reserved Snowflake ID blocks every refill interval and is woken
+ * early when the depth drops below the low-water mark. An empty pool (starvation) falls back to inline
+ * generation, so requests never wait on the refill thread.
+ *
+ * Follows Single Responsibility Principle - only buffers short codes
+ */
+@Slf4j
+@Service
+public class ShortCodePool {
+    
+    private final UrlCodeGenerator urlCodeGenerator;
+    private final Counter refilledCounter;
+    private final Counter starvationCounter;
+    
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+    
+    private final int refillBatchSize;
+    private final int lowWaterMark;
+    private final long refillIntervalNanos;
+    
+    private volatile Thread refillThread;
+    private volatile boolean running;
+    
+    public ShortCodePool(UrlCodeGenerator urlCodeGenerator,
+                         MeterRegistry meterRegistry,
+                         @Value("${short-code-pool.capacity:8192}") int capacity,
+                         @Value("${short-code-pool.refill-batch-size:512}") int refillBatchSize,
+                         @Value("${short-code-pool.low-water-mark:2048}") int lowWaterMark,
+                         @Value("${short-code-pool.refill-interval-ms:100}") long refillIntervalMillis) {
+        if (capacity <= 0 || refillBatchSize <= 0 || refillBatchSize > capacity) {
+            throw new IllegalArgumentException(
+                String.format("Invalid short code pool sizing: capacity %d, refill batch %d", capacity, refillBatchSize)
+            );
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.urlCodeGenerator = urlCodeGenerator;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.refillBatchSize = refillBatchSize;
+        this.lowWaterMark = lowWaterMark;
+        this.refillIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refillIntervalMillis);
+        
+        Gauge.builder("shortify.codes.pool.depth", this, ShortCodePool::getDepth)
+                .description("Pre-generated short codes ready to use")
+                .register(meterRegistry);
+        this.refilledCounter = Counter.builder("shortify.codes.pool.refilled")
+                .description("Short codes added to the pool by the refill thread")
+                .register(meterRegistry);
+        this.starvationCounter = Counter.builder("shortify.codes.pool.starvation")
+                .description("Creates that found the pool empty and generated a code inline")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::refillLoop, "short-code-pool-refill");
+        thread.setDaemon(true);
+        refillThread = thread;
+        thread.start();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = refillThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+    
+    /**
+     * Takes a unique short code from the pool, or generates one inline when the pool is empty
+     *
+     * @return unique short code
+     */
+    public String take() {
+        while (true) {
+            long h = head.get();
+            if (h >= tail) {
+                starvationCounter.increment();
+                wakeRefill();
+                return urlCodeGenerator.generateUniqueCode();
+            }
+            String code = slots.get((int) (h & mask));
+            if (head.compareAndSet(h, h + 1)) {
+                if (tail - (h + 1) < lowWaterMark) {
+                    wakeRefill();
+                }
+                return code;
+            }
+        }
+    }
+    
+    /**
+     * Takes a block of unique short codes with a single claim on the pool; codes the pool cannot
+     * cover are generated inline from one ID block
+     *
+     * @param count number of codes
+     * @return unique short codes
+     */
+    public String[] take(int count) {
+        String[] codes = new String[Math.max(0, count)];
+        int taken = 0;
+        while (taken < codes.length) {
+            long h = head.get();
+            int available = (int) Math.min(codes.length - taken, tail - h);
+            if (available <= 0) {
+                break;
+            }
+            String[] claimed = new String[available];
+            for (int i = 0; i < available; i++) {
+                claimed[i] = slots.get((int) ((h + i) & mask));
+            }
+            if (head.compareAndSet(h, h + available)) {
+                System.arraycopy(claimed, 0, codes, taken, available);
+                taken += available;
+            }
+        }
+        int missing = codes.length - taken;
+        if (missing > 0) {
+            starvationCounter.increment(missing);
+            System.arraycopy(urlCodeGenerator.generateUniqueCodes(missing), 0, codes, taken, missing);
+        }
+        wakeRefill();
+        return codes;
+    }
+    
+    public int getDepth() {
+        return (int) Math.max(0, tail - head.get());
+    }
+    
+    /**
+     * Tops the buffer up with whole ID blocks; only called from the refill thread (single producer)
+     */
+    void refill() {
+        int capacity = mask + 1;
+        while (capacity - getDepth() >= refillBatchSize) {
+            String[] codes = urlCodeGenerator.generateUniqueCodes(refillBatchSize);
+            long t = tail;
+            for (String code : codes) {
+                slots.set((int) (t++ & mask), code);
+            }
+            tail = t;
+            refilledCounter.increment(codes.length);
+        }
+    }
+    
+    private void refillLoop() {
+        while (running) {
+            try {
+                refill();
+            } catch (Exception e) {
+                // e.g. lost worker ID lease: creates keep working from the remaining codes or inline
+                log.warn("Short code pool refill failed; retrying in the next interval", e);
+            }
+            LockSupport.parkNanos(this, refillIntervalNanos);
+        }
+    }
+    
+    private void wakeRefill() {
+        Thread thread = refillThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.shortify.create.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
 
 /**
  * Snowflake ID Generator for distributed unique ID generation
@@ -17,11 +20,17 @@ import java.time.Instant;
  * 
  * Capacity: 4096 IDs/ms × 1000ms/sec × 1024 machines = 4.2B IDs/sec
  * 
+ * Lock-free: timestamp and sequence are packed into one AtomicLong and advanced with CAS,
+ * so concurrent create requests never serialize on a monitor. Small clock regressions and
+ * sequence overflow borrow from a logical clock that runs slightly ahead of the wall clock.
+ * 
+ * The worker ID is either configured or leased ({@link WorkerIdLeaseManager}); with a lease, the generator
+ * refuses to issue IDs once the lease can no longer be guaranteed (fencing), see SnowflakeConfig.
+ * 
  * Follows Single Responsibility Principle - only handles ID generation
  * Thread-safe implementation for concurrent access
  */
 @Slf4j
-@Component
 public class SnowflakeIdGenerator {
     
     // Bit allocation
@@ -44,21 +53,43 @@ public class SnowflakeIdGenerator {
     // As time passes, IDs will automatically grow to 7, 8, 9, 10, 11 characters
     private static final long CUSTOM_EPOCH = 1733011200000L; // 2024-12-01 00:00:00 UTC
     
+    // How far the logical clock may run ahead of the wall clock (clock regressions, sequence overflow)
+    private static final long DEFAULT_MAX_BORROW_MILLIS = 1000L;
+    
+    // Logical clock state: (timestamp - epoch) << SEQUENCE_BITS | sequence
+    private static final long STATE_TIMESTAMP_SHIFT = SEQUENCE_BITS;
+    
     // Instance variables
     private final long workerId;
     private final long datacenterId;
-    private long sequence = 0L;
-    private long lastTimestamp = -1L;
+    private final long machineBits;
+    private final long maxBorrowMillis;
+    private final LongSupplier clock;
+    private final BooleanSupplier leaseValid;
+    private final AtomicLong state = new AtomicLong();
     
     /**
      * Constructor with configuration values
      * 
      * @param workerId Worker ID (0-31) - unique per instance
      * @param datacenterId Datacenter ID (0-31) - unique per datacenter
+     * @param maxBorrowMillis how far the logical clock may run ahead of the wall clock
+     * @param leaseValid checked before every reservation; IDs are refused while it returns false
      */
-    public SnowflakeIdGenerator(
-            @Value("${snowflake.worker-id:1}") long workerId,
-            @Value("${snowflake.datacenter-id:1}") long datacenterId) {
+    public SnowflakeIdGenerator(long workerId, long datacenterId, long maxBorrowMillis, BooleanSupplier leaseValid) {
+        this(workerId, datacenterId, maxBorrowMillis, () -> Instant.now().toEpochMilli(), leaseValid);
+    }
+    
+    public SnowflakeIdGenerator(long workerId, long datacenterId) {
+        this(workerId, datacenterId, DEFAULT_MAX_BORROW_MILLIS, () -> Instant.now().toEpochMilli(), () -> true);
+    }
+    
+    SnowflakeIdGenerator(long workerId, long datacenterId, long maxBorrowMillis, LongSupplier clock) {
+        this(workerId, datacenterId, maxBorrowMillis, clock, () -> true);
+    }
+    
+    SnowflakeIdGenerator(long workerId, long datacenterId, long maxBorrowMillis, LongSupplier clock,
+                         BooleanSupplier leaseValid) {
         
         // Validate worker ID
         if (workerId < 0 || workerId > MAX_WORKER_ID) {
@@ -76,54 +107,90 @@ public class SnowflakeIdGenerator {
         
         this.workerId = workerId;
         this.datacenterId = datacenterId;
+        this.machineBits = (datacenterId << DATACENTER_ID_SHIFT) | (workerId << WORKER_ID_SHIFT);
+        this.maxBorrowMillis = maxBorrowMillis;
+        this.clock = clock;
+        this.leaseValid = leaseValid;
         
         log.info("Snowflake ID Generator initialized - Worker ID: {}, Datacenter ID: {}", workerId, datacenterId);
     }
     
     /**
      * Generates a unique 64-bit ID
-     * Thread-safe implementation using synchronized block
+     * Lock-free: one CAS on the packed (timestamp, sequence) state per ID
      * 
      * @return unique 64-bit ID
-     * @throws RuntimeException if clock moves backward or sequence overflows
+     * @throws IllegalStateException if the clock moved backward by more than the borrow limit
+     *         or the worker ID lease was lost
      */
-    public synchronized long generateId() {
-        long timestamp = currentTimestamp();
-        
-        // Handle clock moving backward
-        if (timestamp < lastTimestamp) {
-            long offset = lastTimestamp - timestamp;
-            log.error("Clock moved backward by {} milliseconds. Refusing to generate ID.", offset);
-            throw new RuntimeException(
-                String.format("Clock moved backward. Refusing to generate ID for %d milliseconds", offset)
+    public long generateId() {
+        return toId(reserve(1));
+    }
+    
+    /**
+     * Reserves a block of consecutive IDs with a single CAS (for batch callers)
+     * 
+     * @param count number of IDs (at most the borrow limit worth of sequence numbers)
+     * @return IDs in increasing order
+     * @throws IllegalStateException if the clock moved backward by more than the borrow limit
+     *         or the worker ID lease was lost
+     */
+    public long[] generateIds(int count) {
+        if (count <= 0) {
+            return new long[0];
+        }
+        long first = reserve(count);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = toId(first + i);
+        }
+        return ids;
+    }
+    
+    /**
+     * Claims count consecutive logical clock values and returns the first
+     * 
+     * The sequence carries into the timestamp when it overflows, and a clock that moved backward keeps
+     * issuing from the last logical timestamp; either way the logical clock may run ahead of the wall clock
+     * by at most maxBorrowMillis. Beyond that the caller waits for the wall clock (sequence exhaustion)
+     * or fails (clock regression larger than the limit).
+     */
+    private long reserve(int count) {
+        if (!leaseValid.getAsBoolean()) {
+            throw new IllegalStateException(
+                String.format("Worker ID lease for worker %d (datacenter %d) is not valid. Refusing to generate ID.",
+                        workerId, datacenterId)
             );
         }
-        
-        // Same millisecond - increment sequence
-        if (timestamp == lastTimestamp) {
-            sequence = (sequence + 1) & MAX_SEQUENCE;
-            
-            // Sequence overflow - wait for next millisecond
-            if (sequence == 0) {
-                timestamp = waitNextMillis(lastTimestamp);
+        long waitedMillis = 0;
+        while (true) {
+            long now = currentTimestamp() - CUSTOM_EPOCH;
+            long current = state.get();
+            long start = Math.max(current + 1, now << STATE_TIMESTAMP_SHIFT);
+            long end = start + count - 1;
+            long ahead = (end >>> STATE_TIMESTAMP_SHIFT) - now;
+            if (ahead > maxBorrowMillis) {
+                if (waitedMillis >= maxBorrowMillis) {
+                    log.error("Clock is {} ms behind the ID generator's logical clock. Refusing to generate ID.", ahead);
+                    throw new IllegalStateException(
+                        String.format("Clock moved backward. Refusing to generate ID for %d milliseconds", ahead)
+                    );
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                waitedMillis++;
+                continue;
+            }
+            if (state.compareAndSet(current, end)) {
+                return start;
             }
-        } else {
-            // New millisecond - reset sequence
-            sequence = 0L;
         }
-        
-        lastTimestamp = timestamp;
-        
+    }
+    
+    private long toId(long logicalClock) {
         // Build ID: timestamp | datacenter | worker | sequence
-        long id = ((timestamp - CUSTOM_EPOCH) << TIMESTAMP_SHIFT)
-                | (datacenterId << DATACENTER_ID_SHIFT)
-                | (workerId << WORKER_ID_SHIFT)
-                | sequence;
-        
-        log.debug("Generated Snowflake ID: {} (timestamp: {}, datacenter: {}, worker: {}, sequence: {})",
-                id, timestamp, datacenterId, workerId, sequence);
-        
-        return id;
+        return ((logicalClock >>> STATE_TIMESTAMP_SHIFT) << TIMESTAMP_SHIFT)
+                | machineBits
+                | (logicalClock & MAX_SEQUENCE);
     }
     
     /**
@@ -132,21 +199,7 @@ public class SnowflakeIdGenerator {
      * @return current timestamp
      */
     private long currentTimestamp() {
-        return Instant.now().toEpochMilli();
-    }
-    
-    /**
-     * Waits until next millisecond if sequence overflow occurs
-     * 
-     * @param lastTimestamp last timestamp used
-     * @return next available timestamp
-     */
-    private long waitNextMillis(long lastTimestamp) {
-        long timestamp = currentTimestamp();
-        while (timestamp <= lastTimestamp) {
-            timestamp = currentTimestamp();
-        }
-        return timestamp;
+        return clock.getAsLong();
     }
     
     /**
@@ -66,8 +66,26 @@ public class UrlCodeGenerator {
      */
     public String generateUniqueCode() {
         // Step 1: Generate unique ID using Snowflake algorithm
-        long uniqueId = snowflakeIdGenerator.generateId();
-        
+        return toShortCode(snowflakeIdGenerator.generateId());
+    }
+    
+    /**
+     * Generates a block of unique short codes from one reserved Snowflake ID block
+     * Used by {@link ShortCodePool} to refill its buffer
+     * 
+     * @param count number of codes
+     * @return unique short codes in ID order
+     */
+    public String[] generateUniqueCodes(int count) {
+        long[] ids = snowflakeIdGenerator.generateIds(count);
+        String[] codes = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            codes[i] = toShortCode(ids[i]);
+        }
+        return codes;
+    }
+    
+    private String toShortCode(long uniqueId) {
         // Step 2: Map Snowflake ID to start at 6 characters with automatic growth
         // Strategy: Use full Snowflake ID with modulo to preserve uniqueness, then add time-based growth
         // 
@@ -0,0 +1,550 @@
+package com.shortify.create.service;
+
+import com.shortify.create.dto.ImportJobStatus;
+import com.shortify.create.entity.UrlMappingFactory;
+import com.shortify.create.util.ImportRecordParser;
+import com.shortify.create.util.ImportRecordParser.Format;
+import com.shortify.create.util.ImportRecordParser.ImportRecord;
+import com.shortify.entity.UrlMapping;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service running asynchronous bulk imports of legacy links (millions of URLs)
+ * Part of the Create Service microservice architecture
+ *
+ * Follows Single Responsibility Principle - only handles bulk import jobs
+ *
+ * Flow:
+ * 1. The upload (CSV or NDJSON, one record per line) is streamed to a spool file; nothing is buffered in memory
+ * 2. A background worker reads the spool file in chunks of create.import.chunk-size lines, validates each record
+ *    and generates codes for the chunk in one block (straight from UrlCodeGenerator: a chunk is larger than the
+ *    short code pool, which is left to interactive creates)
+ * 3. Each chunk is written with PostgreSQL COPY (driver CopyManager) into url_mappings; the partitioned table
+ *    routes every row to its monthly partition by created_date (missing partitions are created first)
+ * 4. The mapping file (line, original URL, short code, status, error) is appended per chunk and can be
+ *    downloaded once the job is COMPLETED
+ *
+ * Resumability: the job row (url_import_jobs) stores lines processed and the mapping file length, updated in the
+ * same transaction as the chunk's COPY. The mapping chunk is written and flushed before that commit, and a
+ * resumed job truncates the mapping file back to the committed length, so a crash or restart never imports a
+ * line twice or loses its mapping.
+ *
+ * Ownership: each job row carries a lease (owner, lease_expires_at) renewed by a heartbeat, like the Snowflake
+ * worker ID leases. Any instance claims jobs whose lease expired, so a job outlives the pod that accepted it.
+ * The checkpoint only commits while the row still names this instance as owner, and a worker stops writing once
+ * it can no longer prove its lease, so a job is never run by two instances at once.
+ * create.import.storage-dir is therefore required and must be storage shared by every instance (ReadWriteMany volume).
+ *
+ * Imported links expire DEFAULT_EXPIRATION_YEARS after the import, like newly created ones.
+ * Duplicates of existing URLs are not collapsed (legacy short codes of the same URL stay distinct).
+ */
+@Slf4j
+@Service
+public class UrlImportService {
+    
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    
+    private static final String COPY_SQL =
+            "COPY url_mappings (id, original_url, original_url_hash, short_url, created_at, created_date, " +
+            "expires_at, access_count, shard_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_JOB_SQL =
+            "INSERT INTO url_import_jobs (job_id, status, format, owner, lease_expires_at, source_path, mapping_path, " +
+            "mapping_bytes, created_at, updated_at) VALUES (?, ?, ?, ?, now() + make_interval(secs => ?), ?, ?, ?, now(), now())";
+    private static final String SELECT_JOB_SQL =
+            "SELECT job_id, status, format, source_path, mapping_path, lines_processed, imported_count, failed_count, " +
+            "mapping_bytes, error, created_at, updated_at FROM url_import_jobs WHERE job_id = ?";
+    private static final String CLAIM_SQL =
+            "UPDATE url_import_jobs SET status = 'RUNNING', owner = ?, lease_expires_at = now() + make_interval(secs => ?), " +
+            "updated_at = now() WHERE job_id = ? AND status IN ('QUEUED', 'RUNNING') " +
+            "AND (owner = ? OR lease_expires_at IS NULL OR lease_expires_at < now())";
+    private static final String CHECKPOINT_SQL =
+            "UPDATE url_import_jobs SET lines_processed = ?, imported_count = ?, failed_count = ?, mapping_bytes = ?, " +
+            "lease_expires_at = now() + make_interval(secs => ?), updated_at = now() WHERE job_id = ? AND owner = ?";
+    private static final String STATUS_SQL =
+            "UPDATE url_import_jobs SET status = ?, error = ?, updated_at = now() WHERE job_id = ? AND owner = ?";
+    private static final String HEARTBEAT_SQL =
+            "UPDATE url_import_jobs SET lease_expires_at = now() + make_interval(secs => ?) " +
+            "WHERE owner = ? AND status IN ('QUEUED', 'RUNNING') RETURNING job_id";
+    private static final String RELEASE_SQL =
+            "UPDATE url_import_jobs SET lease_expires_at = now() WHERE owner = ? AND status IN ('QUEUED', 'RUNNING')";
+    private static final String ORPHANED_JOBS_SQL =
+            "SELECT job_id FROM url_import_jobs WHERE status IN ('QUEUED', 'RUNNING') " +
+            "AND (lease_expires_at IS NULL OR lease_expires_at < now()) ORDER BY created_at";
+    private static final String MAPPING_HEADER = "line,original_url,short_code,status,error\n";
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UrlValidationService urlValidationService;
+    private final UrlCodeGenerator urlCodeGenerator;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final OriginalUrlBloomFilter originalUrlBloomFilter;
+    private final PartitionManagementService partitionManagementService;
+    private final Path storageDir;
+    private final int chunkSize;
+    private final long leaseTtlSeconds;
+    private final long leaseSafetyMarginSeconds;
+    private final String owner;
+    
+    // Jobs queued or running on this instance, so the orphan scan never submits a job twice
+    private final Set<String> localJobs = ConcurrentHashMap.newKeySet();
+    private volatile String activeJobId;
+    private volatile long activeLeaseValidUntilNanos;
+    
+    // One job at a time: COPY is I/O bound on the primary, parallel jobs would only compete
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "url-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public UrlImportService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            UrlValidationService urlValidationService,
+                            UrlCodeGenerator urlCodeGenerator,
+                            SnowflakeIdGenerator snowflakeIdGenerator,
+                            OriginalUrlBloomFilter originalUrlBloomFilter,
+                            PartitionManagementService partitionManagementService,
+                            @Value("${create.import.storage-dir}") String storageDir,
+                            @Value("${create.import.chunk-size:10000}") int chunkSize,
+                            @Value("${create.import.lease.ttl-seconds:60}") long leaseTtlSeconds,
+                            @Value("${create.import.lease.safety-margin-seconds:10}") long leaseSafetyMarginSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.urlValidationService = urlValidationService;
+        this.urlCodeGenerator = urlCodeGenerator;
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.originalUrlBloomFilter = originalUrlBloomFilter;
+        this.partitionManagementService = partitionManagementService;
+        this.storageDir = Path.of(storageDir);
+        this.chunkSize = chunkSize;
+        this.leaseTtlSeconds = leaseTtlSeconds;
+        this.leaseSafetyMarginSeconds = leaseSafetyMarginSeconds;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+    
+    /**
+     * Spools the upload to disk and queues the import job
+     *
+     * @param upload the uploaded file content (streamed, never fully buffered)
+     * @param format the file format
+     * @return the queued job's status
+     * @throws IOException if the upload cannot be stored
+     */
+    public ImportJobStatus startImport(InputStream upload, Format format) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Files.createDirectories(storageDir);
+        Path source = storageDir.resolve(jobId + ".source");
+        Path mapping = storageDir.resolve(jobId + "-mapping.csv");
+        Files.copy(upload, source);
+        Files.writeString(mapping, MAPPING_HEADER, StandardCharsets.UTF_8);
+        
+        jdbcTemplate.update(INSERT_JOB_SQL, jobId, STATUS_QUEUED, format.name(), owner, leaseTtlSeconds,
+                source.toString(), mapping.toString(), (long) MAPPING_HEADER.length());
+        log.info("Queued import job {} ({}, {} bytes)", jobId, format, Files.size(source));
+        submit(jobId);
+        return getStatus(jobId).orElseThrow();
+    }
+    
+    /**
+     * @param jobId the job ID
+     * @return the job's progress, or empty if the job does not exist
+     */
+    public Optional<ImportJobStatus> getStatus(String jobId) {
+        return loadJob(jobId).map(job -> job.status);
+    }
+    
+    /**
+     * @param jobId the job ID
+     * @return the mapping file of a completed job, or empty if the job does not exist or has not completed
+     */
+    public Optional<Path> getMappingFile(String jobId) {
+        return loadJob(jobId)
+                .filter(job -> STATUS_COMPLETED.equals(job.status.getStatus()))
+                .map(job -> job.mappingPath);
+    }
+    
+    /**
+     * Picks up unfinished jobs whose lease expired (their instance crashed or shut down), on any instance
+     * First run after partition initialization and the Bloom filter build
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(3)
+    public void resumeJobs() {
+        claimOrphanedJobs();
+    }
+    
+    @Scheduled(fixedDelayString = "${create.import.lease.claim-interval-ms:30000}",
+               initialDelayString = "${create.import.lease.claim-interval-ms:30000}")
+    public void claimOrphanedJobs() {
+        try {
+            for (String jobId : jdbcTemplate.queryForList(ORPHANED_JOBS_SQL, String.class)) {
+                if (submit(jobId)) {
+                    log.info("Resuming orphaned import job {}", jobId);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Could not scan for orphaned import jobs", e);
+        }
+    }
+    
+    /**
+     * Heartbeat: extends the leases of this instance's queued and running jobs
+     * The running job's lease is only trusted while its row still names this instance as owner
+     */
+    @Scheduled(fixedDelayString = "${create.import.lease.renew-interval-ms:15000}")
+    public void renewLeases() {
+        String jobId = activeJobId;
+        long renewStart = System.nanoTime();
+        try {
+            List<String> renewed = jdbcTemplate.queryForList(HEARTBEAT_SQL, String.class, leaseTtlSeconds, owner);
+            if (jobId != null && jobId.equals(activeJobId) && renewed.contains(jobId)) {
+                activeLeaseValidUntilNanos = leaseDeadline(renewStart);
+            }
+        } catch (Exception e) {
+            // The running job stops at its lease deadline unless the next heartbeat succeeds
+            log.warn("Could not renew import job leases", e);
+        }
+    }
+    
+    /**
+     * Stops the worker between chunks and releases the leases, so another instance resumes the jobs right away
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            jdbcTemplate.update(RELEASE_SQL, owner);
+        } catch (Exception e) {
+            log.warn("Could not release import job leases; they free up when they expire", e);
+        }
+    }
+    
+    private boolean submit(String jobId) {
+        if (!localJobs.add(jobId)) {
+            return false;
+        }
+        executor.submit(() -> {
+            try {
+                run(jobId);
+            } finally {
+                localJobs.remove(jobId);
+            }
+        });
+        return true;
+    }
+    
+    private void run(String jobId) {
+        long claimStart = System.nanoTime();
+        if (jdbcTemplate.update(CLAIM_SQL, owner, leaseTtlSeconds, jobId, owner) != 1) {
+            log.info("Import job {} is finished or owned by another instance; skipping", jobId);
+            return;
+        }
+        activeJobId = jobId;
+        activeLeaseValidUntilNanos = leaseDeadline(claimStart);
+        try {
+            runClaimed(jobId);
+        } finally {
+            activeJobId = null;
+        }
+    }
+    
+    private void runClaimed(String jobId) {
+        Optional<Job> loaded = loadJob(jobId);
+        if (loaded.isEmpty()) {
+            return;
+        }
+        Job job = loaded.get();
+        Format format = Format.valueOf(job.status.getFormat());
+        Progress progress = new Progress(job.status.getLinesProcessed(), job.status.getImportedCount(),
+                job.status.getFailedCount(), job.mappingBytes);
+        
+        try (BufferedReader reader = Files.newBufferedReader(job.sourcePath, StandardCharsets.UTF_8);
+             FileChannel mapping = FileChannel.open(job.mappingPath, StandardOpenOption.WRITE)) {
+            // Drop mapping output of a chunk that was written but never committed
+            mapping.truncate(progress.mappingBytes);
+            
+            for (long skipped = 0; skipped < progress.lines; skipped++) {
+                if (reader.readLine() == null) {
+                    break;
+                }
+            }
+            
+            Set<YearMonth> partitions = new HashSet<>();
+            List<String> lines = new ArrayList<>(chunkSize);
+            while (true) {
+                lines.clear();
+                String line;
+                while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+                if (lines.isEmpty()) {
+                    break;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Import job {} interrupted after {} lines; another instance resumes it", jobId, progress.lines);
+                    return;
+                }
+                if (System.nanoTime() - activeLeaseValidUntilNanos >= 0) {
+                    log.warn("Lost the lease on import job {} after {} lines; stopping", jobId, progress.lines);
+                    return;
+                }
+                importChunk(jobId, format, lines, progress, mapping, partitions);
+            }
+            
+            if (jdbcTemplate.update(STATUS_SQL, STATUS_COMPLETED, null, jobId, owner) != 1) {
+                log.warn("Lost the lease on import job {} before completing it", jobId);
+                return;
+            }
+            Files.deleteIfExists(job.sourcePath);
+            log.info("Import job {} completed: {} lines, {} imported, {} failed",
+                    jobId, progress.lines, progress.imported, progress.failed);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted() || e instanceof ClosedByInterruptException) {
+                log.info("Import job {} interrupted after {} lines; another instance resumes it", jobId, progress.lines);
+                return;
+            }
+            if (e instanceof ImportLeaseLostException) {
+                log.warn("Lost the lease on import job {} after {} lines; stopping", jobId, progress.lines);
+                return;
+            }
+            log.error("Import job {} failed after {} lines", jobId, progress.lines, e);
+            String error = String.valueOf(e.getMessage());
+            jdbcTemplate.update(STATUS_SQL, STATUS_FAILED,
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error, jobId, owner);
+        }
+    }
+    
+    /**
+     * Imports one chunk: validate, draw codes in a block, write the mapping, then COPY and checkpoint atomically
+     */
+    private void importChunk(String jobId, Format format, List<String> lines, Progress progress,
+                             FileChannel mapping, Set<YearMonth> partitions) throws IOException {
+        String[] mappingRows = new String[lines.size()];
+        List<ImportRecord> records = new ArrayList<>(lines.size());
+        List<Integer> recordLines = new ArrayList<>(lines.size());
+        long failed = 0;
+        
+        for (int i = 0; i < lines.size(); i++) {
+            String originalUrl = null;
+            try {
+                ImportRecord record = ImportRecordParser.parse(lines.get(i), format);
+                if (record == null) {
+                    continue; // Blank or header line
+                }
+                originalUrl = record.getOriginalUrl();
+                urlValidationService.validateOriginalUrl(originalUrl);
+                records.add(record);
+                recordLines.add(i);
+            } catch (IllegalArgumentException e) {
+                failed++;
+                mappingRows[i] = csvRow(String.valueOf(progress.lines + i + 1), originalUrl, null, STATUS_FAILED, e.getMessage());
+            }
+        }
+        
+        String[] codes = urlCodeGenerator.generateUniqueCodes(records.size());
+        long[] ids = snowflakeIdGenerator.generateIds(records.size());
+        List<UrlMapping> mappings = new ArrayList<>(records.size());
+        StringBuilder copyData = new StringBuilder(records.size() * 160);
+        for (int r = 0; r < records.size(); r++) {
+            ImportRecord record = records.get(r);
+            UrlMapping urlMapping = UrlMappingFactory.create(record.getOriginalUrl(), codes[r]);
+            if (record.getCreatedAt() != null) {
+                urlMapping.setCreatedAt(record.getCreatedAt());
+                urlMapping.setCreatedDate(record.getCreatedAt().toLocalDate());
+            }
+            mappings.add(urlMapping);
+            int i = recordLines.get(r);
+            mappingRows[i] = csvRow(String.valueOf(progress.lines + i + 1), record.getOriginalUrl(), codes[r], "IMPORTED", null);
+            copyData.append(csvRow(
+                String.valueOf(ids[r]),
+                urlMapping.getOriginalUrl(),
+                String.valueOf(urlMapping.getOriginalUrlHash()),
+                urlMapping.getShortUrl(),
+                urlMapping.getCreatedAt().toString(),
+                urlMapping.getCreatedDate().toString(),
+                urlMapping.getExpiresAt().toString(),
+                String.valueOf(urlMapping.getAccessCount()),
+                String.valueOf(urlMapping.getShardId())
+            ));
+            if (partitions.add(YearMonth.from(urlMapping.getCreatedDate()))) {
+                partitionManagementService.ensurePartitionForMonth(urlMapping.getCreatedDate());
+            }
+        }
+        
+        // Mapping first (flushed), then COPY + checkpoint in one transaction
+        StringBuilder mappingChunk = new StringBuilder();
+        for (String row : mappingRows) {
+            if (row != null) {
+                mappingChunk.append(row);
+            }
+        }
+        byte[] mappingBytes = mappingChunk.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(mappingBytes);
+        long position = progress.mappingBytes;
+        while (buffer.hasRemaining()) {
+            position += mapping.write(buffer, position);
+        }
+        mapping.force(false);
+        
+        long processed = progress.lines + lines.size();
+        long imported = progress.imported + mappings.size();
+        long failedTotal = progress.failed + failed;
+        long mappingLength = progress.mappingBytes + mappingBytes.length;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!mappings.isEmpty()) {
+                jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    try {
+                        return connection.unwrap(PGConnection.class).getCopyAPI()
+                                .copyIn(COPY_SQL, new StringReader(copyData.toString()));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("COPY into url_mappings failed", e);
+                    }
+                });
+            }
+            int updated = jdbcTemplate.update(CHECKPOINT_SQL, processed, imported, failedTotal, mappingLength,
+                    leaseTtlSeconds, jobId, owner);
+            if (updated != 1) {
+                // Rolls back the COPY: another instance owns the job now
+                throw new ImportLeaseLostException(jobId);
+            }
+        });
+        
+        progress.lines = processed;
+        progress.imported = imported;
+        progress.failed = failedTotal;
+        progress.mappingBytes = mappingLength;
+        for (UrlMapping urlMapping : mappings) {
+            originalUrlBloomFilter.put(urlMapping.getOriginalUrlHash());
+        }
+    }
+    
+    private Optional<Job> loadJob(String jobId) {
+        List<Job> jobs = jdbcTemplate.query(SELECT_JOB_SQL, (rs, rowNum) -> new Job(
+            ImportJobStatus.builder()
+                .jobId(rs.getString("job_id"))
+                .status(rs.getString("status"))
+                .format(rs.getString("format"))
+                .linesProcessed(rs.getLong("lines_processed"))
+                .importedCount(rs.getLong("imported_count"))
+                .failedCount(rs.getLong("failed_count"))
+                .error(rs.getString("error"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                .build(),
+            Path.of(rs.getString("source_path")),
+            Path.of(rs.getString("mapping_path")),
+            rs.getLong("mapping_bytes")
+        ), jobId);
+        return jobs.stream().findFirst();
+    }
+    
+    /**
+     * Formats one CSV line (RFC 4180 quoting; null fields are empty), as read by COPY ... (FORMAT csv)
+     */
+    static String csvRow(String... fields) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            if (field.isEmpty() || field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                row.append('"').append(field.replace("\"", "\"\"")).append('"');
+            } else {
+                row.append(field);
+            }
+        }
+        return row.append('\n').toString();
+    }
+    
+    private long leaseDeadline(long renewStartNanos) {
+        return renewStartNanos + TimeUnit.SECONDS.toNanos(leaseTtlSeconds - leaseSafetyMarginSeconds);
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+    
+    private static final class ImportLeaseLostException extends IllegalStateException {
+        private ImportLeaseLostException(String jobId) {
+            super("Import job " + jobId + " is owned by another instance");
+        }
+    }
+    
+    private static final class Job {
+        private final ImportJobStatus status;
+        private final Path sourcePath;
+        private final Path mappingPath;
+        private final long mappingBytes;
+        
+        private Job(ImportJobStatus status, Path sourcePath, Path mappingPath, long mappingBytes) {
+            this.status = status;
+            this.sourcePath = sourcePath;
+            this.mappingPath = mappingPath;
+            this.mappingBytes = mappingBytes;
+        }
+    }
+    
+    private static final class Progress {
+        private long lines;
+        private long imported;
+        private long failed;
+        private long mappingBytes;
+        
+        private Progress(long lines, long imported, long failed, long mappingBytes) {
+            this.lines = lines;
+            this.imported = imported;
+            this.failed = failed;
+            this.mappingBytes = mappingBytes;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.shortify.create.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leases a Snowflake worker ID from the primary PostgreSQL database, so autoscaled create-service
+ * pods never share a worker ID (and therefore never generate identical IDs or short codes)
+ *
+ * Lease table snowflake_worker_leases (created by schema.sql) has one row per (datacenter, worker) with the owner,
+ * an expiry and a fencing token. At startup the first free or expired worker ID is claimed with an atomic upsert
+ * (all times are the database's clock), then renewed by a heartbeat and released on shutdown.
+ *
+ * Fencing:
+ * - the pod only trusts its lease until (last renewal start + ttl - safety margin), measured on its own
+ *   monotonic clock; past that {@link #isLeaseValid()} returns false and the generator refuses IDs
+ * - a renewal matches on owner and fencing token, so a pod whose lease was taken over cannot extend it
+ * - a pod taking over a previously used worker ID waits out the generator's clock borrow limit first,
+ *   so its IDs cannot collide with IDs the previous owner issued ahead of the wall clock
+ *
+ * Follows Single Responsibility Principle - only handles worker ID ownership
+ */
+@Slf4j
+@Service
+public class WorkerIdLeaseManager {
+    
+    private static final int MAX_WORKER_ID = 31;
+    
+    private static final String CLAIM_SQL =
+            "INSERT INTO snowflake_worker_leases (datacenter_id, worker_id, owner, fencing_token, expires_at) " +
+            "VALUES (?, ?, ?, 1, now() + make_interval(secs => ?)) " +
+            "ON CONFLICT (datacenter_id, worker_id) DO UPDATE SET owner = EXCLUDED.owner, " +
+            "fencing_token = snowflake_worker_leases.fencing_token + 1, expires_at = EXCLUDED.expires_at " +
+            "WHERE snowflake_worker_leases.expires_at < now() " +
+            "RETURNING fencing_token";
+    
+    private static final String RENEW_SQL =
+            "UPDATE snowflake_worker_leases SET expires_at = now() + make_interval(secs => ?) " +
+            "WHERE datacenter_id = ? AND worker_id = ? AND owner = ? AND fencing_token = ?";
+    
+    private static final String RELEASE_SQL =
+            "UPDATE snowflake_worker_leases SET expires_at = now() " +
+            "WHERE datacenter_id = ? AND worker_id = ? AND owner = ? AND fencing_token = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+    private final boolean enabled;
+    private final long ttlSeconds;
+    private final long safetyMarginSeconds;
+    private final long renewIntervalMillis;
+    
+    // Own thread: the shared @Scheduled thread also runs long jobs (Bloom filter rebuild) that would delay heartbeats
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "worker-id-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private long datacenterId = -1;
+    private long workerId = -1;
+    private long fencingToken;
+    private volatile long validUntilNanos;
+    
+    public WorkerIdLeaseManager(JdbcTemplate jdbcTemplate,
+                                @Value("${snowflake.worker-id-lease.enabled:false}") boolean enabled,
+                                @Value("${snowflake.worker-id-lease.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${snowflake.worker-id-lease.safety-margin-seconds:5}") long safetyMarginSeconds,
+                                @Value("${snowflake.worker-id-lease.renew-interval-ms:10000}") long renewIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+        this.enabled = enabled;
+        this.ttlSeconds = ttlSeconds;
+        this.safetyMarginSeconds = safetyMarginSeconds;
+        this.renewIntervalMillis = renewIntervalMillis;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Claims a free worker ID in the datacenter; blocks for the borrow limit when taking over a used ID
+     *
+     * @param datacenterId datacenter the worker IDs belong to
+     * @param takeoverDelayMillis how long to wait before using a previously owned worker ID
+     * @return the leased worker ID
+     * @throws IllegalStateException if every worker ID in the datacenter is leased
+     */
+    public synchronized long acquire(long datacenterId, long takeoverDelayMillis) {
+        // Start at a random worker ID so pods starting together rarely race for the same row
+        int offset = ThreadLocalRandom.current().nextInt(MAX_WORKER_ID + 1);
+        for (int i = 0; i <= MAX_WORKER_ID; i++) {
+            int candidate = (offset + i) % (MAX_WORKER_ID + 1);
+            long renewStart = System.nanoTime();
+            List<Long> tokens = jdbcTemplate.queryForList(CLAIM_SQL, Long.class,
+                    datacenterId, candidate, owner, ttlSeconds);
+            if (tokens.isEmpty()) {
+                continue; // Leased by a live pod
+            }
+            this.datacenterId = datacenterId;
+            this.workerId = candidate;
+            this.fencingToken = tokens.get(0);
+            this.validUntilNanos = renewStart + TimeUnit.SECONDS.toNanos(ttlSeconds - safetyMarginSeconds);
+            
+            if (fencingToken > 1) {
+                // A previous owner may have issued IDs up to the borrow limit ahead of the clock
+                log.info("Took over worker ID {} (datacenter {}, fencing token {}); waiting {} ms before issuing IDs",
+                        workerId, datacenterId, fencingToken, takeoverDelayMillis);
+                sleep(takeoverDelayMillis);
+            }
+            log.info("Leased Snowflake worker ID {} (datacenter {}) as {}", workerId, datacenterId, owner);
+            heartbeat.scheduleWithFixedDelay(this::renew, renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+            return workerId;
+        }
+        throw new IllegalStateException(
+            String.format("All %d worker IDs of datacenter %d are leased", MAX_WORKER_ID + 1, datacenterId)
+        );
+    }
+    
+    /**
+     * @return true while the lease is guaranteed to be held (checked by the ID generator on every reservation)
+     */
+    public boolean isLeaseValid() {
+        return System.nanoTime() - validUntilNanos < 0;
+    }
+    
+    /**
+     * Heartbeat: extends the lease; a lease that was taken over is never extended again
+     */
+    synchronized void renew() {
+        if (workerId < 0) {
+            return;
+        }
+        long renewStart = System.nanoTime();
+        try {
+            int updated = jdbcTemplate.update(RENEW_SQL, ttlSeconds, datacenterId, workerId, owner, fencingToken);
+            if (updated == 1) {
+                validUntilNanos = renewStart + TimeUnit.SECONDS.toNanos(ttlSeconds - safetyMarginSeconds);
+            } else {
+                validUntilNanos = renewStart;
+                log.error("Lost the lease on worker ID {} (datacenter {}); ID generation is fenced off",
+                        workerId, datacenterId);
+            }
+        } catch (Exception e) {
+            // The lease stays valid until its deadline; the next heartbeat retries
+            log.warn("Could not renew the lease on worker ID {} (datacenter {})", workerId, datacenterId, e);
+        }
+    }
+    
+    /**
+     * Stops trusting the lease, then hands the worker ID back so a new pod can take it over
+     */
+    @PreDestroy
+    public synchronized void release() {
+        heartbeat.shutdownNow();
+        if (workerId < 0) {
+            return;
+        }
+        validUntilNanos = System.nanoTime();
+        try {
+            jdbcTemplate.update(RELEASE_SQL, datacenterId, workerId, owner, fencingToken);
+            log.info("Released Snowflake worker ID {} (datacenter {})", workerId, datacenterId);
+        } catch (Exception e) {
+            log.warn("Could not release worker ID {} (datacenter {}); it frees up when the lease expires",
+                    workerId, datacenterId, e);
+        }
+        workerId = -1;
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to take over a worker ID", e);
+        }
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
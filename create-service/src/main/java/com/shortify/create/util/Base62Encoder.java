@@ -1,5 +1,8 @@
 package com.shortify.create.util;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * Utility class for Base62 encoding/decoding
  * Part of the Create Service microservice
@@ -8,6 +11,11 @@ package com.shortify.create.util;
  * Follows Encapsulation - static utility methods with no state
  * 
  * Base62 uses characters: 0-9, a-z, A-Z (62 characters total)
+ * 
+ * Allocation-free hot path: the encoded length is computed up front from a table of powers of 62,
+ * digits are written straight into their final position (no StringBuilder, no reverse), and decoding
+ * uses a lookup table instead of indexOf. Callers that assemble larger buffers can encode into their
+ * own char[] or byte[]; fixed-width output is zero-padded ("0" is the zero digit).
  */
 public final class Base62Encoder {
     
@@ -15,6 +23,30 @@ public final class Base62Encoder {
     private static final int BASE = 62;
     private static final long MIN_VALUE = 0L;
     
+    /**
+     * Maximum encoded length of a non-negative long (Long.MAX_VALUE needs 11 digits)
+     */
+    public static final int MAX_ENCODED_LENGTH = 11;
+    
+    private static final byte[] DIGITS = BASE62_CHARS.getBytes(StandardCharsets.US_ASCII);
+    
+    // POWERS[i] = 62^i; 62^11 overflows a long
+    private static final long[] POWERS = new long[MAX_ENCODED_LENGTH];
+    
+    // ASCII character to digit value, -1 for characters outside the alphabet
+    private static final byte[] DECODE_TABLE = new byte[128];
+    
+    static {
+        POWERS[0] = 1L;
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * BASE;
+        }
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            DECODE_TABLE[DIGITS[i]] = (byte) i;
+        }
+    }
+    
     private Base62Encoder() {
         // Utility class - prevent instantiation
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
@@ -28,24 +60,141 @@ public final class Base62Encoder {
      * @throws IllegalArgumentException if number is negative
      */
     public static String encode(long number) {
+        byte[] encoded = new byte[encodedLength(number)];
+        writeDigits(number, encoded, 0, encoded.length);
+        return new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+    
+    /**
+     * Encodes a number to a fixed-width Base62 string, left-padded with '0'
+     * 
+     * @param number the number to encode (must be >= 0)
+     * @param width the output width (1 to MAX_ENCODED_LENGTH)
+     * @return Base62 encoded string of exactly width characters
+     * @throws IllegalArgumentException if number is negative or does not fit in width digits
+     */
+    public static String encodeFixedWidth(long number, int width) {
+        checkWidth(number, width);
+        byte[] encoded = new byte[width];
+        writeDigits(number, encoded, 0, width);
+        return new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+    
+    /**
+     * Encodes a number into a caller-supplied buffer
+     * 
+     * @param number the number to encode (must be >= 0)
+     * @param destination the buffer to write to
+     * @param offset index of the first character to write
+     * @return number of characters written
+     * @throws IllegalArgumentException if number is negative
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public static int encode(long number, char[] destination, int offset) {
+        int length = encodedLength(number);
+        writeDigits(number, destination, offset, length);
+        return length;
+    }
+    
+    /**
+     * Encodes a number into a caller-supplied buffer as ASCII bytes
+     * 
+     * @param number the number to encode (must be >= 0)
+     * @param destination the buffer to write to
+     * @param offset index of the first byte to write
+     * @return number of bytes written
+     * @throws IllegalArgumentException if number is negative
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public static int encode(long number, byte[] destination, int offset) {
+        int length = encodedLength(number);
+        writeDigits(number, destination, offset, length);
+        return length;
+    }
+    
+    /**
+     * Encodes a number into a caller-supplied buffer as exactly width characters, left-padded with '0'
+     * 
+     * @param number the number to encode (must be >= 0)
+     * @param width the output width (1 to MAX_ENCODED_LENGTH)
+     * @param destination the buffer to write to
+     * @param offset index of the first character to write
+     * @throws IllegalArgumentException if number is negative or does not fit in width digits
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public static void encodeFixedWidth(long number, int width, char[] destination, int offset) {
+        checkWidth(number, width);
+        writeDigits(number, destination, offset, width);
+    }
+    
+    /**
+     * Returns the number of Base62 digits needed for a number (without padding)
+     * 
+     * @param number the number (must be >= 0)
+     * @return encoded length, 1 to MAX_ENCODED_LENGTH
+     * @throws IllegalArgumentException if number is negative
+     */
+    public static int encodedLength(long number) {
         if (number < MIN_VALUE) {
             throw new IllegalArgumentException("Number must be non-negative, got: " + number);
         }
-        
-        if (number == 0) {
-            return "0";
+        int length = 1;
+        while (length < MAX_ENCODED_LENGTH && number >= POWERS[length]) {
+            length++;
         }
-        
-        StringBuilder encoded = new StringBuilder();
+        return length;
+    }
+    
+    /**
+     * Decodes a Base62 string (leading '0' padding is allowed)
+     * 
+     * @param encoded the Base62 string
+     * @return the decoded number
+     * @throws IllegalArgumentException if the string is empty, contains a non-Base62 character or overflows a long
+     */
+    public static long decode(CharSequence encoded) {
+        int length = encoded.length();
+        if (length == 0) {
+            throw new IllegalArgumentException("Encoded value must not be empty");
+        }
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            char c = encoded.charAt(i);
+            int digit = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid Base62 character '" + c + "' in: " + encoded);
+            }
+            if (result > (Long.MAX_VALUE - digit) / BASE) {
+                throw new IllegalArgumentException("Base62 value overflows a long: " + encoded);
+            }
+            result = result * BASE + digit;
+        }
+        return result;
+    }
+    
+    private static void checkWidth(long number, int width) {
+        if (width < 1 || width > MAX_ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Width must be between 1 and " + MAX_ENCODED_LENGTH + ", got: " + width);
+        }
+        if (encodedLength(number) > width) {
+            throw new IllegalArgumentException("Number " + number + " does not fit in " + width + " Base62 digits");
+        }
+    }
+    
+    // Writes the low `length` digits right to left; positions above the number's own digits become '0'
+    private static void writeDigits(long number, byte[] destination, int offset, int length) {
         long remaining = number;
-        
-        while (remaining > 0) {
-            int index = (int) (remaining % BASE);
-            encoded.append(BASE62_CHARS.charAt(index));
+        for (int i = offset + length - 1; i >= offset; i--) {
+            destination[i] = DIGITS[(int) (remaining % BASE)];
+            remaining /= BASE;
+        }
+    }
+    
+    private static void writeDigits(long number, char[] destination, int offset, int length) {
+        long remaining = number;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            destination[i] = (char) DIGITS[(int) (remaining % BASE)];
             remaining /= BASE;
         }
-        
-        return encoded.reverse().toString();
     }
 }
-
@@ -0,0 +1,136 @@
+package com.shortify.create.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class parsing bulk import records, one record per line
+ * Part of the Create Service microservice
+ *
+ * Follows Single Responsibility Principle - only handles import record parsing
+ * Follows Encapsulation - static utility methods with no state
+ *
+ * Formats:
+ * - CSV: originalUrl[,createdAt] (RFC 4180 quoting; an optional header line is skipped)
+ * - NDJSON: {"originalUrl": "...", "createdAt": "..."} (createdAt optional)
+ * createdAt is ISO-8601, local (2020-05-01T10:15:30) or with offset (converted to UTC).
+ */
+public final class ImportRecordParser {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+    
+    /**
+     * A parsed import record; createdAt is null when the source did not provide one
+     */
+    @Value
+    public static class ImportRecord {
+        String originalUrl;
+        LocalDateTime createdAt;
+    }
+    
+    private ImportRecordParser() {
+        // Utility class - prevent instantiation
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+    
+    /**
+     * Parses one line of an import file
+     *
+     * @param line the line
+     * @param format the file format
+     * @return the record, or null for blank lines and CSV header lines
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static ImportRecord parse(String line, Format format) {
+        if (line == null || line.isBlank()) {
+            return null;
+        }
+        return format == Format.CSV ? parseCsv(line) : parseNdjson(line);
+    }
+    
+    private static ImportRecord parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        String originalUrl = fields.get(0).trim();
+        if (originalUrl.equalsIgnoreCase("originalUrl") || originalUrl.equalsIgnoreCase("original_url")) {
+            return null; // Header
+        }
+        String createdAt = fields.size() > 1 ? fields.get(1).trim() : "";
+        return new ImportRecord(originalUrl, createdAt.isEmpty() ? null : parseTimestamp(createdAt));
+    }
+    
+    private static ImportRecord parseNdjson(String line) {
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        JsonNode url = node.get("originalUrl");
+        if (url == null || !url.isTextual()) {
+            throw new IllegalArgumentException("Missing originalUrl");
+        }
+        JsonNode createdAt = node.get("createdAt");
+        return new ImportRecord(
+            url.asText(),
+            createdAt == null || createdAt.isNull() ? null : parseTimestamp(createdAt.asText())
+        );
+    }
+    
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            } catch (DateTimeParseException e2) {
+                throw new IllegalArgumentException("Invalid createdAt: " + value);
+            }
+        }
+    }
+    
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
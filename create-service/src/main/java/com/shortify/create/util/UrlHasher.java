@@ -0,0 +1,42 @@
+package com.shortify.create.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utility class for the fixed-width original URL hash used for deduplication
+ * Part of the Create Service microservice
+ *
+ * Follows Single Responsibility Principle - only handles URL hashing
+ * Follows Encapsulation - static utility methods with no state
+ *
+ * The hash is the first 8 bytes of SHA-256 over the UTF-8 URL, read as a big-endian signed long.
+ * It matches the SQL backfill in schema.sql:
+ * ('x' || encode(substring(sha256(convert_to(original_url, 'UTF8')) from 1 for 8), 'hex'))::bit(64)::bigint
+ * Equal hashes do not imply equal URLs - callers always compare the full URL as well.
+ */
+public final class UrlHasher {
+    
+    private UrlHasher() {
+        // Utility class - prevent instantiation
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+    
+    /**
+     * Computes the 64-bit hash of an original URL
+     *
+     * @param originalUrl the original URL (must not be null)
+     * @return 64-bit URL hash
+     */
+    public static long hash64(String originalUrl) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(originalUrl.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -14,9 +14,11 @@ BEGIN
         -- Create partitioned table
         -- Note: Cannot use UNIQUE (short_url) constraint on partitioned table without partition key
         -- Uniqueness is guaranteed by Snowflake ID generation, and we use index for fast lookups
+        -- id is a Snowflake ID assigned by the application (no sequence), so inserts can be batched
         CREATE TABLE url_mappings (
-            id BIGSERIAL NOT NULL,
+            id BIGINT NOT NULL,
             original_url VARCHAR(5000) NOT NULL,
+            original_url_hash BIGINT,
             short_url VARCHAR(10) NOT NULL,
             created_at TIMESTAMP NOT NULL,
             created_date DATE NOT NULL,
@@ -29,9 +31,54 @@ BEGIN
 
         -- Create indexes
         CREATE INDEX idx_url_mappings_short_url ON url_mappings(short_url);
-        CREATE INDEX idx_url_mappings_original_url ON url_mappings(original_url);
+        CREATE INDEX idx_url_mappings_original_url_hash ON url_mappings(original_url_hash);
         CREATE INDEX idx_url_mappings_created_date ON url_mappings(created_date);
         CREATE INDEX idx_url_mappings_expires_at ON url_mappings(expires_at);
     END IF;
 END $$;
 
+-- Original URL deduplication by fixed-width hash (see UrlHasher)
+-- A B-tree on original_url itself is large and rejects URLs longer than its entry size limit
+-- The index is created before the backfill, and the uncorrelated EXISTS is a one-time filter: once every row
+-- has a hash, startup costs one index probe instead of a scan over every partition
+ALTER TABLE url_mappings ADD COLUMN IF NOT EXISTS original_url_hash BIGINT;
+DROP INDEX IF EXISTS idx_url_mappings_original_url;
+CREATE INDEX IF NOT EXISTS idx_url_mappings_original_url_hash ON url_mappings(original_url_hash);
+UPDATE url_mappings
+SET original_url_hash = ('x' || encode(substring(sha256(convert_to(original_url, 'UTF8')) from 1 for 8), 'hex'))::bit(64)::bigint
+WHERE original_url_hash IS NULL
+AND EXISTS (SELECT 1 FROM url_mappings WHERE original_url_hash IS NULL);
+
+-- Bulk import jobs (see UrlImportService)
+-- lines_processed and mapping_bytes are committed together with each COPY chunk, so a job resumes exactly
+-- after the last imported chunk
+-- owner holds the job while lease_expires_at is in the future; any instance may claim a job whose lease expired
+CREATE TABLE IF NOT EXISTS url_import_jobs (
+    job_id VARCHAR(36) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    owner VARCHAR(200) NOT NULL,
+    lease_expires_at TIMESTAMPTZ,
+    source_path VARCHAR(1000) NOT NULL,
+    mapping_path VARCHAR(1000) NOT NULL,
+    lines_processed BIGINT NOT NULL DEFAULT 0,
+    imported_count BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    mapping_bytes BIGINT NOT NULL DEFAULT 0,
+    error VARCHAR(2000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+ALTER TABLE url_import_jobs ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMPTZ;
+
+-- Snowflake worker ID leases (see WorkerIdLeaseManager)
+-- One row per (datacenter, worker); a pod owns the worker ID while expires_at (database clock) is in the future,
+-- and fencing_token grows on every takeover
+CREATE TABLE IF NOT EXISTS snowflake_worker_leases (
+    datacenter_id INTEGER NOT NULL,
+    worker_id INTEGER NOT NULL,
+    owner VARCHAR(200) NOT NULL,
+    fencing_token BIGINT NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (datacenter_id, worker_id)
+);
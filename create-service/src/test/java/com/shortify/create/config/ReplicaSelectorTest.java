@@ -0,0 +1,58 @@
+package com.shortify.create.config;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaSelector Tests")
+class ReplicaSelectorTest {
+
+    @Test
+    @DisplayName("choose - Single replica is always chosen")
+    void choose_SingleReplica_ReturnsIt() {
+        // Given
+        ReplicaCandidate only = candidate(5, 10.0);
+
+        // When / Then
+        assertThat(ReplicaSelector.choose(new ReplicaCandidate[] {only})).isSameAs(only);
+    }
+
+    @Test
+    @DisplayName("choose - Of two replicas the one with fewer active connections wins")
+    void choose_TwoReplicas_PrefersLessLoaded() {
+        // Given
+        ReplicaCandidate busy = candidate(10, 1.0);
+        ReplicaCandidate idle = candidate(0, 1.0);
+        ReplicaCandidate[] candidates = {busy, idle};
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(ReplicaSelector.choose(candidates)).isSameAs(idle);
+        }
+    }
+
+    @Test
+    @DisplayName("choose - The slowest replica never wins a comparison")
+    void choose_SlowReplica_NeverChosen() {
+        // Given: same load, one replica ten times slower
+        ReplicaCandidate slow = candidate(2, 20.0);
+        ReplicaCandidate[] candidates = {candidate(2, 2.0), slow, candidate(2, 2.5)};
+
+        // When / Then
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(ReplicaSelector.choose(candidates)).isNotSameAs(slow);
+        }
+    }
+
+    private static ReplicaCandidate candidate(int activeConnections, double latencyMillis) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(activeConnections);
+        return new ReplicaCandidate(mock(DataSource.class), pool, latencyMillis);
+    }
+}
@@ -0,0 +1,147 @@
+package com.shortify.create.service;
+
+import com.shortify.constants.ErrorCode;
+import com.shortify.create.config.PrimaryLsnTracker;
+import com.shortify.create.dto.BatchCreateUrlResult;
+import com.shortify.create.dto.CreateUrlResult;
+import com.shortify.create.repository.CreateUrlRepository;
+import com.shortify.create.util.UrlHasher;
+import com.shortify.entity.UrlMapping;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchCreateUrlService Tests")
+class BatchCreateUrlServiceTest {
+
+    @Mock
+    private CreateUrlRepository urlMappingRepository;
+
+    @Mock
+    private UrlValidationService urlValidationService;
+
+    @Mock
+    private OriginalUrlBloomFilter originalUrlBloomFilter;
+
+    @Mock
+    private ShortCodePool shortCodePool;
+
+    @Mock
+    private LookupCacheWriter lookupCacheWriter;
+
+    @Mock
+    private PrimaryLsnTracker primaryLsnTracker;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BatchCreateUrlService batchCreateUrlService;
+
+    private final String baseUrl = "https://tiny.url";
+
+    @BeforeEach
+    void setUp() {
+        batchCreateUrlService = new BatchCreateUrlService(urlMappingRepository, urlValidationService,
+                originalUrlBloomFilter, shortCodePool, new SnowflakeIdGenerator(1L, 1L), lookupCacheWriter, primaryLsnTracker, jdbcTemplate, transactionManager, 2);
+        lenient().when(originalUrlBloomFilter.mightContain(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("createShortUrls - Returns per-URL results in request order")
+    void createShortUrls_MixedBatch_ReturnsResultsInRequestOrder() {
+        // Given
+        String existingUrl = "https://www.existing.com";
+        String newUrl = "https://www.new.com";
+        String invalidUrl = "not-a-url";
+        // Lenient: validation runs on parallel threads, and calls on this thread with other URLs are expected
+        lenient().doThrow(new IllegalArgumentException("Invalid URL format"))
+                .when(urlValidationService).validateOriginalUrl(invalidUrl);
+
+        UrlMapping existingMapping = new UrlMapping();
+        existingMapping.setOriginalUrl(existingUrl);
+        existingMapping.setShortUrl("exist1");
+        when(urlMappingRepository.findByOriginalUrlHashIn(
+                Set.of(UrlHasher.hash64(existingUrl), UrlHasher.hash64(newUrl))))
+                .thenReturn(List.of(existingMapping));
+        when(shortCodePool.take(1)).thenReturn(new String[] {"new001"});
+
+        // When
+        BatchCreateUrlResult result = batchCreateUrlService.createShortUrls(
+                List.of(newUrl, invalidUrl, existingUrl, newUrl), baseUrl);
+
+        // Then
+        List<CreateUrlResult> results = result.getResults();
+        assertThat(results).extracting(CreateUrlResult::getOriginalUrl)
+                .containsExactly(newUrl, invalidUrl, existingUrl, newUrl);
+        assertThat(results).extracting(CreateUrlResult::getShortCode)
+                .containsExactly("new001", null, "exist1", "new001");
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getErrorCode()).isEqualTo(ErrorCode.INVALID_INPUT);
+        assertThat(results.get(0).getShortUrl()).isEqualTo("https://tiny.url/new001");
+        assertThat(result.getCreatedCount()).isEqualTo(1);
+        assertThat(result.getExistingCount()).isEqualTo(2);
+        assertThat(result.getFailedCount()).isEqualTo(1);
+
+        verify(urlMappingRepository, times(1)).findByOriginalUrlHashIn(anySet());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(originalUrlBloomFilter).put(UrlHasher.hash64(newUrl));
+    }
+
+    @Test
+    @DisplayName("createShortUrls - Unknown URLs skip the deduplication query")
+    void createShortUrls_BloomFilterMisses_SkipsQuery() {
+        // Given
+        when(originalUrlBloomFilter.mightContain(anyLong())).thenReturn(false);
+        when(shortCodePool.take(2)).thenReturn(new String[] {"code01", "code02"});
+
+        // When
+        BatchCreateUrlResult result = batchCreateUrlService.createShortUrls(
+                List.of("https://www.a.com", "https://www.b.com"), baseUrl);
+
+        // Then
+        assertThat(result.getCreatedCount()).isEqualTo(2);
+        verify(urlMappingRepository, never()).findByOriginalUrlHashIn(anySet());
+    }
+
+    @Test
+    @DisplayName("createShortUrls - A failed insert chunk only fails its own URLs")
+    void createShortUrls_ChunkInsertFails_FailsOnlyThatChunk() {
+        // Given: chunk size 2, second chunk fails
+        when(shortCodePool.take(3)).thenReturn(new String[] {"code01", "code02", "code03"});
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] {1, 1})
+                .thenThrow(new DataIntegrityViolationException("insert failed"));
+
+        // When
+        BatchCreateUrlResult result = batchCreateUrlService.createShortUrls(
+                List.of("https://www.a.com", "https://www.b.com", "https://www.c.com"), baseUrl);
+
+        // Then
+        assertThat(result.getResults()).extracting(CreateUrlResult::isSuccess)
+                .containsExactly(true, true, false);
+        assertThat(result.getResults().get(2).getErrorCode()).isEqualTo(ErrorCode.INTERNAL_SERVER_ERROR);
+        assertThat(result.getCreatedCount()).isEqualTo(2);
+        assertThat(result.getFailedCount()).isEqualTo(1);
+    }
+}
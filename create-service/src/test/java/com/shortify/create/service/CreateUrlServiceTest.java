@@ -1,11 +1,12 @@
 package com.shortify.create.service;
 
+import com.shortify.create.config.PrimaryLsnTracker;
 import com.shortify.create.dto.CreateUrlResult;
 import com.shortify.create.exception.UrlGenerationException;
 import com.shortify.create.repository.CreateUrlRepository;
 import com.shortify.create.service.CreateUrlService;
-import com.shortify.create.service.UrlCodeGenerator;
 import com.shortify.create.service.UrlValidationService;
+import com.shortify.create.util.UrlHasher;
 import com.shortify.entity.UrlMapping;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +22,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -32,11 +34,20 @@ class CreateUrlServiceTest {
     private CreateUrlRepository urlMappingRepository;
 
     @Mock
-    private UrlCodeGenerator urlCodeGenerator;
+    private ShortCodePool shortCodePool;
 
     @Mock
     private UrlValidationService urlValidationService;
 
+    @Mock
+    private OriginalUrlBloomFilter originalUrlBloomFilter;
+
+    @Mock
+    private LookupCacheWriter lookupCacheWriter;
+
+    @Mock
+    private PrimaryLsnTracker primaryLsnTracker;
+
     @InjectMocks
     private CreateUrlService createUrlService;
 
@@ -54,15 +65,38 @@ class CreateUrlServiceTest {
         existingMapping = new UrlMapping();
         existingMapping.setOriginalUrl(originalUrl);
         existingMapping.setShortUrl(shortCode);
+
+        // Filter not conclusive by default: deduplication query runs
+        lenient().when(originalUrlBloomFilter.mightContain(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("createShortUrl - Bloom filter miss skips the deduplication query")
+    void createShortUrl_UnknownUrlHash_SkipsDeduplicationQuery() {
+        // Given
+        long urlHash = UrlHasher.hash64(originalUrl);
+        when(originalUrlBloomFilter.mightContain(urlHash))
+                .thenReturn(false);
+        when(shortCodePool.take())
+                .thenReturn(shortCode);
+
+        // When
+        CreateUrlResult result = createUrlService.createShortUrl(originalUrl, baseUrl);
+
+        // Then
+        assertThat(result.getShortCode()).isEqualTo(shortCode);
+        verify(urlMappingRepository, never()).findFirstByOriginalUrlHashAndOriginalUrl(anyLong(), anyString());
+        verify(urlMappingRepository).save(any(UrlMapping.class));
+        verify(originalUrlBloomFilter).put(urlHash);
     }
 
     @Test
     @DisplayName("createShortUrl - Success with new URL mapping")
     void createShortUrl_NewUrl_CreatesMapping() {
         // Given
-        when(urlMappingRepository.findByOriginalUrl(originalUrl))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl))
                 .thenReturn(Optional.empty());
-        when(urlCodeGenerator.generateUniqueCode())
+        when(shortCodePool.take())
                 .thenReturn(shortCode);
         when(urlMappingRepository.save(any(UrlMapping.class)))
                 .thenReturn(existingMapping);
@@ -80,16 +114,18 @@ class CreateUrlServiceTest {
 
         verify(urlValidationService).validateOriginalUrl(originalUrl);
         verify(urlValidationService).validateBaseUrl(baseUrl);
-        verify(urlMappingRepository).findByOriginalUrl(originalUrl);
-        verify(urlCodeGenerator).generateUniqueCode();
+        verify(urlMappingRepository).findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl);
+        verify(shortCodePool).take();
         verify(urlMappingRepository).save(any(UrlMapping.class));
+        verify(lookupCacheWriter).cacheAfterCommit(shortCode, originalUrl);
+        verify(primaryLsnTracker).captureAfterCommit();
     }
 
     @Test
     @DisplayName("createShortUrl - Success with existing URL mapping")
     void createShortUrl_ExistingUrl_ReturnsExistingMapping() {
         // Given
-        when(urlMappingRepository.findByOriginalUrl(originalUrl))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl))
                 .thenReturn(Optional.of(existingMapping));
 
         // When
@@ -102,9 +138,10 @@ class CreateUrlServiceTest {
         assertThat(result.getShortUrl()).isEqualTo("https://tiny.url/abc123");
         assertThat(result.getShortCode()).isEqualTo(shortCode);
 
-        verify(urlMappingRepository).findByOriginalUrl(originalUrl);
-        verify(urlCodeGenerator, never()).generateUniqueCode();
+        verify(urlMappingRepository).findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl);
+        verify(shortCodePool, never()).take();
         verify(urlMappingRepository, never()).save(any(UrlMapping.class));
+        verify(lookupCacheWriter, never()).cacheAfterCommit(anyString(), anyString());
     }
 
     @Test
@@ -122,7 +159,7 @@ class CreateUrlServiceTest {
 
         verify(urlValidationService).validateOriginalUrl(invalidUrl);
         verify(urlValidationService, never()).validateBaseUrl(anyString());
-        verify(urlMappingRepository, never()).findByOriginalUrl(anyString());
+        verify(urlMappingRepository, never()).findFirstByOriginalUrlHashAndOriginalUrl(anyLong(), anyString());
     }
 
     @Test
@@ -140,16 +177,16 @@ class CreateUrlServiceTest {
 
         verify(urlValidationService).validateOriginalUrl(originalUrl);
         verify(urlValidationService).validateBaseUrl(invalidBaseUrl);
-        verify(urlMappingRepository, never()).findByOriginalUrl(anyString());
+        verify(urlMappingRepository, never()).findFirstByOriginalUrlHashAndOriginalUrl(anyLong(), anyString());
     }
 
     @Test
     @DisplayName("createShortUrl - Handles code generation failure")
     void createShortUrl_CodeGenerationFails_ThrowsException() {
         // Given
-        when(urlMappingRepository.findByOriginalUrl(originalUrl))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl))
                 .thenReturn(Optional.empty());
-        when(urlCodeGenerator.generateUniqueCode())
+        when(shortCodePool.take())
                 .thenThrow(new UrlGenerationException("Unable to generate unique code"));
 
         // When & Then
@@ -157,7 +194,7 @@ class CreateUrlServiceTest {
                 .isInstanceOf(UrlGenerationException.class)
                 .hasMessageContaining("Unable to generate unique code");
 
-        verify(urlCodeGenerator).generateUniqueCode();
+        verify(shortCodePool).take();
         verify(urlMappingRepository, never()).save(any(UrlMapping.class));
     }
 
@@ -166,9 +203,9 @@ class CreateUrlServiceTest {
     void createShortUrl_BaseUrlWithTrailingSlash_NormalizesCorrectly() {
         // Given
         String baseUrlWithSlash = "https://tiny.url/";
-        when(urlMappingRepository.findByOriginalUrl(originalUrl))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl))
                 .thenReturn(Optional.empty());
-        when(urlCodeGenerator.generateUniqueCode())
+        when(shortCodePool.take())
                 .thenReturn(shortCode);
         when(urlMappingRepository.save(any(UrlMapping.class)))
                 .thenReturn(existingMapping);
@@ -188,9 +225,9 @@ class CreateUrlServiceTest {
     @DisplayName("createShortUrl - Base URL without trailing slash")
     void createShortUrl_BaseUrlWithoutTrailingSlash_WorksCorrectly() {
         // Given
-        when(urlMappingRepository.findByOriginalUrl(originalUrl))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl))
                 .thenReturn(Optional.empty());
-        when(urlCodeGenerator.generateUniqueCode())
+        when(shortCodePool.take())
                 .thenReturn(shortCode);
         when(urlMappingRepository.save(any(UrlMapping.class)))
                 .thenReturn(existingMapping);
@@ -206,7 +243,7 @@ class CreateUrlServiceTest {
     @DisplayName("createShortUrl - Multiple calls with same URL returns same code")
     void createShortUrl_MultipleCallsWithSameUrl_ReturnsSameCode() {
         // Given
-        when(urlMappingRepository.findByOriginalUrl(originalUrl))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(originalUrl), originalUrl))
                 .thenReturn(Optional.of(existingMapping));
 
         // When
@@ -216,7 +253,7 @@ class CreateUrlServiceTest {
         // Then
         assertThat(result1.getShortCode()).isEqualTo(result2.getShortCode());
         assertThat(result1.getShortCode()).isEqualTo(shortCode);
-        verify(urlCodeGenerator, never()).generateUniqueCode();
+        verify(shortCodePool, never()).take();
         verify(urlMappingRepository, never()).save(any(UrlMapping.class));
     }
 
@@ -229,11 +266,11 @@ class CreateUrlServiceTest {
         String code1 = "code1";
         String code2 = "code2";
 
-        when(urlMappingRepository.findByOriginalUrl(url1))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(url1), url1))
                 .thenReturn(Optional.empty());
-        when(urlMappingRepository.findByOriginalUrl(url2))
+        when(urlMappingRepository.findFirstByOriginalUrlHashAndOriginalUrl(UrlHasher.hash64(url2), url2))
                 .thenReturn(Optional.empty());
-        when(urlCodeGenerator.generateUniqueCode())
+        when(shortCodePool.take())
                 .thenReturn(code1)
                 .thenReturn(code2);
 
@@ -0,0 +1,108 @@
+package com.shortify.create.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LookupCacheWriter Tests")
+class LookupCacheWriterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LookupCacheWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        writer = new LookupCacheWriter(redisTemplate, meterRegistry, true, 10, 3, 1, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("cacheAfterCommit - Writes the mapping with the lookup key format and TTL")
+    void cacheAfterCommit_NoTransaction_WritesImmediately() {
+        // When
+        writer.cacheAfterCommit("abc123", "https://www.example.com");
+
+        // Then
+        verify(valueOperations, timeout(1000))
+                .set("url:abc123", "https://www.example.com", Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("cacheAfterCommit - Retries transient Redis failures")
+    void cacheAfterCommit_TransientFailure_Retries() {
+        // Given
+        doThrow(new RedisConnectionFailureException("down"))
+                .doNothing()
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        // When
+        writer.cacheAfterCommit("abc123", "https://www.example.com");
+
+        // Then
+        verify(valueOperations, timeout(1000).times(2))
+                .set(eq("url:abc123"), eq("https://www.example.com"), any(Duration.class));
+        assertThat(meterRegistry.counter("shortify.cache.write_through", "result", "written").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cacheAfterCommit - Gives up after max attempts")
+    void cacheAfterCommit_PersistentFailure_GivesUp() throws InterruptedException {
+        // Given
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+
+        // When
+        writer.cacheAfterCommit("abc123", "https://www.example.com");
+
+        // Then
+        verify(valueOperations, timeout(1000).times(3))
+                .set(anyString(), anyString(), any(Duration.class));
+        Thread.sleep(50);
+        verifyNoMoreInteractions(valueOperations);
+        assertThat(meterRegistry.counter("shortify.cache.write_through", "result", "failed").count()).isEqualTo(1);
+        assertThat(writer.getPending()).isZero();
+    }
+
+    @Test
+    @DisplayName("cacheAfterCommit - Disabled writer never touches Redis")
+    void cacheAfterCommit_Disabled_DoesNothing() {
+        // Given
+        LookupCacheWriter disabled = new LookupCacheWriter(redisTemplate, meterRegistry, false, 10, 3, 1, 100);
+
+        // When
+        disabled.cacheAfterCommit("abc123", "https://www.example.com");
+        disabled.shutdown();
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+}
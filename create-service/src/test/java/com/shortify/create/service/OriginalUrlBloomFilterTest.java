@@ -0,0 +1,65 @@
+package com.shortify.create.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("OriginalUrlBloomFilter Tests")
+class OriginalUrlBloomFilterTest {
+
+    private OriginalUrlBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Mocked JdbcTemplate: the rebuild finds an empty table
+        filter = new OriginalUrlBloomFilter(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 10_000, 0.01, 3_600_000);
+    }
+
+    @Test
+    @DisplayName("mightContain - Every hash may be known until the filter is built")
+    void mightContain_NotBuilt_ReturnsTrue() {
+        // When & Then
+        assertThat(filter.mightContain(42L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("mightContain - Added hashes are always found")
+    void mightContain_AddedHashes_NoFalseNegatives() {
+        // Given
+        filter.rebuild();
+        SplittableRandom random = new SplittableRandom(1);
+        long[] hashes = random.longs(10_000).toArray();
+        for (long hash : hashes) {
+            filter.put(hash);
+        }
+
+        // When & Then
+        for (long hash : hashes) {
+            assertThat(filter.mightContain(hash)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("mightContain - Unknown hashes are rejected at about the configured rate")
+    void mightContain_UnknownHashes_LowFalsePositiveRate() {
+        // Given
+        filter.rebuild();
+        SplittableRandom random = new SplittableRandom(2);
+        random.longs(10_000).forEach(filter::put);
+
+        // When
+        long falsePositives = random.longs(10_000).filter(filter::mightContain).count();
+
+        // Then
+        assertThat(falsePositives).isLessThan(300); // ~1% expected
+    }
+}
@@ -0,0 +1,117 @@
+package com.shortify.create.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ShortCodePool Tests")
+class ShortCodePoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ShortCodePool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        UrlCodeGenerator urlCodeGenerator = new UrlCodeGenerator(new SnowflakeIdGenerator(1L, 1L));
+        // Refill thread not started: tests drive refill() directly
+        pool = new ShortCodePool(urlCodeGenerator, meterRegistry, 64, 16, 8, 100);
+    }
+
+    @Test
+    @DisplayName("refill - Fills the pool with whole ID blocks up to capacity")
+    void refill_EmptyPool_FillsToCapacity() {
+        // When
+        pool.refill();
+
+        // Then
+        assertThat(pool.getDepth()).isEqualTo(64);
+        assertThat(meterRegistry.counter("shortify.codes.pool.refilled").count()).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("take - Takes pre-generated codes and only tops up freed batches")
+    void take_FilledPool_ReturnsPooledCodes() {
+        // Given
+        pool.refill();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.take()).matches("^[a-zA-Z0-9]+$");
+        }
+        pool.refill();
+
+        // Then: 20 codes freed, one batch of 16 refilled
+        assertThat(pool.getDepth()).isEqualTo(60);
+        assertThat(meterRegistry.counter("shortify.codes.pool.starvation").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("take - Empty pool generates the code inline and counts starvation")
+    void take_EmptyPool_GeneratesInline() {
+        // When
+        String code = pool.take();
+
+        // Then
+        assertThat(code).isNotEmpty();
+        assertThat(pool.getDepth()).isZero();
+        assertThat(meterRegistry.counter("shortify.codes.pool.starvation").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("take(count) - Claims a block from the pool and generates the shortfall inline")
+    void takeBlock_MoreThanPooled_GeneratesShortfallInline() {
+        // Given
+        pool.refill();
+
+        // When
+        String[] codes = pool.take(100);
+
+        // Then
+        assertThat(codes).hasSize(100).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(pool.getDepth()).isZero();
+        assertThat(meterRegistry.counter("shortify.codes.pool.starvation").count()).isEqualTo(36);
+    }
+
+    @Test
+    @DisplayName("take - Concurrent consumers never receive the same code")
+    void take_ConcurrentConsumers_ReturnsUniqueCodes() throws InterruptedException {
+        // Given
+        int threadCount = 8;
+        int codesPerThread = 200;
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch done = new CountDownLatch(threadCount);
+
+        // When: consumers drain while this thread keeps refilling (single producer)
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    for (int j = 0; j < codesPerThread; j++) {
+                        codes.add(pool.take());
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        while (done.getCount() > 0) {
+            pool.refill();
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(codes).hasSize(threadCount * codesPerThread);
+    }
+}
@@ -10,6 +10,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -209,5 +210,69 @@ class SnowflakeIdGeneratorTest {
         // Then
         assertThat(id1).isNotEqualTo(id2);
     }
-}
 
+    @Test
+    @DisplayName("generateIds - Reserves a block of unique, increasing IDs")
+    void generateIds_ReturnsUniqueIncreasingBlock() {
+        // When
+        long single = generator.generateId();
+        long[] block = generator.generateIds(10_000); // Spans several milliseconds of sequence numbers
+        long next = generator.generateId();
+
+        // Then
+        assertThat(block).hasSize(10_000);
+        for (int i = 1; i < block.length; i++) {
+            assertThat(block[i]).isGreaterThan(block[i - 1]);
+        }
+        assertThat(block[0]).isGreaterThan(single);
+        assertThat(next).isGreaterThan(block[block.length - 1]);
+    }
+
+    @Test
+    @DisplayName("generateId - Tolerates a small clock regression by borrowing from the logical clock")
+    void generateId_SmallClockRegression_KeepsIssuingIncreasingIds() {
+        // Given
+        AtomicLong clock = new AtomicLong(1_800_000_000_000L);
+        SnowflakeIdGenerator gen = new SnowflakeIdGenerator(1L, 1L, 100L, clock::get);
+        long before = gen.generateId();
+
+        // When - the clock jumps back 50 ms
+        clock.addAndGet(-50);
+        long after = gen.generateId();
+
+        // Then
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    @DisplayName("generateId - Refuses to generate when the clock moved back beyond the borrow limit")
+    void generateId_LargeClockRegression_ThrowsException() {
+        // Given
+        AtomicLong clock = new AtomicLong(1_800_000_000_000L);
+        SnowflakeIdGenerator gen = new SnowflakeIdGenerator(1L, 1L, 5L, clock::get);
+        gen.generateId();
+
+        // When
+        clock.addAndGet(-1_000);
+
+        // Then
+        assertThatThrownBy(gen::generateId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Clock moved backward");
+    }
+
+    @Test
+    @DisplayName("generateId - Carries sequence overflow into the next millisecond")
+    void generateId_SequenceOverflow_CarriesIntoTimestamp() {
+        // Given - a frozen clock
+        AtomicLong clock = new AtomicLong(1_800_000_000_000L);
+        SnowflakeIdGenerator gen = new SnowflakeIdGenerator(1L, 1L, 10L, clock::get);
+
+        // When
+        long[] ids = gen.generateIds(4097);
+
+        // Then - the last ID has sequence 0 in the following millisecond
+        assertThat(ids[4096] >>> 22).isEqualTo((ids[0] >>> 22) + 1);
+        assertThat(ids[4096] & 4095).isZero();
+    }
+}
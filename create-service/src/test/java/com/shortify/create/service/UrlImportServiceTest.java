@@ -0,0 +1,210 @@
+package com.shortify.create.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UrlImportService Tests")
+class UrlImportServiceTest {
+
+    private static final String JOB_ID = "8c6f2f0e-2a53-4c1e-9a8e-3f7f4f1d2b10";
+    private static final String HEADER = "line,original_url,short_code,status,error\n";
+    private static final String COMMITTED_ROWS =
+            "1,https://a.example.com/1,code1,IMPORTED,\n" +
+            "2,https://a.example.com/2,code2,IMPORTED,\n";
+
+    @TempDir
+    Path storageDir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UrlValidationService urlValidationService;
+
+    @Mock
+    private UrlCodeGenerator urlCodeGenerator;
+
+    @Mock
+    private SnowflakeIdGenerator snowflakeIdGenerator;
+
+    @Mock
+    private OriginalUrlBloomFilter originalUrlBloomFilter;
+
+    @Mock
+    private PartitionManagementService partitionManagementService;
+
+    private UrlImportService importService;
+    private Path source;
+    private Path mapping;
+    private final AtomicReference<String> copyData = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        importService = new UrlImportService(jdbcTemplate, transactionManager, urlValidationService, urlCodeGenerator,
+                snowflakeIdGenerator, originalUrlBloomFilter, partitionManagementService, storageDir.toString(), 10, 60, 10);
+
+        // Two of five lines were committed before a crash; the third mapping row was written but never committed
+        source = storageDir.resolve(JOB_ID + ".source");
+        Files.writeString(source, "https://a.example.com/1\n" +
+                "https://a.example.com/2\n" +
+                "https://b.example.com/3\n" +
+                "not a url\n" +
+                "\"https://b.example.com/5?a=1,b=2\",2020-05-01T10:15:30\n");
+        mapping = storageDir.resolve(JOB_ID + "-mapping.csv");
+        Files.writeString(mapping, HEADER + COMMITTED_ROWS + "3,https://uncommitted.example.com,codeX,IMP");
+
+        lenient().when(jdbcTemplate.queryForList(startsWith("SELECT job_id FROM url_import_jobs WHERE status"), eq(String.class)))
+                .thenReturn(List.of(JOB_ID));
+        lenient().when(jdbcTemplate.update(startsWith("UPDATE url_import_jobs SET status = 'RUNNING'"), any(), any(), eq(JOB_ID), any()))
+                .thenReturn(1);
+        lenient().when(jdbcTemplate.query(startsWith("SELECT job_id, status"), any(RowMapper.class), eq(JOB_ID)))
+                .thenAnswer(invocation -> List.of(((RowMapper<?>) invocation.getArgument(1)).mapRow(jobRow(), 0)));
+        lenient().doThrow(new IllegalArgumentException("Invalid URL"))
+                .when(urlValidationService).validateOriginalUrl("not a url");
+        lenient().when(urlCodeGenerator.generateUniqueCodes(2)).thenReturn(new String[]{"code3", "code5"});
+        lenient().when(snowflakeIdGenerator.generateIds(2)).thenReturn(new long[]{103L, 105L});
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+            CopyManager copyManager = mock(CopyManager.class);
+            when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(copy -> {
+                copyData.set(new BufferedReader(copy.getArgument(1, Reader.class)).lines()
+                        .collect(Collectors.joining("\n")));
+                return 2L;
+            });
+            PGConnection pgConnection = mock(PGConnection.class);
+            when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+            Connection connection = mock(Connection.class);
+            when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+            return ((ConnectionCallback<?>) invocation.getArgument(0)).doInConnection(connection);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    private ResultSet jobRow() throws Exception {
+        long committedBytes = (HEADER + COMMITTED_ROWS).getBytes(StandardCharsets.UTF_8).length;
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("job_id")).thenReturn(JOB_ID);
+        when(rs.getString("status")).thenReturn(UrlImportService.STATUS_RUNNING);
+        when(rs.getString("format")).thenReturn("CSV");
+        when(rs.getString("source_path")).thenReturn(source.toString());
+        when(rs.getString("mapping_path")).thenReturn(mapping.toString());
+        when(rs.getLong("lines_processed")).thenReturn(2L);
+        when(rs.getLong("imported_count")).thenReturn(2L);
+        when(rs.getLong("failed_count")).thenReturn(0L);
+        when(rs.getLong("mapping_bytes")).thenReturn(committedBytes);
+        when(rs.getTimestamp("created_at")).thenReturn(now);
+        when(rs.getTimestamp("updated_at")).thenReturn(now);
+        return rs;
+    }
+
+    @Test
+    @DisplayName("resumeJobs - Truncates the mapping file to the checkpoint and imports only the remaining lines")
+    void resumeJobs_OrphanedJob_ResumesAfterCheckpoint() throws Exception {
+        // Given
+        String newRows = "3,https://b.example.com/3,code3,IMPORTED,\n" +
+                "4,not a url,,FAILED,Invalid URL\n" +
+                "5,\"https://b.example.com/5?a=1,b=2\",code5,IMPORTED,\n";
+        long expectedBytes = (HEADER + COMMITTED_ROWS + newRows).getBytes(StandardCharsets.UTF_8).length;
+        when(jdbcTemplate.update(startsWith("UPDATE url_import_jobs SET lines_processed"),
+                eq(5L), eq(4L), eq(1L), eq(expectedBytes), eq(60L), eq(JOB_ID), anyString()))
+                .thenReturn(1);
+        when(jdbcTemplate.update(startsWith("UPDATE url_import_jobs SET status = ?"),
+                eq(UrlImportService.STATUS_COMPLETED), any(), eq(JOB_ID), anyString()))
+                .thenReturn(1);
+
+        // When
+        importService.resumeJobs();
+
+        // Then
+        verify(jdbcTemplate, timeout(5000)).update(startsWith("UPDATE url_import_jobs SET status = ?"),
+                eq(UrlImportService.STATUS_COMPLETED), any(), eq(JOB_ID), anyString());
+        assertThat(Files.readString(mapping)).isEqualTo(HEADER + COMMITTED_ROWS + newRows);
+        assertThat(copyData.get())
+                .contains("103,https://b.example.com/3,", ",code3,")
+                .contains("105,\"https://b.example.com/5?a=1,b=2\",", ",code5,2020-05-01T10:15:30,2020-05-01,")
+                .doesNotContain("a.example.com", "not a url");
+        assertThat(source).doesNotExist();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("resumeJobs - Rolls back the chunk and stops when another instance took the job over")
+    void resumeJobs_LeaseLostAtCheckpoint_RollsBackCopy() {
+        // Given - the checkpoint no longer matches this instance as owner
+
+        // When
+        importService.resumeJobs();
+
+        // Then
+        verify(transactionManager, timeout(5000)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(jdbcTemplate, after(300).never()).update(startsWith("UPDATE url_import_jobs SET status = ?"),
+                any(), any(), any(), any());
+        verifyNoInteractions(originalUrlBloomFilter);
+        assertThat(source).exists();
+    }
+
+    @Test
+    @DisplayName("resumeJobs - Skips a job another instance claimed first")
+    void resumeJobs_ClaimLost_SkipsJob() {
+        // Given
+        when(jdbcTemplate.update(startsWith("UPDATE url_import_jobs SET status = 'RUNNING'"), any(), any(), eq(JOB_ID), any()))
+                .thenReturn(0);
+
+        // When
+        importService.resumeJobs();
+
+        // Then
+        verify(jdbcTemplate, timeout(5000)).update(startsWith("UPDATE url_import_jobs SET status = 'RUNNING'"),
+                any(), any(), eq(JOB_ID), any());
+        verify(jdbcTemplate, after(300).never()).query(anyString(), any(RowMapper.class), any());
+    }
+
+    @Test
+    @DisplayName("csvRow - Quotes fields with separators, quotes or line breaks and leaves nulls empty")
+    void csvRow_SpecialCharacters_Quoted() {
+        assertThat(UrlImportService.csvRow("1", "https://x.com/?a=1,b=2", null, "IMPORTED", ""))
+                .isEqualTo("1,\"https://x.com/?a=1,b=2\",,IMPORTED,\"\"\n");
+        assertThat(UrlImportService.csvRow("say \"hi\"", "line\nbreak", "cr\rhere"))
+                .isEqualTo("\"say \"\"hi\"\"\",\"line\nbreak\",\"cr\rhere\"\n");
+    }
+}
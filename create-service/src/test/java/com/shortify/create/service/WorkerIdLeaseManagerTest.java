@@ -0,0 +1,161 @@
+package com.shortify.create.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WorkerIdLeaseManager Tests")
+class WorkerIdLeaseManagerTest {
+
+    private static final long DATACENTER_ID = 1L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private WorkerIdLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        // Long heartbeat interval: renewals are driven by the tests
+        leaseManager = new WorkerIdLeaseManager(jdbcTemplate, true, 30, 5, 600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaseManager.release();
+    }
+
+    @SafeVarargs
+    private void claimReturns(List<Long> first, List<Long>... next) {
+        when(jdbcTemplate.queryForList(startsWith("INSERT INTO snowflake_worker_leases"), eq(Long.class),
+                any(), any(), any(), any()))
+                .thenReturn(first, next);
+    }
+
+    @Test
+    @DisplayName("acquire - Claims a free worker ID without waiting and trusts the lease")
+    void acquire_FreeWorkerId_LeaseValid() {
+        // Given
+        claimReturns(List.of(1L));
+
+        // When
+        long started = System.nanoTime();
+        long workerId = leaseManager.acquire(DATACENTER_ID, 5_000);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Then
+        assertThat(workerId).isBetween(0L, 31L);
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(leaseManager.isLeaseValid()).isTrue();
+    }
+
+    @Test
+    @DisplayName("acquire - Skips worker IDs leased by live pods")
+    void acquire_LeasedWorkerIds_TriesNext() {
+        // Given
+        claimReturns(List.of(), List.of(), List.of(1L));
+
+        // When
+        leaseManager.acquire(DATACENTER_ID, 0);
+
+        // Then
+        verify(jdbcTemplate, times(3)).queryForList(anyString(), eq(Long.class), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("acquire - Fails when every worker ID is leased")
+    void acquire_AllLeased_Throws() {
+        // Given
+        claimReturns(List.of());
+
+        // When / Then
+        assertThatThrownBy(() -> leaseManager.acquire(DATACENTER_ID, 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("are leased");
+    }
+
+    @Test
+    @DisplayName("acquire - Waits out the clock borrow limit when taking over a used worker ID")
+    void acquire_Takeover_WaitsBeforeIssuingIds() {
+        // Given - fencing token above 1: another pod owned this worker ID before
+        claimReturns(List.of(3L));
+
+        // When
+        long started = System.nanoTime();
+        leaseManager.acquire(DATACENTER_ID, 200);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Then
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(200);
+        assertThat(leaseManager.isLeaseValid()).isTrue();
+    }
+
+    @Test
+    @DisplayName("renew - Fences off ID generation once the lease was taken over")
+    void renew_TakenOver_LeaseInvalid() {
+        // Given
+        claimReturns(List.of(1L));
+        long workerId = leaseManager.acquire(DATACENTER_ID, 0);
+        when(jdbcTemplate.update(startsWith("UPDATE snowflake_worker_leases SET expires_at = now() +"),
+                eq(30L), eq(DATACENTER_ID), eq(workerId), anyString(), eq(1L)))
+                .thenReturn(0);
+
+        // When
+        leaseManager.renew();
+
+        // Then
+        assertThat(leaseManager.isLeaseValid()).isFalse();
+    }
+
+    @Test
+    @DisplayName("renew - Keeps the lease until its deadline when the database is unreachable")
+    void renew_DatabaseDown_LeaseStillValid() {
+        // Given
+        claimReturns(List.of(1L));
+        leaseManager.acquire(DATACENTER_ID, 0);
+        when(jdbcTemplate.update(anyString(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        leaseManager.renew();
+
+        // Then
+        assertThat(leaseManager.isLeaseValid()).isTrue();
+    }
+
+    @Test
+    @DisplayName("release - Stops trusting the lease and hands the worker ID back with its fencing token")
+    void release_HeldLease_ReleasesRow() {
+        // Given
+        claimReturns(List.of(2L));
+        long workerId = leaseManager.acquire(DATACENTER_ID, 0);
+
+        // When
+        leaseManager.release();
+        leaseManager.renew();
+
+        // Then
+        assertThat(leaseManager.isLeaseValid()).isFalse();
+        verify(jdbcTemplate).update(eq("UPDATE snowflake_worker_leases SET expires_at = now() " +
+                        "WHERE datacenter_id = ? AND worker_id = ? AND owner = ? AND fencing_token = ?"),
+                eq(DATACENTER_ID), eq(workerId), anyString(), eq(2L));
+        verifyNoMoreInteractions(ignoreStubs(jdbcTemplate));
+    }
+}
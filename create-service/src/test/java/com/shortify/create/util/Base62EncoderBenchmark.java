@@ -0,0 +1,91 @@
+package com.shortify.create.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the Base62 codec against the previous StringBuilder + reverse() encoding
+ * Values are 7-character codes, the size UrlCodeGenerator produces today.
+ * Not part of the test suite; run the main method from the IDE (with the test classpath)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Base62EncoderBenchmark {
+
+    private static final String BASE62_CHARS = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private final char[] buffer = new char[Base62Encoder.MAX_ENCODED_LENGTH];
+    private long value;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        value = 1_234_567_890_123L;
+        encoded = Base62Encoder.encode(value);
+    }
+
+    @Benchmark
+    public String encodeStringBuilder() {
+        StringBuilder builder = new StringBuilder();
+        long remaining = value;
+        while (remaining > 0) {
+            builder.append(BASE62_CHARS.charAt((int) (remaining % 62)));
+            remaining /= 62;
+        }
+        return builder.reverse().toString();
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base62Encoder.encode(value);
+    }
+
+    @Benchmark
+    public String encodeFixedWidth() {
+        return Base62Encoder.encodeFixedWidth(value, 8);
+    }
+
+    @Benchmark
+    public int encodeIntoBuffer() {
+        return Base62Encoder.encode(value, buffer, 0);
+    }
+
+    @Benchmark
+    public long decodeIndexOf() {
+        long result = 0;
+        for (int i = 0; i < encoded.length(); i++) {
+            result = result * 62 + BASE62_CHARS.indexOf(encoded.charAt(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long decode() {
+        return Base62Encoder.decode(encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(Base62EncoderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
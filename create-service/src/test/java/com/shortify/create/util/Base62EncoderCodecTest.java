@@ -0,0 +1,87 @@
+package com.shortify.create.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Base62Encoder Codec Tests")
+class Base62EncoderCodecTest {
+
+    @Test
+    @DisplayName("encode/decode - Round trips across every length boundary")
+    void encodeDecode_LengthBoundaries_RoundTrip() {
+        // Given
+        long power = 1L;
+        for (int length = 1; length <= Base62Encoder.MAX_ENCODED_LENGTH; length++) {
+            long[] values = length < Base62Encoder.MAX_ENCODED_LENGTH
+                    ? new long[] {power, power * 62 - 1}
+                    : new long[] {power, Long.MAX_VALUE};
+
+            for (long value : values) {
+                // When
+                String encoded = Base62Encoder.encode(value);
+
+                // Then
+                assertThat(encoded).hasSize(length);
+                assertThat(Base62Encoder.encodedLength(value)).isEqualTo(encoded.length());
+                assertThat(Base62Encoder.decode(encoded)).isEqualTo(value);
+            }
+            if (length < Base62Encoder.MAX_ENCODED_LENGTH) {
+                power *= 62;
+            }
+        }
+        assertThat(Base62Encoder.encode(0L)).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("encode - Buffer variants match the String encoding")
+    void encode_CallerBuffers_MatchStringEncoding() {
+        // Given
+        char[] chars = new char[20];
+        byte[] bytes = new byte[20];
+
+        for (int i = 0; i < 1_000; i++) {
+            long value = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+
+            // When
+            int charCount = Base62Encoder.encode(value, chars, 3);
+            int byteCount = Base62Encoder.encode(value, bytes, 5);
+
+            // Then
+            String expected = Base62Encoder.encode(value);
+            assertThat(new String(chars, 3, charCount)).isEqualTo(expected);
+            assertThat(new String(bytes, 5, byteCount, StandardCharsets.US_ASCII)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("encodeFixedWidth - Zero-pads to the requested width and decodes back")
+    void encodeFixedWidth_ShortValue_ZeroPadded() {
+        // When
+        String encoded = Base62Encoder.encodeFixedWidth(61L, 6);
+
+        // Then
+        assertThat(encoded).isEqualTo("00000Z");
+        assertThat(Base62Encoder.decode(encoded)).isEqualTo(61L);
+        assertThatThrownBy(() -> Base62Encoder.encodeFixedWidth(62L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("decode - Rejects invalid characters and overflow")
+    void decode_InvalidInput_ThrowsException() {
+        assertThatThrownBy(() -> Base62Encoder.decode("abc-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.decode(""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.decode("ZZZZZZZZZZZ"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.encode(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
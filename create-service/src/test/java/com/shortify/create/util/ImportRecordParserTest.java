@@ -0,0 +1,65 @@
+package com.shortify.create.util;
+
+import com.shortify.create.util.ImportRecordParser.Format;
+import com.shortify.create.util.ImportRecordParser.ImportRecord;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ImportRecordParser Tests")
+class ImportRecordParserTest {
+
+    @Test
+    @DisplayName("parse - CSV with quoted URL and createdAt")
+    void parse_CsvQuotedFields_ParsesRecord() {
+        // When
+        ImportRecord record = ImportRecordParser.parse(
+                "\"https://www.example.com/a,b?q=\"\"x\"\"\",2020-05-01T10:15:30", Format.CSV);
+
+        // Then
+        assertThat(record.getOriginalUrl()).isEqualTo("https://www.example.com/a,b?q=\"x\"");
+        assertThat(record.getCreatedAt()).isEqualTo(LocalDateTime.of(2020, 5, 1, 10, 15, 30));
+    }
+
+    @Test
+    @DisplayName("parse - CSV header and blank lines are skipped")
+    void parse_CsvHeaderOrBlank_ReturnsNull() {
+        // When & Then
+        assertThat(ImportRecordParser.parse("original_url,created_at", Format.CSV)).isNull();
+        assertThat(ImportRecordParser.parse("   ", Format.CSV)).isNull();
+        assertThat(ImportRecordParser.parse("https://www.example.com", Format.CSV).getCreatedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("parse - NDJSON with offset timestamp is converted to UTC")
+    void parse_NdjsonOffsetTimestamp_ConvertsToUtc() {
+        // When
+        ImportRecord record = ImportRecordParser.parse(
+                "{\"originalUrl\":\"https://www.example.com\",\"createdAt\":\"2020-05-01T12:00:00+02:00\"}", Format.NDJSON);
+
+        // Then
+        assertThat(record.getOriginalUrl()).isEqualTo("https://www.example.com");
+        assertThat(record.getCreatedAt()).isEqualTo(LocalDateTime.of(2020, 5, 1, 10, 0));
+    }
+
+    @Test
+    @DisplayName("parse - Malformed lines are rejected")
+    void parse_MalformedLines_ThrowsException() {
+        // When & Then
+        assertThatThrownBy(() -> ImportRecordParser.parse("{\"url\":\"https://www.example.com\"}", Format.NDJSON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("originalUrl");
+        assertThatThrownBy(() -> ImportRecordParser.parse("{not json", Format.NDJSON))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImportRecordParser.parse("\"https://www.example.com", Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImportRecordParser.parse("https://www.example.com,yesterday", Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("createdAt");
+    }
+}
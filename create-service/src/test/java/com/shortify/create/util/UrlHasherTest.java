@@ -0,0 +1,32 @@
+package com.shortify.create.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UrlHasher Tests")
+class UrlHasherTest {
+
+    @Test
+    @DisplayName("hash64 - Matches the SQL backfill (first 8 bytes of SHA-256, big-endian)")
+    void hash64_KnownUrl_MatchesSqlBackfill() {
+        // When
+        long hash = UrlHasher.hash64("https://www.example.com");
+
+        // Then: value of ('x' || encode(substring(sha256(...) from 1 for 8), 'hex'))::bit(64)::bigint
+        assertThat(hash).isEqualTo(-3624033696634638451L);
+    }
+
+    @Test
+    @DisplayName("hash64 - Different URLs produce different hashes")
+    void hash64_DifferentUrls_DifferentHashes() {
+        // When
+        long hash1 = UrlHasher.hash64("https://www.example1.com");
+        long hash2 = UrlHasher.hash64("https://www.example2.com");
+
+        // Then
+        assertThat(hash1).isNotEqualTo(hash2);
+        assertThat(UrlHasher.hash64("https://www.example1.com")).isEqualTo(hash1);
+    }
+}
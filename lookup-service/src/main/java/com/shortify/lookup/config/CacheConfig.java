@@ -1,5 +1,9 @@
 package com.shortify.lookup.config;
 
+import com.shortify.lookup.service.DecayedRateTtlPolicy;
+import com.shortify.lookup.service.TieredTtlPolicy;
+import com.shortify.lookup.service.TtlPolicy;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +14,9 @@ import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactor
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import static com.shortify.lookup.constants.LookupUrlConstants.CACHE_DEFAULT_TTL_MINUTES;
+
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -45,6 +52,22 @@ public class CacheConfig {
     @Value("${spring.data.redis.cluster.max-redirects:3}")
     private int maxRedirects;
     
+    // TTL policy configuration
+    @Value("${lookup.cache.ttl-policy:tiered}")
+    private String ttlPolicy;
+    
+    @Value("${lookup.cache.decayed.time-constant-minutes:30}")
+    private long decayTimeConstantMinutes;
+    
+    @Value("${lookup.cache.decayed.gap-multiplier:4.0}")
+    private double decayGapMultiplier;
+    
+    @Value("${lookup.cache.decayed.min-ttl-seconds:120}")
+    private long decayMinTtlSeconds;
+    
+    @Value("${lookup.cache.decayed.max-ttl-minutes:60}")
+    private long decayMaxTtlMinutes;
+    
     /**
      * Creates Redis connection factory
      * Supports both standalone and cluster modes
@@ -124,4 +147,23 @@ public class CacheConfig {
         template.afterPropertiesSet();
         return template;
     }
+    
+    /**
+     * Creates the TTL policy used by RedisCacheService
+     * "decayed" learns a per-key TTL from a decayed request rate; anything else uses the tiered policy
+     * 
+     * @return configured TTL policy
+     */
+    @Bean
+    public TtlPolicy ttlPolicy(RedisTemplate<String, String> redisTemplate) {
+        if ("decayed".equalsIgnoreCase(ttlPolicy)) {
+            return new DecayedRateTtlPolicy(redisTemplate,
+                    Duration.ofMinutes(decayTimeConstantMinutes),
+                    decayGapMultiplier,
+                    Duration.ofSeconds(decayMinTtlSeconds),
+                    Duration.ofMinutes(decayMaxTtlMinutes),
+                    Duration.ofMinutes(CACHE_DEFAULT_TTL_MINUTES));
+        }
+        return new TieredTtlPolicy(redisTemplate);
+    }
 }
@@ -12,15 +12,20 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.shortify.replication.ReadConsistency;
+
 import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Database configuration for read/write splitting
  * Routes read operations to replicas and write operations to primary
+ * Replicas are chosen by power-of-two-choices on live pool load and recent latency (ReplicaSelector)
+ * 
+ * Read-your-writes: when the request carries a required LSN (ReadConsistency), a read only goes to a
+ * replica that has replayed the WAL up to it; if none has, the read goes to the primary.
  * 
  * Follows Single Responsibility Principle - only handles database configuration
  * Follows Dependency Inversion Principle - depends on ReplicaHealthChecker abstraction
@@ -79,7 +84,7 @@ public class DatabaseConfig {
      * Creates multiple datasources, one for each replica
      */
     @Bean(name = "readDataSources")
-    public List<DataSource> readDataSources() {
+    public List<DataSource> readDataSources(@Qualifier("writeDataSource") DataSource writeDataSource) {
         String[] replicaUrlArray = replicaUrls.split(",");
         List<DataSource> replicas = java.util.Arrays.stream(replicaUrlArray)
                 .map(url -> url.trim())
@@ -87,8 +92,8 @@ public class DatabaseConfig {
                         "ShortifyReadPool-" + url))
                 .toList();
         
-        // Initialize health checks for replicas
-        healthChecker.initializeHealthChecks(replicas);
+        // Initialize health checks for replicas (lag is measured against the primary's WAL position)
+        healthChecker.initializeHealthChecks(writeDataSource, replicas);
         
         return replicas;
     }
@@ -103,16 +108,13 @@ public class DatabaseConfig {
             @Qualifier("readDataSources") List<DataSource> readDataSources) {
         
         AbstractRoutingDataSource routingDataSource = new AbstractRoutingDataSource() {
-            // Thread-safe counter for round-robin selection
-            private final AtomicInteger counter = new AtomicInteger(0);
-            
             @Override
             protected Object determineCurrentLookupKey() {
                 // Check if current transaction is read-only
                 boolean isReadOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
                 
                 if (isReadOnly && !readDataSources.isEmpty()) {
-                    // Route to read replica using round-robin
+                    // Route to a read replica
                     return READ_ROUTING_KEY;
                 } else {
                     // Route to primary for writes
@@ -125,18 +127,31 @@ public class DatabaseConfig {
                 String lookupKey = (String) determineCurrentLookupKey();
                 
                 if (READ_ROUTING_KEY.equals(lookupKey) && !readDataSources.isEmpty()) {
-                    // Get only healthy replicas
-                    List<DataSource> healthyReplicas = healthChecker.getHealthyReplicas(readDataSources);
+                    // Healthy replicas as published by the health checker (no per-checkout allocation)
+                    ReplicaCandidate[] healthyReplicas = healthChecker.getHealthySnapshot();
                     
-                    if (healthyReplicas.isEmpty()) {
+                    if (healthyReplicas.length == 0) {
                         // No healthy replicas - fallback to primary (better than failing)
                         log.warn("No healthy replicas available, routing to primary");
                         return writeDataSource;
                     }
                     
-                    // Round-robin selection from healthy replicas only
-                    int index = Math.abs(counter.getAndIncrement()) % healthyReplicas.size();
-                    return healthyReplicas.get(index);
+                    // Power-of-two-choices on live load and recent latency
+                    ReplicaCandidate chosen = ReplicaSelector.choose(healthyReplicas);
+                    Long requiredLsn = ReadConsistency.requiredLsn();
+                    if (requiredLsn == null || healthChecker.hasReplayed(chosen.getDataSource(), requiredLsn)) {
+                        return chosen.getDataSource();
+                    }
+                    
+                    // Read-your-writes: any other replica that has caught up
+                    for (ReplicaCandidate replica : healthyReplicas) {
+                        if (replica != chosen && healthChecker.hasReplayed(replica.getDataSource(), requiredLsn)) {
+                            return replica.getDataSource();
+                        }
+                    }
+                    log.debug("No replica has replayed up to LSN {}, routing to primary",
+                            ReadConsistency.formatLsn(requiredLsn));
+                    return writeDataSource;
                 } else {
                     return writeDataSource;
                 }
@@ -1,17 +1,31 @@
 package com.shortify.lookup.config;
 
+import com.shortify.event.codec.EventDeserializer;
+import com.shortify.event.codec.EventSerializer;
+import com.shortify.lookup.kafka.SkewAwarePartitioner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +42,46 @@ public class KafkaConfig {
     @Value("${kafka.topic.url-deleted:url-deleted-events}")
     private String urlDeletedTopic;
     
+    @Value("${kafka.topic.click-deltas:url-click-deltas}")
+    private String clickDeltasTopic;
+    
+    // Wire format for produced events: "json" (default until all consumers decode binary) or "binary"
+    @Value("${kafka.producer.event-format:json}")
+    private String eventFormat;
+    
+    @Value("${kafka.producer.clicks.linger-ms:20}")
+    private int clickLingerMs;
+    
+    @Value("${kafka.producer.clicks.batch-size:65536}")
+    private int clickBatchSize;
+    
+    @Value("${kafka.producer.clicks.compression-type:lz4}")
+    private String clickCompressionType;
+    
+    @Value("${kafka.producer.clicks.max-block-ms:5000}")
+    private long clickMaxBlockMs;
+    
+    @Value("${kafka.producer.clicks.partitioner.skew-aware:true}")
+    private boolean skewAwarePartitioner;
+    
+    @Value("${kafka.producer.clicks.partitioner.hot-fraction:0.02}")
+    private double hotKeyFraction;
+    
+    @Value("${kafka.producer.clicks.partitioner.min-samples:1000}")
+    private long hotKeyMinSamples;
+    
+    @Value("${kafka.producer.clicks.partitioner.decay-interval:100000}")
+    private long hotKeyDecayInterval;
+    
+    @Value("${kafka.producer.clicks.partitioner.salt-buckets:0}")
+    private int hotKeySaltBuckets;
+    
+    @Value("${spring.kafka.consumer.group-id:lookup-service-group}")
+    private String groupId;
+    
+    @Value("${spring.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+    
     /**
      * KafkaAdmin bean enables automatic topic creation
      * Topics will be created when the application starts if they don't exist
@@ -51,6 +105,18 @@ public class KafkaConfig {
                 .build();
     }
     
+    /**
+     * Auto-create url-click-deltas topic (pre-aggregated click counts from the lookup click combiner)
+     * 6 partitions for parallel processing, replication factor 3 for high availability
+     */
+    @Bean
+    public org.apache.kafka.clients.admin.NewTopic clickDeltasTopic() {
+        return TopicBuilder.name(clickDeltasTopic)
+                .partitions(6)
+                .replicas(3)
+                .build();
+    }
+    
     /**
      * Auto-create url-deleted-events topic with production-ready configuration
      * 6 partitions for parallel processing, replication factor 3 for high availability
@@ -68,7 +134,8 @@ public class KafkaConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        configProps.put(EventSerializer.FORMAT_CONFIG, eventFormat);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all"); // Wait for all in-sync replicas (required for idempotence)
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
@@ -76,8 +143,76 @@ public class KafkaConfig {
     }
     
     @Bean
+    @Primary
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+    
+    /**
+     * Dedicated producer for click events, used only by the click event dispatcher's drainer threads
+     * Tuned for throughput: records linger briefly to form large compressed batches
+     * The skew-aware partitioner spreads viral short codes over several partitions
+     */
+    @Bean
+    public ProducerFactory<String, Object> clickProducerFactory(MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        configProps.put(EventSerializer.FORMAT_CONFIG, eventFormat);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all"); // Wait for all in-sync replicas (required for idempotence)
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, clickLingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, clickBatchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, clickCompressionType);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, clickMaxBlockMs); // Bound drainer stalls when brokers are down
+        if (skewAwarePartitioner) {
+            configProps.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, SkewAwarePartitioner.class);
+            configProps.put(SkewAwarePartitioner.METER_REGISTRY_CONFIG, meterRegistry);
+            configProps.put(SkewAwarePartitioner.HOT_FRACTION_CONFIG, hotKeyFraction);
+            configProps.put(SkewAwarePartitioner.MIN_SAMPLES_CONFIG, hotKeyMinSamples);
+            configProps.put(SkewAwarePartitioner.DECAY_INTERVAL_CONFIG, hotKeyDecayInterval);
+            configProps.put(SkewAwarePartitioner.SALT_BUCKETS_CONFIG, hotKeySaltBuckets);
+        }
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+    
+    @Bean
+    public KafkaTemplate<String, Object> clickKafkaTemplate(
+            @Qualifier("clickProducerFactory") ProducerFactory<String, Object> clickProducerFactory) {
+        return new KafkaTemplate<>(clickProducerFactory);
+    }
+    
+    /**
+     * Consumer factory for events consumed by the lookup service (e.g. url-deleted-events)
+     * Only trusts the shared event package from the common module
+     */
+    @Bean
+    public ConsumerFactory<String, Object> consumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, EventDeserializer.class); // Binary or JSON by content-type header
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.shortify.event");
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"); // Read from beginning if no offset
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false); // Offsets are committed after processing
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+    
+    /**
+     * Batch listener container factory with manual acknowledgment
+     * Listeners acknowledge only after their side effects succeed, so a failed batch is redelivered
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setBatchListener(true);
+        return factory;
+    }
 }
-
@@ -0,0 +1,44 @@
+package com.shortify.lookup.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.shortify.replication.ReadConsistency;
+
+import java.io.IOException;
+
+/**
+ * Request filter applying the client's read-your-writes token
+ * 
+ * A request carrying the {@value ReadConsistency#LSN_HEADER} header (the token returned after a write)
+ * only reads from replicas that have replayed up to that LSN. Malformed tokens are ignored.
+ * 
+ * Follows Single Responsibility Principle - only scopes the required LSN to the request
+ */
+@Slf4j
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(ReadConsistency.LSN_HEADER);
+        if (token != null && !token.isBlank()) {
+            try {
+                ReadConsistency.requireAtLeast(ReadConsistency.parseLsn(token.trim()));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring malformed {} header: {}", ReadConsistency.LSN_HEADER, token);
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+}
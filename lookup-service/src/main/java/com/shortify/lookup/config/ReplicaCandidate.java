@@ -0,0 +1,32 @@
+package com.shortify.lookup.config;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Value;
+
+import javax.sql.DataSource;
+
+/**
+ * A healthy read replica as published in the health checker's snapshot
+ * Follows Single Responsibility Principle - only holds the data replica selection needs
+ */
+@Value
+public class ReplicaCandidate {
+    
+    DataSource dataSource;
+    
+    // Live pool statistics; null for datasources that are not Hikari pools
+    HikariPoolMXBean pool;
+    
+    // Smoothed health check round-trip time
+    double latencyMillis;
+    
+    /**
+     * Expected cost of sending one more query here: (active connections + 1) x recent latency
+     * 
+     * @return the cost (lower is better)
+     */
+    public double cost() {
+        int active = pool == null ? 0 : pool.getActiveConnections();
+        return (active + 1) * latencyMillis;
+    }
+}
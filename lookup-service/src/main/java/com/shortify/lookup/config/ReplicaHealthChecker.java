@@ -1,9 +1,16 @@
 package com.shortify.lookup.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.shortify.replication.ReadConsistency;
+
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -11,50 +18,137 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Health checker for PostgreSQL read replicas
  * Checks replica health and replication lag periodically
+ * Also tracks each replica's WAL replay position for read-your-writes routing
+ * 
+ * Replication lag is measured, not assumed:
+ * - bytes: primary pg_current_wal_lsn() minus the replica's pg_last_wal_replay_lsn()
+ * - seconds: now() - pg_last_xact_replay_timestamp() while the replica has WAL left to replay
+ *   (0 once it has replayed everything it received, so an idle primary does not look like lag)
+ * 
+ * The primary position and every replica are checked every health-check-interval-ms on one shared
+ * scheduler (one task per server, so a hung replica does not delay the others). Replicas above
+ * max-replication-lag-mb or max-replication-lag-seconds are excluded.
+ * 
+ * After every check the healthy replicas are published as an immutable snapshot (with each replica's
+ * pool and recent check latency), so routing reads a single volatile array instead of building a list
+ * on every connection checkout.
+ * 
+ * Metrics: shortify.db.replica.lag.bytes{replica}, shortify.db.replica.lag.seconds{replica}
  */
 @Slf4j
 @Component
 public class ReplicaHealthChecker {
     
-    private final ConcurrentHashMap<DataSource, ReplicaHealth> healthStatus = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+    private static final String REPLICA_STATUS_SQL =
+            "SELECT pg_is_in_recovery(), pg_last_wal_replay_lsn()::text, " +
+            "CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
     
     // Configuration constants
-    private static final long HEALTH_CHECK_INTERVAL_SECONDS = 30L;
-    private static final long MAX_REPLICATION_LAG_BYTES = 10L * 1024L * 1024L; // 10MB max lag
-    private static final int CONNECTION_TIMEOUT_SECONDS = 5;
-    private static final long STALE_THRESHOLD_MINUTES = 2L;
+    private static final int STALE_AFTER_INTERVALS = 20;
+    private static final long MIN_STALE_THRESHOLD_MILLIS = 5_000L;
     private static final long SHUTDOWN_TIMEOUT_SECONDS = 5L;
+    private static final double LATENCY_SMOOTHING = 0.3;  // EWMA weight of the latest check
+    private static final double DEFAULT_LATENCY_MILLIS = 1.0;
+    private static final ReplicaCandidate[] NO_REPLICAS = new ReplicaCandidate[0];
+    
+    private final ConcurrentHashMap<DataSource, ReplicaHealth> healthStatus = new ConcurrentHashMap<>();
+    // Last known pg_last_wal_replay_lsn() per replica (only moves forward)
+    private final ConcurrentHashMap<DataSource, Long> replayLsns = new ConcurrentHashMap<>();
+    // Smoothed round-trip time of the health check query per replica
+    private final ConcurrentHashMap<DataSource, Double> latencyMillis = new ConcurrentHashMap<>();
+    // Replicas whose health status has gone stale (so the warning is logged once, not on every lookup)
+    private final Set<DataSource> staleReplicas = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final long checkIntervalMillis;
+    private final long maxLagBytes;
+    private final double maxLagSeconds;
+    private final int networkTimeoutMillis;
+    private final long staleThresholdMillis;
+    
+    // Latest primary WAL position (null until the first successful read)
+    private volatile Long primaryLsn;
+    private volatile ScheduledExecutorService scheduler;
+    private volatile List<DataSource> replicas = List.of();
+    private volatile ReplicaCandidate[] healthySnapshot = NO_REPLICAS;
+    
+    public ReplicaHealthChecker(MeterRegistry meterRegistry,
+                                @Value("${spring.datasource.read.health-check-interval-ms:500}") long checkIntervalMillis,
+                                @Value("${spring.datasource.read.max-replication-lag-mb:10}") long maxLagMegabytes,
+                                @Value("${spring.datasource.read.max-replication-lag-seconds:5}") double maxLagSeconds,
+                                @Value("${spring.datasource.read.health-check-timeout-ms:2000}") int networkTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.maxLagBytes = maxLagMegabytes * 1024L * 1024L;
+        this.maxLagSeconds = maxLagSeconds;
+        this.networkTimeoutMillis = networkTimeoutMillis;
+        this.staleThresholdMillis = Math.max(MIN_STALE_THRESHOLD_MILLIS, STALE_AFTER_INTERVALS * checkIntervalMillis);
+    }
     
     /**
      * Initialize health checking for replicas
      * 
+     * @param primary the primary datasource (source of the WAL position lag is measured against)
      * @param replicas list of replica datasources to monitor
      */
-    public void initializeHealthChecks(List<DataSource> replicas) {
+    public void initializeHealthChecks(DataSource primary, List<DataSource> replicas) {
         if (replicas == null || replicas.isEmpty()) {
             log.warn("No replicas provided for health checking");
             return;
         }
         
+        this.replicas = List.copyOf(replicas);
+        publishSnapshot();
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(replicas.size() + 1, runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
         // Initial health check
+        refreshPrimaryLsn(primary);
         replicas.forEach(this::checkHealth);
         
-        // Schedule periodic health checks
-        scheduler.scheduleAtFixedRate(
-            () -> replicas.forEach(this::checkHealth),
-            HEALTH_CHECK_INTERVAL_SECONDS,
-            HEALTH_CHECK_INTERVAL_SECONDS,
-            TimeUnit.SECONDS
-        );
+        // Schedule periodic checks: primary position and each replica independently
+        scheduler.scheduleWithFixedDelay(() -> refreshPrimaryLsn(primary),
+                checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        for (DataSource replica : replicas) {
+            registerLagGauges(replica);
+            scheduler.scheduleWithFixedDelay(() -> checkHealth(replica),
+                    checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Reads the primary's current WAL position
+     */
+    private void refreshPrimaryLsn(DataSource primary) {
+        try (Connection connection = primary.getConnection()) {
+            connection.setNetworkTimeout(scheduler, networkTimeoutMillis);
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(PRIMARY_LSN_SQL)) {
+                if (rs.next()) {
+                    primaryLsn = ReadConsistency.parseLsn(rs.getString(1));
+                }
+            }
+        } catch (Exception e) {
+            // Byte lag cannot be measured without the primary; seconds lag still applies
+            log.warn("Could not read the primary WAL position: {}", e.getMessage());
+            primaryLsn = null;
+        }
     }
     
     /**
@@ -64,63 +158,18 @@ public class ReplicaHealthChecker {
      */
     private void checkHealth(DataSource dataSource) {
         long currentTime = System.currentTimeMillis();
-        ReplicaHealth health = ReplicaHealth.builder()
-                .healthy(true)
-                .reason("Not checked yet")
-                .replicationLagBytes(0L)
-                .lastChecked(currentTime)
-                .build();
+        ReplicaHealth health;
         
         try (Connection connection = dataSource.getConnection()) {
-            // Set connection timeout using a shared executor
-            // Note: Connection.setNetworkTimeout requires an Executor, but we don't need to manage it
-            // The connection will handle the executor lifecycle for network timeout operations
-            java.util.concurrent.ExecutorService timeoutExecutor = Executors.newSingleThreadExecutor();
-            try {
-                connection.setNetworkTimeout(
-                    timeoutExecutor,
-                    (int) TimeUnit.SECONDS.toMillis(CONNECTION_TIMEOUT_SECONDS)
-                );
-            } finally {
-                timeoutExecutor.shutdown();
-            }
-            
-            // Check if replica is in recovery mode (should be true for replicas)
-            boolean inRecovery = checkInRecovery(connection);
-            if (!inRecovery) {
-                health = ReplicaHealth.builder()
-                        .healthy(false)
-                        .reason("Not in recovery mode (not a replica)")
-                        .replicationLagBytes(0L)
-                        .lastChecked(currentTime)
-                        .build();
-                healthStatus.put(dataSource, health);
-                return;
-            }
-            
-            // Check replication lag
-            long lagBytes = checkReplicationLag(connection);
-            
-            // Check if lag is acceptable
-            boolean isHealthy = lagBytes <= MAX_REPLICATION_LAG_BYTES;
-            String reason = isHealthy 
-                    ? "Healthy" 
-                    : String.format("Replication lag too high: %d bytes (max: %d)", 
-                            lagBytes, MAX_REPLICATION_LAG_BYTES);
-            
-            health = ReplicaHealth.builder()
-                    .healthy(isHealthy)
-                    .reason(reason)
-                    .replicationLagBytes(lagBytes)
-                    .lastChecked(currentTime)
-                    .build();
-            
+            connection.setNetworkTimeout(scheduler, networkTimeoutMillis);
+            long start = System.nanoTime();
+            health = measure(connection, currentTime, dataSource);
+            recordLatency(dataSource, (System.nanoTime() - start) / 1_000_000.0);
         } catch (SQLException e) {
             log.warn("Health check failed for replica: {}", e.getMessage());
             health = ReplicaHealth.builder()
                     .healthy(false)
                     .reason("Connection failed: " + e.getMessage())
-                    .replicationLagBytes(0L)
                     .lastChecked(currentTime)
                     .build();
         } catch (Exception e) {
@@ -128,51 +177,111 @@ public class ReplicaHealthChecker {
             health = ReplicaHealth.builder()
                     .healthy(false)
                     .reason("Unexpected error: " + e.getMessage())
-                    .replicationLagBytes(0L)
                     .lastChecked(currentTime)
                     .build();
         }
         
-        healthStatus.put(dataSource, health);
+        ReplicaHealth previous = healthStatus.put(dataSource, health);
+        if (staleReplicas.remove(dataSource)) {
+            log.info("Health status is fresh again: {}", replicaName(dataSource));
+        }
+        publishSnapshot();
         
-        if (!health.isHealthy()) {
+        // Log transitions only: checks run several times per second
+        if (!health.isHealthy() && (previous == null || previous.isHealthy())) {
             log.warn("Replica health check failed: {}", health.getReason());
+        } else if (health.isHealthy() && previous != null && !previous.isHealthy()) {
+            log.info("Replica healthy again: {}", replicaName(dataSource));
         }
     }
     
     /**
-     * Check if database is in recovery mode (replica mode)
+     * Measures recovery state, replay position and replication lag with one query
      */
-    private boolean checkInRecovery(Connection connection) throws SQLException {
+    private ReplicaHealth measure(Connection connection, long currentTime, DataSource dataSource) throws SQLException {
         try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT pg_is_in_recovery()")) {
-            if (rs.next()) {
-                return rs.getBoolean(1);
+             ResultSet rs = stmt.executeQuery(REPLICA_STATUS_SQL)) {
+            if (!rs.next() || !rs.getBoolean(1)) {
+                // Replica must be in recovery mode
+                return ReplicaHealth.builder()
+                        .healthy(false)
+                        .reason("Not in recovery mode (not a replica)")
+                        .lastChecked(currentTime)
+                        .build();
             }
+            
+            String replayText = rs.getString(2);
+            Long replayLsn = replayText == null ? null : ReadConsistency.parseLsn(replayText);
+            recordReplayLsn(dataSource, replayLsn);
+            double lagSeconds = rs.getDouble(3);
+            long lagBytes = replicationLagBytes(replayLsn);
+            
+            boolean isHealthy = lagBytes <= maxLagBytes && lagSeconds <= maxLagSeconds;
+            String reason = isHealthy
+                    ? "Healthy"
+                    : String.format("Replication lag too high: %d bytes / %.1f s (max: %d bytes / %.1f s)",
+                            lagBytes, lagSeconds, maxLagBytes, maxLagSeconds);
+            
+            return ReplicaHealth.builder()
+                    .healthy(isHealthy)
+                    .reason(reason)
+                    .replicationLagBytes(lagBytes)
+                    .replicationLagSeconds(lagSeconds)
+                    .lastChecked(currentTime)
+                    .build();
         }
-        return false;
     }
     
     /**
-     * Check replication lag in bytes
-     * Returns the lag between primary and replica
+     * Replication lag in bytes: WAL written on the primary but not yet replayed by the replica
+     * 0 when either position is unknown (replica not replaying yet, primary unreachable)
      */
-    private long checkReplicationLag(Connection connection) throws SQLException {
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(
-                 "SELECT pg_last_wal_replay_lsn() - pg_last_wal_receive_lsn() AS lag_bytes")) {
-            if (rs.next()) {
-                // This query returns lag, but may not work on all PostgreSQL versions
-                // Fallback to simpler check
-                return 0; // Simplified - assume healthy if connection works
-            }
-        } catch (SQLException e) {
-            // Fallback: if query doesn't work, try simpler approach
+    private long replicationLagBytes(Long replayLsn) {
+        Long primary = primaryLsn;
+        if (primary == null || replayLsn == null || Long.compareUnsigned(primary, replayLsn) <= 0) {
+            return 0L;
+        }
+        return primary - replayLsn;
+    }
+    
+    private void registerLagGauges(DataSource replica) {
+        String name = replicaName(replica);
+        Gauge.builder("shortify.db.replica.lag.bytes", replica, r -> getHealth(r).getReplicationLagBytes())
+                .tag("replica", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("shortify.db.replica.lag.seconds", replica, r -> getHealth(r).getReplicationLagSeconds())
+                .tag("replica", name)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+    
+    private static String replicaName(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari && hikari.getPoolName() != null
+                ? hikari.getPoolName()
+                : dataSource.toString();
+    }
+    
+    /**
+     * Checks whether a replica has replayed the WAL up to a required position (read-your-writes)
+     * Uses only the replay position cached by the periodic health check: this runs on the request thread
+     * for every read, so it never opens a connection. A replica that is behind by less than one check
+     * interval reports false and the caller falls back to another replica or the primary.
+     * 
+     * @param dataSource the replica to check
+     * @param requiredLsn the WAL position the read must observe
+     * @return true if the replica is known to have replayed up to requiredLsn
+     */
+    public boolean hasReplayed(DataSource dataSource, long requiredLsn) {
+        Long known = replayLsns.get(dataSource);
+        return known != null && Long.compareUnsigned(known, requiredLsn) >= 0;
+    }
+    
+    private void recordReplayLsn(DataSource dataSource, Long replayLsn) {
+        if (replayLsn != null) {
+            replayLsns.merge(dataSource, replayLsn,
+                    (known, latest) -> Long.compareUnsigned(latest, known) > 0 ? latest : known);
         }
-        
-        // Simplified check: if we can connect and query, assume low lag
-        // In production, you'd want more sophisticated lag detection
-        return 0;
     }
     
     /**
@@ -186,10 +295,13 @@ public class ReplicaHealthChecker {
         }
         
         // Consider stale if not checked within threshold
-        long staleThreshold = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(STALE_THRESHOLD_MINUTES);
+        long staleThreshold = System.currentTimeMillis() - staleThresholdMillis;
         if (health.getLastChecked() < staleThreshold) {
-            log.warn("Health status is stale (last checked: {}ms ago), assuming unhealthy", 
-                    System.currentTimeMillis() - health.getLastChecked());
+            // Called for every replica on every snapshot, so only the transition to stale is logged
+            if (staleReplicas.add(dataSource)) {
+                log.warn("Health status is stale (last checked: {}ms ago), assuming unhealthy: {}", 
+                        System.currentTimeMillis() - health.getLastChecked(), replicaName(dataSource));
+            }
             return false;
         }
         
@@ -213,16 +325,36 @@ public class ReplicaHealthChecker {
     }
     
     /**
-     * Get list of healthy replicas
+     * Get the healthy replicas, as published after the latest check
+     * Replicas lagging beyond the configured byte or time limit are not included
+     * 
+     * @return immutable snapshot (callers must not modify the array); empty if no replica is healthy
      */
-    public List<DataSource> getHealthyReplicas(List<DataSource> allReplicas) {
-        List<DataSource> healthy = new ArrayList<>();
-        for (DataSource replica : allReplicas) {
+    public ReplicaCandidate[] getHealthySnapshot() {
+        return healthySnapshot;
+    }
+    
+    /**
+     * Rebuilds the healthy replica snapshot (synchronized: concurrent checks must not publish out of order)
+     */
+    private synchronized void publishSnapshot() {
+        List<ReplicaCandidate> healthy = new ArrayList<>(replicas.size());
+        for (DataSource replica : replicas) {
             if (isHealthy(replica)) {
-                healthy.add(replica);
+                healthy.add(new ReplicaCandidate(replica, poolOf(replica),
+                        latencyMillis.getOrDefault(replica, DEFAULT_LATENCY_MILLIS)));
             }
         }
-        return healthy;
+        healthySnapshot = healthy.toArray(NO_REPLICAS);
+    }
+    
+    private void recordLatency(DataSource dataSource, double sampleMillis) {
+        latencyMillis.merge(dataSource, sampleMillis,
+                (previous, sample) -> previous + LATENCY_SMOOTHING * (sample - previous));
+    }
+    
+    private static HikariPoolMXBean poolOf(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getHikariPoolMXBean() : null;
     }
     
     /**
@@ -231,17 +363,20 @@ public class ReplicaHealthChecker {
      */
     @PreDestroy
     public void shutdown() {
-        scheduler.shutdown();
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
         try {
-            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            if (!current.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
                 log.warn("Health checker did not terminate gracefully, forcing shutdown");
-                scheduler.shutdownNow();
+                current.shutdownNow();
             }
         } catch (InterruptedException e) {
             log.warn("Health checker shutdown interrupted", e);
-            scheduler.shutdownNow();
+            current.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
 }
-
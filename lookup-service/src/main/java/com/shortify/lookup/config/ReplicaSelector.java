@@ -0,0 +1,41 @@
+package com.shortify.lookup.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load-aware replica selection using power-of-two-choices
+ * 
+ * Two distinct replicas are sampled at random and the one with the lower cost (live active connections
+ * weighted by recent latency) wins. A slow or busy replica gets fewer reads than blind round-robin would
+ * give it, without every router herding onto the single least-loaded replica.
+ * 
+ * Follows Single Responsibility Principle - only chooses among healthy replicas
+ * Follows Encapsulation - static utility methods with no state
+ */
+public final class ReplicaSelector {
+    
+    private ReplicaSelector() {
+        // Utility class - prevent instantiation
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+    
+    /**
+     * Chooses a replica by power-of-two-choices
+     * 
+     * @param candidates the healthy replicas (non-empty)
+     * @return the chosen replica
+     */
+    public static ReplicaCandidate choose(ReplicaCandidate[] candidates) {
+        int count = candidates.length;
+        if (count == 1) {
+            return candidates[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) {
+            second++; // Distinct from first
+        }
+        return candidates[first].cost() <= candidates[second].cost() ? candidates[first] : candidates[second];
+    }
+}
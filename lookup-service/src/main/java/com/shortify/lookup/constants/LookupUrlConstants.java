@@ -19,5 +19,6 @@ public final class LookupUrlConstants {
     public static final int CACHE_CLEANUP_INTERVAL_SECONDS = 30;
     public static final String CACHE_KEY_PREFIX = "url:";
     public static final String CACHE_ACCESS_COUNT_PREFIX = "url:access:";
+    public static final String CACHE_RATE_PREFIX = "url:rate:";  // Decayed request-rate state (decayed TTL policy)
 }
 
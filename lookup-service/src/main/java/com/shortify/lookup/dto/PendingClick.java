@@ -0,0 +1,26 @@
+package com.shortify.lookup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+
+/**
+ * Raw click captured on the redirect thread and handed to the click event dispatcher
+ * Holds only request fields; enrichment and serialization happen on the drainer threads
+ */
+@Getter
+@AllArgsConstructor
+public class PendingClick {
+    
+    private final String shortCode;
+    private final String ipAddress;
+    private final String userAgent;
+    private final String referrer;
+    private final long timestamp; // Unix timestamp in milliseconds
+    @With
+    private final double weight; // Sampling weight (1 / keep probability); 1 when the click was not sampled
+    
+    public PendingClick(String shortCode, String ipAddress, String userAgent, String referrer, long timestamp) {
+        this(shortCode, ipAddress, userAgent, referrer, timestamp, 1.0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.shortify.lookup.kafka;
+
+import com.shortify.sketch.HeavyHitterSketch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.utils.Utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Producer partitioner that spreads heavy-hitter keys (viral short codes) across partitions
+ *
+ * Ordinary keys go to the same partition as with Kafka's default partitioner (murmur2 of the key).
+ * Every key is also counted in a decayed {@link HeavyHitterSketch}; once a key carries at least hot-fraction
+ * of the recent traffic, its records are salted round-robin over salt-buckets consecutive partitions starting
+ * at the key's home partition, so one link no longer pins a single consumer thread.
+ *
+ * The record key itself is never rewritten: consumers keep reading the short code from the payload and merge
+ * the partial streams of a salted key by short code. Per-key ordering is given up for hot keys only.
+ *
+ * Configured through producer properties (see the *_CONFIG constants); the optional MeterRegistry is passed
+ * as an object property and enables per-partition send counters.
+ */
+public class SkewAwarePartitioner implements Partitioner {
+    
+    public static final String METER_REGISTRY_CONFIG = "shortify.partitioner.meter-registry";
+    public static final String HOT_FRACTION_CONFIG = "shortify.partitioner.hot-fraction";
+    public static final String MIN_SAMPLES_CONFIG = "shortify.partitioner.min-samples";
+    public static final String DECAY_INTERVAL_CONFIG = "shortify.partitioner.decay-interval";
+    public static final String SALT_BUCKETS_CONFIG = "shortify.partitioner.salt-buckets";
+    
+    private static final int SKETCH_WIDTH = 4096;
+    
+    private final AtomicInteger salt = new AtomicInteger();
+    private final AtomicInteger nullKeyCounter = new AtomicInteger();
+    private final Map<String, Counter> sendCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> saltedCounters = new ConcurrentHashMap<>();
+    
+    private HeavyHitterSketch sketch;
+    private MeterRegistry meterRegistry;
+    private double hotFraction;
+    private long minSamples;
+    private int saltBuckets;
+    
+    @Override
+    public void configure(Map<String, ?> configs) {
+        Object registry = configs.get(METER_REGISTRY_CONFIG);
+        this.meterRegistry = registry instanceof MeterRegistry ? (MeterRegistry) registry : null;
+        this.hotFraction = getDouble(configs, HOT_FRACTION_CONFIG, 0.02);
+        this.minSamples = (long) getDouble(configs, MIN_SAMPLES_CONFIG, 1000);
+        this.saltBuckets = (int) getDouble(configs, SALT_BUCKETS_CONFIG, 0); // 0 = all partitions
+        this.sketch = new HeavyHitterSketch(SKETCH_WIDTH, (long) getDouble(configs, DECAY_INTERVAL_CONFIG, 100_000));
+    }
+    
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        int numPartitions = cluster.partitionsForTopic(topic).size();
+        int partition;
+        if (keyBytes == null) {
+            partition = Utils.toPositive(nullKeyCounter.getAndIncrement()) % numPartitions;
+        } else {
+            int hash = Utils.murmur2(keyBytes);
+            partition = Utils.toPositive(hash) % numPartitions;
+            long estimate = sketch.add(hash);
+            long total = sketch.total();
+            if (numPartitions > 1 && total >= minSamples && estimate >= hotFraction * total) {
+                int spread = saltBuckets > 0 ? Math.min(saltBuckets, numPartitions) : numPartitions;
+                partition = (partition + Utils.toPositive(salt.getAndIncrement()) % spread) % numPartitions;
+                increment(saltedCounters, "shortify.kafka.partition.salted", topic, null,
+                        "Records of heavy-hitter keys spread over several partitions");
+            }
+        }
+        increment(sendCounters, "shortify.kafka.partition.sends", topic, partition,
+                "Records assigned to each partition by the producer");
+        return partition;
+    }
+    
+    @Override
+    public void close() {
+        // Nothing to release; meters belong to the registry
+    }
+    
+    private void increment(Map<String, Counter> counters, String name, String topic, Integer partition, String description) {
+        if (meterRegistry == null) {
+            return;
+        }
+        String id = partition == null ? topic : topic + "-" + partition;
+        counters.computeIfAbsent(id, ignored -> {
+            Counter.Builder builder = Counter.builder(name).description(description).tag("topic", topic);
+            if (partition != null) {
+                builder.tag("partition", String.valueOf(partition));
+            }
+            return builder.register(meterRegistry);
+        }).increment();
+    }
+    
+    private static double getDouble(Map<String, ?> configs, String name, double defaultValue) {
+        Object value = configs.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value.toString());
+    }
+}
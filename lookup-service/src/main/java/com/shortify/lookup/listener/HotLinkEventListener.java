@@ -0,0 +1,48 @@
+package com.shortify.lookup.listener;
+
+import com.shortify.event.HotLinkEvent;
+import com.shortify.lookup.service.CachePrewarmService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka consumer for hot link events published by Stats Service
+ * Pins links with an accelerating click rate in Redis before their peak arrives
+ * 
+ * Hot link events are best-effort hints: a failed batch is logged and acknowledged
+ * rather than retried, since a late hint is worth less than keeping the consumer moving.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotLinkEventListener {
+    
+    private final CachePrewarmService cachePrewarmService;
+    
+    @KafkaListener(topics = "${kafka.topic.hot-links:hot-links}", 
+                   containerFactory = "kafkaListenerContainerFactory")
+    public void consumeHotLinkEvents(@Payload List<HotLinkEvent> events, Acknowledgment acknowledgment) {
+        List<String> shortCodes = new ArrayList<>(events.size());
+        for (HotLinkEvent event : events) {
+            if (event != null) {
+                shortCodes.add(event.getShortCode());
+            }
+        }
+        
+        try {
+            cachePrewarmService.pinHotLinks(shortCodes);
+            log.debug("Processed batch of {} hot link events", events.size());
+        } catch (Exception e) {
+            log.warn("Error pinning hot links (batch size: {})", events.size(), e);
+        }
+        acknowledgment.acknowledge();
+    }
+}
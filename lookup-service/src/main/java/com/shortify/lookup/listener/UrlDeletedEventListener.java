@@ -0,0 +1,56 @@
+package com.shortify.lookup.listener;
+
+import com.shortify.event.UrlDeletedEvent;
+import com.shortify.lookup.service.CacheEvictionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka consumer for URL deletion events
+ * Removes deleted URLs from Redis so they stop redirecting before their TTL lapses
+ * 
+ * Offsets are committed only after the Redis deletes succeed. On failure the batch is
+ * negatively acknowledged and redelivered after a short backoff; deletes are idempotent,
+ * so reprocessing a batch is safe.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UrlDeletedEventListener {
+    
+    private final CacheEvictionService cacheEvictionService;
+    
+    @Value("${kafka.consumer.url-deleted.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+    
+    @KafkaListener(topics = "${kafka.topic.url-deleted:url-deleted-events}", 
+                   containerFactory = "kafkaListenerContainerFactory")
+    public void consumeUrlDeletedEvents(@Payload List<UrlDeletedEvent> events, Acknowledgment acknowledgment) {
+        List<String> shortCodes = new ArrayList<>(events.size());
+        for (UrlDeletedEvent event : events) {
+            if (event != null) {
+                shortCodes.add(event.getShortCode());
+            }
+        }
+        
+        try {
+            long deleted = cacheEvictionService.evictShortCodes(shortCodes);
+            acknowledgment.acknowledge();
+            log.debug("Processed batch of {} URL deletion events ({} Redis keys deleted)", events.size(), deleted);
+        } catch (Exception e) {
+            log.error("Error evicting cache for URL deletion batch (size: {}), will retry", events.size(), e);
+            // Seek back to the start of the batch so it is redelivered without committing offsets
+            acknowledgment.nack(0, Duration.ofMillis(retryBackoffMs));
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,15 @@ public interface LookupUrlRepository extends JpaRepository<UrlMapping, Long> {
      */
     Optional<UrlMapping> findByShortUrl(String shortUrl);
     
+    /**
+     * Finds URL mappings for a batch of short URL codes in a single query
+     * Used to pre-warm the cache for hot links
+     * 
+     * @param shortUrls the short URL codes
+     * @return mappings that exist (missing codes are simply absent)
+     */
+    List<UrlMapping> findByShortUrlIn(Collection<String> shortUrls);
+    
     /**
      * Deletes URLs that haven't been accessed since the cutoff date OR have expired
      * Uses native query with CTE (Common Table Expression) for efficient batch deletion
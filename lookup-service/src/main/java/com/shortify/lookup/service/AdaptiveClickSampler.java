@@ -0,0 +1,164 @@
+package com.shortify.lookup.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the keep probability for click capture under the ADAPTIVE full-buffer policy
+ *
+ * Pressure is the highest of:
+ * - the click ring buffer fill ratio (passed in on every offer)
+ * - the click producer's record accumulator usage (buffer-total-bytes vs buffer-available-bytes)
+ * - stats-service consumer lag on the click topic relative to max-consumer-lag (optional)
+ *
+ * Below start-pressure every click is kept; above it the keep probability falls linearly to min-keep-rate
+ * at full pressure. Kept clicks carry weight 1/p, so weighted sums downstream remain unbiased estimates
+ * of the real click counts while ingest volume is capped.
+ */
+@Slf4j
+@Service
+public class AdaptiveClickSampler {
+    
+    private static final long ADMIN_TIMEOUT_SECONDS = 2;
+    
+    private final KafkaTemplate<String, Object> clickKafkaTemplate;
+    private final KafkaAdmin kafkaAdmin;
+    
+    @Value("${lookup.clicks.adaptive.start-pressure:0.5}")
+    private double startPressure;
+    
+    @Value("${lookup.clicks.adaptive.min-keep-rate:0.01}")
+    private double minKeepRate;
+    
+    @Value("${lookup.clicks.adaptive.max-consumer-lag:0}")
+    private long maxConsumerLag;
+    
+    @Value("${lookup.clicks.adaptive.consumer-group:stats-service-group}")
+    private String consumerGroup;
+    
+    @Value("${kafka.topic.click-events:url-click-events}")
+    private String clickEventsTopic;
+    
+    private volatile double producerPressure;
+    private volatile double lagPressure;
+    private volatile long consumerLag;
+    private volatile double lastKeepProbability = 1.0;
+    private AdminClient adminClient;
+    
+    public AdaptiveClickSampler(@Qualifier("clickKafkaTemplate") KafkaTemplate<String, Object> clickKafkaTemplate,
+                                KafkaAdmin kafkaAdmin,
+                                MeterRegistry meterRegistry) {
+        this.clickKafkaTemplate = clickKafkaTemplate;
+        this.kafkaAdmin = kafkaAdmin;
+        Gauge.builder("shortify.clicks.sampling.keep.probability", this, sampler -> sampler.lastKeepProbability)
+                .description("Most recent keep probability of adaptive click sampling")
+                .register(meterRegistry);
+        Gauge.builder("shortify.clicks.consumer.lag", this, sampler -> sampler.consumerLag)
+                .description("Click events not yet consumed by stats-service (when lag tracking is enabled)")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * @param bufferFill current fill ratio of the click ring buffer (0..1)
+     * @return probability of keeping a click, in [min-keep-rate, 1]
+     */
+    public double keepProbability(double bufferFill) {
+        double pressure = Math.max(bufferFill, Math.max(producerPressure, lagPressure));
+        double keep = 1.0;
+        if (pressure > startPressure) {
+            double excess = Math.min(1.0, (pressure - startPressure) / (1.0 - startPressure));
+            keep = Math.max(minKeepRate, 1.0 - excess * (1.0 - minKeepRate));
+        }
+        // Called on every offer: skip the volatile write (and its cache-line traffic) while the value holds steady
+        if (keep != lastKeepProbability) {
+            lastKeepProbability = keep;
+        }
+        return keep;
+    }
+    
+    /**
+     * Refreshes the producer and consumer-lag pressure; the redirect path only reads the cached values
+     */
+    @Scheduled(fixedDelayString = "${lookup.clicks.adaptive.refresh-interval-ms:5000}")
+    public void refreshPressure() {
+        producerPressure = readProducerPressure();
+        if (maxConsumerLag > 0) {
+            try {
+                consumerLag = readConsumerLag();
+                lagPressure = Math.min(1.0, consumerLag / (double) maxConsumerLag);
+            } catch (Exception e) {
+                // Keep the last known value rather than sample blindly
+                log.debug("Could not read consumer lag for group {}", consumerGroup, e);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+    
+    private double readProducerPressure() {
+        double total = 0;
+        double available = 0;
+        for (Map.Entry<MetricName, ? extends Metric> entry : clickKafkaTemplate.metrics().entrySet()) {
+            String name = entry.getKey().name();
+            if ("buffer-total-bytes".equals(name)) {
+                total = ((Number) entry.getValue().metricValue()).doubleValue();
+            } else if ("buffer-available-bytes".equals(name)) {
+                available = ((Number) entry.getValue().metricValue()).doubleValue();
+            }
+        }
+        return total > 0 ? Math.max(0, 1.0 - available / total) : 0;
+    }
+    
+    private long readConsumerLag() throws Exception {
+        if (adminClient == null) {
+            adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        }
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(consumerGroup)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        committed.keySet().stream()
+                .filter(partition -> clickEventsTopic.equals(partition.topic()))
+                .forEach(partition -> request.put(partition, OffsetSpec.latest()));
+        if (request.isEmpty()) {
+            return 0;
+        }
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = adminClient.listOffsets(request)
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        
+        long lag = 0;
+        for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> entry : endOffsets.entrySet()) {
+            OffsetAndMetadata offset = committed.get(entry.getKey());
+            if (offset != null) {
+                lag += Math.max(0, entry.getValue().offset() - offset.offset());
+            }
+        }
+        return lag;
+    }
+}
@@ -0,0 +1,86 @@
+package com.shortify.lookup.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import static com.shortify.lookup.constants.LookupUrlConstants.CACHE_KEY_PREFIX;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Service responsible for evicting cached URLs after they are deleted from the database
+ * Part of the Lookup Service microservice
+ * 
+ * Exposes eviction throughput metrics:
+ * - shortify.cache.eviction.events: deletion events processed
+ * - shortify.cache.eviction.keys: Redis keys actually deleted
+ * - shortify.cache.eviction.failures: batches that failed and will be redelivered
+ * - shortify.cache.eviction.batch: time spent per eviction batch
+ * 
+ * Follows Single Responsibility Principle - only handles cache eviction for deleted URLs
+ * Follows Dependency Inversion Principle - depends on CacheService abstraction
+ */
+@Slf4j
+@Service
+public class CacheEvictionService {
+    
+    private final CacheService cacheService;
+    private final Counter evictedEventsCounter;
+    private final Counter evictedKeysCounter;
+    private final Counter evictionFailuresCounter;
+    private final Timer evictionBatchTimer;
+    
+    public CacheEvictionService(CacheService cacheService, MeterRegistry meterRegistry) {
+        this.cacheService = cacheService;
+        this.evictedEventsCounter = Counter.builder("shortify.cache.eviction.events")
+                .description("URL deletion events processed by cache eviction")
+                .register(meterRegistry);
+        this.evictedKeysCounter = Counter.builder("shortify.cache.eviction.keys")
+                .description("Redis keys deleted by cache eviction")
+                .register(meterRegistry);
+        this.evictionFailuresCounter = Counter.builder("shortify.cache.eviction.failures")
+                .description("Cache eviction batches that failed")
+                .register(meterRegistry);
+        this.evictionBatchTimer = Timer.builder("shortify.cache.eviction.batch")
+                .description("Time spent evicting a batch of deleted URLs")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Evicts cached entries (URL and TTL policy state) for the given short codes
+     * Exceptions are propagated so the caller can avoid committing offsets on failure
+     * 
+     * @param shortCodes short codes of deleted URLs
+     * @return number of Redis keys deleted
+     */
+    public long evictShortCodes(Collection<String> shortCodes) {
+        Set<String> cacheKeys = new LinkedHashSet<>();
+        for (String shortCode : shortCodes) {
+            if (shortCode != null && !shortCode.isBlank()) {
+                cacheKeys.add(CACHE_KEY_PREFIX + shortCode);
+            }
+        }
+        if (cacheKeys.isEmpty()) {
+            return 0;
+        }
+        
+        Timer.Sample sample = Timer.start();
+        try {
+            long deleted = cacheService.removeAll(cacheKeys);
+            evictedEventsCounter.increment(cacheKeys.size());
+            evictedKeysCounter.increment(deleted);
+            log.debug("Evicted {} Redis keys for {} deleted short codes", deleted, cacheKeys.size());
+            return deleted;
+        } catch (RuntimeException e) {
+            evictionFailuresCounter.increment();
+            throw e;
+        } finally {
+            sample.stop(evictionBatchTimer);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.shortify.lookup.service;
+
+import com.shortify.entity.UrlMapping;
+import com.shortify.lookup.repository.LookupUrlRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.shortify.lookup.constants.LookupUrlConstants.CACHE_HOT_TTL_MINUTES;
+import static com.shortify.lookup.constants.LookupUrlConstants.CACHE_KEY_PREFIX;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service that pins hot links in the cache ahead of a traffic peak
+ * Part of the Lookup Service microservice
+ * 
+ * Entries already in Redis get their TTL extended to the hot TTL; links that are not cached yet are
+ * loaded from a read replica in one query and cached with the hot TTL, so the peak never hits the database.
+ * 
+ * Follows Single Responsibility Principle - only handles cache pre-warming
+ * Follows Dependency Inversion Principle - depends on CacheService and repository abstractions
+ */
+@Slf4j
+@Service
+public class CachePrewarmService {
+    
+    private final LookupUrlRepository urlMappingRepository;
+    private final CacheService cacheService;
+    private final Counter hotLinksReceivedCounter;
+    private final Counter extendedCounter;
+    private final Counter prewarmedCounter;
+    private final Counter skippedCounter;
+    
+    public CachePrewarmService(LookupUrlRepository urlMappingRepository, CacheService cacheService, 
+                               MeterRegistry meterRegistry) {
+        this.urlMappingRepository = urlMappingRepository;
+        this.cacheService = cacheService;
+        this.hotLinksReceivedCounter = Counter.builder("shortify.cache.hotlinks.received")
+                .description("Hot link hints received from stats-service")
+                .register(meterRegistry);
+        this.extendedCounter = Counter.builder("shortify.cache.hotlinks.extended")
+                .description("Cached entries whose TTL was extended for a hot link")
+                .register(meterRegistry);
+        this.prewarmedCounter = Counter.builder("shortify.cache.hotlinks.prewarmed")
+                .description("Hot links loaded from the database into the cache")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("shortify.cache.hotlinks.skipped")
+                .description("Hot links not cached because they are missing or expired")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Pins the given short codes in the cache with the hot TTL
+     * Uses read-only transaction to route the pre-warm query to a read replica
+     * 
+     * @param shortCodes short codes reported as hot
+     */
+    @Transactional(readOnly = true)
+    public void pinHotLinks(Collection<String> shortCodes) {
+        Set<String> uniqueCodes = new LinkedHashSet<>();
+        for (String shortCode : shortCodes) {
+            if (shortCode != null && !shortCode.isBlank()) {
+                uniqueCodes.add(shortCode);
+            }
+        }
+        hotLinksReceivedCounter.increment(uniqueCodes.size());
+        
+        List<String> notCached = new ArrayList<>();
+        for (String shortCode : uniqueCodes) {
+            if (cacheService.pin(CACHE_KEY_PREFIX + shortCode, CACHE_HOT_TTL_MINUTES)) {
+                extendedCounter.increment();
+            } else {
+                notCached.add(shortCode);
+            }
+        }
+        if (notCached.isEmpty()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        int loaded = 0;
+        for (UrlMapping mapping : urlMappingRepository.findByShortUrlIn(notCached)) {
+            if (mapping.getExpiresAt() != null && mapping.getExpiresAt().isBefore(now)) {
+                continue;
+            }
+            String cacheKey = CACHE_KEY_PREFIX + mapping.getShortUrl();
+            cacheService.put(cacheKey, mapping.getOriginalUrl(), CACHE_HOT_TTL_MINUTES);
+            cacheService.pin(cacheKey, CACHE_HOT_TTL_MINUTES);
+            prewarmedCounter.increment();
+            loaded++;
+        }
+        skippedCounter.increment(notCached.size() - loaded);
+        log.debug("Pinned {} hot links ({} extended, {} pre-warmed from database)", 
+                uniqueCodes.size(), uniqueCodes.size() - notCached.size(), loaded);
+    }
+}
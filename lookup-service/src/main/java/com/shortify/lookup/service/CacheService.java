@@ -1,5 +1,7 @@
 package com.shortify.lookup.service;
 
+import java.util.Collection;
+
 /**
  * Interface for cache operations
  * Part of the Lookup Service microservice
@@ -34,6 +36,16 @@ public interface CacheService {
      */
     String get(String key);
     
+    /**
+     * Pins an existing entry as frequently accessed and extends its TTL
+     * Later reads keep refreshing the entry with the longer TTL instead of demoting it
+     * 
+     * @param key the cache key
+     * @param ttlMinutes time to live in minutes
+     * @return true if the entry existed and was pinned, false if it is not cached
+     */
+    boolean pin(String key, int ttlMinutes);
+    
     /**
      * Removes a value from the cache
      * 
@@ -41,6 +53,14 @@ public interface CacheService {
      */
     void remove(String key);
     
+    /**
+     * Removes a batch of values from the cache together with any per-key bookkeeping entries
+     * 
+     * @param keys the cache keys
+     * @return number of cache entries actually deleted
+     */
+    long removeAll(Collection<String> keys);
+    
     /**
      * Checks if a key exists in the cache
      * 
@@ -0,0 +1,179 @@
+package com.shortify.lookup.service;
+
+import com.shortify.event.ClickDeltaEvent;
+import com.shortify.event.ClickEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Optional combiner stage between the click event dispatcher and Kafka (lookup.clicks.combiner.enabled)
+ *
+ * Clicks are counted in memory per (short code, minute) and flushed every few seconds
+ * as {@link ClickDeltaEvent}s, so a hot link costs one message per bucket per flush instead of one per redirect.
+ * A configurable fraction of clicks is still sent as raw ClickEvents for detailed analysis; those clicks are
+ * not added to the deltas, so stats-service counts every click exactly once (raw rows + delta sums).
+ * Enrichment happens in stats-service, so deltas carry no country or device type; stats-service builds
+ * those breakdowns from the raw sample alone, reweighted by the inverse of the sample rate.
+ * Sampled clicks add their weight instead of 1; fractional bucket sums are rounded stochastically on flush,
+ * which keeps the expected delta equal to the weighted sum.
+ */
+@Slf4j
+@Service
+public class ClickCombiner {
+    
+    private static final long MINUTE_MILLIS = 60_000L;
+    
+    private final KafkaTemplate<String, Object> clickKafkaTemplate;
+    private final EventSpillService eventSpillService;
+    private final Counter combinedCounter;
+    private final Counter deltasSentCounter;
+    private final Counter earlyFlushCounter;
+    
+    @Value("${lookup.clicks.combiner.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${lookup.clicks.combiner.raw-sample-rate:0.01}")
+    private double rawSampleRate;
+    
+    @Value("${lookup.clicks.combiner.max-buckets:100000}")
+    private int maxBuckets;
+    
+    @Value("${kafka.topic.click-deltas:url-click-deltas}")
+    private String clickDeltasTopic;
+    
+    private final ConcurrentHashMap<BucketKey, Double> buckets = new ConcurrentHashMap<>();
+    
+    public ClickCombiner(@Qualifier("clickKafkaTemplate") KafkaTemplate<String, Object> clickKafkaTemplate,
+                         EventSpillService eventSpillService,
+                         MeterRegistry meterRegistry) {
+        this.clickKafkaTemplate = clickKafkaTemplate;
+        this.eventSpillService = eventSpillService;
+        this.combinedCounter = Counter.builder("shortify.clicks.combined")
+                .description("Clicks counted by the combiner instead of being sent individually")
+                .register(meterRegistry);
+        this.deltasSentCounter = Counter.builder("shortify.clicks.deltas.sent")
+                .description("Click delta events sent to Kafka")
+                .register(meterRegistry);
+        this.earlyFlushCounter = Counter.builder("shortify.clicks.combiner.early.flushes")
+                .description("Combiner flushes triggered by the bucket limit")
+                .register(meterRegistry);
+        Gauge.builder("shortify.clicks.combiner.buckets", buckets, ConcurrentHashMap::size)
+                .description("Click buckets waiting for the next combiner flush")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Counts the click in its bucket unless it is sampled to be sent raw
+     *
+     * @return true if the click was absorbed (the caller must not send it), false if it should be sent as a raw event
+     */
+    public boolean combine(ClickEvent event) {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() < rawSampleRate) {
+            return false;
+        }
+        long timestamp = event.getTimestamp() != null ? event.getTimestamp() : System.currentTimeMillis();
+        BucketKey key = new BucketKey(event.getShortCode(), timestamp - Math.floorMod(timestamp, MINUTE_MILLIS));
+        double weight = event.getWeight() != null ? event.getWeight() : 1.0;
+        buckets.merge(key, weight, Double::sum);
+        combinedCounter.increment();
+        if (buckets.size() >= maxBuckets) {
+            // Bound memory under high key cardinality
+            earlyFlushCounter.increment();
+            flush();
+        }
+        return true;
+    }
+    
+    /**
+     * Emits one delta per bucket; buckets are removed atomically, so clicks added concurrently go to the next flush
+     */
+    @Scheduled(fixedDelayString = "${lookup.clicks.combiner.flush-interval-ms:5000}")
+    public void flush() {
+        for (BucketKey key : buckets.keySet()) {
+            Double weightedClicks = buckets.remove(key);
+            if (weightedClicks == null) {
+                continue;
+            }
+            long clicks = stochasticRound(weightedClicks);
+            if (clicks == 0) {
+                continue;
+            }
+            ClickDeltaEvent delta = ClickDeltaEvent.builder()
+                    .shortCode(key.shortCode)
+                    .bucketStart(key.bucketStart)
+                    .clicks(clicks)
+                    .build();
+            send(delta);
+        }
+    }
+    
+    private static long stochasticRound(double value) {
+        long floor = (long) Math.floor(value);
+        return ThreadLocalRandom.current().nextDouble() < value - floor ? floor + 1 : floor;
+    }
+    
+    @PreDestroy
+    public void stop() {
+        flush();
+        clickKafkaTemplate.flush();
+    }
+    
+    private void send(ClickDeltaEvent delta) {
+        String shortCode = delta.getShortCode();
+        try {
+            clickKafkaTemplate.send(clickDeltasTopic, shortCode, delta).whenComplete((result, ex) -> {
+                if (ex == null) {
+                    deltasSentCounter.increment();
+                } else {
+                    // Counted by shortify.spill.appended / rejected; a broker outage would flood the log at warn
+                    log.debug("Failed to send click delta to Kafka for shortCode: {}; spilling to journal", shortCode, ex);
+                    eventSpillService.spill(clickDeltasTopic, shortCode, delta);
+                }
+            });
+        } catch (Exception e) {
+            log.debug("Error sending click delta to Kafka for shortCode: {}; spilling to journal", shortCode, e);
+            eventSpillService.spill(clickDeltasTopic, shortCode, delta);
+        }
+    }
+    
+    private static final class BucketKey {
+        private final String shortCode;
+        private final long bucketStart;
+        private final int hash;
+        
+        private BucketKey(String shortCode, long bucketStart) {
+            this.shortCode = shortCode;
+            this.bucketStart = bucketStart;
+            this.hash = Objects.hash(shortCode, bucketStart);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey other)) {
+                return false;
+            }
+            return bucketStart == other.bucketStart && Objects.equals(shortCode, other.shortCode);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
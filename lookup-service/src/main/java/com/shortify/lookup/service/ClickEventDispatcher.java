@@ -0,0 +1,239 @@
+package com.shortify.lookup.service;
+
+import com.shortify.concurrent.BoundedRingBuffer;
+import com.shortify.event.ClickEvent;
+import com.shortify.lookup.dto.PendingClick;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands click events from redirect threads to Kafka through a bounded lock-free ring buffer
+ * 
+ * Redirect threads only publish the raw request fields ({@link #offer(PendingClick)} never blocks).
+ * Drainer threads take batches from the buffer and send them through a dedicated producer tuned for
+ * batching (linger, compression), so serialization and the producer's acks wait never happen before
+ * the 302 is written.
+ * Events carry only the raw request fields; enrichment (device type, geo) runs in stats-service.
+ * Clicks Kafka rejects are handed to {@link EventSpillService}.
+ * When the {@link ClickCombiner} is enabled, most clicks are counted there and only a sample is sent raw.
+ * 
+ * Full-buffer policy (lookup.clicks.full-buffer-policy):
+ * - DROP: clicks that do not fit are dropped and counted
+ * - SAMPLE: above the high-water mark only a fraction of clicks is kept; clicks that still do not fit are dropped
+ * - ADAPTIVE: the keep probability follows buffer, producer and consumer-lag pressure ({@link AdaptiveClickSampler})
+ * 
+ * Under SAMPLE and ADAPTIVE every kept click carries weight 1/p (p = keep probability), so stats-service sums
+ * of weights stay unbiased estimates of the real click counts.
+ */
+@Slf4j
+@Service
+public class ClickEventDispatcher {
+    
+    public enum FullBufferPolicy {
+        DROP,
+        SAMPLE,
+        ADAPTIVE
+    }
+    
+    private final KafkaTemplate<String, Object> clickKafkaTemplate;
+    private final EventSpillService eventSpillService;
+    private final ClickCombiner clickCombiner;
+    private final AdaptiveClickSampler adaptiveClickSampler;
+    private final MeterRegistry meterRegistry;
+    private final Counter offeredCounter;
+    private final Counter droppedCounter;
+    private final Counter sampledOutCounter;
+    private final Counter sentCounter;
+    private final Counter sendFailuresCounter;
+    
+    @Value("${kafka.topic.click-events:url-click-events}")
+    private String clickEventsTopic;
+    
+    @Value("${lookup.clicks.buffer-capacity:65536}")
+    private int bufferCapacity;
+    
+    @Value("${lookup.clicks.drainer-threads:1}")
+    private int drainerThreads;
+    
+    @Value("${lookup.clicks.batch-size:512}")
+    private int batchSize;
+    
+    @Value("${lookup.clicks.idle-park-millis:1}")
+    private long idleParkMillis;
+    
+    @Value("${lookup.clicks.full-buffer-policy:DROP}")
+    private FullBufferPolicy fullBufferPolicy;
+    
+    @Value("${lookup.clicks.sample-high-water-mark:0.75}")
+    private double sampleHighWaterMark;
+    
+    @Value("${lookup.clicks.sample-rate:0.1}")
+    private double sampleRate;
+    
+    private BoundedRingBuffer<PendingClick> buffer;
+    private int highWaterMark;
+    private final List<Thread> drainers = new ArrayList<>();
+    private volatile boolean running;
+    
+    public ClickEventDispatcher(@Qualifier("clickKafkaTemplate") KafkaTemplate<String, Object> clickKafkaTemplate,
+                                EventSpillService eventSpillService,
+                                ClickCombiner clickCombiner,
+                                AdaptiveClickSampler adaptiveClickSampler,
+                                MeterRegistry meterRegistry) {
+        this.clickKafkaTemplate = clickKafkaTemplate;
+        this.eventSpillService = eventSpillService;
+        this.clickCombiner = clickCombiner;
+        this.adaptiveClickSampler = adaptiveClickSampler;
+        this.meterRegistry = meterRegistry;
+        this.offeredCounter = Counter.builder("shortify.clicks.offered")
+                .description("Clicks offered to the click event buffer")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("shortify.clicks.dropped")
+                .description("Clicks dropped because the click event buffer was full")
+                .register(meterRegistry);
+        this.sampledOutCounter = Counter.builder("shortify.clicks.sampled.out")
+                .description("Clicks skipped by sampling under buffer or downstream pressure")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("shortify.clicks.sent")
+                .description("Click events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.sendFailuresCounter = Counter.builder("shortify.clicks.send.failures")
+                .description("Click events that failed to send to Kafka")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        buffer = new BoundedRingBuffer<>(bufferCapacity);
+        highWaterMark = (int) (buffer.capacity() * sampleHighWaterMark);
+        Gauge.builder("shortify.clicks.buffer.depth", buffer, BoundedRingBuffer::size)
+                .description("Clicks waiting in the click event buffer")
+                .register(meterRegistry);
+        
+        running = true;
+        for (int i = 0; i < drainerThreads; i++) {
+            Thread drainer = new Thread(this::drainLoop, "click-event-drainer-" + i);
+            drainer.setDaemon(true);
+            drainer.start();
+            drainers.add(drainer);
+        }
+        log.info("Click event dispatcher started: capacity={}, drainers={}, policy={}", 
+                buffer.capacity(), drainerThreads, fullBufferPolicy);
+    }
+    
+    /**
+     * Publishes a click to the buffer; never blocks the calling (redirect) thread
+     * 
+     * @return true if the click was accepted
+     */
+    public boolean offer(PendingClick click) {
+        offeredCounter.increment();
+        double keepProbability = keepProbability();
+        if (keepProbability < 1.0) {
+            if (ThreadLocalRandom.current().nextDouble() >= keepProbability) {
+                sampledOutCounter.increment();
+                return false;
+            }
+            click = click.withWeight(click.getWeight() / keepProbability);
+        }
+        if (!buffer.offer(click)) {
+            droppedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+    
+    private double keepProbability() {
+        switch (fullBufferPolicy) {
+            case SAMPLE:
+                return buffer.size() >= highWaterMark ? sampleRate : 1.0;
+            case ADAPTIVE:
+                return adaptiveClickSampler.keepProbability(buffer.size() / (double) buffer.capacity());
+            default:
+                return 1.0;
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread drainer : drainers) {
+            LockSupport.unpark(drainer);
+            try {
+                drainer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        clickKafkaTemplate.flush();
+    }
+    
+    private void drainLoop() {
+        while (running || !buffer.isEmpty()) {
+            int drained = 0;
+            try {
+                drained = buffer.drain(this::send, batchSize);
+            } catch (Exception e) {
+                log.warn("Error draining click events", e);
+            }
+            if (drained == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleParkMillis));
+            }
+        }
+    }
+    
+    private void send(PendingClick click) {
+        String shortCode = click.getShortCode();
+        ClickEvent event = toEvent(click);
+        if (clickCombiner.combine(event)) {
+            return; // Counted in a click delta
+        }
+        try {
+            clickKafkaTemplate.send(clickEventsTopic, shortCode, event).whenComplete((result, ex) -> {
+                if (ex == null) {
+                    sentCounter.increment();
+                } else {
+                    // Per-click failures are tracked by the counters; a broker outage would flood the log at warn
+                    sendFailuresCounter.increment();
+                    log.debug("Failed to send click event to Kafka for shortCode: {}; spilling to journal", shortCode, ex);
+                    eventSpillService.spill(clickEventsTopic, shortCode, event);
+                }
+            });
+        } catch (Exception e) {
+            // Don't stop draining if Kafka is unavailable; the journal replays the event later
+            sendFailuresCounter.increment();
+            log.debug("Error sending click event to Kafka for shortCode: {}; spilling to journal", shortCode, e);
+            eventSpillService.spill(clickEventsTopic, shortCode, event);
+        }
+    }
+    
+    private ClickEvent toEvent(PendingClick click) {
+        // Raw request fields only; stats-service resolves device type and geo in its enrichment stage
+        return ClickEvent.builder()
+                .shortCode(click.getShortCode())
+                .ipAddress(click.getIpAddress())
+                .userAgent(click.getUserAgent())
+                .referrer(click.getReferrer())
+                .timestamp(click.getTimestamp())
+                .weight(click.getWeight() != 1.0 ? click.getWeight() : null)
+                .build();
+    }
+}
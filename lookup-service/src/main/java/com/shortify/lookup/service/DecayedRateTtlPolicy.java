@@ -0,0 +1,114 @@
+package com.shortify.lookup.service;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static com.shortify.lookup.constants.LookupUrlConstants.CACHE_RATE_PREFIX;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Learned per-key TTL policy based on an exponentially decayed request-rate estimate
+ * 
+ * Each cached URL has a small Redis hash holding a decayed request count (time constant tau),
+ * the last access time and the first access time. On every hit a Lua script atomically decays the
+ * count, derives the request rate over the effective window (tau, or the key's age if younger)
+ * and computes the TTL:
+ * - expected gap until the next request = 1 / rate
+ * - TTL = gap x multiplier, clamped to [min TTL, max TTL]
+ * - keys without history yet get the default TTL
+ * Hot links are refreshed by their own traffic long before their (short) TTL lapses, so they stay cached,
+ * while links that will not be requested again stop holding memory.
+ * 
+ * The TTL is applied to the entry by the caller: the entry and its state key may live in different
+ * cluster slots, so the script only touches the state key.
+ */
+public class DecayedRateTtlPolicy implements TtlPolicy {
+    
+    private static final RedisScript<Long> RECORD_ACCESS_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local tau = tonumber(ARGV[2])
+            local multiplier = tonumber(ARGV[3])
+            local minTtl = tonumber(ARGV[4])
+            local maxTtl = tonumber(ARGV[5])
+            local ttl = tonumber(ARGV[6])
+            local stateTtl = tonumber(ARGV[7])
+            local state = redis.call('HMGET', KEYS[1], 's', 't', 'f', 'p')
+            local count = tonumber(state[1]) or 0
+            local last = tonumber(state[2]) or now
+            local first = tonumber(state[3]) or now
+            local pinnedUntil = tonumber(state[4]) or 0
+            count = count * math.exp(-math.max(0, now - last) / tau)
+            local window = tau * (1 - math.exp(-math.max(0, now - first) / tau))
+            if count > 0 and window > 0 then
+                local expectedGap = window / count
+                ttl = math.min(maxTtl, math.max(minTtl, expectedGap * multiplier))
+            end
+            ttl = math.max(ttl, pinnedUntil - now)
+            redis.call('HSET', KEYS[1], 's', tostring(count + 1), 't', tostring(now), 'f', tostring(first))
+            redis.call('PEXPIRE', KEYS[1], math.floor(math.max(stateTtl, ttl)))
+            return math.floor(ttl)
+            """, Long.class);
+    
+    private static final RedisScript<Long> PIN_SCRIPT = new DefaultRedisScript<>("""
+            local pinnedUntil = tonumber(ARGV[1]) + tonumber(ARGV[2])
+            redis.call('HSET', KEYS[1], 'p', tostring(pinnedUntil))
+            if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[2]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 1
+            """, Long.class);
+    
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long timeConstantMillis;
+    private final double gapMultiplier;
+    private final long minTtlMillis;
+    private final long maxTtlMillis;
+    private final long defaultTtlMillis;
+    private final long stateTtlMillis;
+    
+    public DecayedRateTtlPolicy(RedisTemplate<String, String> redisTemplate, Duration timeConstant, 
+                                double gapMultiplier, Duration minTtl, Duration maxTtl, Duration defaultTtl) {
+        if (minTtl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("Decayed TTL policy: min TTL must not exceed max TTL");
+        }
+        this.redisTemplate = redisTemplate;
+        this.timeConstantMillis = timeConstant.toMillis();
+        this.gapMultiplier = gapMultiplier;
+        this.minTtlMillis = minTtl.toMillis();
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.defaultTtlMillis = defaultTtl.toMillis();
+        // After ~4 time constants the decayed count is below 2% of its value, so the state can go
+        this.stateTtlMillis = 4 * timeConstantMillis;
+    }
+    
+    @Override
+    public Duration recordAccess(String key) {
+        Long ttlMillis = redisTemplate.execute(RECORD_ACCESS_SCRIPT, List.of(CACHE_RATE_PREFIX + key),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(timeConstantMillis),
+                String.valueOf(gapMultiplier),
+                String.valueOf(minTtlMillis),
+                String.valueOf(maxTtlMillis),
+                String.valueOf(defaultTtlMillis),
+                String.valueOf(stateTtlMillis));
+        return Duration.ofMillis(ttlMillis == null ? defaultTtlMillis : ttlMillis);
+    }
+    
+    /**
+     * Stores a pinned-until time in the state, which the access script honours as a TTL floor
+     */
+    @Override
+    public void pin(String key, Duration ttl) {
+        redisTemplate.execute(PIN_SCRIPT, List.of(CACHE_RATE_PREFIX + key),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(ttl.toMillis()));
+    }
+    
+    @Override
+    public List<String> bookkeepingKeys(String key) {
+        return List.of(CACHE_RATE_PREFIX + key);
+    }
+}
@@ -0,0 +1,211 @@
+package com.shortify.lookup.service;
+
+import com.shortify.event.codec.BinaryReader;
+import com.shortify.event.codec.BinaryWriter;
+import com.shortify.event.codec.EventBinaryCodec;
+import com.shortify.event.codec.EventCodecException;
+import com.shortify.journal.SpillJournal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps events that could not be sent to Kafka in a local {@link SpillJournal} and replays them once the brokers recover
+ *
+ * Producers call {@link #spill(String, String, Object)} from their send-failure path, so the redirect path never
+ * waits for Kafka. A single replayer thread periodically reads the journal in append order, re-sends the events
+ * and commits the journal position only after Kafka acknowledged the whole batch (at-least-once delivery).
+ * Replayed events may arrive after newer live events; consumers do not depend on cross-event ordering.
+ *
+ * Records are stored as topic, key and the event in the binary event format.
+ *
+ * Durability: appended records survive a process crash at once (page cache), but the journal is only forced
+ * to disk by the replayer at the start of each run, so an OS or node crash can lose up to replay-interval-ms
+ * of spilled events. The directory must outlive container restarts (a mounted volume, not the image filesystem).
+ */
+@Slf4j
+@Service
+public class EventSpillService {
+    
+    private static final long MB = 1024L * 1024L;
+    
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Counter spilledCounter;
+    private final Counter rejectedCounter;
+    private final Counter replayedCounter;
+    
+    @Value("${lookup.spill.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${lookup.spill.directory:spill}")
+    private String directory;
+    
+    @Value("${lookup.spill.segment-size-mb:64}")
+    private int segmentSizeMb;
+    
+    @Value("${lookup.spill.max-size-mb:1024}")
+    private long maxSizeMb;
+    
+    @Value("${lookup.spill.replay-interval-ms:5000}")
+    private long replayIntervalMs;
+    
+    @Value("${lookup.spill.replay-batch-size:500}")
+    private int replayBatchSize;
+    
+    @Value("${lookup.spill.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+    
+    private SpillJournal journal;
+    private ScheduledExecutorService replayer;
+    
+    public EventSpillService(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.spilledCounter = Counter.builder("shortify.spill.appended")
+                .description("Events written to the spill journal after a failed Kafka send")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("shortify.spill.rejected")
+                .description("Events lost because the spill journal was full or unavailable")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("shortify.spill.replayed")
+                .description("Events replayed from the spill journal to Kafka")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            journal = new SpillJournal(Path.of(directory), Math.toIntExact(segmentSizeMb * MB), maxSizeMb * MB);
+        } catch (Exception e) {
+            log.error("Could not open spill journal in {}; failed events will be dropped", directory, e);
+            return;
+        }
+        Gauge.builder("shortify.spill.disk.bytes", journal, SpillJournal::getDiskBytes)
+                .description("Disk space allocated to the spill journal")
+                .register(meterRegistry);
+        
+        replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-spill-replayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        replayer.scheduleWithFixedDelay(this::replay, replayIntervalMs, replayIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Spill journal opened in {} (max {} MB, pending: {})", directory, maxSizeMb, !journal.isEmpty());
+    }
+    
+    /**
+     * Appends an event that failed to reach Kafka to the journal; never blocks on Kafka or on msync
+     *
+     * Runs on the producer callback thread, so losses are reported through shortify.spill.rejected
+     * rather than one log line per event.
+     *
+     * @return true if the event was persisted for replay
+     */
+    public boolean spill(String topic, String key, Object event) {
+        if (journal == null || !EventBinaryCodec.supports(event)) {
+            rejectedCounter.increment();
+            return false;
+        }
+        try {
+            BinaryWriter writer = new BinaryWriter(256);
+            writer.writeString(topic);
+            writer.writeString(key != null ? key : "");
+            writer.writeBytes(EventBinaryCodec.encode(event));
+            if (journal.append(writer.toByteArray())) {
+                spilledCounter.increment();
+                return true;
+            }
+            log.debug("Spill journal is full; event for key {} is lost", key);
+        } catch (Exception e) {
+            log.debug("Error writing event for key {} to the spill journal", key, e);
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+    
+    /**
+     * Drains the journal into Kafka batch by batch; stops at the first batch Kafka does not fully acknowledge
+     */
+    void replay() {
+        try {
+            journal.flush();
+            while (!journal.isEmpty()) {
+                SpillJournal.Batch batch = journal.read(replayBatchSize);
+                if (!sendBatch(batch.getRecords())) {
+                    return; // Kafka still unavailable; retry the same batch on the next run
+                }
+                journal.commit(batch.getEnd());
+                replayedCounter.increment(batch.getRecords().size());
+                if (batch.getRecords().isEmpty()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error replaying spill journal", e);
+        }
+    }
+    
+    private boolean sendBatch(List<byte[]> records) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(records.size());
+        try {
+            for (byte[] record : records) {
+                String topic;
+                String key;
+                Object event;
+                try {
+                    BinaryReader reader = new BinaryReader(record);
+                    topic = reader.readString();
+                    key = reader.readString();
+                    event = EventBinaryCodec.decode(reader.readBytes());
+                } catch (EventCodecException e) {
+                    // Skip rather than block the journal behind a record that can never be sent
+                    log.error("Skipping undecodable spill journal record", e);
+                    continue;
+                }
+                futures.add(kafkaTemplate.send(topic, key.isEmpty() ? null : key, event));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("Kafka unavailable while replaying {} spilled events; will retry", records.size(), e);
+            return false;
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (replayer != null) {
+            replayer.shutdown();
+            try {
+                replayer.awaitTermination(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
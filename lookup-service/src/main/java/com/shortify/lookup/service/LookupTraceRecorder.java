@@ -0,0 +1,169 @@
+package com.shortify.lookup.service;
+
+import com.shortify.trace.LookupTraceFormat;
+import com.shortify.trace.LookupTraceWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional recorder of sampled, anonymized lookup traces (timestamp, short-code hash, hit/miss)
+ * Traces are replayed offline by the cache-simulator module to tune cache thresholds and TTLs
+ * 
+ * Request threads only hash the short code and offer a record to a bounded queue; a single
+ * background thread writes the binary file. When the queue is full the record is dropped,
+ * and recording stops once the file reaches its size cap, so lookups are never slowed down.
+ */
+@Slf4j
+@Component
+public class LookupTraceRecorder {
+    
+    private static final int FLUSH_INTERVAL_MILLIS = 1000;
+    
+    @Value("${lookup.trace.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${lookup.trace.directory:traces}")
+    private String directory;
+    
+    @Value("${lookup.trace.sample-rate:0.01}")
+    private double sampleRate;
+    
+    @Value("${lookup.trace.max-file-size-mb:256}")
+    private long maxFileSizeMb;
+    
+    @Value("${lookup.trace.queue-capacity:65536}")
+    private int queueCapacity;
+    
+    @Value("${lookup.trace.salt:0}")
+    private long configuredSalt;
+    
+    private final Counter recordedCounter;
+    private final Counter droppedCounter;
+    
+    private volatile boolean active;
+    private long salt;
+    private BlockingQueue<TraceRecord> queue;
+    private Thread writerThread;
+    
+    public LookupTraceRecorder(MeterRegistry meterRegistry) {
+        this.recordedCounter = Counter.builder("shortify.lookup.trace.recorded")
+                .description("Lookup trace records written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("shortify.lookup.trace.dropped")
+                .description("Lookup trace records dropped because the writer queue was full")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // A random salt keeps traces anonymized; configure a fixed salt to correlate traces across pods
+        salt = configuredSalt != 0 ? configuredSalt : new SecureRandom().nextLong();
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        
+        Path file = Paths.get(directory, "lookup-" + System.currentTimeMillis() + LookupTraceFormat.FILE_EXTENSION);
+        try {
+            Files.createDirectories(file.getParent());
+            OutputStream out = Files.newOutputStream(file);
+            LookupTraceWriter writer = new LookupTraceWriter(out, sampleRate, System.currentTimeMillis());
+            writerThread = new Thread(() -> writeLoop(writer, file), "lookup-trace-writer");
+            writerThread.setDaemon(true);
+            active = true;
+            writerThread.start();
+            log.info("Lookup trace capture enabled: file={}, sampleRate={}", file, sampleRate);
+        } catch (IOException e) {
+            log.error("Failed to open lookup trace file {}, trace capture disabled", file, e);
+        }
+    }
+    
+    /**
+     * Records a lookup outcome if trace capture is enabled and the short code falls into the sample
+     */
+    public void record(String shortCode, boolean hit) {
+        if (!active) {
+            return;
+        }
+        long keyHash = LookupTraceFormat.hashKey(shortCode, salt);
+        if (!LookupTraceFormat.isSampled(keyHash, sampleRate)) {
+            return;
+        }
+        if (!queue.offer(new TraceRecord(System.currentTimeMillis(), keyHash, hit))) {
+            droppedCounter.increment();
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        // The writer notices within one poll interval, drains the queue and closes the file;
+        // it is not interrupted because an interrupt would close the underlying file channel
+        active = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private void writeLoop(LookupTraceWriter writer, Path file) {
+        long maxBytes = maxFileSizeMb * 1024 * 1024;
+        try (writer) {
+            while (active || !queue.isEmpty()) {
+                TraceRecord record;
+                try {
+                    record = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (record == null) {
+                    writer.flush();
+                    continue;
+                }
+                writer.write(record.timestampMillis, record.keyHash, record.hit);
+                recordedCounter.increment();
+                
+                if (writer.getBytesWritten() >= maxBytes) {
+                    log.info("Lookup trace file {} reached {} MB, trace capture stopped", file, maxFileSizeMb);
+                    active = false;
+                    queue.clear();
+                }
+            }
+            log.info("Lookup trace capture finished: {} records written to {}", writer.getRecordsWritten(), file);
+        } catch (IOException e) {
+            active = false;
+            log.error("Error writing lookup trace file {}, trace capture disabled", file, e);
+        }
+    }
+    
+    private static final class TraceRecord {
+        private final long timestampMillis;
+        private final long keyHash;
+        private final boolean hit;
+        
+        private TraceRecord(long timestampMillis, long keyHash, boolean hit) {
+            this.timestampMillis = timestampMillis;
+            this.keyHash = keyHash;
+            this.hit = hit;
+        }
+    }
+}
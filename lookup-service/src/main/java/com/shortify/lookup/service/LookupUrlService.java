@@ -32,6 +32,7 @@ public class LookupUrlService implements UrlLookupService {
     
     private final LookupUrlRepository urlMappingRepository;
     private final CacheService cacheService;
+    private final LookupTraceRecorder traceRecorder;
     
     /**
      * {@inheritDoc}
@@ -48,6 +49,7 @@ public class LookupUrlService implements UrlLookupService {
         
         // Check cache first
         String cachedUrl = getCachedUrl(shortCode);
+        traceRecorder.record(shortCode, cachedUrl != null);
         if (cachedUrl != null) {
             return cachedUrl;
         }
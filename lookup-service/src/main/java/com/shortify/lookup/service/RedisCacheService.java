@@ -2,23 +2,30 @@ package com.shortify.lookup.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import static com.shortify.lookup.constants.LookupUrlConstants.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Optimized Redis implementation of CacheService with adaptive TTL strategy
  * 
  * Features:
  * - Sliding expiration: TTL refreshes on access
- * - Adaptive TTL: Frequently accessed URLs get longer cache time
- *   - Hot URLs (10+ accesses): 30 minutes
- *   - Warm URLs (5-9 accesses): 15 minutes  
- *   - Cold URLs (<5 accesses): 10 minutes
- * - Access frequency tracking for intelligent caching
+ * - Adaptive TTL: the TTL applied on each access comes from a pluggable TtlPolicy
+ *   - tiered (default): hot / warm / cold tiers based on an access counter
+ *   - decayed: TTL learned from a per-key exponentially decayed request rate
  * 
  * Follows Single Responsibility Principle - only handles Redis caching operations
  * Follows Dependency Inversion Principle - implements CacheService interface
@@ -28,9 +35,12 @@ import java.time.Duration;
 public class RedisCacheService implements CacheService {
     
     private final RedisTemplate<String, String> redisTemplate;
+    private final TtlPolicy ttlPolicy;
     
-    public RedisCacheService(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate) {
+    public RedisCacheService(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate, 
+                             TtlPolicy ttlPolicy) {
         this.redisTemplate = redisTemplate;
+        this.ttlPolicy = ttlPolicy;
     }
     
     @Override
@@ -66,42 +76,28 @@ public class RedisCacheService implements CacheService {
         String value = redisTemplate.opsForValue().get(key);
         
         if (value != null) {
-            // Track access frequency and apply adaptive TTL
-            String accessKey = CACHE_ACCESS_COUNT_PREFIX + key;
-            Long accessCount = redisTemplate.opsForValue().increment(accessKey);
-            
-            // Set expiration on access counter if it's new
-            if (accessCount == 1) {
-                Duration ttl = Duration.ofMinutes(CACHE_DEFAULT_TTL_MINUTES);
-                redisTemplate.expire(accessKey, ttl);
-            }
-            
-            // Determine adaptive TTL based on access frequency
-            int ttlMinutes = determineTtl(accessCount.intValue());
-            
-            // Refresh TTL with adaptive value (sliding expiration)
-            Duration ttl = Duration.ofMinutes(ttlMinutes);
-            redisTemplate.expire(key, ttl);
+            // Refresh TTL with the policy's value (sliding expiration)
+            redisTemplate.expire(key, ttlPolicy.recordAccess(key));
         }
         
         return value;
     }
     
     /**
-     * Determines TTL based on access frequency
-     * Hot URLs (frequently accessed) get longer TTL to stay in cache longer
-     * 
-     * @param accessCount number of times URL was accessed
-     * @return TTL in minutes
+     * Extends the TTL and lets the TTL policy treat the entry as hot, so the sliding
+     * expiration in {@link #get(String)} keeps applying at least the pinned TTL
      */
-    private int determineTtl(int accessCount) {
-        if (accessCount >= CACHE_ACCESS_THRESHOLD_HOT) {
-            return CACHE_HOT_TTL_MINUTES;  // 30 minutes for hot URLs
-        } else if (accessCount >= CACHE_ACCESS_THRESHOLD_WARM) {
-            return CACHE_WARM_TTL_MINUTES;  // 15 minutes for warm URLs
-        } else {
-            return CACHE_DEFAULT_TTL_MINUTES;  // 10 minutes for cold URLs
+    @Override
+    public boolean pin(String key, int ttlMinutes) {
+        if (!validateKey(key)) {
+            return false;
+        }
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        if (!Boolean.TRUE.equals(redisTemplate.expire(key, ttl))) {
+            return false;
         }
+        ttlPolicy.pin(key, ttl);
+        return true;
     }
     
     @Override
@@ -112,6 +108,59 @@ public class RedisCacheService implements CacheService {
         redisTemplate.delete(key);
     }
     
+    /**
+     * Removes cached URLs and the TTL policy's bookkeeping keys in a single pipelined round trip
+     * 
+     * Keys are grouped by cluster hash slot and each group is deleted with one multi-key DEL,
+     * so every command stays within a single slot (no CROSSSLOT errors in cluster mode)
+     * while standalone Redis simply receives fewer, larger commands.
+     */
+    @Override
+    public long removeAll(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Integer, List<byte[]>> keysBySlot = new HashMap<>();
+        for (String key : keys) {
+            if (!validateKey(key)) {
+                continue;
+            }
+            addToSlotGroup(keysBySlot, key);
+            for (String bookkeepingKey : ttlPolicy.bookkeepingKeys(key)) {
+                addToSlotGroup(keysBySlot, bookkeepingKey);
+            }
+        }
+        if (keysBySlot.isEmpty()) {
+            return 0;
+        }
+        
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            deleteSlotGroups(connection, keysBySlot.values());
+            return null;
+        });
+        
+        long deleted = 0;
+        for (Object result : results) {
+            if (result instanceof Long count) {
+                deleted += count;
+            }
+        }
+        return deleted;
+    }
+    
+    private void addToSlotGroup(Map<Integer, List<byte[]>> keysBySlot, String key) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        keysBySlot.computeIfAbsent(ClusterSlotHashUtil.calculateSlot(rawKey), slot -> new ArrayList<>())
+                .add(rawKey);
+    }
+    
+    private void deleteSlotGroups(RedisConnection connection, Collection<List<byte[]>> slotGroups) {
+        for (List<byte[]> group : slotGroups) {
+            connection.keyCommands().del(group.toArray(new byte[0][]));
+        }
+    }
+    
     @Override
     public boolean exists(String key) {
         if (!validateKey(key)) {
@@ -1,84 +1,33 @@
 package com.shortify.lookup.service;
 
-import com.shortify.lookup.constants.MockGeoDataConstants;
-import com.shortify.event.ClickEvent;
+import com.shortify.lookup.dto.PendingClick;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.concurrent.CompletableFuture;
-
+/**
+ * Records click events for the Stats Service
+ * 
+ * Runs on the redirect thread, so it only hands the raw request fields to the
+ * {@link ClickEventDispatcher}; the Kafka send happens on its drainer threads and enrichment in stats-service.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StatsClientService {
     
-    @Value("${kafka.topic.click-events:url-click-events}")
-    private String clickEventsTopic;
-    
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ClickEventDispatcher clickEventDispatcher;
     
     public void recordClickEvent(String shortCode, String ipAddress, String userAgent, String referrer) {
         try {
-            // Get random country first, then get a city from that country
-            String country = getRandomCountry();
-            String city = getRandomCityForCountry(country);
-            
-            ClickEvent event = ClickEvent.builder()
-                    .shortCode(shortCode)
-                    .ipAddress(ipAddress)
-                    .userAgent(userAgent)
-                    .referrer(referrer)
-                    .deviceType(extractDeviceType(userAgent))
-                    .country(country) // Mocked - Would be extracted from IP in production (e.g., using MaxMind GeoIP2)
-                    .city(city) // Mocked - Would be extracted from IP in production (e.g., using MaxMind GeoIP2)
-                    .timestamp(Instant.now().toEpochMilli())
-                    .build();
-            
-            // Send to Kafka asynchronously
-            CompletableFuture<SendResult<String, Object>> future = 
-                    kafkaTemplate.send(clickEventsTopic, shortCode, event);
-            
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.debug("Successfully sent click event to Kafka for shortCode: {}", shortCode);
-                } else {
-                    log.warn("Failed to send click event to Kafka for shortCode: {}", shortCode, ex);
-                    // Event is lost, but lookup service continues to work
-                    // In production, consider implementing a dead letter queue
-                }
-            });
+            PendingClick click = new PendingClick(shortCode, ipAddress, userAgent, referrer, System.currentTimeMillis());
+            if (!clickEventDispatcher.offer(click)) {
+                log.debug("Click event buffer full, click not recorded for shortCode: {}", shortCode);
+            }
         } catch (Exception e) {
-            // Don't fail the lookup if Kafka is unavailable
-            log.warn("Error sending click event to Kafka for shortCode: {}", shortCode, e);
-        }
-    }
-    
-    private String extractDeviceType(String userAgent) {
-        if (userAgent == null) {
-            return "UNKNOWN";
-        }
-        String ua = userAgent.toLowerCase();
-        if (ua.contains("mobile") || ua.contains("android") || ua.contains("iphone")) {
-            return "MOBILE";
-        } else if (ua.contains("tablet") || ua.contains("ipad")) {
-            return "TABLET";
-        } else {
-            return "DESKTOP";
+            // Don't fail the lookup if click recording fails
+            log.warn("Error recording click event for shortCode: {}", shortCode, e);
         }
     }
-    
-    private String getRandomCountry() {
-        return MockGeoDataConstants.getRandomCountry();
-    }
-    
-    private String getRandomCityForCountry(String country) {
-        return MockGeoDataConstants.getRandomCity(country);
-    }
 }
-
@@ -0,0 +1,76 @@
+package com.shortify.lookup.service;
+
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static com.shortify.lookup.constants.LookupUrlConstants.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tiered TTL policy based on a raw access counter (default policy)
+ * 
+ * - Hot URLs (10+ accesses): 30 minutes
+ * - Warm URLs (5-9 accesses): 15 minutes
+ * - Cold URLs (<5 accesses): 10 minutes
+ * 
+ * The access counter expires 10 minutes after its first increment, so counts restart periodically.
+ */
+public class TieredTtlPolicy implements TtlPolicy {
+    
+    private final RedisTemplate<String, String> redisTemplate;
+    
+    public TieredTtlPolicy(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+    
+    @Override
+    public Duration recordAccess(String key) {
+        // Track access frequency
+        String accessKey = CACHE_ACCESS_COUNT_PREFIX + key;
+        Long accessCount = redisTemplate.opsForValue().increment(accessKey);
+        
+        // Set expiration on access counter if it's new
+        if (accessCount != null && accessCount == 1) {
+            redisTemplate.expire(accessKey, Duration.ofMinutes(CACHE_DEFAULT_TTL_MINUTES));
+        }
+        
+        return Duration.ofMinutes(determineTtl(accessCount == null ? 1 : accessCount.intValue()));
+    }
+    
+    /**
+     * Raises the access counter to the hot threshold so later accesses keep applying the hot TTL
+     */
+    @Override
+    public void pin(String key, Duration ttl) {
+        String accessKey = CACHE_ACCESS_COUNT_PREFIX + key;
+        String accessCount = redisTemplate.opsForValue().get(accessKey);
+        if (accessCount == null || Long.parseLong(accessCount) < CACHE_ACCESS_THRESHOLD_HOT) {
+            redisTemplate.opsForValue().set(accessKey, String.valueOf(CACHE_ACCESS_THRESHOLD_HOT), ttl);
+        } else {
+            redisTemplate.expire(accessKey, ttl);
+        }
+    }
+    
+    @Override
+    public List<String> bookkeepingKeys(String key) {
+        return List.of(CACHE_ACCESS_COUNT_PREFIX + key);
+    }
+    
+    /**
+     * Determines TTL based on access frequency
+     * Hot URLs (frequently accessed) get longer TTL to stay in cache longer
+     * 
+     * @param accessCount number of times URL was accessed
+     * @return TTL in minutes
+     */
+    private int determineTtl(int accessCount) {
+        if (accessCount >= CACHE_ACCESS_THRESHOLD_HOT) {
+            return CACHE_HOT_TTL_MINUTES;  // 30 minutes for hot URLs
+        } else if (accessCount >= CACHE_ACCESS_THRESHOLD_WARM) {
+            return CACHE_WARM_TTL_MINUTES;  // 15 minutes for warm URLs
+        } else {
+            return CACHE_DEFAULT_TTL_MINUTES;  // 10 minutes for cold URLs
+        }
+    }
+}
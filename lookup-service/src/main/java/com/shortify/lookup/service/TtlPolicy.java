@@ -0,0 +1,38 @@
+package com.shortify.lookup.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Strategy deciding how long a cached URL stays in Redis after each access
+ * Part of the Lookup Service microservice
+ * 
+ * Follows Open/Closed Principle - new TTL strategies can be added without modifying RedisCacheService
+ * Follows Strategy Pattern - selected via lookup.cache.ttl-policy (tiered or decayed)
+ */
+public interface TtlPolicy {
+    
+    /**
+     * Records a cache hit and returns the TTL the entry should be refreshed with (sliding expiration)
+     * 
+     * @param key the cache key that was hit
+     * @return TTL to apply to the entry
+     */
+    Duration recordAccess(String key);
+    
+    /**
+     * Marks an entry as hot so subsequent accesses keep at least the given TTL
+     * 
+     * @param key the cache key
+     * @param ttl TTL to keep while the entry is hot
+     */
+    void pin(String key, Duration ttl);
+    
+    /**
+     * Keys holding this policy's per-entry state, removed together with the entry
+     * 
+     * @param key the cache key
+     * @return bookkeeping keys for the entry
+     */
+    List<String> bookkeepingKeys(String key);
+}
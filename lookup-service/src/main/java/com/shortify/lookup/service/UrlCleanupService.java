@@ -33,6 +33,7 @@ public class UrlCleanupService {
     
     private final LookupUrlRepository urlMappingRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final EventSpillService eventSpillService;
     
     @Value("${url.cleanup.retention-months:6}")
     private int retentionMonths;
@@ -143,6 +144,7 @@ public class UrlCleanupService {
     /**
      * Publish URL deletion events to Kafka for stats service cleanup.
      * Events are sent asynchronously to avoid blocking the cleanup job.
+     * Events Kafka does not accept are written to the spill journal and replayed later.
      */
     private void publishDeletionEvents(List<String> deletedShortCodes, LocalDateTime deletionTime) {
         if (deletedShortCodes.isEmpty()) {
@@ -152,16 +154,16 @@ public class UrlCleanupService {
         long timestamp = Instant.now().toEpochMilli();
         
         for (String shortCode : deletedShortCodes) {
+            // Determine deletion reason based on expiration
+            String reason = deletionTime.isAfter(LocalDateTime.now()) ? "UNUSED" : "EXPIRED";
+            
+            UrlDeletedEvent event = UrlDeletedEvent.builder()
+                    .shortCode(shortCode)
+                    .reason(reason)
+                    .timestamp(timestamp)
+                    .build();
+            
             try {
-                // Determine deletion reason based on expiration
-                String reason = deletionTime.isAfter(LocalDateTime.now()) ? "UNUSED" : "EXPIRED";
-                
-                UrlDeletedEvent event = UrlDeletedEvent.builder()
-                        .shortCode(shortCode)
-                        .reason(reason)
-                        .timestamp(timestamp)
-                        .build();
-                
                 // Send to Kafka asynchronously
                 CompletableFuture<?> future = kafkaTemplate.send(urlDeletedTopic, shortCode, event);
                 
@@ -169,14 +171,14 @@ public class UrlCleanupService {
                     if (ex == null) {
                         log.debug("Published URL deletion event for shortCode: {}", shortCode);
                     } else {
-                        log.warn("Failed to publish URL deletion event for shortCode: {}", shortCode, ex);
-                        // Event is lost, but cleanup continues
-                        // In production, consider implementing a dead letter queue
+                        log.warn("Failed to publish URL deletion event for shortCode: {}; spilling to journal", shortCode, ex);
+                        eventSpillService.spill(urlDeletedTopic, shortCode, event);
                     }
                 });
             } catch (Exception e) {
-                log.warn("Error publishing deletion event for shortCode: {}", shortCode, e);
-                // Don't fail cleanup if Kafka is unavailable
+                log.warn("Error publishing deletion event for shortCode: {}; spilling to journal", shortCode, e);
+                // Don't fail cleanup if Kafka is unavailable; the journal replays the event later
+                eventSpillService.spill(urlDeletedTopic, shortCode, event);
             }
         }
         
@@ -0,0 +1,151 @@
+package com.shortify.lookup.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SkewAwarePartitioner Tests")
+class SkewAwarePartitionerTest {
+
+    private static final String TOPIC = "url-click-events";
+    private static final int PARTITIONS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SkewAwarePartitioner partitioner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        partitioner = new SkewAwarePartitioner();
+        partitioner.configure(configs(3));
+    }
+
+    private Map<String, Object> configs(int saltBuckets) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(SkewAwarePartitioner.METER_REGISTRY_CONFIG, meterRegistry);
+        configs.put(SkewAwarePartitioner.HOT_FRACTION_CONFIG, "0.1");
+        configs.put(SkewAwarePartitioner.MIN_SAMPLES_CONFIG, "100");
+        configs.put(SkewAwarePartitioner.SALT_BUCKETS_CONFIG, String.valueOf(saltBuckets));
+        return configs;
+    }
+
+    private static Cluster cluster(int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        Node[] nodes = {node};
+        List<PartitionInfo> partitionInfos = IntStream.range(0, partitions)
+                .mapToObj(p -> new PartitionInfo(TOPIC, p, node, nodes, nodes))
+                .toList();
+        return new Cluster("test", List.of(node), partitionInfos, Set.of(), Set.of());
+    }
+
+    private int partition(String key, Cluster cluster) {
+        byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+        return partitioner.partition(TOPIC, key, keyBytes, null, null, cluster);
+    }
+
+    private static int homePartition(String key, int partitions) {
+        return Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % partitions;
+    }
+
+    /**
+     * Sends the hot key as every other record (50% of traffic) and returns the partitions it landed on
+     * after the sketch has seen min-samples records
+     */
+    private Set<Integer> sendSkewed(String hotKey, Cluster cluster, int records) {
+        Set<Integer> hotPartitions = new TreeSet<>();
+        for (int i = 0; i < records; i++) {
+            int partition = partition(hotKey, cluster);
+            if (i >= 100) {
+                hotPartitions.add(partition);
+            }
+            String coldKey = "cold" + i;
+            assertThat(partition(coldKey, cluster)).isEqualTo(homePartition(coldKey, cluster.partitionCountForTopic(TOPIC)));
+        }
+        return hotPartitions;
+    }
+
+    @Test
+    @DisplayName("partition - Routes ordinary keys like Kafka's default partitioner")
+    void partition_ColdKeys_UseMurmur2HomePartition() {
+        // Given
+        Cluster cluster = cluster(PARTITIONS);
+
+        // When / Then
+        for (int i = 0; i < 500; i++) {
+            String key = "code" + i;
+            assertThat(partition(key, cluster)).isEqualTo(homePartition(key, PARTITIONS));
+        }
+        assertThat(meterRegistry.find("shortify.kafka.partition.salted").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("partition - Salts a heavy hitter over salt-buckets consecutive partitions from its home")
+    void partition_HotKey_SaltedOverConsecutivePartitions() {
+        // Given
+        Cluster cluster = cluster(PARTITIONS);
+        int home = homePartition("viral", PARTITIONS);
+
+        // When
+        Set<Integer> hotPartitions = sendSkewed("viral", cluster, 300);
+
+        // Then
+        assertThat(hotPartitions).containsExactlyInAnyOrder(home, (home + 1) % PARTITIONS, (home + 2) % PARTITIONS);
+        assertThat(meterRegistry.get("shortify.kafka.partition.salted").tag("topic", TOPIC).counter().count())
+                .isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("partition - Salts over every partition when salt-buckets is 0")
+    void partition_NoSaltBucketLimit_SpreadsOverAllPartitions() {
+        // Given
+        partitioner.configure(configs(0));
+        Cluster cluster = cluster(PARTITIONS);
+
+        // When
+        Set<Integer> hotPartitions = sendSkewed("viral", cluster, 300);
+
+        // Then
+        assertThat(hotPartitions).hasSize(PARTITIONS);
+    }
+
+    @Test
+    @DisplayName("partition - Falls back to the home partition on single-partition topics")
+    void partition_SinglePartition_NeverSalts() {
+        // Given
+        Cluster cluster = cluster(1);
+
+        // When
+        Set<Integer> hotPartitions = sendSkewed("viral", cluster, 300);
+
+        // Then
+        assertThat(hotPartitions).containsExactly(0);
+        assertThat(meterRegistry.find("shortify.kafka.partition.salted").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("partition - Spreads records without a key round-robin")
+    void partition_NullKey_RoundRobin() {
+        // Given
+        Cluster cluster = cluster(PARTITIONS);
+
+        // When / Then
+        for (int i = 0; i < 2 * PARTITIONS; i++) {
+            assertThat(partition(null, cluster)).isEqualTo(i % PARTITIONS);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.shortify.lookup.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdaptiveClickSampler Tests")
+class AdaptiveClickSamplerTest {
+
+    private static final String CLICK_TOPIC = "url-click-events";
+    private static final String CONSUMER_GROUP = "stats-service-group";
+
+    @Mock
+    private KafkaTemplate<String, Object> clickKafkaTemplate;
+
+    @Mock
+    private KafkaAdmin kafkaAdmin;
+
+    @Mock
+    private AdminClient adminClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveClickSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sampler = new AdaptiveClickSampler(clickKafkaTemplate, kafkaAdmin, meterRegistry);
+        ReflectionTestUtils.setField(sampler, "startPressure", 0.5);
+        ReflectionTestUtils.setField(sampler, "minKeepRate", 0.01);
+        ReflectionTestUtils.setField(sampler, "maxConsumerLag", 0L);
+        ReflectionTestUtils.setField(sampler, "consumerGroup", CONSUMER_GROUP);
+        ReflectionTestUtils.setField(sampler, "clickEventsTopic", CLICK_TOPIC);
+        lenient().doReturn(Map.of()).when(clickKafkaTemplate).metrics();
+    }
+
+    private void producerBuffer(double totalBytes, double availableBytes) {
+        doReturn(Map.of(
+                metricName("buffer-total-bytes"), metric(totalBytes),
+                metricName("buffer-available-bytes"), metric(availableBytes)))
+                .when(clickKafkaTemplate).metrics();
+    }
+
+    private static MetricName metricName(String name) {
+        return new MetricName(name, "producer-metrics", "", Map.of());
+    }
+
+    private static Metric metric(double value) {
+        Metric metric = mock(Metric.class);
+        when(metric.metricValue()).thenReturn(value);
+        return metric;
+    }
+
+    private void consumerLag(long committedOffset, long endOffset) {
+        TopicPartition partition = new TopicPartition(CLICK_TOPIC, 0);
+        ListConsumerGroupOffsetsResult committed = mock(ListConsumerGroupOffsetsResult.class);
+        when(committed.partitionsToOffsetAndMetadata())
+                .thenReturn(KafkaFuture.completedFuture(Map.of(partition, new OffsetAndMetadata(committedOffset))));
+        when(adminClient.listConsumerGroupOffsets(CONSUMER_GROUP)).thenReturn(committed);
+        ListOffsetsResult latest = mock(ListOffsetsResult.class);
+        when(latest.all()).thenReturn(KafkaFuture.completedFuture(
+                Map.of(partition, new ListOffsetsResult.ListOffsetsResultInfo(endOffset, -1L, Optional.empty()))));
+        when(adminClient.listOffsets(anyMap())).thenReturn(latest);
+        ReflectionTestUtils.setField(sampler, "adminClient", adminClient);
+    }
+
+    @Test
+    @DisplayName("keepProbability - Keeps every click below the start pressure")
+    void keepProbability_LowPressure_KeepsAll() {
+        // Given
+        sampler.refreshPressure();
+
+        // When / Then
+        assertThat(sampler.keepProbability(0.0)).isEqualTo(1.0);
+        assertThat(sampler.keepProbability(0.5)).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("keepProbability - Falls linearly with buffer fill down to min-keep-rate")
+    void keepProbability_BufferPressure_FallsLinearly() {
+        // When / Then
+        assertThat(sampler.keepProbability(0.75)).isCloseTo(0.505, within(1e-9));
+        assertThat(sampler.keepProbability(1.0)).isCloseTo(0.01, within(1e-9));
+        assertThat(meterRegistry.get("shortify.clicks.sampling.keep.probability").gauge().value())
+                .isCloseTo(0.01, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("refreshPressure - Samples when the producer's record accumulator fills up")
+    void refreshPressure_ProducerBufferFull_ReducesKeepProbability() {
+        // Given - 90% of the producer buffer in use
+        producerBuffer(1000, 100);
+
+        // When
+        sampler.refreshPressure();
+
+        // Then - the empty ring buffer does not mask producer pressure
+        assertThat(sampler.keepProbability(0.0)).isCloseTo(1.0 - 0.8 * 0.99, within(1e-9));
+        verifyNoInteractions(adminClient);
+    }
+
+    @Test
+    @DisplayName("refreshPressure - Samples when stats-service falls behind on the click topic")
+    void refreshPressure_ConsumerLag_ReducesKeepProbability() {
+        // Given - 750 of max 1000 events behind
+        ReflectionTestUtils.setField(sampler, "maxConsumerLag", 1000L);
+        consumerLag(250, 1000);
+
+        // When
+        sampler.refreshPressure();
+
+        // Then
+        assertThat(sampler.keepProbability(0.0)).isCloseTo(1.0 - 0.5 * 0.99, within(1e-9));
+        assertThat(meterRegistry.get("shortify.clicks.consumer.lag").gauge().value()).isEqualTo(750.0);
+    }
+
+    @Test
+    @DisplayName("refreshPressure - Keeps the last lag pressure when the lag cannot be read")
+    void refreshPressure_LagReadFails_KeepsLastValue() {
+        // Given
+        ReflectionTestUtils.setField(sampler, "maxConsumerLag", 1000L);
+        consumerLag(0, 2000);
+        sampler.refreshPressure();
+        when(adminClient.listConsumerGroupOffsets(CONSUMER_GROUP)).thenThrow(new IllegalStateException("broker down"));
+
+        // When
+        sampler.refreshPressure();
+
+        // Then - still at full lag pressure
+        assertThat(sampler.keepProbability(0.0)).isCloseTo(0.01, within(1e-9));
+    }
+}
@@ -0,0 +1,167 @@
+package com.shortify.lookup.service;
+
+import com.shortify.event.ClickDeltaEvent;
+import com.shortify.event.ClickEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClickCombiner Tests")
+class ClickCombinerTest {
+
+    private static final String DELTAS_TOPIC = "url-click-deltas";
+    private static final long MINUTE = 1_700_000_040_000L; // Start of a minute
+
+    @Mock
+    private KafkaTemplate<String, Object> clickKafkaTemplate;
+
+    @Mock
+    private EventSpillService eventSpillService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClickCombiner combiner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        combiner = new ClickCombiner(clickKafkaTemplate, eventSpillService, meterRegistry);
+        ReflectionTestUtils.setField(combiner, "enabled", true);
+        ReflectionTestUtils.setField(combiner, "rawSampleRate", 0.0);
+        ReflectionTestUtils.setField(combiner, "maxBuckets", 100);
+        ReflectionTestUtils.setField(combiner, "clickDeltasTopic", DELTAS_TOPIC);
+        lenient().when(clickKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private static ClickEvent click(String shortCode, long timestamp, Double weight) {
+        return ClickEvent.builder().shortCode(shortCode).timestamp(timestamp).weight(weight).build();
+    }
+
+    private List<ClickDeltaEvent> sentDeltas(int expected) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(clickKafkaTemplate, times(expected)).send(eq(DELTAS_TOPIC), anyString(), captor.capture());
+        return captor.getAllValues().stream().map(ClickDeltaEvent.class::cast).toList();
+    }
+
+    @Test
+    @DisplayName("combine - Buckets clicks per short code and minute")
+    void combine_SameMinute_SharesBucket() {
+        // Given
+        combiner.combine(click("abc123", MINUTE + 1_000, null));
+        combiner.combine(click("abc123", MINUTE + 59_999, null));
+        combiner.combine(click("abc123", MINUTE + 60_000, null));
+        combiner.combine(click("xyz789", MINUTE + 5_000, null));
+
+        // When
+        combiner.flush();
+
+        // Then
+        assertThat(sentDeltas(3))
+                .extracting(ClickDeltaEvent::getShortCode, ClickDeltaEvent::getBucketStart, ClickDeltaEvent::getClicks)
+                .containsExactlyInAnyOrder(
+                        tuple("abc123", MINUTE, 2L),
+                        tuple("abc123", MINUTE + 60_000, 1L),
+                        tuple("xyz789", MINUTE, 1L));
+    }
+
+    @Test
+    @DisplayName("combine - Adds the sampling weight of each click instead of 1")
+    void combine_WeightedClicks_SumsWeights() {
+        // Given
+        combiner.combine(click("abc123", MINUTE, 4.0));
+        combiner.combine(click("abc123", MINUTE, 2.5));
+        combiner.combine(click("abc123", MINUTE, 0.5));
+
+        // When
+        combiner.flush();
+
+        // Then
+        assertThat(sentDeltas(1)).singleElement()
+                .extracting(ClickDeltaEvent::getClicks)
+                .isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("combine - Leaves clicks to be sent raw when disabled or sampled")
+    void combine_DisabledOrSampled_ReturnsFalse() {
+        // Given
+        ReflectionTestUtils.setField(combiner, "rawSampleRate", 1.0);
+
+        // When
+        boolean sampled = combiner.combine(click("abc123", MINUTE, null));
+        ReflectionTestUtils.setField(combiner, "enabled", false);
+        ReflectionTestUtils.setField(combiner, "rawSampleRate", 0.0);
+        boolean disabled = combiner.combine(click("abc123", MINUTE, null));
+        combiner.flush();
+
+        // Then
+        assertThat(sampled).isFalse();
+        assertThat(disabled).isFalse();
+        verifyNoInteractions(clickKafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("flush - Removes flushed buckets so clicks are sent once")
+    void flush_Twice_SendsBucketOnce() {
+        // Given
+        combiner.combine(click("abc123", MINUTE, null));
+
+        // When
+        combiner.flush();
+        combiner.flush();
+
+        // Then
+        assertThat(sentDeltas(1)).hasSize(1);
+        assertThat(meterRegistry.counter("shortify.clicks.deltas.sent").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("combine - Flushes early when the bucket limit is reached")
+    void combine_BucketLimit_FlushesEarly() {
+        // Given
+        ReflectionTestUtils.setField(combiner, "maxBuckets", 2);
+
+        // When
+        combiner.combine(click("abc123", MINUTE, null));
+        combiner.combine(click("xyz789", MINUTE, null));
+
+        // Then
+        assertThat(sentDeltas(2)).extracting(ClickDeltaEvent::getShortCode)
+                .containsExactlyInAnyOrder("abc123", "xyz789");
+        assertThat(meterRegistry.counter("shortify.clicks.combiner.early.flushes").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flush - Spills a delta Kafka rejects")
+    void flush_SendFails_SpillsDelta() {
+        // Given
+        when(clickKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        combiner.combine(click("abc123", MINUTE, null));
+
+        // When
+        combiner.flush();
+
+        // Then
+        verify(eventSpillService).spill(eq(DELTAS_TOPIC), eq("abc123"), any(ClickDeltaEvent.class));
+    }
+}
@@ -0,0 +1,105 @@
+package com.shortify.lookup.service;
+
+import com.shortify.event.ClickEvent;
+import com.shortify.lookup.dto.PendingClick;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClickEventDispatcher Tests")
+class ClickEventDispatcherTest {
+
+    private static final String CLICK_TOPIC = "url-click-events";
+
+    @Mock
+    private KafkaTemplate<String, Object> clickKafkaTemplate;
+
+    @Mock
+    private EventSpillService eventSpillService;
+
+    @Mock
+    private ClickCombiner clickCombiner;
+
+    @Mock
+    private AdaptiveClickSampler adaptiveClickSampler;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClickEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new ClickEventDispatcher(clickKafkaTemplate, eventSpillService, clickCombiner,
+                adaptiveClickSampler, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "clickEventsTopic", CLICK_TOPIC);
+        ReflectionTestUtils.setField(dispatcher, "bufferCapacity", 65536);
+        ReflectionTestUtils.setField(dispatcher, "drainerThreads", 1);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 512);
+        ReflectionTestUtils.setField(dispatcher, "idleParkMillis", 1L);
+        ReflectionTestUtils.setField(dispatcher, "sampleHighWaterMark", 0.75);
+        lenient().when(clickKafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private List<ClickEvent> offerAndDrain(int clicks) {
+        dispatcher.start();
+        for (int i = 0; i < clicks; i++) {
+            dispatcher.offer(new PendingClick("abc123", "10.0.0.1", "curl/8.0", null, 1_700_000_000_000L + i));
+        }
+        dispatcher.stop(); // Drains the buffer before returning
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(clickKafkaTemplate, atLeastOnce()).send(eq(CLICK_TOPIC), eq("abc123"), captor.capture());
+        return captor.getAllValues().stream().map(ClickEvent.class::cast).toList();
+    }
+
+    @Test
+    @DisplayName("offer - Kept clicks carry weight 1/p, so the weighted sum estimates the offered clicks")
+    void offer_AdaptiveSampling_WeightsKeptClicks() {
+        // Given
+        ReflectionTestUtils.setField(dispatcher, "fullBufferPolicy", ClickEventDispatcher.FullBufferPolicy.ADAPTIVE);
+        when(adaptiveClickSampler.keepProbability(anyDouble())).thenReturn(0.25);
+
+        // When
+        List<ClickEvent> sent = offerAndDrain(20_000);
+
+        // Then - ~5,000 rows standing for 4 clicks each (standard deviation of the sum ~245)
+        assertThat(sent).extracting(ClickEvent::getWeight).containsOnly(4.0);
+        assertThat(sent.stream().mapToDouble(ClickEvent::getWeight).sum()).isCloseTo(20_000.0, within(1_000.0));
+        assertThat(meterRegistry.get("shortify.clicks.sampled.out").counter().count() + sent.size())
+                .isEqualTo(20_000.0);
+    }
+
+    @Test
+    @DisplayName("offer - Unsampled clicks are sent without a weight (counted as 1 downstream)")
+    void offer_NoSampling_SendsNullWeight() {
+        // Given
+        ReflectionTestUtils.setField(dispatcher, "fullBufferPolicy", ClickEventDispatcher.FullBufferPolicy.DROP);
+
+        // When
+        List<ClickEvent> sent = offerAndDrain(10);
+
+        // Then
+        assertThat(sent).hasSize(10).extracting(ClickEvent::getWeight).containsOnlyNulls();
+        verifyNoInteractions(adaptiveClickSampler);
+    }
+}
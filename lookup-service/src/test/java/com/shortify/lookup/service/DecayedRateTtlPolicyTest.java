@@ -0,0 +1,105 @@
+package com.shortify.lookup.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DecayedRateTtlPolicy Tests")
+class DecayedRateTtlPolicyTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private DecayedRateTtlPolicy policy;
+    private final AtomicReference<Object[]> scriptArgs = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        policy = new DecayedRateTtlPolicy(redisTemplate, Duration.ofMinutes(30), 4.0,
+                Duration.ofMinutes(2), Duration.ofMinutes(60), Duration.ofMinutes(10));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scriptReturns(Long result) {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("url:rate:abc123")), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    Object[] arguments = invocation.getArguments();
+                    scriptArgs.set(Arrays.copyOfRange(arguments, 2, arguments.length));
+                    return result;
+                });
+    }
+
+    @Test
+    @DisplayName("recordAccess - Runs the access script on the rate state key and applies its TTL")
+    void recordAccess_ScriptResult_UsedAsTtl() {
+        // Given
+        scriptReturns(180_000L);
+        long before = System.currentTimeMillis();
+
+        // When
+        Duration ttl = policy.recordAccess("abc123");
+
+        // Then - now, tau, multiplier, min, max, default and the state TTL (4 tau), all in milliseconds
+        assertThat(ttl).isEqualTo(Duration.ofMinutes(3));
+        Object[] args = scriptArgs.get();
+        assertThat(Long.parseLong((String) args[0])).isBetween(before, System.currentTimeMillis());
+        assertThat(args).containsSubsequence("1800000", "4.0", "120000", "3600000", "600000", "7200000");
+    }
+
+    @Test
+    @DisplayName("recordAccess - Falls back to the default TTL when the script returns nothing")
+    void recordAccess_NoScriptResult_DefaultTtl() {
+        // Given
+        scriptReturns(null);
+
+        // When / Then
+        assertThat(policy.recordAccess("abc123")).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("pin - Stores the pin on the rate state key")
+    void pin_StoresTtlFloor() {
+        // Given
+        scriptReturns(1L);
+
+        // When
+        policy.pin("abc123", Duration.ofMinutes(45));
+
+        // Then
+        assertThat(scriptArgs.get()).hasSize(2);
+        assertThat(scriptArgs.get()[1]).isEqualTo("2700000");
+    }
+
+    @Test
+    @DisplayName("Should reject a min TTL above the max TTL")
+    void constructor_MinAboveMax_Rejected() {
+        assertThatThrownBy(() -> new DecayedRateTtlPolicy(redisTemplate, Duration.ofMinutes(30), 4.0,
+                Duration.ofMinutes(61), Duration.ofMinutes(60), Duration.ofMinutes(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("bookkeepingKeys - Returns the rate state key")
+    void bookkeepingKeys_RateStateKey() {
+        assertThat(policy.bookkeepingKeys("abc123")).containsExactly("url:rate:abc123");
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+}
@@ -0,0 +1,104 @@
+package com.shortify.lookup.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TieredTtlPolicy Tests")
+class TieredTtlPolicyTest {
+
+    private static final String ACCESS_KEY = "url:access:abc123";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private TieredTtlPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        policy = new TieredTtlPolicy(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("recordAccess - Gives a first access the cold TTL and starts the counter window")
+    void recordAccess_FirstAccess_ColdTtlAndCounterExpiry() {
+        // Given
+        when(valueOperations.increment(ACCESS_KEY)).thenReturn(1L);
+
+        // When
+        Duration ttl = policy.recordAccess("abc123");
+
+        // Then
+        assertThat(ttl).isEqualTo(Duration.ofMinutes(10));
+        verify(redisTemplate).expire(ACCESS_KEY, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("recordAccess - Steps up to the warm and hot TTL at 5 and 10 accesses")
+    void recordAccess_AccessCount_Tiers() {
+        // Given
+        when(valueOperations.increment(ACCESS_KEY)).thenReturn(4L, 5L, 9L, 10L);
+
+        // When / Then
+        assertThat(policy.recordAccess("abc123")).isEqualTo(Duration.ofMinutes(10));
+        assertThat(policy.recordAccess("abc123")).isEqualTo(Duration.ofMinutes(15));
+        assertThat(policy.recordAccess("abc123")).isEqualTo(Duration.ofMinutes(15));
+        assertThat(policy.recordAccess("abc123")).isEqualTo(Duration.ofMinutes(30));
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("recordAccess - Treats a missing counter reply as a first access")
+    void recordAccess_NullCount_ColdTtl() {
+        // Given
+        when(valueOperations.increment(ACCESS_KEY)).thenReturn(null);
+
+        // When / Then
+        assertThat(policy.recordAccess("abc123")).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("pin - Raises a cold counter to the hot threshold for the pin duration")
+    void pin_ColdCounter_RaisedToHotThreshold() {
+        // Given
+        when(valueOperations.get(ACCESS_KEY)).thenReturn("3");
+
+        // When
+        policy.pin("abc123", Duration.ofMinutes(45));
+
+        // Then
+        verify(valueOperations).set(ACCESS_KEY, "10", Duration.ofMinutes(45));
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("pin - Only extends the counter of an already hot key")
+    void pin_HotCounter_ExpiryExtended() {
+        // Given
+        when(valueOperations.get(ACCESS_KEY)).thenReturn("25");
+
+        // When
+        policy.pin("abc123", Duration.ofMinutes(45));
+
+        // Then
+        verify(redisTemplate).expire(ACCESS_KEY, Duration.ofMinutes(45));
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+}
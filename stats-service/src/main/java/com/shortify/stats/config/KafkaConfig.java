@@ -1,8 +1,13 @@
 package com.shortify.stats.config;
 
+import com.shortify.event.codec.EventDeserializer;
+import com.shortify.event.codec.EventSerializer;
+
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,7 +15,10 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
@@ -32,6 +40,16 @@ public class KafkaConfig {
     @Value("${kafka.topic.url-deleted:url-deleted-events}")
     private String urlDeletedTopic;
     
+    @Value("${kafka.topic.click-deltas:url-click-deltas}")
+    private String clickDeltasTopic;
+    
+    // Wire format for produced events: "json" (default until all consumers decode binary) or "binary"
+    @Value("${kafka.producer.event-format:json}")
+    private String eventFormat;
+    
+    @Value("${kafka.topic.hot-links:hot-links}")
+    private String hotLinksTopic;
+    
     /**
      * KafkaAdmin bean enables automatic topic creation
      * Topics will be created when the application starts if they don't exist
@@ -55,6 +73,18 @@ public class KafkaConfig {
                 .build();
     }
     
+    /**
+     * Auto-create url-click-deltas topic (pre-aggregated click counts from the lookup click combiner)
+     * 6 partitions for parallel processing, replication factor 3 for high availability
+     */
+    @Bean
+    public org.apache.kafka.clients.admin.NewTopic clickDeltasTopic() {
+        return TopicBuilder.name(clickDeltasTopic)
+                .partitions(6)
+                .replicas(3)
+                .build();
+    }
+    
     /**
      * Auto-create url-deleted-events topic with production-ready configuration
      * 6 partitions for parallel processing, replication factor 3 for high availability
@@ -67,14 +97,27 @@ public class KafkaConfig {
                 .build();
     }
     
+    /**
+     * Auto-create hot-links topic (published by the hot link detector, consumed by Lookup Service)
+     * Hints are short-lived, so the topic only keeps them for one hour
+     */
+    @Bean
+    public org.apache.kafka.clients.admin.NewTopic hotLinksTopic() {
+        return TopicBuilder.name(hotLinksTopic)
+                .partitions(6)
+                .replicas(3)
+                .config("retention.ms", "3600000")
+                .build();
+    }
+    
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, EventDeserializer.class); // Binary or JSON by content-type header
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.shortify.event");
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"); // Read from beginning if no offset
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false); // Manual commit for reliability
         return new DefaultKafkaConsumerFactory<>(configProps);
@@ -92,5 +135,25 @@ public class KafkaConfig {
         factory.setConcurrency(3); // Adjust based on Kafka topic partitions
         return factory;
     }
+    
+    /**
+     * Producer for hot link events
+     * Events are best-effort cache hints, so a single broker acknowledgment is sufficient
+     */
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        configProps.put(EventSerializer.FORMAT_CONFIG, eventFormat);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "1");
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+    
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
 }
-
@@ -3,7 +3,11 @@ package com.shortify.stats.controller;
 import com.shortify.stats.dto.ClickEventRequest;
 import com.shortify.stats.dto.PlatformStatisticsResponse;
 import com.shortify.stats.dto.UrlStatisticsResponse;
+import com.shortify.stats.service.ClickAggregateService;
+import com.shortify.stats.service.ClickEnrichmentService;
+import com.shortify.stats.service.HotLinkDetector;
 import com.shortify.stats.service.StatsService;
+import com.shortify.event.ClickDeltaEvent;
 import com.shortify.event.ClickEvent;
 import com.shortify.event.UrlDeletedEvent;
 
@@ -17,6 +21,8 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -26,10 +32,17 @@ import java.util.List;
 public class StatsController {
     
     private final StatsService statsService;
+    private final HotLinkDetector hotLinkDetector;
+    private final ClickAggregateService clickAggregateService;
+    private final ClickEnrichmentService clickEnrichmentService;
     
     /**
      * Kafka consumer for click events (batch processing enabled)
      * Processes events from the url-click-events topic in batches for high throughput
+     * 
+     * Clicks of a hot link may arrive on several partitions (the lookup producer salts heavy-hitter keys),
+     * so everything here is keyed by the short code in the payload and merged in shared state,
+     * never by partition or record key.
      */
     @KafkaListener(topics = "${kafka.topic.click-events:url-click-events}", 
                    containerFactory = "kafkaListenerContainerFactory")
@@ -40,22 +53,28 @@ public class StatsController {
         try {
             log.debug("Received batch of {} click events from Kafka", events.size());
             
-            // Process all events in the batch
+            // Convert the raw events; device type and geo are resolved by the enrichment stage
+            List<ClickEventRequest> requests = new ArrayList<>(events.size());
             for (ClickEvent event : events) {
-                // Convert ClickEvent to ClickEventRequest
-                ClickEventRequest request = 
-                        ClickEventRequest.builder()
-                                .shortCode(event.getShortCode())
-                                .ipAddress(event.getIpAddress())
-                                .userAgent(event.getUserAgent())
-                                .referrer(event.getReferrer())
-                                .country(event.getCountry())
-                                .city(event.getCity())
-                                .deviceType(event.getDeviceType())
-                                .build();
+                requests.add(ClickEventRequest.builder()
+                        .shortCode(event.getShortCode())
+                        .ipAddress(event.getIpAddress())
+                        .userAgent(event.getUserAgent())
+                        .referrer(event.getReferrer())
+                        .country(event.getCountry())
+                        .city(event.getCity())
+                        .deviceType(event.getDeviceType())
+                        .timestamp(event.getTimestamp())
+                        .weight(event.getWeight())
+                        .build());
                 
-                statsService.recordClickEvent(request);
+                if (event.getWeight() == null) {
+                    hotLinkDetector.recordClick(event.getShortCode());
+                } else {
+                    hotLinkDetector.recordClicks(event.getShortCode(), Math.max(1, Math.round(event.getWeight())));
+                }
             }
+            clickEnrichmentService.enrichAll(requests);
             
             // Acknowledge entire batch after processing
             acknowledgment.acknowledge();
@@ -68,6 +87,32 @@ public class StatsController {
         }
     }
     
+    /**
+     * Kafka consumer for pre-aggregated click counts from the lookup click combiner
+     * Each batch becomes one upsert per (short code, minute, country, device type) bucket.
+     * Deltas carry many clicks each, so a failed batch is redelivered instead of acknowledged.
+     */
+    @KafkaListener(topics = "${kafka.topic.click-deltas:url-click-deltas}", 
+                   containerFactory = "kafkaListenerContainerFactory")
+    public void consumeClickDeltas(
+            @Payload List<ClickDeltaEvent> deltas,
+            @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
+            Acknowledgment acknowledgment) {
+        try {
+            clickAggregateService.applyDeltas(deltas);
+            for (ClickDeltaEvent delta : deltas) {
+                if (delta.getClicks() != null) {
+                    hotLinkDetector.recordClicks(delta.getShortCode(), delta.getClicks());
+                }
+            }
+            acknowledgment.acknowledge();
+            log.debug("Applied batch of {} click deltas", deltas.size());
+        } catch (Exception e) {
+            log.error("Error applying click delta batch (size: {}); will retry", deltas.size(), e);
+            acknowledgment.nack(0, Duration.ofSeconds(1));
+        }
+    }
+    
     /**
      * Kafka consumer for URL deletion events.
      * When URLs are deleted from the main database, this cleans up their statistics.
@@ -15,7 +15,11 @@ public class ClickEventRequest {
     private String city;
     private String userAgent;
     private String deviceType;
+    private String osFamily;
+    private String browserFamily;
     private String referrer;
     private String ipAddress;
+    private Long timestamp; // Click time in Unix milliseconds; null means time of processing
+    private Double weight; // Sampling weight from lookup-service; null means 1
 }
 
@@ -0,0 +1,40 @@
+package com.shortify.stats.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Click count per (short code, minute), filled from click delta events
+ * Rows are upserted (clicks += delta), so the unique constraint is the upsert's conflict target
+ */
+@Entity
+@Table(name = "url_click_aggregates", 
+    uniqueConstraints = @UniqueConstraint(name = "uk_click_aggregate_bucket", 
+            columnNames = {"shortCode", "bucketStart"}),
+    indexes = {
+        @Index(name = "idx_aggregate_bucket_start", columnList = "bucketStart")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UrlClickAggregate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 10)
+    private String shortCode;
+    
+    @Column(nullable = false)
+    private LocalDateTime bucketStart; // Start of the minute
+    
+    @Column(nullable = false)
+    private Long clicks;
+}
@@ -40,12 +40,20 @@ public class UrlClickEvent {
     private String userAgent; // Browser user agents can be very long
     
     @Column(length = 50)
-    private String deviceType; // MOBILE, DESKTOP, TABLET
+    private String deviceType; // MOBILE, DESKTOP, TABLET, BOT, UNKNOWN
+    
+    @Column(length = 50)
+    private String osFamily; // Windows, macOS, iOS, Android, Linux, ...
+    
+    @Column(length = 50)
+    private String browserFamily; // Chrome, Safari, Firefox, Edge, ...
     
     @Column(length = 1000)
     private String referrer; // URLs can be very long
     
     @Column(length = 100)
     private String ipAddress; // IPv6 addresses can be up to 45 chars, but allow extra space
+    
+    private Double weight; // Clicks this row stands for when captured under sampling; null means 1
 }
 
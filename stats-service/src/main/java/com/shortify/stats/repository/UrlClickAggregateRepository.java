@@ -0,0 +1,62 @@
+package com.shortify.stats.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shortify.stats.entity.UrlClickAggregate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UrlClickAggregateRepository extends JpaRepository<UrlClickAggregate, Long> {
+    
+    /**
+     * Adds clicks to a bucket, creating it if needed (PostgreSQL upsert)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO url_click_aggregates (short_code, bucket_start, clicks) " +
+            "VALUES (:shortCode, :bucketStart, :clicks) " +
+            "ON CONFLICT (short_code, bucket_start) " +
+            "DO UPDATE SET clicks = url_click_aggregates.clicks + EXCLUDED.clicks", nativeQuery = true)
+    int addClicks(@Param("shortCode") String shortCode, 
+                  @Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("clicks") long clicks);
+    
+    @Query("SELECT DISTINCT a.shortCode FROM UrlClickAggregate a")
+    List<String> findDistinctShortCodes();
+    
+    @Query("SELECT COALESCE(SUM(a.clicks), 0) FROM UrlClickAggregate a WHERE a.shortCode = :shortCode")
+    Long sumClicksByShortCode(@Param("shortCode") String shortCode);
+    
+    @Query("SELECT COALESCE(SUM(a.clicks), 0) FROM UrlClickAggregate a WHERE a.shortCode = :shortCode AND a.bucketStart >= :startTime")
+    Long sumClicksByShortCodeAndBucketStartAfter(@Param("shortCode") String shortCode, @Param("startTime") LocalDateTime startTime);
+    
+    @Query("SELECT MIN(a.bucketStart), MAX(a.bucketStart) FROM UrlClickAggregate a WHERE a.shortCode = :shortCode")
+    List<Object[]> findBucketRangeByShortCode(@Param("shortCode") String shortCode);
+    
+    @Query(value = "SELECT DATE(a.bucket_start) as click_date, SUM(a.clicks) as click_count FROM url_click_aggregates a WHERE a.short_code = :shortCode AND a.bucket_start >= :startTime GROUP BY DATE(a.bucket_start) ORDER BY DATE(a.bucket_start)", nativeQuery = true)
+    List<Object[]> findClickTimelineByShortCode(@Param("shortCode") String shortCode, @Param("startTime") LocalDateTime startTime);
+    
+    /**
+     * Delete aggregates older than the specified date in batches.
+     * Uses CTID for PostgreSQL-compatible batch deletion.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM url_click_aggregates WHERE ctid IN (SELECT ctid FROM url_click_aggregates WHERE bucket_start < :cutoffDate LIMIT :limit)", nativeQuery = true)
+    int deleteByBucketStartBefore(@Param("cutoffDate") LocalDateTime cutoffDate, @Param("limit") int limit);
+    
+    /**
+     * Delete all aggregates for a specific shortCode.
+     * Used when cleaning up orphaned statistics.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UrlClickAggregate a WHERE a.shortCode = :shortCode")
+    int deleteByShortCode(@Param("shortCode") String shortCode);
+}
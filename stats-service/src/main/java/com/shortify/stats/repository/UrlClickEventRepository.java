@@ -17,16 +17,20 @@ public interface UrlClickEventRepository extends JpaRepository<UrlClickEvent, Lo
     
     List<UrlClickEvent> findByShortCodeOrderByClickedAtDesc(String shortCode);
     
-    @Query("SELECT COUNT(e) FROM UrlClickEvent e WHERE e.shortCode = :shortCode")
-    Long countByShortCode(@Param("shortCode") String shortCode);
+    /**
+     * Click counts are sums of row weights: a row captured under sampling stands for 1/p clicks,
+     * which keeps the totals unbiased when lookup-service sheds load
+     */
+    @Query("SELECT COALESCE(SUM(COALESCE(e.weight, 1.0)), 0.0) FROM UrlClickEvent e WHERE e.shortCode = :shortCode")
+    Double sumClickWeightByShortCode(@Param("shortCode") String shortCode);
     
-    @Query("SELECT COUNT(e) FROM UrlClickEvent e WHERE e.shortCode = :shortCode AND e.clickedAt >= :startTime")
-    Long countByShortCodeAndClickedAtAfter(@Param("shortCode") String shortCode, @Param("startTime") LocalDateTime startTime);
+    @Query("SELECT COALESCE(SUM(COALESCE(e.weight, 1.0)), 0.0) FROM UrlClickEvent e WHERE e.shortCode = :shortCode AND e.clickedAt >= :startTime")
+    Double sumClickWeightByShortCodeAndClickedAtAfter(@Param("shortCode") String shortCode, @Param("startTime") LocalDateTime startTime);
     
-    @Query("SELECT e.country, COUNT(e) as clicks FROM UrlClickEvent e WHERE e.shortCode = :shortCode GROUP BY e.country ORDER BY clicks DESC")
+    @Query("SELECT e.country, SUM(COALESCE(e.weight, 1.0)) as clicks FROM UrlClickEvent e WHERE e.shortCode = :shortCode GROUP BY e.country ORDER BY clicks DESC")
     List<Object[]> findTopCountriesByShortCode(@Param("shortCode") String shortCode);
     
-    @Query(value = "SELECT DATE(e.clicked_at) as click_date, COUNT(e) as click_count FROM url_click_events e WHERE e.short_code = :shortCode AND e.clicked_at >= :startTime GROUP BY DATE(e.clicked_at) ORDER BY DATE(e.clicked_at)", nativeQuery = true)
+    @Query(value = "SELECT DATE(e.clicked_at) as click_date, SUM(COALESCE(e.weight, 1.0)) as click_count FROM url_click_events e WHERE e.short_code = :shortCode AND e.clicked_at >= :startTime GROUP BY DATE(e.clicked_at) ORDER BY DATE(e.clicked_at)", nativeQuery = true)
     List<Object[]> findClickTimelineByShortCode(@Param("shortCode") String shortCode, @Param("startTime") LocalDateTime startTime);
     
     /**
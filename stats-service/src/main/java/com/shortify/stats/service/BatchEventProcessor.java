@@ -11,7 +11,9 @@ import com.shortify.stats.dto.ClickEventRequest;
 import com.shortify.stats.entity.UrlClickEvent;
 import com.shortify.stats.repository.UrlClickEventRepository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
@@ -92,13 +94,18 @@ public class BatchEventProcessor {
             List<UrlClickEvent> events = eventsToProcess.stream()
                     .map(request -> UrlClickEvent.builder()
                             .shortCode(request.getShortCode())
-                            .clickedAt(LocalDateTime.now())
+                            .clickedAt(request.getTimestamp() != null
+                                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(request.getTimestamp()), ZoneId.systemDefault())
+                                    : LocalDateTime.now())
                             .country(request.getCountry())
                             .city(request.getCity())
                             .userAgent(request.getUserAgent())
                             .deviceType(request.getDeviceType())
+                            .osFamily(request.getOsFamily())
+                            .browserFamily(request.getBrowserFamily())
                             .referrer(request.getReferrer())
                             .ipAddress(request.getIpAddress())
+                            .weight(request.getWeight())
                             .build())
                     .toList();
             
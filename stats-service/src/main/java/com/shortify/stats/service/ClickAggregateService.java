@@ -0,0 +1,70 @@
+package com.shortify.stats.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.shortify.event.ClickDeltaEvent;
+import com.shortify.stats.repository.UrlClickAggregateRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies click delta events from the lookup click combiner to the url_click_aggregates table.
+ * Deltas for the same bucket within a Kafka batch (e.g. from several lookup instances) are merged first,
+ * so each bucket costs one upsert per batch instead of one insert per click.
+ * The combiner does not enrich, so these rows feed totals and the timeline only, while country and device
+ * breakdowns come from the raw click sample.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClickAggregateService {
+    
+    private static final Comparator<BucketKey> BUCKET_ORDER = Comparator
+            .comparing(BucketKey::getShortCode)
+            .thenComparing(BucketKey::getBucketStart);
+    
+    private final UrlClickAggregateRepository aggregateRepository;
+    
+    /**
+     * Upserts a batch of deltas in one transaction; the batch is redelivered as a whole if it fails
+     * 
+     * @return number of buckets written
+     */
+    @Transactional
+    public int applyDeltas(List<ClickDeltaEvent> deltas) {
+        // Sorted, so concurrent batches upsert shared buckets in the same order and cannot deadlock
+        // (clicks of a hot link are salted over several partitions, i.e. several consumer threads)
+        Map<BucketKey, Long> merged = new TreeMap<>(BUCKET_ORDER);
+        for (ClickDeltaEvent delta : deltas) {
+            if (delta.getShortCode() == null || delta.getBucketStart() == null || delta.getClicks() == null) {
+                log.warn("Skipping incomplete click delta: {}", delta);
+                continue;
+            }
+            BucketKey key = new BucketKey(
+                    delta.getShortCode(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(delta.getBucketStart()), ZoneId.systemDefault()));
+            merged.merge(key, delta.getClicks(), Long::sum);
+        }
+        
+        merged.forEach((key, clicks) -> aggregateRepository.addClicks(
+                key.getShortCode(), key.getBucketStart(), clicks));
+        log.debug("Applied {} click deltas as {} bucket upserts", deltas.size(), merged.size());
+        return merged.size();
+    }
+    
+    @Value
+    private static class BucketKey {
+        String shortCode;
+        LocalDateTime bucketStart;
+    }
+}
@@ -0,0 +1,159 @@
+package com.shortify.stats.service;
+
+import com.shortify.geo.GeoLocation;
+import com.shortify.stats.dto.ClickEventRequest;
+import com.shortify.useragent.UserAgentClassifier;
+import com.shortify.useragent.UserAgentInfo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel enrichment stage between the click event listener and {@link BatchEventProcessor}
+ *
+ * lookup-service only publishes the raw request fields (IP, User-Agent, referrer, timestamp), so parsing
+ * runs here and scales with the stats consumers instead of adding work to the redirect path.
+ * A consumed batch is split into chunks that a dedicated worker pool enriches (User-Agent, geo) and queues
+ * for the batch insert; {@link #enrichAll(List)} returns once the whole batch is queued, so the listener
+ * still acknowledges only processed batches. When the pool's queue is full the listener thread enriches the
+ * chunk itself, which slows consumption instead of dropping clicks.
+ *
+ * Events that already carry enrichment (published by older lookup-service instances or replayed from
+ * a spill journal) keep their values.
+ */
+@Slf4j
+@Service
+public class ClickEnrichmentService {
+    
+    private final BatchEventProcessor batchEventProcessor;
+    private final IpGeoResolver ipGeoResolver;
+    private final MeterRegistry meterRegistry;
+    private final Counter enrichedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    
+    @Value("${stats.enrichment.threads:4}")
+    private int threads;
+    
+    @Value("${stats.enrichment.queue-capacity:64}")
+    private int queueCapacity;
+    
+    @Value("${stats.enrichment.chunk-size:64}")
+    private int chunkSize;
+    
+    @Value("${stats.enrichment.user-agent-cache-size:4096}")
+    private int userAgentCacheSize;
+    
+    private ThreadPoolExecutor workers;
+    private UserAgentClassifier userAgentClassifier;
+    
+    public ClickEnrichmentService(BatchEventProcessor batchEventProcessor,
+                                  IpGeoResolver ipGeoResolver,
+                                  MeterRegistry meterRegistry) {
+        this.batchEventProcessor = batchEventProcessor;
+        this.ipGeoResolver = ipGeoResolver;
+        this.meterRegistry = meterRegistry;
+        this.enrichedCounter = Counter.builder("shortify.stats.enrichment.events")
+                .description("Click events enriched and queued for the batch insert")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("shortify.stats.enrichment.failures")
+                .description("Click events that could not be enriched")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("shortify.stats.enrichment.batch.duration")
+                .description("Time to enrich one consumed batch of click events")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        userAgentClassifier = new UserAgentClassifier(userAgentCacheSize);
+        Gauge.builder("shortify.stats.enrichment.user.agent.cache.hits", userAgentClassifier, UserAgentClassifier::getCacheHits)
+                .description("User-Agent classifications served from the memo cache")
+                .register(meterRegistry);
+        Gauge.builder("shortify.stats.enrichment.user.agent.cache.misses", userAgentClassifier, UserAgentClassifier::getCacheMisses)
+                .description("User-Agent classifications computed by the matcher")
+                .register(meterRegistry);
+        
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "click-enrichment-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("shortify.stats.enrichment.queue.depth", workers, pool -> pool.getQueue().size())
+                .description("Enrichment chunks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("shortify.stats.enrichment.active.workers", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Enrichment workers currently busy")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Enriches a consumed batch in parallel and hands every event to the batch processor
+     * Blocks until the whole batch is queued for insertion
+     */
+    public void enrichAll(List<ClickEventRequest> requests) {
+        batchTimer.record(() -> {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int from = 0; from < requests.size(); from += chunkSize) {
+                List<ClickEventRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+                chunks.add(CompletableFuture.runAsync(() -> chunk.forEach(this::enrichAndQueue), workers));
+            }
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        });
+    }
+    
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void enrichAndQueue(ClickEventRequest request) {
+        try {
+            enrich(request);
+            enrichedCounter.increment();
+        } catch (Exception e) {
+            // Store the raw click rather than lose it
+            failedCounter.increment();
+            log.warn("Error enriching click event for shortCode: {}", request.getShortCode(), e);
+        }
+        batchEventProcessor.addEvent(request);
+    }
+    
+    private void enrich(ClickEventRequest request) {
+        UserAgentInfo userAgent = userAgentClassifier.classify(request.getUserAgent());
+        if (request.getDeviceType() == null) {
+            request.setDeviceType(userAgent.getDeviceType());
+        }
+        request.setOsFamily(userAgent.getOsFamily());
+        request.setBrowserFamily(userAgent.getBrowserFamily());
+        if (request.getCountry() == null) {
+            GeoLocation location = ipGeoResolver.resolve(request.getIpAddress());
+            request.setCountry(location.getCountry());
+            request.setCity(location.getCity());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.shortify.stats.repository.UrlClickAggregateRepository;
 import com.shortify.stats.repository.UrlClickEventRepository;
 
 import java.time.LocalDateTime;
@@ -30,6 +31,7 @@ import java.time.LocalDateTime;
 public class DataRetentionService {
     
     private final UrlClickEventRepository clickEventRepository;
+    private final UrlClickAggregateRepository aggregateRepository;
     
     @Value("${stats.retention.enabled:true}")
     private boolean retentionEnabled;
@@ -62,6 +64,7 @@ public class DataRetentionService {
             // Delete events older than retention period
             // Using batch deletion for efficiency
             deleteOldEventsBatch(cutoffDate);
+            deleteOldAggregatesBatch(cutoffDate);
             
         } catch (Exception e) {
             log.error("Error during data retention cleanup", e);
@@ -98,5 +101,25 @@ public class DataRetentionService {
         
         return totalDeleted;
     }
+    
+    /**
+     * Delete per-minute click aggregates older than the retention period, in batches like raw events.
+     */
+    @Transactional
+    public int deleteOldAggregatesBatch(LocalDateTime cutoffDate) {
+        int totalDeleted = 0;
+        int batchSize = 10000;
+        int deletedInBatch;
+        
+        do {
+            deletedInBatch = aggregateRepository.deleteByBucketStartBefore(cutoffDate, batchSize);
+            totalDeleted += deletedInBatch;
+        } while (deletedInBatch == batchSize);
+        
+        if (totalDeleted > 0) {
+            log.debug("Deleted {} click aggregates older than {}", totalDeleted, cutoffDate);
+        }
+        return totalDeleted;
+    }
 }
 
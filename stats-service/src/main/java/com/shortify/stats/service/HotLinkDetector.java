@@ -0,0 +1,180 @@
+package com.shortify.stats.service;
+
+import com.shortify.event.HotLinkEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects short URLs whose click rate is accelerating and publishes them to the hot-links topic.
+ * 
+ * Clicks are counted per short code in fixed (tumbling) windows. At the end of each window a link is
+ * considered hot when it received at least min-clicks and its count grew by at least the
+ * acceleration factor compared with the previous window. Lookup Service consumes the resulting
+ * events and pins the cache entry with the hot TTL before the peak arrives.
+ * 
+ * Counting is lock-free (LongAdder per key); the window rotation swaps the whole map atomically,
+ * so the Kafka consumer threads never block on the detector.
+ */
+@Component
+@Slf4j
+public class HotLinkDetector {
+    
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Counter clicksTrackedCounter;
+    private final Counter hotLinksDetectedCounter;
+    private final Counter hotLinksPublishedCounter;
+    private final Counter publishFailuresCounter;
+    private final Counter untrackedClicksCounter;
+    
+    @Value("${kafka.topic.hot-links:hot-links}")
+    private String hotLinksTopic;
+    
+    @Value("${stats.hot-links.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${stats.hot-links.window-seconds:10}")
+    private int windowSeconds;
+    
+    @Value("${stats.hot-links.min-clicks:50}")
+    private long minClicks;
+    
+    @Value("${stats.hot-links.acceleration-factor:2.0}")
+    private double accelerationFactor;
+    
+    @Value("${stats.hot-links.republish-cooldown-seconds:300}")
+    private long republishCooldownSeconds;
+    
+    @Value("${stats.hot-links.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+    
+    private final AtomicReference<ConcurrentHashMap<String, LongAdder>> currentWindow = 
+            new AtomicReference<>(new ConcurrentHashMap<>());
+    private Map<String, Long> previousWindow = Map.of();
+    private final Map<String, Long> lastPublishedAt = new HashMap<>();
+    
+    public HotLinkDetector(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.clicksTrackedCounter = Counter.builder("shortify.hotlinks.clicks.tracked")
+                .description("Clicks counted by the hot link detector")
+                .register(meterRegistry);
+        this.untrackedClicksCounter = Counter.builder("shortify.hotlinks.clicks.untracked")
+                .description("Clicks ignored because the detector reached max tracked keys")
+                .register(meterRegistry);
+        this.hotLinksDetectedCounter = Counter.builder("shortify.hotlinks.detected")
+                .description("Links detected with an accelerating click rate")
+                .register(meterRegistry);
+        this.hotLinksPublishedCounter = Counter.builder("shortify.hotlinks.published")
+                .description("Hot link events published to Kafka")
+                .register(meterRegistry);
+        this.publishFailuresCounter = Counter.builder("shortify.hotlinks.publish.failures")
+                .description("Hot link events that failed to publish")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Counts a click for the current window. Called from the click event consumer.
+     */
+    public void recordClick(String shortCode) {
+        recordClicks(shortCode, 1);
+    }
+    
+    /**
+     * Counts several clicks for the current window. Called from the click delta consumer.
+     */
+    public void recordClicks(String shortCode, long clicks) {
+        if (!enabled || shortCode == null || clicks <= 0) {
+            return;
+        }
+        ConcurrentHashMap<String, LongAdder> window = currentWindow.get();
+        LongAdder counter = window.get(shortCode);
+        if (counter == null) {
+            // Bound memory under high key cardinality; the long tail is never hot anyway
+            if (window.size() >= maxTrackedKeys) {
+                untrackedClicksCounter.increment(clicks);
+                return;
+            }
+            counter = window.computeIfAbsent(shortCode, key -> new LongAdder());
+        }
+        counter.add(clicks);
+        clicksTrackedCounter.increment(clicks);
+    }
+    
+    /**
+     * Closes the current window, compares it with the previous one and publishes hot links.
+     */
+    @Scheduled(fixedRateString = "#{${stats.hot-links.window-seconds:10} * 1000}")
+    public void rotateWindow() {
+        if (!enabled) {
+            return;
+        }
+        ConcurrentHashMap<String, LongAdder> closedWindow = currentWindow.getAndSet(new ConcurrentHashMap<>());
+        long now = System.currentTimeMillis();
+        
+        Map<String, Long> closedCounts = new HashMap<>(closedWindow.size());
+        for (Map.Entry<String, LongAdder> entry : closedWindow.entrySet()) {
+            String shortCode = entry.getKey();
+            long clicks = entry.getValue().sum();
+            closedCounts.put(shortCode, clicks);
+            
+            long previousClicks = previousWindow.getOrDefault(shortCode, 0L);
+            if (isAccelerating(clicks, previousClicks) && !isCoolingDown(shortCode, now)) {
+                hotLinksDetectedCounter.increment();
+                lastPublishedAt.put(shortCode, now);
+                publish(shortCode, clicks, previousClicks, now);
+            }
+        }
+        
+        previousWindow = closedCounts;
+        lastPublishedAt.values().removeIf(publishedAt -> now - publishedAt >= republishCooldownSeconds * 1000);
+    }
+    
+    /**
+     * A link is accelerating when it has enough traffic to matter and its rate grew by the configured factor
+     * (a link with no clicks in the previous window is compared against a baseline of one click)
+     */
+    boolean isAccelerating(long clicks, long previousClicks) {
+        return clicks >= minClicks && clicks >= accelerationFactor * Math.max(previousClicks, 1L);
+    }
+    
+    private boolean isCoolingDown(String shortCode, long now) {
+        Long publishedAt = lastPublishedAt.get(shortCode);
+        return publishedAt != null && now - publishedAt < republishCooldownSeconds * 1000;
+    }
+    
+    private void publish(String shortCode, long clicks, long previousClicks, long now) {
+        HotLinkEvent event = HotLinkEvent.builder()
+                .shortCode(shortCode)
+                .clicksInWindow(clicks)
+                .previousWindowClicks(previousClicks)
+                .windowSeconds(windowSeconds)
+                .timestamp(now)
+                .build();
+        try {
+            kafkaTemplate.send(hotLinksTopic, shortCode, event).whenComplete((result, ex) -> {
+                if (ex == null) {
+                    hotLinksPublishedCounter.increment();
+                    log.debug("Published hot link event for shortCode: {} ({} -> {} clicks)", 
+                            shortCode, previousClicks, clicks);
+                } else {
+                    publishFailuresCounter.increment();
+                    log.warn("Failed to publish hot link event for shortCode: {}", shortCode, ex);
+                }
+            });
+        } catch (Exception e) {
+            publishFailuresCounter.increment();
+            log.warn("Error publishing hot link event for shortCode: {}", shortCode, e);
+        }
+    }
+}
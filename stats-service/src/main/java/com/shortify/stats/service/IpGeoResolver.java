@@ -0,0 +1,102 @@
+package com.shortify.stats.service;
+
+import com.shortify.geo.GeoLocation;
+import com.shortify.geo.IpGeoTable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Resolves client IP addresses to country and city from a local memory-mapped {@link IpGeoTable}
+ *
+ * No external service is called per click: lookups are a binary search in the mapped range table.
+ * The table file (stats.geo.table-path, built with IpGeoTableWriter) is checked periodically and re-mapped
+ * when its modification time or size changes; lookups in flight keep using the previous table.
+ * Without a table every click resolves to UNKNOWN.
+ */
+@Slf4j
+@Service
+public class IpGeoResolver {
+    
+    private static final GeoLocation UNKNOWN = new GeoLocation("UNKNOWN", null);
+    
+    private final Counter resolvedCounter;
+    private final Counter unresolvedCounter;
+    
+    @Value("${stats.geo.table-path:}")
+    private String tablePath;
+    
+    private volatile IpGeoTable table;
+    private FileTime loadedModifiedTime;
+    private long loadedSize = -1;
+    
+    public IpGeoResolver(MeterRegistry meterRegistry) {
+        this.resolvedCounter = Counter.builder("shortify.stats.geo.resolved")
+                .description("Click IP addresses resolved to a location")
+                .register(meterRegistry);
+        this.unresolvedCounter = Counter.builder("shortify.stats.geo.unresolved")
+                .description("Click IP addresses not covered by the geo table")
+                .register(meterRegistry);
+        Gauge.builder("shortify.stats.geo.ranges", this, resolver -> resolver.table == null ? 0 : resolver.table.getRangeCount())
+                .description("IP ranges in the loaded geo table")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (tablePath.isBlank()) {
+            log.warn("No IP geo table configured (stats.geo.table-path); clicks will have an UNKNOWN country");
+            return;
+        }
+        reloadIfChanged();
+    }
+    
+    /**
+     * @return the location of the address, or an UNKNOWN country when it is not covered or malformed
+     */
+    public GeoLocation resolve(String ipAddress) {
+        IpGeoTable current = table;
+        int location = current == null ? IpGeoTable.NOT_FOUND : current.lookup(ipAddress);
+        if (location == IpGeoTable.NOT_FOUND) {
+            unresolvedCounter.increment();
+            return UNKNOWN;
+        }
+        resolvedCounter.increment();
+        return current.location(location);
+    }
+    
+    /**
+     * Re-maps the table when the file changed; a broken file leaves the current table in place
+     */
+    @Scheduled(fixedDelayString = "${stats.geo.reload-check-interval-ms:60000}")
+    public synchronized void reloadIfChanged() {
+        if (tablePath.isBlank()) {
+            return;
+        }
+        Path path = Path.of(tablePath);
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            long size = Files.size(path);
+            if (modifiedTime.equals(loadedModifiedTime) && size == loadedSize) {
+                return;
+            }
+            IpGeoTable loaded = IpGeoTable.open(path);
+            table = loaded;
+            loadedModifiedTime = modifiedTime;
+            loadedSize = size;
+            log.info("Loaded IP geo table {} ({} ranges)", path, loaded.getRangeCount());
+        } catch (Exception e) {
+            log.error("Could not load IP geo table {}; keeping the current table", path, e);
+        }
+    }
+}
@@ -9,12 +9,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.shortify.stats.entity.UrlClickEvent;
 import com.shortify.stats.entity.UrlStatistics;
+import com.shortify.stats.repository.UrlClickAggregateRepository;
 import com.shortify.stats.repository.UrlClickEventRepository;
 import com.shortify.stats.repository.UrlStatisticsRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
 public class StatisticsAggregationService {
     
     private final UrlClickEventRepository clickEventRepository;
+    private final UrlClickAggregateRepository aggregateRepository;
     private final UrlStatisticsRepository statisticsRepository;
     
     @Value("${stats.aggregation.update-interval-minutes:10}")
@@ -59,6 +62,7 @@ public class StatisticsAggregationService {
                     .stream()
                     .map(UrlClickEvent::getShortCode)
                     .collect(Collectors.toSet());
+            shortCodes.addAll(aggregateRepository.findDistinctShortCodes());
             
             int processed = 0;
             for (String shortCode : shortCodes) {
@@ -91,10 +95,15 @@ public class StatisticsAggregationService {
         LocalDateTime startOfWeek = startOfDay.minusDays(now.getDayOfWeek().getValue() - 1);
         LocalDateTime startOfMonth = LocalDateTime.of(now.getYear(), now.getMonth(), 1, 0, 0);
         
-        Long totalClicks = clickEventRepository.countByShortCode(shortCode);
-        Long clicksToday = clickEventRepository.countByShortCodeAndClickedAtAfter(shortCode, startOfDay);
-        Long clicksThisWeek = clickEventRepository.countByShortCodeAndClickedAtAfter(shortCode, startOfWeek);
-        Long clicksThisMonth = clickEventRepository.countByShortCodeAndClickedAtAfter(shortCode, startOfMonth);
+        // Weighted raw click rows plus pre-aggregated clicks from the lookup click combiner (disjoint sets of clicks)
+        Long totalClicks = Math.round(clickEventRepository.sumClickWeightByShortCode(shortCode))
+                + aggregateRepository.sumClicksByShortCode(shortCode);
+        Long clicksToday = Math.round(clickEventRepository.sumClickWeightByShortCodeAndClickedAtAfter(shortCode, startOfDay))
+                + aggregateRepository.sumClicksByShortCodeAndBucketStartAfter(shortCode, startOfDay);
+        Long clicksThisWeek = Math.round(clickEventRepository.sumClickWeightByShortCodeAndClickedAtAfter(shortCode, startOfWeek))
+                + aggregateRepository.sumClicksByShortCodeAndBucketStartAfter(shortCode, startOfWeek);
+        Long clicksThisMonth = Math.round(clickEventRepository.sumClickWeightByShortCodeAndClickedAtAfter(shortCode, startOfMonth))
+                + aggregateRepository.sumClicksByShortCodeAndBucketStartAfter(shortCode, startOfMonth);
         
         Optional<UrlClickEvent> firstClick = clickEventRepository.findByShortCodeOrderByClickedAtDesc(shortCode)
                 .stream()
@@ -125,6 +134,19 @@ public class StatisticsAggregationService {
             stats.setLastClickAt(lastClick.get().getClickedAt());
         }
         
+        // Widen the range with the aggregated buckets
+        List<Object[]> bucketRange = aggregateRepository.findBucketRangeByShortCode(shortCode);
+        if (!bucketRange.isEmpty() && bucketRange.get(0)[0] != null) {
+            LocalDateTime firstBucket = (LocalDateTime) bucketRange.get(0)[0];
+            LocalDateTime lastBucket = (LocalDateTime) bucketRange.get(0)[1];
+            if (stats.getFirstClickAt() == null || firstBucket.isBefore(stats.getFirstClickAt())) {
+                stats.setFirstClickAt(firstBucket);
+            }
+            if (stats.getLastClickAt() == null || lastBucket.isAfter(stats.getLastClickAt())) {
+                stats.setLastClickAt(lastBucket);
+            }
+        }
+        
         statisticsRepository.save(stats);
     }
 }
@@ -11,14 +11,18 @@ import com.shortify.stats.dto.PlatformStatisticsResponse;
 import com.shortify.stats.dto.UrlStatisticsResponse;
 import com.shortify.stats.entity.UrlClickEvent;
 import com.shortify.stats.entity.UrlStatistics;
+import com.shortify.stats.repository.UrlClickAggregateRepository;
 import com.shortify.stats.repository.UrlClickEventRepository;
 import com.shortify.stats.repository.UrlStatisticsRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +31,7 @@ import java.util.stream.Collectors;
 public class StatsService {
     
     private final UrlClickEventRepository clickEventRepository;
+    private final UrlClickAggregateRepository aggregateRepository;
     private final UrlStatisticsRepository statisticsRepository;
     private final BatchEventProcessor batchEventProcessor;
     
@@ -58,10 +63,15 @@ public class StatsService {
         LocalDateTime startOfWeek = startOfDay.minusDays(now.getDayOfWeek().getValue() - 1);
         LocalDateTime startOfMonth = LocalDateTime.of(now.getYear(), now.getMonth(), 1, 0, 0);
         
-        Long totalClicks = clickEventRepository.countByShortCode(shortCode);
-        Long clicksToday = clickEventRepository.countByShortCodeAndClickedAtAfter(shortCode, startOfDay);
-        Long clicksThisWeek = clickEventRepository.countByShortCodeAndClickedAtAfter(shortCode, startOfWeek);
-        Long clicksThisMonth = clickEventRepository.countByShortCodeAndClickedAtAfter(shortCode, startOfMonth);
+        // Weighted raw click rows plus pre-aggregated clicks from the lookup click combiner (disjoint sets of clicks)
+        Long totalClicks = Math.round(clickEventRepository.sumClickWeightByShortCode(shortCode))
+                + aggregateRepository.sumClicksByShortCode(shortCode);
+        Long clicksToday = Math.round(clickEventRepository.sumClickWeightByShortCodeAndClickedAtAfter(shortCode, startOfDay))
+                + aggregateRepository.sumClicksByShortCodeAndBucketStartAfter(shortCode, startOfDay);
+        Long clicksThisWeek = Math.round(clickEventRepository.sumClickWeightByShortCodeAndClickedAtAfter(shortCode, startOfWeek))
+                + aggregateRepository.sumClicksByShortCodeAndBucketStartAfter(shortCode, startOfWeek);
+        Long clicksThisMonth = Math.round(clickEventRepository.sumClickWeightByShortCodeAndClickedAtAfter(shortCode, startOfMonth))
+                + aggregateRepository.sumClicksByShortCodeAndBucketStartAfter(shortCode, startOfMonth);
         
         Optional<UrlClickEvent> firstClick = clickEventRepository.findByShortCodeOrderByClickedAtDesc(shortCode)
                 .stream()
@@ -92,6 +102,19 @@ public class StatsService {
             stats.setLastClickAt(lastClick.get().getClickedAt());
         }
         
+        // Widen the range with the aggregated buckets
+        List<Object[]> bucketRange = aggregateRepository.findBucketRangeByShortCode(shortCode);
+        if (!bucketRange.isEmpty() && bucketRange.get(0)[0] != null) {
+            LocalDateTime firstBucket = (LocalDateTime) bucketRange.get(0)[0];
+            LocalDateTime lastBucket = (LocalDateTime) bucketRange.get(0)[1];
+            if (stats.getFirstClickAt() == null || firstBucket.isBefore(stats.getFirstClickAt())) {
+                stats.setFirstClickAt(firstBucket);
+            }
+            if (stats.getLastClickAt() == null || lastBucket.isAfter(stats.getLastClickAt())) {
+                stats.setLastClickAt(lastBucket);
+            }
+        }
+        
         statisticsRepository.save(stats);
     }
     
@@ -104,6 +127,7 @@ public class StatsService {
         try {
             // Delete click events first (if any foreign key constraints exist)
             clickEventRepository.deleteByShortCode(shortCode);
+            aggregateRepository.deleteByShortCode(shortCode);
             
             // Delete statistics
             statisticsRepository.deleteByShortCode(shortCode);
@@ -125,31 +149,43 @@ public class StatsService {
                         .lastClickAt(LocalDateTime.now())
                         .build());
         
-        // Get top countries
-        List<UrlStatisticsResponse.CountryStats> topCountries = clickEventRepository
-                .findTopCountriesByShortCode(shortCode)
+        // Get top countries from raw click rows only: combiner deltas carry no country, so aggregated clicks
+        // are spread in proportion to the raw sample instead of piling up in UNKNOWN.
+        // Scaling by (raw + aggregated) / raw reweights the sample by 1 / effective raw-sample-rate
+        // (a factor of 1 when the combiner is off).
+        double rawClicks = clickEventRepository.sumClickWeightByShortCode(shortCode);
+        long aggregatedClicks = aggregateRepository.sumClicksByShortCode(shortCode);
+        double sampleScale = rawClicks > 0 ? (rawClicks + aggregatedClicks) / rawClicks : 0;
+        Map<String, Long> clicksByCountry = new HashMap<>();
+        for (Object[] result : clickEventRepository.findTopCountriesByShortCode(shortCode)) {
+            clicksByCountry.merge((String) result[0], Math.round(((Number) result[1]).doubleValue() * sampleScale), Long::sum);
+        }
+        List<UrlStatisticsResponse.CountryStats> topCountries = clicksByCountry.entrySet()
                 .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
                 .limit(10)
-                .map(result -> UrlStatisticsResponse.CountryStats.builder()
-                        .country((String) result[0])
-                        .clicks((Long) result[1])
+                .map(entry -> UrlStatisticsResponse.CountryStats.builder()
+                        .country(entry.getKey())
+                        .clicks(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
         
         // Get click timeline (last 30 days)
+        // Native queries return: [java.sql.Date, Number]
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<UrlStatisticsResponse.ClickTimeline> clickTimeline = clickEventRepository
-                .findClickTimelineByShortCode(shortCode, thirtyDaysAgo)
+        Map<String, Long> clicksByDate = new TreeMap<>();
+        for (Object[] result : clickEventRepository.findClickTimelineByShortCode(shortCode, thirtyDaysAgo)) {
+            clicksByDate.merge(result[0].toString(), Math.round(((Number) result[1]).doubleValue()), Long::sum);
+        }
+        for (Object[] result : aggregateRepository.findClickTimelineByShortCode(shortCode, thirtyDaysAgo)) {
+            clicksByDate.merge(result[0].toString(), ((Number) result[1]).longValue(), Long::sum);
+        }
+        List<UrlStatisticsResponse.ClickTimeline> clickTimeline = clicksByDate.entrySet()
                 .stream()
-                .map(result -> {
-                    // Native query returns: [java.sql.Date, Long]
-                    java.sql.Date date = (java.sql.Date) result[0];
-                    Long clicks = ((Number) result[1]).longValue();
-                    return UrlStatisticsResponse.ClickTimeline.builder()
-                            .date(date.toString())
-                            .clicks(clicks)
-                            .build();
-                })
+                .map(entry -> UrlStatisticsResponse.ClickTimeline.builder()
+                        .date(entry.getKey())
+                        .clicks(entry.getValue())
+                        .build())
                 .collect(Collectors.toList());
         
         return UrlStatisticsResponse.builder()
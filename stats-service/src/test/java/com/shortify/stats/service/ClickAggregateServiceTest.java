@@ -0,0 +1,116 @@
+package com.shortify.stats.service;
+
+import com.shortify.event.ClickDeltaEvent;
+import com.shortify.stats.repository.UrlClickAggregateRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClickAggregateService Tests")
+class ClickAggregateServiceTest {
+
+    private static final long MINUTE = 1_700_000_040_000L;
+
+    @Mock
+    private UrlClickAggregateRepository aggregateRepository;
+
+    @InjectMocks
+    private ClickAggregateService clickAggregateService;
+
+    private static ClickDeltaEvent delta(String shortCode, long bucketStart, long clicks) {
+        return ClickDeltaEvent.builder()
+                .shortCode(shortCode)
+                .bucketStart(bucketStart)
+                .clicks(clicks)
+                .build();
+    }
+
+    private static LocalDateTime bucket(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @Test
+    @DisplayName("applyDeltas - Merges deltas for the same bucket into one upsert")
+    void applyDeltas_SameBucket_MergesClicks() {
+        // Given - two lookup instances reporting the same bucket
+        List<ClickDeltaEvent> deltas = List.of(
+                delta("abc123", MINUTE, 40),
+                delta("abc123", MINUTE, 2),
+                delta("abc123", MINUTE + 60_000, 5));
+
+        // When
+        int buckets = clickAggregateService.applyDeltas(deltas);
+
+        // Then
+        assertThat(buckets).isEqualTo(2);
+        verify(aggregateRepository).addClicks("abc123", bucket(MINUTE), 42L);
+        verify(aggregateRepository).addClicks("abc123", bucket(MINUTE + 60_000), 5L);
+        verifyNoMoreInteractions(aggregateRepository);
+    }
+
+    @Test
+    @DisplayName("applyDeltas - Keeps buckets of different short codes apart")
+    void applyDeltas_DifferentShortCodes_SeparateBuckets() {
+        // Given
+        List<ClickDeltaEvent> deltas = List.of(
+                delta("abc123", MINUTE, 3),
+                delta("xyz789", MINUTE, 4));
+
+        // When
+        int buckets = clickAggregateService.applyDeltas(deltas);
+
+        // Then
+        assertThat(buckets).isEqualTo(2);
+        verify(aggregateRepository).addClicks("abc123", bucket(MINUTE), 3L);
+        verify(aggregateRepository).addClicks("xyz789", bucket(MINUTE), 4L);
+    }
+
+    @Test
+    @DisplayName("applyDeltas - Upserts buckets in a stable order to avoid deadlocks")
+    void applyDeltas_UnorderedBatch_UpsertsSorted() {
+        // Given
+        List<ClickDeltaEvent> deltas = List.of(
+                delta("xyz789", MINUTE, 1),
+                delta("abc123", MINUTE + 60_000, 1),
+                delta("abc123", MINUTE, 1));
+
+        // When
+        clickAggregateService.applyDeltas(deltas);
+
+        // Then
+        InOrder inOrder = inOrder(aggregateRepository);
+        inOrder.verify(aggregateRepository).addClicks("abc123", bucket(MINUTE), 1L);
+        inOrder.verify(aggregateRepository).addClicks("abc123", bucket(MINUTE + 60_000), 1L);
+        inOrder.verify(aggregateRepository).addClicks("xyz789", bucket(MINUTE), 1L);
+    }
+
+    @Test
+    @DisplayName("applyDeltas - Skips incomplete deltas")
+    void applyDeltas_IncompleteDelta_Skipped() {
+        // Given
+        List<ClickDeltaEvent> deltas = List.of(
+                ClickDeltaEvent.builder().shortCode("abc123").clicks(1L).build(),
+                delta("abc123", MINUTE, 1));
+
+        // When
+        int buckets = clickAggregateService.applyDeltas(deltas);
+
+        // Then
+        assertThat(buckets).isEqualTo(1);
+        verify(aggregateRepository, times(1)).addClicks(anyString(), any(), anyLong());
+    }
+}
@@ -0,0 +1,66 @@
+package com.shortify.stats.service;
+
+import com.shortify.stats.entity.UrlStatistics;
+import com.shortify.stats.repository.UrlClickAggregateRepository;
+import com.shortify.stats.repository.UrlClickEventRepository;
+import com.shortify.stats.repository.UrlStatisticsRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatsService Tests")
+class StatsServiceTest {
+
+    @Mock
+    private UrlClickEventRepository clickEventRepository;
+
+    @Mock
+    private UrlClickAggregateRepository aggregateRepository;
+
+    @Mock
+    private UrlStatisticsRepository statisticsRepository;
+
+    @Mock
+    private BatchEventProcessor batchEventProcessor;
+
+    @InjectMocks
+    private StatsService statsService;
+
+    @Test
+    @DisplayName("updateStatistics - Counts sampled rows by weight and adds the combiner's aggregates")
+    void updateStatistics_WeightedRowsAndAggregates_Summed() {
+        // Given - e.g. 3 unsampled rows (weight NULL -> 1) and 4 rows kept at p = 0.25, plus combined deltas
+        when(clickEventRepository.sumClickWeightByShortCode("abc123")).thenReturn(19.0);
+        when(clickEventRepository.sumClickWeightByShortCodeAndClickedAtAfter(eq("abc123"), any())).thenReturn(6.6);
+        when(aggregateRepository.sumClicksByShortCode("abc123")).thenReturn(100L);
+        when(aggregateRepository.sumClicksByShortCodeAndBucketStartAfter(eq("abc123"), any())).thenReturn(10L);
+        when(clickEventRepository.findByShortCodeOrderByClickedAtDesc("abc123")).thenReturn(List.of());
+        when(statisticsRepository.findByShortCode("abc123")).thenReturn(Optional.empty());
+        when(aggregateRepository.findBucketRangeByShortCode("abc123")).thenReturn(List.of());
+
+        // When
+        statsService.updateStatistics("abc123");
+
+        // Then - fractional weight sums are rounded before the integer aggregates are added
+        ArgumentCaptor<UrlStatistics> saved = ArgumentCaptor.forClass(UrlStatistics.class);
+        verify(statisticsRepository).save(saved.capture());
+        assertThat(saved.getValue().getTotalClicks()).isEqualTo(119L);
+        assertThat(saved.getValue().getClicksToday()).isEqualTo(17L);
+        assertThat(saved.getValue().getClicksThisWeek()).isEqualTo(17L);
+        assertThat(saved.getValue().getClicksThisMonth()).isEqualTo(17L);
+    }
+}